@@ -0,0 +1,116 @@
+package schedulemanager.controller;
+
+/**
+ * A change to one domain entity, published by {@link ScheduleController}
+ * after the change is stored.
+ *
+ * <p>Events are typed by entity class ({@code Task}, {@code TaskFolder},
+ * {@code TodayTask}, {@code PlanBlock}, {@code ActualSession}), so views can
+ * subscribe to what they display and patch it in place.
+ *
+ * @param <E> the entity type
+ */
+public final class DomainEvent<E> {
+
+    /**
+     * What happened to the entity.
+     */
+    public enum Kind {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Kind kind;
+    private final Class<E> type;
+    private final Long id;
+    private final E entity;
+
+    private DomainEvent(Kind kind, Class<E> type, Long id, E entity) {
+        this.kind = kind;
+        this.type = type;
+        this.id = id;
+        this.entity = entity;
+    }
+
+    /**
+     * Creates an event for a new entity.
+     *
+     * @param type the entity type
+     * @param id the entity ID
+     * @param entity the entity as stored
+     * @param <E> the entity type
+     * @return the event
+     */
+    public static <E> DomainEvent<E> created(Class<E> type, Long id, E entity) {
+        return new DomainEvent<>(Kind.CREATED, type, id, entity);
+    }
+
+    /**
+     * Creates an event for a changed entity.
+     *
+     * @param type the entity type
+     * @param id the entity ID
+     * @param entity the entity after the change
+     * @param <E> the entity type
+     * @return the event
+     */
+    public static <E> DomainEvent<E> updated(Class<E> type, Long id, E entity) {
+        return new DomainEvent<>(Kind.UPDATED, type, id, entity);
+    }
+
+    /**
+     * Creates an event for a deleted entity.
+     *
+     * @param type the entity type
+     * @param id the entity ID
+     * @param entity the entity before deletion, or null if only the ID is known
+     * @param <E> the entity type
+     * @return the event
+     */
+    public static <E> DomainEvent<E> deleted(Class<E> type, Long id, E entity) {
+        return new DomainEvent<>(Kind.DELETED, type, id, entity);
+    }
+
+    /**
+     * Gets what happened to the entity.
+     *
+     * @return the event kind
+     */
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * Gets the entity type.
+     *
+     * @return the entity class
+     */
+    public Class<E> getType() {
+        return type;
+    }
+
+    /**
+     * Gets the ID of the changed entity.
+     *
+     * @return the entity ID, or null for entities identified by their content
+     *         (a Today entry removed by task and date)
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Gets the changed entity.
+     *
+     * @return the entity, or null for a deletion known only by ID
+     */
+    public E getEntity() {
+        return entity;
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + " " + kind + " [id=" + id + "]";
+    }
+}
@@ -0,0 +1,65 @@
+package schedulemanager.controller;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers {@link DomainEvent}s to the listeners subscribed to their entity type.
+ *
+ * <p>Events are delivered synchronously, on the thread that publishes them;
+ * Swing listeners must hop to the Event Dispatch Thread themselves. A
+ * listener that throws is logged and does not stop delivery to the others,
+ * nor fail the change that was already stored.
+ *
+ * <p>Thread-safe: listeners may subscribe and unsubscribe while events are published.
+ */
+public final class DomainEventBus {
+    private final Map<Class<?>, List<Consumer<?>>> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Subscribes a listener to the events of one entity type.
+     *
+     * @param type the entity type
+     * @param listener receives each event of that type
+     * @param <E> the entity type
+     * @return an action that unsubscribes the listener
+     */
+    public <E> Runnable subscribe(Class<E> type, Consumer<? super DomainEvent<E>> listener) {
+        List<Consumer<?>> forType = listeners.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>());
+        forType.add(listener);
+        return () -> forType.remove(listener);
+    }
+
+    /**
+     * Tells whether anyone listens to an entity type, so publishers can skip
+     * building events nobody receives.
+     *
+     * @param type the entity type
+     * @return true if at least one listener is subscribed
+     */
+    public boolean hasSubscribers(Class<?> type) {
+        List<Consumer<?>> forType = listeners.get(type);
+        return forType != null && !forType.isEmpty();
+    }
+
+    /**
+     * Delivers an event to the listeners of its entity type.
+     *
+     * @param event the event
+     * @param <E> the entity type
+     */
+    @SuppressWarnings("unchecked")
+    public <E> void publish(DomainEvent<E> event) {
+        for (Consumer<?> listener : listeners.getOrDefault(event.getType(), List.of())) {
+            try {
+                ((Consumer<DomainEvent<E>>) listener).accept(event);
+            } catch (RuntimeException e) {
+                System.err.println("Error delivering " + event + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+}
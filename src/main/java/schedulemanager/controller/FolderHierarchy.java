@@ -0,0 +1,182 @@
+package schedulemanager.controller;
+
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskFolderNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory index of the folder hierarchy, kept by {@link ScheduleController}.
+ *
+ * <p>Holds every folder by ID and the children of every parent (null for the
+ * roots), so child checks, subtree lookups and building the tree need no
+ * queries. It is loaded once from the repository and then patched as the
+ * controller saves or deletes folders; the database stays the source of
+ * truth and rejects anything the index missed.
+ *
+ * <p>Siblings are kept in case-insensitive name order. Folders handed out are
+ * copies, so callers cannot change the index by editing them.
+ *
+ * <p>Thread-safe.
+ */
+final class FolderHierarchy {
+    private static final Comparator<TaskFolder> BY_NAME =
+            Comparator.comparing(TaskFolder::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final Map<Long, TaskFolder> byId = new HashMap<>();
+    private final Map<Long, List<TaskFolder>> childrenByParent = new HashMap<>();
+
+    /**
+     * Constructs a FolderHierarchy holding the given folders.
+     *
+     * @param folders all folders
+     */
+    FolderHierarchy(Collection<TaskFolder> folders) {
+        for (TaskFolder folder : folders) {
+            byId.put(folder.getId(), copy(folder));
+        }
+        for (TaskFolder folder : byId.values()) {
+            childrenByParent.computeIfAbsent(parentKey(folder), k -> new ArrayList<>()).add(folder);
+        }
+        for (List<TaskFolder> siblings : childrenByParent.values()) {
+            siblings.sort(BY_NAME);
+        }
+    }
+
+    /**
+     * Gets a folder.
+     *
+     * @param id the folder ID
+     * @return a copy of the folder, or null if it is not known
+     */
+    synchronized TaskFolder get(Long id) {
+        TaskFolder folder = byId.get(id);
+        return folder != null ? copy(folder) : null;
+    }
+
+    /**
+     * Gets the direct subfolders of a folder, in name order.
+     *
+     * @param parentId the parent folder ID, or null for the root folders
+     * @return copies of the subfolders
+     */
+    synchronized List<TaskFolder> getChildren(Long parentId) {
+        List<TaskFolder> children = new ArrayList<>();
+        for (TaskFolder child : childrenByParent.getOrDefault(parentId, List.of())) {
+            children.add(copy(child));
+        }
+        return children;
+    }
+
+    /**
+     * Counts the direct subfolders of a folder.
+     *
+     * @param parentId the parent folder ID
+     * @return the number of subfolders
+     */
+    synchronized int countChildren(Long parentId) {
+        return childrenByParent.getOrDefault(parentId, List.of()).size();
+    }
+
+    /**
+     * Gets the IDs of a folder and all folders below it, parents before children.
+     *
+     * @param id the folder ID
+     * @return the subtree IDs, empty if the folder is not known
+     */
+    synchronized List<Long> getSubtreeIds(Long id) {
+        if (!byId.containsKey(id)) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.add(id);
+        while (!pending.isEmpty()) {
+            Long current = pending.poll();
+            ids.add(current);
+            for (TaskFolder child : childrenByParent.getOrDefault(current, List.of())) {
+                pending.add(child.getId());
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Builds the folder tree.
+     *
+     * @return list of root nodes, each holding its subfolders
+     */
+    synchronized List<TaskFolderNode> toTree() {
+        List<TaskFolderNode> roots = new ArrayList<>();
+        for (TaskFolder root : childrenByParent.getOrDefault(null, List.of())) {
+            roots.add(buildNode(root));
+        }
+        return roots;
+    }
+
+    /**
+     * Records a saved folder, new or changed.
+     *
+     * @param folder the folder as stored
+     */
+    synchronized void put(TaskFolder folder) {
+        remove(folder.getId());
+        TaskFolder stored = copy(folder);
+        byId.put(stored.getId(), stored);
+        List<TaskFolder> siblings = childrenByParent.computeIfAbsent(parentKey(stored), k -> new ArrayList<>());
+        int position = Collections.binarySearch(siblings, stored, BY_NAME);
+        siblings.add(position < 0 ? -position - 1 : position, stored);
+    }
+
+    /**
+     * Forgets a deleted folder.
+     *
+     * @param id the folder ID
+     */
+    synchronized void remove(Long id) {
+        TaskFolder previous = byId.remove(id);
+        if (previous == null) {
+            return;
+        }
+        // An orphan is listed under null even if its parent was added later
+        Long parentId = previous.getParentFolderId();
+        List<TaskFolder> siblings = childrenByParent.get(parentId);
+        if (siblings == null || !siblings.remove(previous)) {
+            parentId = null;
+            siblings = childrenByParent.get(null);
+            siblings.remove(previous);
+        }
+        if (siblings.isEmpty()) {
+            childrenByParent.remove(parentId);
+        }
+    }
+
+    private TaskFolderNode buildNode(TaskFolder folder) {
+        TaskFolderNode node = new TaskFolderNode(copy(folder));
+        for (TaskFolder child : childrenByParent.getOrDefault(folder.getId(), List.of())) {
+            node.addChild(buildNode(child));
+        }
+        return node;
+    }
+
+    /**
+     * Gets the key a folder is listed under: its parent, or null when the
+     * parent is missing, so orphans show as roots like in the repository tree.
+     */
+    private Long parentKey(TaskFolder folder) {
+        Long parentId = folder.getParentFolderId();
+        return parentId != null && byId.containsKey(parentId) ? parentId : null;
+    }
+
+    private static TaskFolder copy(TaskFolder folder) {
+        return new TaskFolder(folder.getId(), folder.getName(), folder.getParentFolderId());
+    }
+}
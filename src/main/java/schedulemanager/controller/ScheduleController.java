@@ -2,15 +2,18 @@ package schedulemanager.controller;
 
 import schedulemanager.domain.*;
 import schedulemanager.integration.AiApiClient;
+import schedulemanager.repository.Repositories;
 import schedulemanager.repository.TaskFolderRepository;
 import schedulemanager.repository.TodayRepository;
+import schedulemanager.repository.UnitOfWork;
 import schedulemanager.service.*;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Controller that coordinates between the UI and service layers.
@@ -18,8 +21,16 @@ import java.util.stream.Collectors;
  * <p>This controller handles user actions from the UI and delegates to
  * appropriate services, ensuring proper separation of concerns.
  * 
+ * <p>Folder lookups are answered from a {@link FolderHierarchy} loaded on first
+ * use and kept up to date by the folder writes made through this controller.
+ * 
+ * <p>Every change made through the controller is published on its
+ * {@link DomainEventBus} once stored, so views can patch what they show
+ * instead of reloading it.
+ * 
  */
 public class ScheduleController {
+    private final UnitOfWork transactions;
     private final TaskService taskService;
     private final TaskFolderRepository folderRepository;
     private final TodayRepository todayRepository;
@@ -27,20 +38,41 @@ public class ScheduleController {
     private final TrackingService trackingService;
     private final StatsService statsService;
     private final AiApiClient aiApiClient;
+    private final DomainEventBus events = new DomainEventBus();
+    private FolderHierarchy folderHierarchy;
     
     /**
-     * Constructs a ScheduleController.
+     * Constructs a ScheduleController over the repositories selected by system properties.
      */
     public ScheduleController() {
-        this.taskService = new TaskService();
-        this.folderRepository = new TaskFolderRepository();
-        this.todayRepository = new TodayRepository();
-        this.scheduleService = new ScheduleService();
-        this.trackingService = new TrackingService();
-        this.statsService = new StatsService();
+        this(Repositories.fromSystemProperties());
+    }
+    
+    /**
+     * Constructs a ScheduleController whose services all share the given repositories.
+     * 
+     * @param repositories the repositories to use
+     */
+    public ScheduleController(Repositories repositories) {
+        this.transactions = repositories.getTransactions();
+        this.taskService = new TaskService(repositories);
+        this.folderRepository = repositories.getFolderRepository();
+        this.todayRepository = repositories.getTodayRepository();
+        this.scheduleService = new ScheduleService(repositories);
+        this.trackingService = new TrackingService(repositories);
+        this.statsService = new StatsService(repositories);
         this.aiApiClient = new AiApiClient();
     }
     
+    /**
+     * Gets the bus on which this controller publishes its changes.
+     * 
+     * @return the domain event bus
+     */
+    public DomainEventBus getEvents() {
+        return events;
+    }
+    
     // Task Management
     
     /**
@@ -52,7 +84,9 @@ public class ScheduleController {
      * @throws IllegalArgumentException if validation fails
      */
     public Task createTask(Task task) throws SQLException {
-        return taskService.createTask(task);
+        Task created = taskService.createTask(task);
+        events.publish(DomainEvent.created(Task.class, created.getId(), created));
+        return created;
     }
     
     /**
@@ -64,6 +98,7 @@ public class ScheduleController {
      */
     public void updateTask(Task task) throws SQLException {
         taskService.updateTask(task);
+        events.publish(DomainEvent.updated(Task.class, task.getId(), task));
     }
     
     /**
@@ -75,6 +110,12 @@ public class ScheduleController {
      */
     public void updateTaskStatus(Long taskId, TaskStatus status) throws SQLException {
         taskService.updateTaskStatus(taskId, status);
+        if (events.hasSubscribers(Task.class)) {
+            Task task = taskService.getTask(taskId);
+            if (task != null) {
+                events.publish(DomainEvent.updated(Task.class, taskId, task));
+            }
+        }
     }
     
     /**
@@ -88,6 +129,61 @@ public class ScheduleController {
         return taskService.getTasksByFolder(folderId);
     }
     
+    /**
+     * Gets a task with all its details.
+     * 
+     * @param taskId the task ID
+     * @return the task, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    public Task getTask(Long taskId) throws SQLException {
+        return taskService.getTask(taskId);
+    }
+    
+    /**
+     * Gets the hit, miss and eviction counters of the task cache.
+     * 
+     * @return the cache metrics
+     */
+    public TaskCache.CacheMetrics getTaskCacheMetrics() {
+        return taskService.getCacheMetrics();
+    }
+    
+    /**
+     * Gets the summaries of all tasks in a folder, for list views.
+     * 
+     * @param folderId the folder ID
+     * @return list of task summaries, newest first
+     * @throws SQLException if a database error occurs
+     */
+    public List<TaskSummary> getTaskSummariesByFolder(Long folderId) throws SQLException {
+        return taskService.getTaskSummariesByFolder(folderId);
+    }
+    
+    /**
+     * Gets one page of task summaries in a folder, for lazily loaded list views.
+     * 
+     * @param folderId the folder ID
+     * @param after the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows
+     * @return the summaries on the page, newest first
+     * @throws SQLException if a database error occurs
+     */
+    public List<TaskSummary> getTaskSummaryPage(Long folderId, TaskSummary after, int limit) throws SQLException {
+        return taskService.getTaskSummaryPage(folderId, after, limit);
+    }
+    
+    /**
+     * Counts the tasks in a folder.
+     * 
+     * @param folderId the folder ID
+     * @return the number of tasks
+     * @throws SQLException if a database error occurs
+     */
+    public int countTasksInFolder(Long folderId) throws SQLException {
+        return taskService.countTasksInFolder(folderId);
+    }
+    
     /**
      * Deletes a task.
      * 
@@ -96,6 +192,7 @@ public class ScheduleController {
      */
     public void deleteTask(Long taskId) throws SQLException {
         taskService.deleteTask(taskId);
+        events.publish(DomainEvent.deleted(Task.class, taskId, null));
     }
     
     // Folder Management
@@ -108,7 +205,11 @@ public class ScheduleController {
      * @throws SQLException if a database error occurs
      */
     public TaskFolder createFolder(TaskFolder folder) throws SQLException {
-        return folderRepository.save(folder);
+        FolderHierarchy hierarchy = folderHierarchy();
+        TaskFolder saved = folderRepository.save(folder);
+        hierarchy.put(saved);
+        events.publish(DomainEvent.created(TaskFolder.class, saved.getId(), saved));
+        return saved;
     }
     
     /**
@@ -118,7 +219,7 @@ public class ScheduleController {
      * @throws SQLException if a database error occurs
      */
     public List<TaskFolder> getRootFolders() throws SQLException {
-        return folderRepository.findRootFolders();
+        return folderHierarchy().getChildren(null);
     }
     
     /**
@@ -129,7 +230,28 @@ public class ScheduleController {
      * @throws SQLException if a database error occurs
      */
     public List<TaskFolder> getSubfolders(Long parentId) throws SQLException {
-        return folderRepository.findByParentId(parentId);
+        return folderHierarchy().getChildren(parentId);
+    }
+    
+    /**
+     * Gets the IDs of a folder and of every folder below it.
+     * 
+     * @param folderId the folder ID
+     * @return the subtree IDs, parents before children; empty if the folder does not exist
+     * @throws SQLException if a database error occurs
+     */
+    public List<Long> getFolderSubtreeIds(Long folderId) throws SQLException {
+        return folderHierarchy().getSubtreeIds(folderId);
+    }
+    
+    /**
+     * Gets the whole folder hierarchy.
+     * 
+     * @return list of root folder nodes with their subfolders
+     * @throws SQLException if a database error occurs
+     */
+    public List<TaskFolderNode> getFolderTree() throws SQLException {
+        return folderHierarchy().toTree();
     }
     
     /**
@@ -140,20 +262,51 @@ public class ScheduleController {
      * @throws IllegalStateException if folder contains tasks or subfolders
      */
     public void deleteFolder(Long folderId) throws SQLException {
-        // Check if folder has tasks
-        List<Task> tasks = taskService.getTasksByFolder(folderId);
-        if (!tasks.isEmpty()) {
-            throw new IllegalStateException("Cannot delete folder: it contains " + tasks.size() + " task(s). Please delete or move tasks first.");
+        FolderHierarchy hierarchy = folderHierarchy();
+        transactions.inTransaction(() -> {
+            // Check if folder has tasks
+            int taskCount = taskService.countTasksInFolder(folderId);
+            if (taskCount > 0) {
+                throw new IllegalStateException("Cannot delete folder: it contains " + taskCount + " task(s). Please delete or move tasks first.");
+            }
+            
+            // Check if folder has subfolders
+            int subfolderCount = hierarchy.countChildren(folderId);
+            if (subfolderCount > 0) {
+                throw new IllegalStateException("Cannot delete folder: it contains " + subfolderCount + " subfolder(s). Please delete or move subfolders first.");
+            }
+            
+            // Safe to delete
+            folderRepository.delete(folderId);
+        });
+        hierarchy.remove(folderId);
+        events.publish(DomainEvent.deleted(TaskFolder.class, folderId, null));
+    }
+    
+    /**
+     * Publishes one event per entity of a batch.
+     * 
+     * @param entities the changed entities
+     * @param toEvent builds the event of an entity
+     * @param <E> the entity type
+     */
+    private <E> void publishEach(List<E> entities, Function<E, DomainEvent<E>> toEvent) {
+        for (E entity : entities) {
+            events.publish(toEvent.apply(entity));
         }
-        
-        // Check if folder has subfolders
-        List<TaskFolder> subfolders = folderRepository.findByParentId(folderId);
-        if (!subfolders.isEmpty()) {
-            throw new IllegalStateException("Cannot delete folder: it contains " + subfolders.size() + " subfolder(s). Please delete or move subfolders first.");
+    }
+    
+    /**
+     * Gets the folder hierarchy index, loading it with one query on first use.
+     * 
+     * @return the folder hierarchy
+     * @throws SQLException if a database error occurs
+     */
+    private synchronized FolderHierarchy folderHierarchy() throws SQLException {
+        if (folderHierarchy == null) {
+            folderHierarchy = new FolderHierarchy(folderRepository.findAll());
         }
-        
-        // Safe to delete
-        folderRepository.delete(folderId);
+        return folderHierarchy;
     }
     
     // Today List Management
@@ -167,11 +320,14 @@ public class ScheduleController {
      * @throws IllegalStateException if task is already in Today list
      */
     public void addTaskToToday(Long taskId, LocalDate date) throws SQLException {
-        // Check if task is already in Today list
-        if (todayRepository.isTaskInToday(taskId, date)) {
-            throw new IllegalStateException("Task is already in Today list for this date.");
-        }
-        todayRepository.addTask(taskId, date);
+        TodayTask added = transactions.inTransaction(() -> {
+            // Check if task is already in Today list
+            if (todayRepository.isTaskInToday(taskId, date)) {
+                throw new IllegalStateException("Task is already in Today list for this date.");
+            }
+            return todayRepository.addTask(taskId, date);
+        });
+        events.publish(DomainEvent.created(TodayTask.class, added.getId(), added));
     }
     
     /**
@@ -183,6 +339,7 @@ public class ScheduleController {
      */
     public void removeTaskFromToday(Long taskId, LocalDate date) throws SQLException {
         todayRepository.removeTask(taskId, date);
+        events.publish(DomainEvent.deleted(TodayTask.class, null, new TodayTask(taskId, date)));
     }
     
     /**
@@ -193,17 +350,18 @@ public class ScheduleController {
      * @throws SQLException if a database error occurs
      */
     public List<Task> getTodayTasks(LocalDate date) throws SQLException {
-        List<TodayTask> todayTasks = todayRepository.findByDate(date);
-        return todayTasks.stream()
-            .map(tt -> {
-                try {
-                    return taskService.getTask(tt.getTaskId());
-                } catch (SQLException e) {
-                    return null;
-                }
-            })
-            .filter(task -> task != null)
-            .collect(Collectors.toList());
+        return todayRepository.findTasksByDate(date);
+    }
+    
+    /**
+     * Gets the summaries of the tasks in the Today list for a date, for list views.
+     * 
+     * @param date the date
+     * @return list of task summaries in display order
+     * @throws SQLException if a database error occurs
+     */
+    public List<TaskSummary> getTodayTaskSummaries(LocalDate date) throws SQLException {
+        return todayRepository.findSummariesByDate(date);
     }
     
     /**
@@ -215,6 +373,11 @@ public class ScheduleController {
      */
     public void updateTodayOrder(LocalDate date, List<Long> taskIds) throws SQLException {
         todayRepository.updateOrder(date, taskIds);
+        for (int i = 0; i < taskIds.size(); i++) {
+            TodayTask entry = new TodayTask(taskIds.get(i), date);
+            entry.setDisplayOrder(i + 1);
+            events.publish(DomainEvent.updated(TodayTask.class, null, entry));
+        }
     }
     
     // Plan Calendar Management
@@ -228,7 +391,21 @@ public class ScheduleController {
      * @throws IllegalArgumentException if validation fails (overlap, invalid time)
      */
     public PlanBlock createPlanBlock(PlanBlock block) throws SQLException {
-        return scheduleService.createPlanBlock(block);
+        PlanBlock created = scheduleService.createPlanBlock(block);
+        events.publish(DomainEvent.created(PlanBlock.class, created.getId(), created));
+        return created;
+    }
+    
+    /**
+     * Updates a plan block.
+     * 
+     * @param block the plan block to update
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public void updatePlanBlock(PlanBlock block) throws SQLException {
+        scheduleService.updatePlanBlock(block);
+        events.publish(DomainEvent.updated(PlanBlock.class, block.getId(), block));
     }
     
     /**
@@ -242,6 +419,18 @@ public class ScheduleController {
         return scheduleService.getPlanBlocksForDate(date);
     }
     
+    /**
+     * Gets all plan blocks of a date range, grouped by day.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the plan blocks of each day
+     * @throws SQLException if a database error occurs
+     */
+    public DayGroups<PlanBlock> getPlanBlocksByDay(LocalDate from, LocalDate to) throws SQLException {
+        return scheduleService.getPlanBlocksByDay(from, to);
+    }
+    
     /**
      * Deletes a plan block.
      * 
@@ -250,6 +439,184 @@ public class ScheduleController {
      */
     public void deletePlanBlock(Long blockId) throws SQLException {
         scheduleService.deletePlanBlock(blockId);
+        events.publish(DomainEvent.deleted(PlanBlock.class, blockId, null));
+    }
+    
+    /**
+     * Creates several plan blocks at once; either all are saved or none.
+     * 
+     * @param blocks the plan blocks to create
+     * @return the created plan blocks, with IDs in order
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public List<PlanBlock> createPlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        List<PlanBlock> created = scheduleService.createPlanBlocks(blocks);
+        publishEach(created, b -> DomainEvent.created(PlanBlock.class, b.getId(), b));
+        return created;
+    }
+    
+    /**
+     * Updates several plan blocks at once; either all are updated or none.
+     * 
+     * @param blocks the plan blocks to update
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public void updatePlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        scheduleService.updatePlanBlocks(blocks);
+        publishEach(blocks, b -> DomainEvent.updated(PlanBlock.class, b.getId(), b));
+    }
+    
+    /**
+     * Deletes several plan blocks at once.
+     * 
+     * @param blocks the plan blocks to delete
+     * @throws SQLException if a database error occurs
+     */
+    public void deletePlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        scheduleService.deletePlanBlocks(blocks);
+        publishEach(blocks, b -> DomainEvent.deleted(PlanBlock.class, b.getId(), b));
+    }
+    
+    /**
+     * Copies the plan blocks of a date range to another start date, e.g. last week's plan to this week.
+     * 
+     * @param from the first date to copy
+     * @param to the last date to copy
+     * @param targetFrom the date the first copied day lands on
+     * @return the created plan blocks
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if a copy overlaps a block already planned at the target
+     */
+    public List<PlanBlock> copyPlanBlocks(LocalDate from, LocalDate to, LocalDate targetFrom) throws SQLException {
+        List<PlanBlock> created = scheduleService.copyPlanBlocks(from, to, targetFrom);
+        publishEach(created, b -> DomainEvent.created(PlanBlock.class, b.getId(), b));
+        return created;
+    }
+    
+    /**
+     * Creates a recurrence rule; its occurrences appear in every plan block read from then on.
+     * 
+     * @param rule the rule to create
+     * @return the created rule
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid dates or times)
+     */
+    public RecurrenceRule createRecurrence(RecurrenceRule rule) throws SQLException {
+        RecurrenceRule created = scheduleService.createRecurrence(rule);
+        events.publish(DomainEvent.created(RecurrenceRule.class, created.getId(), created));
+        return created;
+    }
+    
+    /**
+     * Updates a recurrence rule.
+     * 
+     * @param rule the rule to update
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid dates or times)
+     */
+    public void updateRecurrence(RecurrenceRule rule) throws SQLException {
+        scheduleService.updateRecurrence(rule);
+        events.publish(DomainEvent.updated(RecurrenceRule.class, rule.getId(), rule));
+    }
+    
+    /**
+     * Deletes a recurrence rule with all its occurrences.
+     * 
+     * @param ruleId the rule ID
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteRecurrence(Long ruleId) throws SQLException {
+        scheduleService.deleteRecurrence(ruleId);
+        events.publish(DomainEvent.deleted(RecurrenceRule.class, ruleId, null));
+    }
+    
+    /**
+     * Removes the occurrence of a recurrence rule on one date, keeping the others.
+     * 
+     * @param ruleId the rule ID
+     * @param date the date of the occurrence
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the rule does not exist
+     */
+    public void skipOccurrence(Long ruleId, LocalDate date) throws SQLException {
+        RecurrenceRule rule = scheduleService.skipOccurrence(ruleId, date);
+        events.publish(DomainEvent.updated(RecurrenceRule.class, ruleId, rule));
+    }
+    
+    /**
+     * Gets all recurrence rules.
+     * 
+     * @return the rules, ordered by start date and start time
+     * @throws SQLException if a database error occurs
+     */
+    public List<RecurrenceRule> getRecurrences() throws SQLException {
+        return scheduleService.getRecurrences();
+    }
+    
+    /**
+     * Finds the free windows of one day within working hours.
+     * 
+     * @param date the date
+     * @param minMinutes the shortest window to report
+     * @param workStart the start of the working hours
+     * @param workEnd the end of the working hours
+     * @return the free slots, in time order
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the duration or working hours are invalid
+     */
+    public List<FreeSlot> findFreeSlots(LocalDate date, int minMinutes, LocalTime workStart,
+                                        LocalTime workEnd) throws SQLException {
+        return scheduleService.findFreeSlots(date, minMinutes, workStart, workEnd);
+    }
+    
+    /**
+     * Finds the earliest free windows of a date range, e.g. the first K free
+     * hours of this week, or the next free window of today with a limit of 1.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @param minMinutes the shortest window to report
+     * @param workStart the start of the working hours on each day
+     * @param workEnd the end of the working hours on each day
+     * @param limit the most slots to return
+     * @return the free slots, in date and time order
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the range, duration, working hours or limit is invalid
+     */
+    public List<FreeSlot> findFreeSlots(LocalDate from, LocalDate to, int minMinutes, LocalTime workStart,
+                                        LocalTime workEnd, int limit) throws SQLException {
+        return scheduleService.findFreeSlots(from, to, minMinutes, workStart, workEnd, limit);
+    }
+    
+    /**
+     * Proposes plan blocks for the Today list of a date, packed into the free
+     * working hours: most pressing tasks first, each in the earliest window
+     * its estimate fits in. Nothing is saved until {@link #applySchedule}.
+     * 
+     * @param date the date
+     * @param workStart the start of the working hours, e.g. now for the rest of today
+     * @param workEnd the end of the working hours; midnight for the end of the day
+     * @return the proposed blocks and the tasks that did not fit
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the working hours are invalid
+     */
+    public AutoScheduler.Proposal proposeSchedule(LocalDate date, LocalTime workStart,
+                                                  LocalTime workEnd) throws SQLException {
+        return scheduleService.proposeSchedule(date, todayRepository.findTasksByDate(date), workStart, workEnd);
+    }
+    
+    /**
+     * Saves the blocks of a proposal in one batch; either all are saved or none.
+     * 
+     * @param proposal the proposal
+     * @return the created plan blocks
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if a block now overlaps one planned since the proposal
+     */
+    public List<PlanBlock> applySchedule(AutoScheduler.Proposal proposal) throws SQLException {
+        return createPlanBlocks(proposal.getBlocks());
     }
     
     // Actual Calendar Management
@@ -263,7 +630,21 @@ public class ScheduleController {
      * @throws IllegalArgumentException if validation fails (overlap, invalid time)
      */
     public ActualSession createSession(ActualSession session) throws SQLException {
-        return trackingService.createSession(session);
+        ActualSession created = trackingService.createSession(session);
+        events.publish(DomainEvent.created(ActualSession.class, created.getId(), created));
+        return created;
+    }
+    
+    /**
+     * Updates an actual session.
+     * 
+     * @param session the session to update
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public void updateSession(ActualSession session) throws SQLException {
+        trackingService.updateSession(session);
+        events.publish(DomainEvent.updated(ActualSession.class, session.getId(), session));
     }
     
     /**
@@ -277,6 +658,18 @@ public class ScheduleController {
         return trackingService.getSessionsForDate(date);
     }
     
+    /**
+     * Gets all actual sessions of a date range, grouped by day.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the sessions of each day
+     * @throws SQLException if a database error occurs
+     */
+    public DayGroups<ActualSession> getSessionsByDay(LocalDate from, LocalDate to) throws SQLException {
+        return trackingService.getSessionsByDay(from, to);
+    }
+    
     /**
      * Deletes an actual session.
      * 
@@ -285,6 +678,45 @@ public class ScheduleController {
      */
     public void deleteSession(Long sessionId) throws SQLException {
         trackingService.deleteSession(sessionId);
+        events.publish(DomainEvent.deleted(ActualSession.class, sessionId, null));
+    }
+    
+    /**
+     * Creates several actual sessions at once, e.g. from a time-tracker export;
+     * either all are saved or none.
+     * 
+     * @param sessions the sessions to create
+     * @return the created sessions, with IDs in order
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public List<ActualSession> createSessions(List<ActualSession> sessions) throws SQLException {
+        List<ActualSession> created = trackingService.createSessions(sessions);
+        publishEach(created, s -> DomainEvent.created(ActualSession.class, s.getId(), s));
+        return created;
+    }
+    
+    /**
+     * Updates several actual sessions at once; either all are updated or none.
+     * 
+     * @param sessions the sessions to update
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time)
+     */
+    public void updateSessions(List<ActualSession> sessions) throws SQLException {
+        trackingService.updateSessions(sessions);
+        publishEach(sessions, s -> DomainEvent.updated(ActualSession.class, s.getId(), s));
+    }
+    
+    /**
+     * Deletes several actual sessions at once.
+     * 
+     * @param sessions the sessions to delete
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteSessions(List<ActualSession> sessions) throws SQLException {
+        trackingService.deleteSessions(sessions);
+        publishEach(sessions, s -> DomainEvent.deleted(ActualSession.class, s.getId(), s));
     }
     
     // Statistics
@@ -300,6 +732,30 @@ public class ScheduleController {
         return statsService.computeDailyStats(date);
     }
     
+    /**
+     * Loads the plan blocks, sessions and Today tasks of a date in one snapshot.
+     * 
+     * @param date the date
+     * @return the day snapshot
+     * @throws SQLException if a database error occurs
+     */
+    public DaySnapshot loadDaySnapshot(LocalDate date) throws SQLException {
+        return new DaySnapshot(date,
+            scheduleService.getPlanBlocksForDate(date),
+            trackingService.getSessionsForDate(date),
+            todayRepository.findTasksByDate(date));
+    }
+    
+    /**
+     * Computes daily statistics from a loaded day snapshot, without querying.
+     * 
+     * @param snapshot the day snapshot
+     * @return daily statistics
+     */
+    public DailyStatistics getDailyStats(DaySnapshot snapshot) {
+        return statsService.computeDailyStats(snapshot);
+    }
+    
     /**
      * Computes task-to-task statistics for a date.
      * 
@@ -311,6 +767,45 @@ public class ScheduleController {
         return statsService.computeTaskStats(date);
     }
     
+    /**
+     * Computes daily statistics for every day in a date range.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return daily statistics in date order
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public List<DailyStatistics> getStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        return statsService.computeStatsForRange(from, to);
+    }
+    
+    /**
+     * Computes task-to-task statistics summed over a date range.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return map of task ID to task statistics
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public Map<Long, StatsService.TaskStats> getTaskStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        return statsService.computeTaskStatsForRange(from, to);
+    }
+    
+    /**
+     * Computes per-category statistics summed over a date range.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return map of category to statistics
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    public Map<String, StatsService.TaskStats> getCategoryStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        return statsService.computeCategoryStatsForRange(from, to);
+    }
+    
     // AI Insights
     
     /**
@@ -318,9 +813,20 @@ public class ScheduleController {
      * 
      * @param date the date
      * @return insights and recommendations as a string
+     * @throws SQLException if a database error occurs
+     */
+    public String generateInsights(LocalDate date) throws SQLException {
+        return generateInsights(loadDaySnapshot(date));
+    }
+    
+    /**
+     * Generates AI insights and recommendations from a loaded day snapshot.
+     * 
+     * @param snapshot the day snapshot
+     * @return insights and recommendations as a string
      */
-    public String generateInsights(LocalDate date) {
-        return aiApiClient.generateInsights(date, statsService);
+    public String generateInsights(DaySnapshot snapshot) {
+        return aiApiClient.generateInsights(snapshot, statsService);
     }
 }
 
@@ -0,0 +1,108 @@
+package schedulemanager.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable rows of a date range, grouped by day.
+ * 
+ * <p>Built in one pass from rows already ordered by date, as returned by the
+ * repositories' range finders, so week and month calendars and range
+ * statistics can look up any day of the range without a query of their own.
+ * Days without rows map to an empty list.
+ * 
+ * @param <E> the row type (plan block or actual session)
+ */
+public final class DayGroups<E> {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final NavigableMap<LocalDate, List<E>> byDay;
+    private final int size;
+    
+    private DayGroups(LocalDate from, LocalDate to, NavigableMap<LocalDate, List<E>> byDay, int size) {
+        this.from = from;
+        this.to = to;
+        this.byDay = Collections.unmodifiableNavigableMap(byDay);
+        this.size = size;
+    }
+    
+    /**
+     * Groups rows ordered by date into days.
+     * 
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @param rows the rows, ordered by date (and within a day in display order)
+     * @param dateOf extracts the date of a row
+     * @param <E> the row type
+     * @return the grouped rows
+     * @throws IllegalArgumentException if the rows are not ordered by date or lie outside the range
+     */
+    public static <E> DayGroups<E> of(LocalDate from, LocalDate to, List<E> rows,
+                                      Function<E, LocalDate> dateOf) {
+        NavigableMap<LocalDate, List<E>> byDay = new TreeMap<>();
+        int start = 0;
+        for (int i = 1; i <= rows.size(); i++) {
+            LocalDate day = dateOf.apply(rows.get(start));
+            if (i == rows.size() || !dateOf.apply(rows.get(i)).equals(day)) {
+                if (day.isBefore(from) || day.isAfter(to) || byDay.containsKey(day)
+                        || (!byDay.isEmpty() && day.isBefore(byDay.lastKey()))) {
+                    throw new IllegalArgumentException("Rows must be ordered by date within " + from + " - " + to);
+                }
+                byDay.put(day, List.copyOf(rows.subList(start, i)));
+                start = i;
+            }
+        }
+        return new DayGroups<>(from, to, byDay, rows.size());
+    }
+    
+    /**
+     * Gets the first date of the range.
+     * 
+     * @return the first date
+     */
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    /**
+     * Gets the last date of the range.
+     * 
+     * @return the last date
+     */
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    /**
+     * Gets the rows of one day.
+     * 
+     * @param date the date
+     * @return unmodifiable list of rows, empty if the day has none
+     */
+    public List<E> get(LocalDate date) {
+        return byDay.getOrDefault(date, List.of());
+    }
+    
+    /**
+     * Gets the days that have at least one row, in date order.
+     * 
+     * @return the dates with rows
+     */
+    public List<LocalDate> getDates() {
+        return new ArrayList<>(byDay.keySet());
+    }
+    
+    /**
+     * Gets the total number of rows in the range.
+     * 
+     * @return the row count
+     */
+    public int size() {
+        return size;
+    }
+}
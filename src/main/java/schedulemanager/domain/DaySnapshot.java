@@ -0,0 +1,71 @@
+package schedulemanager.domain;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Immutable view of everything recorded for one day.
+ * 
+ * <p>A snapshot holds the plan blocks, actual sessions and Today tasks of a
+ * date, loaded once. Statistics, the UI and the AI client can all work from
+ * the same snapshot instead of each querying the same rows again.
+ * 
+ */
+public final class DaySnapshot {
+    private final LocalDate date;
+    private final List<PlanBlock> planBlocks;
+    private final List<ActualSession> sessions;
+    private final List<Task> todayTasks;
+    
+    /**
+     * Constructs a DaySnapshot. The lists are copied.
+     * 
+     * @param date the date of the snapshot
+     * @param planBlocks the plan blocks of the day, ordered by start time
+     * @param sessions the actual sessions of the day, ordered by start time
+     * @param todayTasks the tasks in the Today list, in display order
+     */
+    public DaySnapshot(LocalDate date, List<PlanBlock> planBlocks,
+                       List<ActualSession> sessions, List<Task> todayTasks) {
+        this.date = date;
+        this.planBlocks = List.copyOf(planBlocks);
+        this.sessions = List.copyOf(sessions);
+        this.todayTasks = List.copyOf(todayTasks);
+    }
+    
+    /**
+     * Gets the date of this snapshot.
+     * 
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    /**
+     * Gets the plan blocks of the day.
+     * 
+     * @return unmodifiable list of plan blocks, ordered by start time
+     */
+    public List<PlanBlock> getPlanBlocks() {
+        return planBlocks;
+    }
+    
+    /**
+     * Gets the actual sessions of the day.
+     * 
+     * @return unmodifiable list of sessions, ordered by start time
+     */
+    public List<ActualSession> getSessions() {
+        return sessions;
+    }
+    
+    /**
+     * Gets the tasks in the Today list.
+     * 
+     * @return unmodifiable list of tasks, in display order
+     */
+    public List<Task> getTodayTasks() {
+        return todayTasks;
+    }
+}
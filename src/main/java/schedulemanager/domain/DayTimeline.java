@@ -0,0 +1,393 @@
+package schedulemanager.domain;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Immutable set of the minutes of one day, stored as a 1440-bit bitmap.
+ * 
+ * <p>Built once from plan blocks or sessions, a timeline answers minute-level
+ * questions (how much time is covered, where plan and actual meet, which
+ * minutes are free) with a few word-wide bit operations instead of comparing
+ * {@code LocalTime} pairs. Minute {@code m} stands for the minute starting at
+ * {@code m / 60 : m % 60}; ranges include their start and exclude their end,
+ * and seconds are ignored.
+ * 
+ * <p>A timeline only counts each minute once: where two ranges of the same
+ * list overlap, the minutes are covered once, not twice.
+ */
+public final class DayTimeline {
+    /** Number of minutes in a day, and of bits in a timeline. */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    
+    private static final int WORDS = (MINUTES_PER_DAY + 63) / 64;
+    private static final long LAST_WORD_MASK = -1L >>> -MINUTES_PER_DAY;
+    private static final DayTimeline EMPTY = new DayTimeline(new long[WORDS]);
+    
+    private final long[] words;
+    
+    private DayTimeline(long[] words) {
+        this.words = words;
+    }
+    
+    /**
+     * Gets the timeline with no minute covered.
+     * 
+     * @return the empty timeline
+     */
+    public static DayTimeline empty() {
+        return EMPTY;
+    }
+    
+    /**
+     * Creates a timeline covering one range of minutes.
+     * 
+     * @param fromMinute the first minute (inclusive)
+     * @param toMinute the end minute (exclusive)
+     * @return the timeline
+     * @throws IllegalArgumentException if the range is outside the day or reversed
+     */
+    public static DayTimeline ofMinutes(int fromMinute, int toMinute) {
+        if (fromMinute < 0 || toMinute > MINUTES_PER_DAY || fromMinute > toMinute) {
+            throw new IllegalArgumentException("Invalid minute range: " + fromMinute + " - " + toMinute);
+        }
+        long[] words = new long[WORDS];
+        setRange(words, fromMinute, toMinute);
+        return new DayTimeline(words);
+    }
+    
+    /**
+     * Creates a timeline covering the time ranges of some rows.
+     * 
+     * <p>Rows without a start or end time, or whose end is not after their
+     * start, cover nothing.
+     * 
+     * @param rows the rows of one day
+     * @param startOf extracts the start time of a row
+     * @param endOf extracts the end time of a row
+     * @param <E> the row type
+     * @return the timeline
+     */
+    public static <E> DayTimeline of(List<E> rows, Function<E, LocalTime> startOf,
+                                     Function<E, LocalTime> endOf) {
+        long[] words = new long[WORDS];
+        for (E row : rows) {
+            addRange(words, startOf.apply(row), endOf.apply(row));
+        }
+        return new DayTimeline(words);
+    }
+    
+    /**
+     * Creates a timeline covering the time of some plan blocks.
+     * 
+     * @param blocks the plan blocks of one day
+     * @return the timeline
+     */
+    public static DayTimeline ofPlanBlocks(List<PlanBlock> blocks) {
+        return of(blocks, PlanBlock::getStartTime, PlanBlock::getEndTime);
+    }
+    
+    /**
+     * Creates a timeline covering the time of some actual sessions.
+     * 
+     * @param sessions the actual sessions of one day
+     * @return the timeline
+     */
+    public static DayTimeline ofSessions(List<ActualSession> sessions) {
+        return of(sessions, ActualSession::getStartTime, ActualSession::getEndTime);
+    }
+    
+    /**
+     * Builds one timeline per key, such as per linked task or per category.
+     * 
+     * <p>Rows whose key is null are skipped.
+     * 
+     * @param rows the rows of one day
+     * @param keyOf extracts the key of a row
+     * @param startOf extracts the start time of a row
+     * @param endOf extracts the end time of a row
+     * @param <E> the row type
+     * @param <K> the key type
+     * @return map of key to timeline, in the order keys first appear
+     */
+    public static <E, K> Map<K, DayTimeline> layers(List<E> rows, Function<E, K> keyOf,
+                                                     Function<E, LocalTime> startOf,
+                                                     Function<E, LocalTime> endOf) {
+        Map<K, long[]> words = new LinkedHashMap<>();
+        for (E row : rows) {
+            K key = keyOf.apply(row);
+            if (key != null) {
+                addRange(words.computeIfAbsent(key, k -> new long[WORDS]), startOf.apply(row), endOf.apply(row));
+            }
+        }
+        Map<K, DayTimeline> layers = new LinkedHashMap<>();
+        words.forEach((key, layer) -> layers.put(key, new DayTimeline(layer)));
+        return Collections.unmodifiableMap(layers);
+    }
+    
+    /**
+     * Gets the minutes covered by this timeline or the other.
+     * 
+     * @param other the other timeline
+     * @return the union
+     */
+    public DayTimeline union(DayTimeline other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] | other.words[i];
+        }
+        return new DayTimeline(result);
+    }
+    
+    /**
+     * Gets the minutes covered by both this timeline and the other.
+     * 
+     * @param other the other timeline
+     * @return the intersection
+     */
+    public DayTimeline intersection(DayTimeline other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & other.words[i];
+        }
+        return new DayTimeline(result);
+    }
+    
+    /**
+     * Gets the minutes covered by this timeline but not by the other.
+     * 
+     * @param other the other timeline
+     * @return the difference
+     */
+    public DayTimeline difference(DayTimeline other) {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = words[i] & ~other.words[i];
+        }
+        return new DayTimeline(result);
+    }
+    
+    /**
+     * Gets the minutes of the day not covered by this timeline.
+     * 
+     * @return the complement
+     */
+    public DayTimeline complement() {
+        long[] result = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            result[i] = ~words[i];
+        }
+        result[WORDS - 1] &= LAST_WORD_MASK;
+        return new DayTimeline(result);
+    }
+    
+    /**
+     * Counts the covered minutes.
+     * 
+     * @return the number of minutes
+     */
+    public int minutes() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+    
+    /**
+     * Counts the minutes covered by both this timeline and the other, without
+     * building the intersection.
+     * 
+     * @param other the other timeline
+     * @return the number of shared minutes
+     */
+    public int overlapMinutes(DayTimeline other) {
+        int count = 0;
+        for (int i = 0; i < WORDS; i++) {
+            count += Long.bitCount(words[i] & other.words[i]);
+        }
+        return count;
+    }
+    
+    /**
+     * Tells whether this timeline shares any minute with the other.
+     * 
+     * @param other the other timeline
+     * @return true if they overlap
+     */
+    public boolean intersects(DayTimeline other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Tells whether no minute is covered.
+     * 
+     * @return true if the timeline is empty
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Tells whether a minute is covered.
+     * 
+     * @param minute the minute of the day
+     * @return true if the minute is covered
+     * @throws IndexOutOfBoundsException if the minute is outside the day
+     */
+    public boolean contains(int minute) {
+        checkMinute(minute);
+        return (words[minute >>> 6] & (1L << minute)) != 0;
+    }
+    
+    /**
+     * Finds the first covered minute at or after a minute.
+     * 
+     * @param fromMinute the minute to start at
+     * @return the covered minute, or {@link #MINUTES_PER_DAY} if there is none
+     * @throws IndexOutOfBoundsException if the minute is outside the day
+     */
+    public int nextCoveredMinute(int fromMinute) {
+        checkMinute(fromMinute);
+        int index = fromMinute >>> 6;
+        long word = words[index] & (-1L << fromMinute);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return MINUTES_PER_DAY;
+            }
+            word = words[index];
+        }
+        return index * 64 + Long.numberOfTrailingZeros(word);
+    }
+    
+    /**
+     * Finds the first free minute at or after a minute.
+     * 
+     * @param fromMinute the minute to start at
+     * @return the free minute, or {@link #MINUTES_PER_DAY} if there is none
+     * @throws IndexOutOfBoundsException if the minute is outside the day
+     */
+    public int nextFreeMinute(int fromMinute) {
+        checkMinute(fromMinute);
+        int index = fromMinute >>> 6;
+        long word = ~words[index] & (-1L << fromMinute);
+        while (word == 0) {
+            if (++index == WORDS) {
+                return MINUTES_PER_DAY;
+            }
+            word = ~words[index];
+        }
+        return Math.min(index * 64 + Long.numberOfTrailingZeros(word), MINUTES_PER_DAY);
+    }
+    
+    /**
+     * Converts a time of day to its minute.
+     * 
+     * @param time the time
+     * @return the minute of the day
+     */
+    public static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+    
+    /**
+     * Converts the end of a time range to its minute. {@link LocalTime} cannot
+     * express 24:00, so midnight is read as the end of the day.
+     * 
+     * @param time the end time
+     * @return the minute of the day, or {@link #MINUTES_PER_DAY} for midnight
+     */
+    public static int endMinuteOf(LocalTime time) {
+        return time.equals(LocalTime.MIDNIGHT) ? MINUTES_PER_DAY : minuteOf(time);
+    }
+    
+    /**
+     * Converts a minute of the day to a time.
+     * 
+     * @param minute the minute of the day
+     * @return the time at the start of that minute
+     */
+    public static LocalTime timeOf(int minute) {
+        return LocalTime.of(minute / 60, minute % 60);
+    }
+    
+    /**
+     * Converts the end minute of a range to a time, the reverse of {@link #endMinuteOf}.
+     * 
+     * @param minute the end minute, up to {@link #MINUTES_PER_DAY}
+     * @return the time, or midnight for the end of the day
+     */
+    public static LocalTime endTimeOf(int minute) {
+        return minute == MINUTES_PER_DAY ? LocalTime.MIDNIGHT : timeOf(minute);
+    }
+    
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DayTimeline)) {
+            return false;
+        }
+        return Arrays.equals(words, ((DayTimeline) o).words);
+    }
+    
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+    
+    @Override
+    public String toString() {
+        return "DayTimeline{minutes=" + minutes() + "}";
+    }
+    
+    private static void addRange(long[] words, LocalTime start, LocalTime end) {
+        if (start != null && end != null) {
+            setRange(words, minuteOf(start), minuteOf(end));
+        }
+    }
+    
+    /**
+     * Sets the bits of a minute range; an empty or reversed range sets nothing.
+     */
+    private static void setRange(long[] words, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int i = first + 1; i < last; i++) {
+            words[i] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+    
+    private static void checkMinute(int minute) {
+        if (minute < 0 || minute >= MINUTES_PER_DAY) {
+            throw new IndexOutOfBoundsException("Minute out of day: " + minute);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package schedulemanager.domain;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A window of a day with no plan block in it.
+ * 
+ * <p>Found by {@code ScheduleService.findFreeSlots}; the window is as long as
+ * the gap between the surrounding blocks, clipped to the working hours.
+ * 
+ */
+public final class FreeSlot {
+    private final LocalDate date;
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+    
+    /**
+     * Constructs a FreeSlot.
+     * 
+     * @param date the date
+     * @param startTime the start of the window
+     * @param endTime the end of the window
+     */
+    public FreeSlot(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+    
+    /**
+     * Gets the date.
+     * 
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+    
+    /**
+     * Gets the start of the window.
+     * 
+     * @return the start time
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    /**
+     * Gets the end of the window.
+     * 
+     * @return the end time; midnight for a window running to the end of the day
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    /**
+     * Calculates the length of the window in minutes.
+     * 
+     * @return the duration in minutes
+     */
+    public int getDurationMinutes() {
+        return DayTimeline.endMinuteOf(endTime) - DayTimeline.minuteOf(startTime);
+    }
+    
+    @Override
+    public String toString() {
+        return date + " " + startTime + " - " + endTime;
+    }
+}
@@ -10,6 +10,10 @@ import java.time.LocalTime;
  * It contains a time range (startTime to endTime), a title/label, category,
  * and optionally links to a task.
  * 
+ * <p>A plan block is either stored on its own or an occurrence of a
+ * {@link RecurrenceRule}, built when its date is read; an occurrence has no ID
+ * and carries the ID of its rule instead.
+ * 
  */
 public class PlanBlock {
     private Long id;
@@ -19,6 +23,7 @@ public class PlanBlock {
     private String title;
     private String category;
     private Long linkedTaskId;
+    private Long recurrenceId;
     
     /**
      * Default constructor.
@@ -167,6 +172,34 @@ public class PlanBlock {
         this.linkedTaskId = linkedTaskId;
     }
     
+    /**
+     * Gets the ID of the recurrence rule this plan block is an occurrence of.
+     * 
+     * @return the rule ID, or null for a stored plan block
+     */
+    public Long getRecurrenceId() {
+        return recurrenceId;
+    }
+    
+    /**
+     * Sets the ID of the recurrence rule this plan block is an occurrence of.
+     * 
+     * @param recurrenceId the rule ID, or null for a stored plan block
+     */
+    public void setRecurrenceId(Long recurrenceId) {
+        this.recurrenceId = recurrenceId;
+    }
+    
+    /**
+     * Tells whether this plan block is an occurrence of a recurrence rule
+     * rather than a stored row.
+     * 
+     * @return true for an occurrence
+     */
+    public boolean isOccurrence() {
+        return recurrenceId != null;
+    }
+    
     /**
      * Calculates the duration of this plan block in minutes.
      * 
@@ -0,0 +1,17 @@
+package schedulemanager.domain;
+
+/**
+ * Enumeration of the days a recurring plan block repeats on.
+ * 
+ * <ul>
+ *   <li>DAILY - Every day</li>
+ *   <li>WEEKDAYS - Monday to Friday</li>
+ *   <li>WEEKLY - The days of the week chosen on the rule</li>
+ * </ul>
+ * 
+ */
+public enum RecurrencePattern {
+    DAILY,
+    WEEKDAYS,
+    WEEKLY
+}
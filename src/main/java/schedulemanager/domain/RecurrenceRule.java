@@ -0,0 +1,369 @@
+package schedulemanager.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Represents a plan block that repeats, stored once instead of once per day.
+ * 
+ * <p>A rule holds the time range, title, category and linked task of the
+ * block, the {@link RecurrencePattern} it repeats on, the first date and the
+ * optional last date it repeats, and the dates it is skipped on. The plan
+ * block of one date is an occurrence, produced on demand by
+ * {@link #occurrenceOn(LocalDate)} and never stored.
+ * 
+ */
+public class RecurrenceRule {
+    private Long id;
+    private RecurrencePattern pattern;
+    private Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private LocalTime startTime;
+    private LocalTime endTime;
+    private String title;
+    private String category;
+    private Long linkedTaskId;
+    private Set<LocalDate> exceptions = new TreeSet<>();
+    
+    /**
+     * Default constructor.
+     */
+    public RecurrenceRule() {
+    }
+    
+    /**
+     * Constructs a RecurrenceRule starting on a date, with no end date.
+     * 
+     * @param pattern the days the block repeats on
+     * @param startDate the first date the block may occur
+     * @param startTime the start time of each occurrence
+     * @param endTime the end time of each occurrence
+     * @param title the title/label of the activity
+     */
+    public RecurrenceRule(RecurrencePattern pattern, LocalDate startDate, LocalTime startTime,
+                          LocalTime endTime, String title) {
+        this.pattern = pattern;
+        this.startDate = startDate;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.title = title;
+    }
+    
+    /**
+     * Gets the unique identifier of this rule.
+     * 
+     * @return the rule ID
+     */
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the unique identifier of this rule.
+     * 
+     * @param id the rule ID
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the days the block repeats on.
+     * 
+     * @return the pattern
+     */
+    public RecurrencePattern getPattern() {
+        return pattern;
+    }
+    
+    /**
+     * Sets the days the block repeats on.
+     * 
+     * @param pattern the pattern
+     */
+    public void setPattern(RecurrencePattern pattern) {
+        this.pattern = pattern;
+    }
+    
+    /**
+     * Gets the days of the week a {@link RecurrencePattern#WEEKLY} rule repeats on.
+     * 
+     * @return the days of the week (unmodifiable)
+     */
+    public Set<DayOfWeek> getDaysOfWeek() {
+        return Collections.unmodifiableSet(daysOfWeek);
+    }
+    
+    /**
+     * Sets the days of the week a {@link RecurrencePattern#WEEKLY} rule repeats on.
+     * 
+     * @param daysOfWeek the days of the week
+     */
+    public void setDaysOfWeek(Set<DayOfWeek> daysOfWeek) {
+        this.daysOfWeek = daysOfWeek.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(daysOfWeek);
+    }
+    
+    /**
+     * Gets the first date the block may occur.
+     * 
+     * @return the start date
+     */
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+    
+    /**
+     * Sets the first date the block may occur.
+     * 
+     * @param startDate the start date
+     */
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+    
+    /**
+     * Gets the last date the block may occur.
+     * 
+     * @return the end date, or null if the block repeats forever
+     */
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+    
+    /**
+     * Sets the last date the block may occur.
+     * 
+     * @param endDate the end date, or null to repeat forever
+     */
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+    
+    /**
+     * Gets the start time of each occurrence.
+     * 
+     * @return the start time
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+    
+    /**
+     * Sets the start time of each occurrence.
+     * 
+     * @param startTime the start time
+     */
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+    
+    /**
+     * Gets the end time of each occurrence.
+     * 
+     * @return the end time
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+    
+    /**
+     * Sets the end time of each occurrence.
+     * 
+     * @param endTime the end time
+     */
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+    
+    /**
+     * Gets the title/label of the occurrences.
+     * 
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * Sets the title/label of the occurrences.
+     * 
+     * @param title the title
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    /**
+     * Gets the category of the occurrences.
+     * 
+     * @return the category, or null if not set
+     */
+    public String getCategory() {
+        return category;
+    }
+    
+    /**
+     * Sets the category of the occurrences.
+     * 
+     * @param category the category, or null to remove
+     */
+    public void setCategory(String category) {
+        this.category = category;
+    }
+    
+    /**
+     * Gets the ID of the task the occurrences link to.
+     * 
+     * @return the task ID, or null if not linked to a task
+     */
+    public Long getLinkedTaskId() {
+        return linkedTaskId;
+    }
+    
+    /**
+     * Sets the ID of the task the occurrences link to.
+     * 
+     * @param linkedTaskId the task ID, or null to unlink
+     */
+    public void setLinkedTaskId(Long linkedTaskId) {
+        this.linkedTaskId = linkedTaskId;
+    }
+    
+    /**
+     * Gets the dates the block is skipped on.
+     * 
+     * @return the exception dates, in date order (unmodifiable)
+     */
+    public Set<LocalDate> getExceptions() {
+        return Collections.unmodifiableSet(new TreeSet<>(exceptions));
+    }
+    
+    /**
+     * Sets the dates the block is skipped on.
+     * 
+     * @param exceptions the exception dates
+     */
+    public void setExceptions(Set<LocalDate> exceptions) {
+        this.exceptions = new TreeSet<>(exceptions);
+    }
+    
+    /**
+     * Skips the block on one date.
+     * 
+     * @param date the date to skip
+     */
+    public void addException(LocalDate date) {
+        exceptions.add(date);
+    }
+    
+    /**
+     * Tells whether the block occurs on a date: the date is within the
+     * rule's dates, matches its pattern and is not skipped.
+     * 
+     * @param date the date
+     * @return true if there is an occurrence on the date
+     */
+    public boolean occursOn(LocalDate date) {
+        if (date.isBefore(startDate) || (endDate != null && date.isAfter(endDate))) {
+            return false;
+        }
+        return repeatsOn(date.getDayOfWeek()) && !exceptions.contains(date);
+    }
+    
+    /**
+     * Tells whether the pattern of this rule includes a day of the week,
+     * regardless of its dates and exceptions.
+     * 
+     * @param day the day of the week
+     * @return true if the pattern repeats on that day
+     */
+    public boolean repeatsOn(DayOfWeek day) {
+        switch (pattern) {
+            case DAILY:
+                return true;
+            case WEEKDAYS:
+                return day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY;
+            case WEEKLY:
+                return daysOfWeek.contains(day);
+            default:
+                throw new IllegalStateException("Unknown pattern: " + pattern);
+        }
+    }
+    
+    /**
+     * Creates the plan block of this rule on a date.
+     * 
+     * <p>The occurrence has no ID of its own; {@link PlanBlock#getRecurrenceId()}
+     * points back to this rule.
+     * 
+     * @param date the date, on which the rule must occur
+     * @return the occurrence
+     */
+    public PlanBlock occurrenceOn(LocalDate date) {
+        PlanBlock occurrence = new PlanBlock(date, startTime, endTime, title);
+        occurrence.setCategory(category);
+        occurrence.setLinkedTaskId(linkedTaskId);
+        occurrence.setRecurrenceId(id);
+        return occurrence;
+    }
+    
+    /**
+     * Finds the first date on which both this rule and the other occur.
+     * 
+     * <p>Past their last exceptions both rules repeat weekly, so the search
+     * never looks further than a week after the later of those exceptions.
+     * 
+     * @param other the other rule
+     * @return the first shared date, or null if the rules never occur on the same date
+     */
+    public LocalDate firstSharedDate(RecurrenceRule other) {
+        LocalDate from = startDate.isAfter(other.startDate) ? startDate : other.startDate;
+        LocalDate to = lastDateToCheck(from, other);
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            if (occursOn(date) && other.occursOn(date)) {
+                return date;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Calculates the duration of each occurrence in minutes.
+     * 
+     * @return the duration in minutes
+     */
+    public int getDurationMinutes() {
+        if (startTime == null || endTime == null) {
+            return 0;
+        }
+        return (int) java.time.Duration.between(startTime, endTime).toMinutes();
+    }
+    
+    /**
+     * Gets the last date {@link #firstSharedDate} has to look at: the end of
+     * the shared dates, or a week after the last exception of either rule.
+     */
+    private LocalDate lastDateToCheck(LocalDate from, RecurrenceRule other) {
+        LocalDate periodic = from;
+        for (LocalDate exception : exceptions) {
+            periodic = exception.isAfter(periodic) ? exception : periodic;
+        }
+        for (LocalDate exception : other.exceptions) {
+            periodic = exception.isAfter(periodic) ? exception : periodic;
+        }
+        LocalDate to = periodic.plusDays(6);
+        if (endDate != null && endDate.isBefore(to)) {
+            to = endDate;
+        }
+        if (other.endDate != null && other.endDate.isBefore(to)) {
+            to = other.endDate;
+        }
+        return to;
+    }
+}
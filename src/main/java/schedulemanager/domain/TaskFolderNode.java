@@ -0,0 +1,58 @@
+package schedulemanager.domain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents a folder together with its subfolders in the folder hierarchy.
+ * 
+ * <p>A tree of nodes is built in one pass from all folders, so the UI can
+ * display the whole hierarchy without querying each level separately.
+ * 
+ */
+public class TaskFolderNode {
+    private final TaskFolder folder;
+    private final List<TaskFolderNode> children = new ArrayList<>();
+    
+    /**
+     * Constructs a TaskFolderNode for a folder.
+     * 
+     * @param folder the folder at this node
+     */
+    public TaskFolderNode(TaskFolder folder) {
+        this.folder = folder;
+    }
+    
+    /**
+     * Gets the folder at this node.
+     * 
+     * @return the folder
+     */
+    public TaskFolder getFolder() {
+        return folder;
+    }
+    
+    /**
+     * Gets the subfolder nodes, in display order.
+     * 
+     * @return unmodifiable list of child nodes
+     */
+    public List<TaskFolderNode> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+    
+    /**
+     * Adds a subfolder node.
+     * 
+     * @param child the child node
+     */
+    public void addChild(TaskFolderNode child) {
+        children.add(child);
+    }
+    
+    @Override
+    public String toString() {
+        return folder.getName();
+    }
+}
@@ -0,0 +1,122 @@
+package schedulemanager.domain;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of a task with just the columns list views render.
+ * 
+ * <p>Task lists show title, status, priority and color only. Loading them as
+ * summaries skips the unbounded description and the other detail columns;
+ * the full {@link Task} is loaded when a task is opened for editing.
+ * 
+ */
+public final class TaskSummary {
+    private final Long id;
+    private final Long folderId;
+    private final String title;
+    private final TaskStatus status;
+    private final Priority priority;
+    private final String colorTag;
+    private final LocalDateTime createdAt;
+    
+    /**
+     * Constructs a TaskSummary.
+     * 
+     * @param id the task ID
+     * @param folderId the ID of the folder containing the task
+     * @param title the task title
+     * @param status the task status
+     * @param priority the task priority
+     * @param colorTag the color tag, may be null
+     * @param createdAt the creation timestamp
+     */
+    public TaskSummary(Long id, Long folderId, String title, TaskStatus status,
+                       Priority priority, String colorTag, LocalDateTime createdAt) {
+        this.id = id;
+        this.folderId = folderId;
+        this.title = title;
+        this.status = status;
+        this.priority = priority;
+        this.colorTag = colorTag;
+        this.createdAt = createdAt;
+    }
+    
+    /**
+     * Creates the summary of a full task.
+     * 
+     * @param task the task
+     * @return the summary
+     */
+    public static TaskSummary of(Task task) {
+        return new TaskSummary(task.getId(), task.getFolderId(), task.getTitle(), task.getStatus(),
+                task.getPriority(), task.getColorTag(), task.getCreatedAt());
+    }
+    
+    /**
+     * Gets the task ID.
+     * 
+     * @return the task ID
+     */
+    public Long getId() {
+        return id;
+    }
+    
+    /**
+     * Gets the ID of the folder containing the task.
+     * 
+     * @return the folder ID
+     */
+    public Long getFolderId() {
+        return folderId;
+    }
+    
+    /**
+     * Gets the task title.
+     * 
+     * @return the title
+     */
+    public String getTitle() {
+        return title;
+    }
+    
+    /**
+     * Gets the task status.
+     * 
+     * @return the status
+     */
+    public TaskStatus getStatus() {
+        return status;
+    }
+    
+    /**
+     * Gets the task priority.
+     * 
+     * @return the priority
+     */
+    public Priority getPriority() {
+        return priority;
+    }
+    
+    /**
+     * Gets the color tag.
+     * 
+     * @return the color tag, or null
+     */
+    public String getColorTag() {
+        return colorTag;
+    }
+    
+    /**
+     * Gets the creation timestamp.
+     * 
+     * @return the creation timestamp
+     */
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    @Override
+    public String toString() {
+        return title;
+    }
+}
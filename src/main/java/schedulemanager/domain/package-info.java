@@ -5,16 +5,20 @@
  * <ul>
  *   <li>{@link schedulemanager.domain.Task} - A task with title, status, priority</li>
  *   <li>{@link schedulemanager.domain.TaskFolder} - Hierarchical folder for organizing tasks</li>
+ *   <li>{@link schedulemanager.domain.TaskFolderNode} - Folder with its subfolders (tree node)</li>
  *   <li>{@link schedulemanager.domain.TodayTask} - Task selected for a specific day</li>
  *   <li>{@link schedulemanager.domain.PlanBlock} - Planned time block on the calendar</li>
+ *   <li>{@link schedulemanager.domain.RecurrenceRule} - Plan block repeated daily, on weekdays or weekly</li>
  *   <li>{@link schedulemanager.domain.ActualSession} - Recorded work session</li>
  *   <li>{@link schedulemanager.domain.DailyStatistics} - Planned vs actual statistics</li>
+ *   <li>{@link schedulemanager.domain.DaySnapshot} - Plan, actual and Today data of one day</li>
  * </ul>
  *
  * <p>Enumerations:
  * <ul>
  *   <li>{@link schedulemanager.domain.TaskStatus} - TODO, DOING, DONE</li>
  *   <li>{@link schedulemanager.domain.Priority} - LOW, MEDIUM, HIGH, URGENT</li>
+ *   <li>{@link schedulemanager.domain.RecurrencePattern} - DAILY, WEEKDAYS, WEEKLY</li>
  * </ul>
  */
 package schedulemanager.domain;
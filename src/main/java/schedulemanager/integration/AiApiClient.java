@@ -3,6 +3,7 @@ package schedulemanager.integration;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.DaySnapshot;
 import schedulemanager.service.StatsService;
 
 import java.io.IOException;
@@ -53,22 +54,20 @@ public class AiApiClient {
      * 
      * <p>Sends daily statistics and task comparisons to the AI API and returns
      * insights. If the API is unavailable, returns a fallback message.
+     * All data is taken from the snapshot, so no query is issued here.
      * 
-     * @param date the date for which to generate insights
+     * @param snapshot the day snapshot for which to generate insights
      * @param statsService the stats service to compute statistics
      * @return insights and recommendations as a string
      */
-    public String generateInsights(LocalDate date, StatsService statsService) {
+    public String generateInsights(DaySnapshot snapshot, StatsService statsService) {
+        LocalDate date = snapshot.getDate();
         try {
-            DailyStatistics stats = statsService.computeDailyStats(date);
-            Map<Long, StatsService.TaskStats> taskStats = statsService.computeTaskStats(date);
-            var planBlocks = statsService.getPlanBlocks(date);
-            var actualSessions = statsService.getActualSessions(date);
+            DailyStatistics stats = statsService.computeDailyStats(snapshot);
+            Map<Long, StatsService.TaskStats> taskStats = statsService.computeTaskStats(snapshot);
 
-            JsonObject requestBody = buildRequestBody(date, stats, taskStats, planBlocks, actualSessions);            
-
-            
-            //JsonObject requestBody = buildRequestBody(date, stats, taskStats);
+            JsonObject requestBody = buildRequestBody(date, stats, taskStats,
+                    snapshot.getPlanBlocks(), snapshot.getSessions());
             return sendRequest(requestBody);
         } catch (Exception e) {
             return getFallbackInsights(date);
@@ -1,61 +1,31 @@
 package schedulemanager.repository;
 
 import schedulemanager.domain.ActualSession;
+import schedulemanager.domain.DayGroups;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
- * Repository for managing ActualSession entities in the database.
+ * Repository for managing ActualSession entities.
  * 
  * <p>Provides CRUD operations for actual activity sessions (recorded activities).
  * 
+ * <p>Implemented over JDBC by {@link JdbcActivityRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryActivityRepository}.
+ * 
  */
-public class ActivityRepository {
-    private final DatabaseManager dbManager;
-    
-    /**
-     * Constructs an ActivityRepository.
-     */
-    public ActivityRepository() {
-        this.dbManager = DatabaseManager.getInstance();
-    }
-    
+public interface ActivityRepository {
     /**
-     * Saves a new actual session to the database.
+     * Saves a new actual session.
      * 
      * @param session the session to save
      * @return the saved session with generated ID
      * @throws SQLException if a database error occurs
      */
-    public ActualSession save(ActualSession session) throws SQLException {
-        String sql = "INSERT INTO actual_sessions (date, start_time, end_time, title, category, linked_task_id) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(session.getDate()));
-            pstmt.setObject(2, java.sql.Time.valueOf(session.getStartTime()));
-            pstmt.setObject(3, java.sql.Time.valueOf(session.getEndTime()));
-            pstmt.setString(4, session.getTitle());
-            pstmt.setString(5, session.getCategory());
-            if (session.getLinkedTaskId() != null) {
-                pstmt.setLong(6, session.getLinkedTaskId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-            pstmt.executeUpdate();
-            
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    session.setId(rs.getLong(1));
-                }
-            }
-        }
-        return session;
-    }
+    ActualSession save(ActualSession session) throws SQLException;
     
     /**
      * Finds an actual session by ID.
@@ -64,18 +34,7 @@ public class ActivityRepository {
      * @return the session, or null if not found
      * @throws SQLException if a database error occurs
      */
-    public ActualSession findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM actual_sessions WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapRowToSession(rs);
-            }
-        }
-        return null;
-    }
+    ActualSession findById(Long id) throws SQLException;
     
     /**
      * Finds all actual sessions for a specific date, ordered by start time.
@@ -84,18 +43,58 @@ public class ActivityRepository {
      * @return list of sessions for the date
      * @throws SQLException if a database error occurs
      */
-    public List<ActualSession> findByDate(LocalDate date) throws SQLException {
-        String sql = "SELECT * FROM actual_sessions WHERE date = ? ORDER BY start_time";
-        List<ActualSession> sessions = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(date));
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                sessions.add(mapRowToSession(rs));
-            }
-        }
-        return sessions;
+    List<ActualSession> findByDate(LocalDate date) throws SQLException;
+    
+    /**
+     * Finds all sessions between two dates (inclusive), ordered by date and start time.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of sessions in the range
+     * @throws SQLException if a database error occurs
+     */
+    List<ActualSession> findByDateRange(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Finds all sessions between two dates (inclusive), ordered by date and start time,
+     * locking the scanned range until the transaction ends.
+     * 
+     * <p>Must be called inside a transaction. Concurrent writers to the range
+     * wait for it, so a batch checked against the result for overlaps can be
+     * written without another batch slipping in between.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of sessions in the range
+     * @throws SQLException if a database error occurs
+     */
+    List<ActualSession> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Streams all sessions between two dates (inclusive) to an action, ordered by
+     * date and start time, without holding the whole range in memory.
+     * 
+     * <p>JDBC implementations fetch rows in chunks of {@code db.fetchSize}.
+     * The action runs while the query is open and must not call back into
+     * the repositories.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param action receives each session in order
+     * @throws SQLException if a database error occurs
+     */
+    void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super ActualSession> action) throws SQLException;
+    
+    /**
+     * Finds all sessions between two dates (inclusive), grouped by day.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the sessions of each day in the range, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    default DayGroups<ActualSession> findGroupedByDay(LocalDate from, LocalDate to) throws SQLException {
+        return DayGroups.of(from, to, findByDateRange(from, to), ActualSession::getDate);
     }
     
     /**
@@ -104,25 +103,28 @@ public class ActivityRepository {
      * @param session the session to update
      * @throws SQLException if a database error occurs
      */
-    public void update(ActualSession session) throws SQLException {
-        String sql = "UPDATE actual_sessions SET date = ?, start_time = ?, end_time = ?, " +
-                     "title = ?, category = ?, linked_task_id = ? WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(session.getDate()));
-            pstmt.setObject(2, java.sql.Time.valueOf(session.getStartTime()));
-            pstmt.setObject(3, java.sql.Time.valueOf(session.getEndTime()));
-            pstmt.setString(4, session.getTitle());
-            pstmt.setString(5, session.getCategory());
-            if (session.getLinkedTaskId() != null) {
-                pstmt.setLong(6, session.getLinkedTaskId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-            pstmt.setLong(7, session.getId());
-            pstmt.executeUpdate();
-        }
-    }
+    void update(ActualSession session) throws SQLException;
+    
+    /**
+     * Saves a new session unless it overlaps an existing one on the same date.
+     * 
+     * <p>The overlap check and the insert are atomic: a concurrent writer cannot
+     * slip an overlapping row in between.
+     * 
+     * @param session the session to save
+     * @return the first conflicting session, or null if the session was saved
+     * @throws SQLException if a database error occurs
+     */
+    ActualSession saveIfFree(ActualSession session) throws SQLException;
+    
+    /**
+     * Updates a session unless its new time range overlaps another one on the same date.
+     * 
+     * @param session the session to update
+     * @return the first conflicting session, or null if the session was updated
+     * @throws SQLException if a database error occurs
+     */
+    ActualSession updateIfFree(ActualSession session) throws SQLException;
     
     /**
      * Deletes an actual session by ID.
@@ -130,38 +132,32 @@ public class ActivityRepository {
      * @param id the session ID
      * @throws SQLException if a database error occurs
      */
-    public void delete(Long id) throws SQLException {
-        String sql = "DELETE FROM actual_sessions WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            pstmt.executeUpdate();
-        }
-    }
+    void delete(Long id) throws SQLException;
     
     /**
-     * Maps a ResultSet row to an ActualSession object.
+     * Saves several new sessions at once, in one transaction.
+     * 
+     * <p>No overlap check is done; callers validate the batch first.
      * 
-     * @param rs the ResultSet
-     * @return the ActualSession object
+     * @param sessions the sessions to save
+     * @return the same list, with generated IDs set in order
      * @throws SQLException if a database error occurs
      */
-    private ActualSession mapRowToSession(ResultSet rs) throws SQLException {
-        ActualSession session = new ActualSession();
-        session.setId(rs.getLong("id"));
-        java.sql.Date sqlDate = rs.getDate("date");
-        session.setDate(sqlDate != null ? sqlDate.toLocalDate() : null);
-        java.sql.Time startTime = rs.getTime("start_time");
-        session.setStartTime(startTime != null ? startTime.toLocalTime() : null);
-        java.sql.Time endTime = rs.getTime("end_time");
-        session.setEndTime(endTime != null ? endTime.toLocalTime() : null);
-        session.setTitle(rs.getString("title"));
-        session.setCategory(rs.getString("category"));
-        long linkedTaskId = rs.getLong("linked_task_id");
-        if (!rs.wasNull()) {
-            session.setLinkedTaskId(linkedTaskId);
-        }
-        return session;
-    }
+    List<ActualSession> saveAll(List<ActualSession> sessions) throws SQLException;
+    
+    /**
+     * Updates several sessions at once, in one transaction.
+     * 
+     * @param sessions the sessions to update
+     * @throws SQLException if a database error occurs
+     */
+    void updateAll(List<ActualSession> sessions) throws SQLException;
+    
+    /**
+     * Deletes several sessions by ID, in one transaction.
+     * 
+     * @param ids the session IDs
+     * @throws SQLException if a database error occurs
+     */
+    void deleteAll(List<Long> ids) throws SQLException;
 }
-
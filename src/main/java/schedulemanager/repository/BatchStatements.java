@@ -0,0 +1,96 @@
+package schedulemanager.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Helpers for writing many rows with few statements.
+ *
+ * <p>Inserts are sent as multi-row {@code INSERT ... VALUES (...), (...)}
+ * statements and deletes as {@code DELETE ... WHERE id IN (...)}, each
+ * carrying up to {@link #ROWS_PER_STATEMENT} rows. The chunk size keeps the
+ * number of bind parameters well below the limits of both MySQL and SQLite.
+ */
+final class BatchStatements {
+    static final int ROWS_PER_STATEMENT = 100;
+
+    private BatchStatements() {
+    }
+
+    /**
+     * Splits a list into consecutive chunks of at most {@link #ROWS_PER_STATEMENT} elements.
+     *
+     * @param items the list to split
+     * @param <E> the element type
+     * @return the chunks, in order
+     */
+    static <E> List<List<E>> chunks(List<E> items) {
+        List<List<E>> chunks = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += ROWS_PER_STATEMENT) {
+            chunks.add(items.subList(from, Math.min(from + ROWS_PER_STATEMENT, items.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Builds a multi-row insert.
+     *
+     * @param insertPrefix the statement up to the VALUES keyword, e.g. {@code INSERT INTO t (a, b)}
+     * @param columns the number of columns per row
+     * @param rows the number of rows
+     * @return the statement with one placeholder group per row
+     */
+    static String multiRowInsert(String insertPrefix, int columns, int rows) {
+        String group = "(" + String.join(", ", Collections.nCopies(columns, "?")) + ")";
+        return insertPrefix + " VALUES " + String.join(", ", Collections.nCopies(rows, group));
+    }
+
+    /**
+     * Builds a placeholder list for an IN clause.
+     *
+     * @param count the number of placeholders
+     * @return the list, e.g. {@code (?, ?, ?)}
+     */
+    static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    /**
+     * Reads the IDs generated by a multi-row insert, in row order.
+     *
+     * <p>MySQL reports one key per row. SQLite only reports the ID of the last
+     * row; since a single statement inside a write transaction gets
+     * consecutive IDs, the others are derived from it.
+     *
+     * @param pstmt the executed insert
+     * @param rows the number of inserted rows
+     * @return the generated IDs
+     * @throws SQLException if the keys cannot be read
+     */
+    static long[] generatedKeys(PreparedStatement pstmt, int rows) throws SQLException {
+        List<Long> keys = new ArrayList<>();
+        try (ResultSet rs = pstmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                keys.add(rs.getLong(1));
+            }
+        }
+        long[] ids = new long[rows];
+        if (keys.size() == rows) {
+            for (int i = 0; i < rows; i++) {
+                ids[i] = keys.get(i);
+            }
+        } else if (keys.size() == 1) {
+            long last = keys.get(0);
+            for (int i = 0; i < rows; i++) {
+                ids[i] = last - rows + 1 + i;
+            }
+        } else {
+            throw new SQLException("Expected " + rows + " generated keys but got " + keys.size());
+        }
+        return ids;
+    }
+}
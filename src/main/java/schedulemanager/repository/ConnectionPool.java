@@ -0,0 +1,501 @@
+package schedulemanager.repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of JDBC connections used by {@link DatabaseManager}.
+ *
+ * <p>Connections handed out by the pool are proxies: calling {@code close()}
+ * returns the physical connection to the pool instead of closing it, so the
+ * repositories keep their usual try-with-resources blocks unchanged.
+ *
+ * <p>The pool:
+ * <ul>
+ *   <li>never opens more than {@code maxSize} physical connections</li>
+ *   <li>validates idle connections with {@link Connection#isValid(int)} on borrow</li>
+ *   <li>evicts connections that have been idle longer than {@code idleTimeoutMillis}</li>
+ *   <li>retires connections older than {@code maxLifetimeMillis}</li>
+ * </ul>
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final Properties connectionProperties;
+    private final int maxSize;
+    private final long connectionTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long maxLifetimeMillis;
+    private final int validationTimeoutSeconds;
+
+    private final Semaphore permits;
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private final ScheduledExecutorService evictor;
+    private int openConnections;
+    private boolean closed;
+
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong validationFailureCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    /**
+     * Constructs a ConnectionPool.
+     *
+     * @param url the JDBC URL
+     * @param connectionProperties the driver properties, including user and password if any
+     * @param maxSize the maximum number of physical connections
+     * @param connectionTimeoutMillis how long a borrower waits for a free connection
+     * @param idleTimeoutMillis how long a connection may stay idle before it is evicted
+     * @param maxLifetimeMillis the maximum age of a physical connection
+     * @param validationTimeoutSeconds the timeout passed to {@link Connection#isValid(int)}
+     */
+    public ConnectionPool(String url, Properties connectionProperties, int maxSize,
+                          long connectionTimeoutMillis, long idleTimeoutMillis,
+                          long maxLifetimeMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.connectionProperties = connectionProperties;
+        this.maxSize = maxSize;
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.maxLifetimeMillis = maxLifetimeMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "db-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, Math.min(idleTimeoutMillis, maxLifetimeMillis) / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if none is idle.
+     *
+     * <p>The returned connection must be closed by the caller to give it back.
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is closed, the wait times out or the connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(connectionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.incrementAndGet();
+                throw new SQLException("Timed out after " + connectionTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        try {
+            PooledEntry entry = takeValidEntry();
+            borrowCount.incrementAndGet();
+            return entry.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool counters.
+     *
+     * @return the current pool metrics
+     */
+    public synchronized PoolMetrics getMetrics() {
+        return new PoolMetrics(maxSize, openConnections, idle.size(), permits.getQueueLength(),
+                borrowCount.get(), createdCount.get(), destroyedCount.get(),
+                timeoutCount.get(), validationFailureCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()));
+    }
+
+    /**
+     * Closes all idle connections and stops the evictor.
+     *
+     * <p>Connections still borrowed are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        List<PooledEntry> toClose;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+        }
+        evictor.shutdownNow();
+        for (PooledEntry entry : toClose) {
+            destroy(entry);
+        }
+    }
+
+    /**
+     * Takes an idle connection that passes lifetime and validity checks,
+     * or opens a new one. The caller must already hold a permit.
+     */
+    private PooledEntry takeValidEntry() throws SQLException {
+        while (true) {
+            PooledEntry entry;
+            synchronized (this) {
+                if (closed) {
+                    throw new SQLException("Connection pool is closed");
+                }
+                entry = idle.pollFirst();
+                if (entry == null) {
+                    openConnections++;
+                }
+            }
+            if (entry == null) {
+                return openEntry();
+            }
+            long now = System.currentTimeMillis();
+            if (entry.isExpired(now) || entry.isIdleTooLong(now)) {
+                destroy(entry);
+                continue;
+            }
+            if (!isValid(entry.physical)) {
+                validationFailureCount.incrementAndGet();
+                destroy(entry);
+                continue;
+            }
+            return entry;
+        }
+    }
+
+    private PooledEntry openEntry() throws SQLException {
+        try {
+            Connection physical = DriverManager.getConnection(url, connectionProperties);
+            createdCount.incrementAndGet();
+            return new PooledEntry(physical);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (this) {
+                openConnections--;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isValid(Connection physical) {
+        try {
+            return physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Puts a returned connection back on the idle stack, or destroys it
+     * if it is broken, expired or the pool has been closed.
+     */
+    private void release(PooledEntry entry) {
+        try {
+            boolean reusable = !entry.physical.isClosed() && resetState(entry.physical)
+                    && !entry.isExpired(System.currentTimeMillis());
+            if (reusable) {
+                entry.lastUsedAt = System.currentTimeMillis();
+                synchronized (this) {
+                    if (!closed) {
+                        idle.offerFirst(entry);
+                        return;
+                    }
+                }
+            }
+            destroy(entry);
+        } catch (SQLException e) {
+            destroy(entry);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Rolls back any open transaction and restores auto-commit so the next
+     * borrower gets a clean connection.
+     */
+    private boolean resetState(Connection physical) {
+        try {
+            if (!physical.getAutoCommit()) {
+                physical.rollback();
+                physical.setAutoCommit(true);
+            }
+            physical.clearWarnings();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void destroy(PooledEntry entry) {
+        synchronized (this) {
+            openConnections--;
+        }
+        destroyedCount.incrementAndGet();
+        try {
+            entry.physical.close();
+        } catch (SQLException e) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    /**
+     * Closes idle connections that exceeded the idle timeout or max lifetime.
+     */
+    private void evictIdle() {
+        List<PooledEntry> evicted = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            Iterator<PooledEntry> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledEntry entry = it.next();
+                if (entry.isExpired(now) || entry.isIdleTooLong(now)) {
+                    it.remove();
+                    evicted.add(entry);
+                }
+            }
+        }
+        for (PooledEntry entry : evicted) {
+            destroy(entry);
+        }
+    }
+
+    /**
+     * A physical connection with its pool bookkeeping.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final long createdAt;
+        private long lastUsedAt;
+
+        PooledEntry(Connection physical) {
+            this.physical = physical;
+            this.createdAt = System.currentTimeMillis();
+            this.lastUsedAt = createdAt;
+        }
+
+        boolean isExpired(long now) {
+            return now - createdAt >= maxLifetimeMillis;
+        }
+
+        boolean isIdleTooLong(long now) {
+            return now - lastUsedAt >= idleTimeoutMillis;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    new LeaseHandler(this));
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection until the lease is closed.
+     *
+     * <p>The lease may be closed from any thread, and more than once; only
+     * the first close returns the connection to the pool.
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledEntry entry;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        LeaseHandler(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + entry.physical + "]";
+                default:
+                    break;
+            }
+            if (returned.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Immutable snapshot of pool counters.
+     */
+    public static final class PoolMetrics {
+        private final int maxSize;
+        private final int totalConnections;
+        private final int idleConnections;
+        private final int waitingThreads;
+        private final long borrowCount;
+        private final long createdCount;
+        private final long destroyedCount;
+        private final long timeoutCount;
+        private final long validationFailureCount;
+        private final long totalWaitMillis;
+
+        PoolMetrics(int maxSize, int totalConnections, int idleConnections, int waitingThreads,
+                    long borrowCount, long createdCount, long destroyedCount,
+                    long timeoutCount, long validationFailureCount, long totalWaitMillis) {
+            this.maxSize = maxSize;
+            this.totalConnections = totalConnections;
+            this.idleConnections = idleConnections;
+            this.waitingThreads = waitingThreads;
+            this.borrowCount = borrowCount;
+            this.createdCount = createdCount;
+            this.destroyedCount = destroyedCount;
+            this.timeoutCount = timeoutCount;
+            this.validationFailureCount = validationFailureCount;
+            this.totalWaitMillis = totalWaitMillis;
+        }
+
+        /**
+         * Gets the configured maximum pool size.
+         *
+         * @return the maximum number of physical connections
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Gets the number of open physical connections (idle and borrowed).
+         *
+         * @return the number of open connections
+         */
+        public int getTotalConnections() {
+            return totalConnections;
+        }
+
+        /**
+         * Gets the number of connections waiting in the pool.
+         *
+         * @return the number of idle connections
+         */
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        /**
+         * Gets the number of connections currently borrowed.
+         *
+         * @return the number of active connections
+         */
+        public int getActiveConnections() {
+            return totalConnections - idleConnections;
+        }
+
+        /**
+         * Gets the number of threads blocked waiting for a connection.
+         *
+         * @return the number of waiting threads
+         */
+        public int getWaitingThreads() {
+            return waitingThreads;
+        }
+
+        /**
+         * Gets the total number of successful borrows.
+         *
+         * @return the borrow count
+         */
+        public long getBorrowCount() {
+            return borrowCount;
+        }
+
+        /**
+         * Gets the number of physical connections opened since startup.
+         *
+         * @return the created count
+         */
+        public long getCreatedCount() {
+            return createdCount;
+        }
+
+        /**
+         * Gets the number of physical connections closed since startup.
+         *
+         * @return the destroyed count
+         */
+        public long getDestroyedCount() {
+            return destroyedCount;
+        }
+
+        /**
+         * Gets the number of borrows that timed out waiting for a connection.
+         *
+         * @return the timeout count
+         */
+        public long getTimeoutCount() {
+            return timeoutCount;
+        }
+
+        /**
+         * Gets the number of idle connections discarded because validation failed.
+         *
+         * @return the validation failure count
+         */
+        public long getValidationFailureCount() {
+            return validationFailureCount;
+        }
+
+        /**
+         * Gets the cumulative time borrowers spent waiting for a permit.
+         *
+         * @return the total wait time in milliseconds
+         */
+        public long getTotalWaitMillis() {
+            return totalWaitMillis;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolMetrics[total=" + totalConnections + ", idle=" + idleConnections
+                    + ", active=" + getActiveConnections() + ", waiting=" + waitingThreads
+                    + ", borrowed=" + borrowCount + ", created=" + createdCount
+                    + ", destroyed=" + destroyedCount + ", timeouts=" + timeoutCount + "]";
+        }
+    }
+}
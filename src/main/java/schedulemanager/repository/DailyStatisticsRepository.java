@@ -0,0 +1,67 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.DailyStatistics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for materialized DailyStatistics rows.
+ * 
+ * <p>Stores the computed statistics of a day in {@code daily_statistics} so
+ * they can be served without rescanning plan blocks and sessions. Rows are
+ * deleted whenever a block or session of that date changes.
+ * 
+ * <p>Implemented over JDBC by {@link JdbcDailyStatisticsRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryDailyStatisticsRepository}.
+ * 
+ */
+public interface DailyStatisticsRepository {
+    /**
+     * Inserts or replaces the statistics of a day.
+     * 
+     * @param stats the statistics to store
+     * @throws SQLException if a database error occurs
+     */
+    default void save(DailyStatistics stats) throws SQLException {
+        saveAll(List.of(stats));
+    }
+    
+    /**
+     * Inserts or replaces the statistics of several days in one batch.
+     * 
+     * @param statsList the statistics to store
+     * @throws SQLException if a database error occurs
+     */
+    void saveAll(List<DailyStatistics> statsList) throws SQLException;
+    
+    /**
+     * Finds the stored statistics of a day.
+     * 
+     * @param date the date
+     * @return the statistics, or null if they have not been materialized
+     * @throws SQLException if a database error occurs
+     */
+    DailyStatistics findByDate(LocalDate date) throws SQLException;
+    
+    /**
+     * Finds the stored statistics between two dates (inclusive), ordered by date.
+     * 
+     * <p>Days that have not been materialized are simply missing from the result.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of stored statistics in the range
+     * @throws SQLException if a database error occurs
+     */
+    List<DailyStatistics> findByDateRange(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Deletes the stored statistics of a day so they are recomputed on next read.
+     * 
+     * @param date the date
+     * @throws SQLException if a database error occurs
+     */
+    void deleteByDate(LocalDate date) throws SQLException;
+}
@@ -1,36 +1,58 @@
 package schedulemanager.repository;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
 
 /**
- * Manages database connection and initialization for MySQL.
+ * Manages database connection and initialization.
  *
- * <p>Connection can be configured via system properties:
+ * <p>The storage engine is a {@link StorageBackend} selected by the
+ * {@code db.backend} system property: a MySQL server ({@link MySqlBackend},
+ * the default) or an embedded SQLite file ({@link SqliteBackend}). The
+ * backend is read when the instance is created, so tests can switch it
+ * before calling {@link #resetInstanceForTesting()}.
+ *
+ * <p>Connections are borrowed from a {@link ConnectionPool}, tuned via:
  * <ul>
- *   <li>db.host (default: localhost)</li>
- *   <li>db.port (default: 3306)</li>
- *   <li>db.name (default: schedule_manager)</li>
- *   <li>db.user (default: root)</li>
- *   <li>db.password (default: empty)</li>
+ *   <li>db.pool.maxSize (default: 10)</li>
+ *   <li>db.pool.connectionTimeoutMs (default: 30000)</li>
+ *   <li>db.pool.idleTimeoutMs (default: 600000)</li>
+ *   <li>db.pool.maxLifetimeMs (default: 1800000)</li>
+ *   <li>db.pool.validationTimeoutSec (default: 2)</li>
  * </ul>
+ *
+ * <p>Range queries that stream their rows read them in chunks of
+ * {@code db.fetchSize} rows (default: 500).
+ *
+ * <p>{@link #inTransaction(UnitOfWork.SqlWork)} binds one connection to the calling thread
+ * for the duration of a unit of work. While it is bound, {@link #getConnection()}
+ * hands out that same connection, so repository calls made inside the work share
+ * it and are committed or rolled back together. Nested calls join the outer one.
  */
-public class DatabaseManager {
-    private static final String DB_HOST = System.getProperty("db.host", "localhost");
-    private static final String DB_PORT = System.getProperty("db.port", "3306");
-    private static final String DB_NAME = System.getProperty("db.name", "schedule_manager");
-    private static final String DB_USER = System.getProperty("db.user", "root");
-    private static final String DB_PASSWORD = System.getProperty("db.password", "");
+public class DatabaseManager implements UnitOfWork {
+    private static final int POOL_MAX_SIZE = Integer.getInteger("db.pool.maxSize", 10);
+    private static final long POOL_CONNECTION_TIMEOUT_MS = Long.getLong("db.pool.connectionTimeoutMs", 30_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("db.pool.idleTimeoutMs", 600_000L);
+    private static final long POOL_MAX_LIFETIME_MS = Long.getLong("db.pool.maxLifetimeMs", 1_800_000L);
+    private static final int POOL_VALIDATION_TIMEOUT_SEC = Integer.getInteger("db.pool.validationTimeoutSec", 2);
+    private static final int FETCH_SIZE = Integer.getInteger("db.fetchSize", 500);
 
-    private static final String DB_URL = "jdbc:mysql://" + DB_HOST + ":" + DB_PORT + "/" + DB_NAME
-            + "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    private static final int MAX_TRANSACTION_ATTEMPTS = 3;
 
     private static DatabaseManager instance;
 
+    private final StorageBackend backend;
+    private final ConnectionPool pool;
+    private final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
+
     private DatabaseManager() {
-        System.out.println("Using MySQL database: " + DB_NAME);
+        this.backend = StorageBackend.fromSystemProperties();
+        System.out.println("Using " + backend.getDescription());
+        this.pool = new ConnectionPool(backend.getJdbcUrl(), backend.getConnectionProperties(), POOL_MAX_SIZE,
+                POOL_CONNECTION_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_MAX_LIFETIME_MS,
+                POOL_VALIDATION_TIMEOUT_SEC);
         initializeDatabase();
     }
 
@@ -45,90 +67,145 @@ public class DatabaseManager {
      * Resets the singleton instance. For testing only.
      */
     public static synchronized void resetInstanceForTesting() {
+        if (instance != null) {
+            instance.pool.close();
+        }
         instance = null;
     }
 
+    /**
+     * Borrows a pooled connection. Closing it returns it to the pool.
+     *
+     * <p>Inside {@link #inTransaction(UnitOfWork.SqlWork)} the connection of the running
+     * transaction is returned instead; closing it then has no effect.
+     *
+     * @return a database connection
+     * @throws SQLException if no connection can be obtained
+     */
     public Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        Connection bound = boundConnection.get();
+        if (bound != null) {
+            return unclosable(bound);
+        }
+        return pool.getConnection();
     }
 
-    private void initializeDatabase() {
-        try (Connection conn = getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS task_folders (
-                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                    name VARCHAR(255) NOT NULL,
-                    parent_folder_id BIGINT,
-                    FOREIGN KEY (parent_folder_id) REFERENCES task_folders(id)
-                )
-            """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS tasks (
-                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                    title VARCHAR(255) NOT NULL,
-                    folder_id BIGINT NOT NULL,
-                    status VARCHAR(20) NOT NULL,
-                    color_tag VARCHAR(50),
-                    priority VARCHAR(20) NOT NULL,
-                    deadline DATE,
-                    estimate_minutes INT,
-                    description TEXT,
-                    created_at DATETIME NOT NULL,
-                    FOREIGN KEY (folder_id) REFERENCES task_folders(id),
-                    CHECK (status IN ('TODO', 'DOING', 'DONE')),
-                    CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT'))
-                )
-            """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS today_tasks (
-                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                    task_id BIGINT NOT NULL,
-                    date DATE NOT NULL,
-                    display_order INT,
-                    FOREIGN KEY (task_id) REFERENCES tasks(id),
-                    UNIQUE(task_id, date)
-                )
-            """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS plan_blocks (
-                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                    date DATE NOT NULL,
-                    start_time TIME NOT NULL,
-                    end_time TIME NOT NULL,
-                    title VARCHAR(255) NOT NULL,
-                    category VARCHAR(100),
-                    linked_task_id BIGINT,
-                    FOREIGN KEY (linked_task_id) REFERENCES tasks(id)
-                )
-            """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS actual_sessions (
-                    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-                    date DATE NOT NULL,
-                    start_time TIME NOT NULL,
-                    end_time TIME NOT NULL,
-                    title VARCHAR(255) NOT NULL,
-                    category VARCHAR(100),
-                    linked_task_id BIGINT,
-                    FOREIGN KEY (linked_task_id) REFERENCES tasks(id)
-                )
-            """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS daily_statistics (
-                    date DATE PRIMARY KEY,
-                    planned_minutes INT NOT NULL,
-                    actual_minutes INT NOT NULL,
-                    overlap_minutes INT NOT NULL,
-                    quantitative_accuracy DOUBLE NOT NULL,
-                    temporal_accuracy DOUBLE NOT NULL
-                )
-            """);
+    /**
+     * Tells whether the calling thread is inside a transaction.
+     *
+     * @return true if a connection is bound to the calling thread
+     */
+    public boolean isInTransaction() {
+        return boundConnection.get() != null;
+    }
 
+    /**
+     * Runs work as one transaction on a single connection.
+     *
+     * <p>The work is committed if it returns normally and rolled back if it
+     * throws. If it is already running inside a transaction it simply joins it.
+     * A top-level transaction that fails in a way the backend reports as
+     * retryable (a deadlock or busy lock) is run again, up to three attempts
+     * in total.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        if (isInTransaction()) {
+            return work.execute();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try (Connection conn = pool.getConnection()) {
+                conn.setAutoCommit(false);
+                boundConnection.set(conn);
+                try {
+                    T result = work.execute();
+                    conn.commit();
+                    return result;
+                } catch (SQLException e) {
+                    conn.rollback();
+                    if (!backend.isRetryable(e) || attempt >= MAX_TRANSACTION_ATTEMPTS) {
+                        throw e;
+                    }
+                } catch (RuntimeException | Error e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    boundConnection.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the storage backend in use.
+     *
+     * @return the backend
+     */
+    public StorageBackend getBackend() {
+        return backend;
+    }
+
+    /**
+     * Gets the number of rows streaming queries fetch per round trip.
+     *
+     * @return the fetch size
+     */
+    public int getFetchSize() {
+        return FETCH_SIZE;
+    }
+
+    /**
+     * Gets a snapshot of the connection pool counters.
+     *
+     * @return the pool metrics
+     */
+    public ConnectionPool.PoolMetrics getPoolMetrics() {
+        return pool.getMetrics();
+    }
+
+    /**
+     * Wraps the connection of a running transaction so that repositories
+     * closing it do not end the transaction.
+     *
+     * @param conn the bound connection
+     * @return a view of the connection whose close() does nothing
+     */
+    private static Connection unclosable(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            return null;
+                        default:
+                            try {
+                                return method.invoke(conn, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                    }
+                });
+    }
+
+    /**
+     * Runs pending schema migrations. Does nothing if the schema is already current.
+     *
+     * @throws IllegalStateException if a migration fails; the application must
+     *         not run on a half-migrated schema
+     */
+    private void initializeDatabase() {
+        try (Connection conn = getConnection()) {
+            int version = new SchemaMigrator(backend).migrate(conn);
+            System.out.println("Database schema version: " + version);
         } catch (SQLException e) {
-            System.err.println("Error initializing database: " + e.getMessage());
-            e.printStackTrace();
+            pool.close();
+            throw new IllegalStateException("Could not bring the database schema up to date: " + e.getMessage(), e);
         }
     }
 }
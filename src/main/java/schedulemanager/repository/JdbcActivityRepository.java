@@ -0,0 +1,439 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.ActualSession;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link ActivityRepository} backed by a JDBC database.
+ * 
+ * <p>Provides CRUD operations for actual activity sessions (recorded activities).
+ * 
+ */
+public class JdbcActivityRepository implements ActivityRepository {
+    private static final String INSERT_PREFIX =
+            "INSERT INTO actual_sessions (date, start_time, end_time, title, category, linked_task_id)";
+    private static final String UPDATE_SQL = "UPDATE actual_sessions SET date = ?, start_time = ?, end_time = ?, " +
+                                             "title = ?, category = ?, linked_task_id = ? WHERE id = ?";
+    private static final int COLUMN_COUNT = 6;
+    
+    private final DatabaseManager dbManager;
+    
+    /**
+     * Constructs an ActivityRepository.
+     */
+    public JdbcActivityRepository() {
+        this.dbManager = DatabaseManager.getInstance();
+    }
+    
+    /**
+     * Saves a new actual session to the database.
+     * 
+     * @param session the session to save
+     * @return the saved session with generated ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public ActualSession save(ActualSession session) throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            insert(conn, session);
+        }
+        return session;
+    }
+    
+    /**
+     * Finds an actual session by ID.
+     * 
+     * @param id the session ID
+     * @return the session, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public ActualSession findById(Long id) throws SQLException {
+        String sql = "SELECT * FROM actual_sessions WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToSession(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds all actual sessions for a specific date, ordered by start time.
+     * 
+     * @param date the date
+     * @return list of sessions for the date
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<ActualSession> findByDate(LocalDate date) throws SQLException {
+        String sql = "SELECT * FROM actual_sessions WHERE date = ? ORDER BY start_time";
+        List<ActualSession> sessions = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(date));
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                sessions.add(mapRowToSession(rs));
+            }
+        }
+        return sessions;
+    }
+    
+    /**
+     * Finds all sessions between two dates (inclusive), ordered by date and start time.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of sessions in the range
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<ActualSession> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        List<ActualSession> sessions = new ArrayList<>();
+        forEachInDateRange(from, to, sessions::add);
+        return sessions;
+    }
+    
+    /**
+     * Finds all sessions between two dates (inclusive), ordered by date and start time,
+     * locking the scanned index range ({@code FOR UPDATE}) until the transaction ends.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of sessions in the range
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<ActualSession> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT * FROM actual_sessions WHERE date BETWEEN ? AND ? ORDER BY date, start_time" +
+                     dbManager.getBackend().forUpdateClause();
+        List<ActualSession> rows = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapRowToSession(rs));
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Streams all sessions between two dates (inclusive), ordered by date and start time.
+     * 
+     * <p>Rows are read with a fetch size of {@code db.fetchSize}, so large
+     * ranges are not buffered in full by the driver.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param action receives each row in order
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super ActualSession> action) throws SQLException {
+        String sql = "SELECT * FROM actual_sessions WHERE date BETWEEN ? AND ? ORDER BY date, start_time";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setFetchSize(dbManager.getFetchSize());
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapRowToSession(rs));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Updates an existing actual session.
+     * 
+     * @param session the session to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void update(ActualSession session) throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            update(conn, session);
+        }
+    }
+    
+    /**
+     * Saves a new session unless it overlaps an existing one on the same date.
+     * 
+     * <p>The overlap check and the insert run in one transaction. The check locks
+     * the matching index range, so a concurrent writer cannot slip an overlapping
+     * row in between; if the two collide in a deadlock the attempt is retried.
+     * 
+     * @param session the session to save
+     * @return the first conflicting session, or null if the session was saved
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public ActualSession saveIfFree(ActualSession session) throws SQLException {
+        return writeIfFree(session, false);
+    }
+    
+    /**
+     * Updates a session unless its new time range overlaps another one on the same date.
+     * 
+     * @param session the session to update
+     * @return the first conflicting session, or null if the session was updated
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public ActualSession updateIfFree(ActualSession session) throws SQLException {
+        return writeIfFree(session, true);
+    }
+    
+    /**
+     * Deletes an actual session by ID.
+     * 
+     * @param id the session ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void delete(Long id) throws SQLException {
+        String sql = "DELETE FROM actual_sessions WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Inserts several sessions with multi-row INSERT statements and sets their generated IDs.
+     * 
+     * <p>All rows are written in one transaction, joining the caller's
+     * transaction if there is one. No overlap check is done here.
+     * 
+     * @param sessions the sessions to save, in the order their IDs are assigned
+     * @return the same list, with IDs set
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<ActualSession> saveAll(List<ActualSession> sessions) throws SQLException {
+        if (sessions.isEmpty()) {
+            return sessions;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                for (List<ActualSession> chunk : BatchStatements.chunks(sessions)) {
+                    String sql = BatchStatements.multiRowInsert(INSERT_PREFIX, COLUMN_COUNT, chunk.size());
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            bind(pstmt, i * COLUMN_COUNT, chunk.get(i));
+                        }
+                        pstmt.executeUpdate();
+                        long[] ids = BatchStatements.generatedKeys(pstmt, chunk.size());
+                        for (int i = 0; i < chunk.size(); i++) {
+                            chunk.get(i).setId(ids[i]);
+                        }
+                    }
+                }
+            }
+        });
+        return sessions;
+    }
+    
+    /**
+     * Updates several sessions with one JDBC batch, in one transaction.
+     * 
+     * @param sessions the sessions to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void updateAll(List<ActualSession> sessions) throws SQLException {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                for (ActualSession session : sessions) {
+                    bind(pstmt, 0, session);
+                    pstmt.setLong(COLUMN_COUNT + 1, session.getId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        });
+    }
+    
+    /**
+     * Deletes several sessions by ID, in one transaction.
+     * 
+     * @param ids the session IDs
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void deleteAll(List<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                for (List<Long> chunk : BatchStatements.chunks(ids)) {
+                    String sql = "DELETE FROM actual_sessions WHERE id IN " + BatchStatements.placeholders(chunk.size());
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            pstmt.setLong(i + 1, chunk.get(i));
+                        }
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Inserts a session on the given connection and sets its generated ID.
+     * 
+     * @param conn the connection to use
+     * @param session the session to insert
+     * @throws SQLException if a database error occurs
+     */
+    private void insert(Connection conn, ActualSession session) throws SQLException {
+        String sql = BatchStatements.multiRowInsert(INSERT_PREFIX, COLUMN_COUNT, 1);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bind(pstmt, 0, session);
+            pstmt.executeUpdate();
+            
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    session.setId(rs.getLong(1));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Updates a session on the given connection.
+     * 
+     * @param conn the connection to use
+     * @param session the session to update
+     * @throws SQLException if a database error occurs
+     */
+    private void update(Connection conn, ActualSession session) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+            bind(pstmt, 0, session);
+            pstmt.setLong(COLUMN_COUNT + 1, session.getId());
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Binds the column values of a session, in INSERT column order.
+     * 
+     * @param pstmt the statement
+     * @param offset the number of parameters before the first column
+     * @param session the session
+     * @throws SQLException if a database error occurs
+     */
+    private void bind(PreparedStatement pstmt, int offset, ActualSession session) throws SQLException {
+        pstmt.setObject(offset + 1, java.sql.Date.valueOf(session.getDate()));
+        pstmt.setObject(offset + 2, java.sql.Time.valueOf(session.getStartTime()));
+        pstmt.setObject(offset + 3, java.sql.Time.valueOf(session.getEndTime()));
+        pstmt.setString(offset + 4, session.getTitle());
+        pstmt.setString(offset + 5, session.getCategory());
+        if (session.getLinkedTaskId() != null) {
+            pstmt.setLong(offset + 6, session.getLinkedTaskId());
+        } else {
+            pstmt.setNull(offset + 6, Types.INTEGER);
+        }
+    }
+    
+    /**
+     * Runs the overlap check and the write in one transaction, joining the
+     * caller's transaction if there is one.
+     * 
+     * @param session the session to write
+     * @param existing true to update an existing row, false to insert a new one
+     * @return the first conflicting session, or null if the write happened
+     * @throws SQLException if a database error occurs
+     */
+    private ActualSession writeIfFree(ActualSession session, boolean existing) throws SQLException {
+        return dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                ActualSession conflict = findOverlapping(conn, session, existing ? session.getId() : null);
+                if (conflict == null) {
+                    if (existing) {
+                        update(conn, session);
+                    } else {
+                        insert(conn, session);
+                    }
+                }
+                return conflict;
+            }
+        });
+    }
+    
+    /**
+     * Finds the first row on the same date whose time range overlaps the given one,
+     * locking the scanned range until the transaction ends.
+     * 
+     * @param conn the connection of the running transaction
+     * @param session the session to check
+     * @param excludeId the ID to ignore (the row being updated), or null
+     * @return the first conflicting session, or null if there is none
+     * @throws SQLException if a database error occurs
+     */
+    private ActualSession findOverlapping(Connection conn, ActualSession session, Long excludeId) throws SQLException {
+        String sql = "SELECT * FROM actual_sessions WHERE date = ? AND start_time < ? AND end_time > ?" +
+                     (excludeId != null ? " AND id <> ?" : "") +
+                     " ORDER BY start_time LIMIT 1" + dbManager.getBackend().forUpdateClause();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(session.getDate()));
+            pstmt.setObject(2, java.sql.Time.valueOf(session.getEndTime()));
+            pstmt.setObject(3, java.sql.Time.valueOf(session.getStartTime()));
+            if (excludeId != null) {
+                pstmt.setLong(4, excludeId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToSession(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Maps a ResultSet row to an ActualSession object.
+     * 
+     * @param rs the ResultSet
+     * @return the ActualSession object
+     * @throws SQLException if a database error occurs
+     */
+    private ActualSession mapRowToSession(ResultSet rs) throws SQLException {
+        ActualSession session = new ActualSession();
+        session.setId(rs.getLong("id"));
+        java.sql.Date sqlDate = rs.getDate("date");
+        session.setDate(sqlDate != null ? sqlDate.toLocalDate() : null);
+        java.sql.Time startTime = rs.getTime("start_time");
+        session.setStartTime(startTime != null ? startTime.toLocalTime() : null);
+        java.sql.Time endTime = rs.getTime("end_time");
+        session.setEndTime(endTime != null ? endTime.toLocalTime() : null);
+        session.setTitle(rs.getString("title"));
+        session.setCategory(rs.getString("category"));
+        long linkedTaskId = rs.getLong("linked_task_id");
+        if (!rs.wasNull()) {
+            session.setLinkedTaskId(linkedTaskId);
+        }
+        return session;
+    }
+}
+
@@ -0,0 +1,139 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.DailyStatistics;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link DailyStatisticsRepository} backed by a JDBC database.
+ * 
+ * <p>Stores the computed statistics of a day in {@code daily_statistics} so
+ * they can be served without rescanning plan blocks and sessions. Rows are
+ * deleted whenever a block or session of that date changes.
+ * 
+ */
+public class JdbcDailyStatisticsRepository implements DailyStatisticsRepository {
+    private static final List<String> UPSERT_COLUMNS = List.of("planned_minutes", "actual_minutes",
+            "overlap_minutes", "quantitative_accuracy", "temporal_accuracy");
+    
+    private final DatabaseManager dbManager;
+    
+    /**
+     * Constructs a JdbcDailyStatisticsRepository.
+     */
+    public JdbcDailyStatisticsRepository() {
+        this.dbManager = DatabaseManager.getInstance();
+    }
+    
+    /**
+     * Inserts or replaces the statistics of several days in one batch.
+     * 
+     * @param statsList the statistics to store
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void saveAll(List<DailyStatistics> statsList) throws SQLException {
+        if (statsList.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO daily_statistics (date, planned_minutes, actual_minutes, overlap_minutes, " +
+                     "quantitative_accuracy, temporal_accuracy) VALUES (?, ?, ?, ?, ?, ?)" +
+                     dbManager.getBackend().upsertClause("date", UPSERT_COLUMNS);
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (DailyStatistics stats : statsList) {
+                pstmt.setObject(1, java.sql.Date.valueOf(stats.getDate()));
+                pstmt.setInt(2, stats.getPlannedMinutes());
+                pstmt.setInt(3, stats.getActualMinutes());
+                pstmt.setInt(4, stats.getOverlapMinutes());
+                pstmt.setDouble(5, stats.getQuantitativeAccuracy());
+                pstmt.setDouble(6, stats.getTemporalAccuracy());
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+    
+    /**
+     * Finds the stored statistics of a day.
+     * 
+     * @param date the date
+     * @return the statistics, or null if they have not been materialized
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public DailyStatistics findByDate(LocalDate date) throws SQLException {
+        String sql = "SELECT * FROM daily_statistics WHERE date = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(date));
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToStatistics(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds the stored statistics between two dates (inclusive), ordered by date.
+     * 
+     * <p>Days that have not been materialized are simply missing from the result.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of stored statistics in the range
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<DailyStatistics> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT * FROM daily_statistics WHERE date BETWEEN ? AND ? ORDER BY date";
+        List<DailyStatistics> result = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                result.add(mapRowToStatistics(rs));
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Deletes the stored statistics of a day so they are recomputed on next read.
+     * 
+     * @param date the date
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void deleteByDate(LocalDate date) throws SQLException {
+        String sql = "DELETE FROM daily_statistics WHERE date = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(date));
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Maps a ResultSet row to a DailyStatistics object.
+     * 
+     * @param rs the ResultSet
+     * @return the DailyStatistics object
+     * @throws SQLException if a database error occurs
+     */
+    private DailyStatistics mapRowToStatistics(ResultSet rs) throws SQLException {
+        DailyStatistics stats = new DailyStatistics(rs.getDate("date").toLocalDate());
+        stats.setPlannedMinutes(rs.getInt("planned_minutes"));
+        stats.setActualMinutes(rs.getInt("actual_minutes"));
+        stats.setOverlapMinutes(rs.getInt("overlap_minutes"));
+        stats.setQuantitativeAccuracy(rs.getDouble("quantitative_accuracy"));
+        stats.setTemporalAccuracy(rs.getDouble("temporal_accuracy"));
+        return stats;
+    }
+}
@@ -0,0 +1,480 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.PlanBlock;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * {@link PlanRepository} backed by a JDBC database.
+ * 
+ * <p>Provides CRUD operations for plan blocks (planned time blocks).
+ * 
+ */
+public class JdbcPlanRepository implements PlanRepository {
+    private static final String INSERT_PREFIX =
+            "INSERT INTO plan_blocks (date, start_time, end_time, title, category, linked_task_id)";
+    private static final String UPDATE_SQL = "UPDATE plan_blocks SET date = ?, start_time = ?, end_time = ?, " +
+                                             "title = ?, category = ?, linked_task_id = ? WHERE id = ?";
+    private static final int COLUMN_COUNT = 6;
+    
+    private final DatabaseManager dbManager;
+    
+    /**
+     * Constructs a JdbcPlanRepository.
+     */
+    public JdbcPlanRepository() {
+        this.dbManager = DatabaseManager.getInstance();
+    }
+    
+    /**
+     * Saves a new plan block to the database.
+     * 
+     * @param block the plan block to save
+     * @return the saved plan block with generated ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public PlanBlock save(PlanBlock block) throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            insert(conn, block);
+        }
+        return block;
+    }
+    
+    /**
+     * Finds a plan block by ID.
+     * 
+     * @param id the plan block ID
+     * @return the plan block, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public PlanBlock findById(Long id) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToPlanBlock(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds all plan blocks for a specific date, ordered by start time.
+     * 
+     * @param date the date
+     * @return list of plan blocks for the date
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<PlanBlock> findByDate(LocalDate date) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE date = ? ORDER BY start_time";
+        List<PlanBlock> blocks = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(date));
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                blocks.add(mapRowToPlanBlock(rs));
+            }
+        }
+        return blocks;
+    }
+    
+    /**
+     * Finds all plan blocks between two dates (inclusive), ordered by date and start time.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of plan blocks in the range
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<PlanBlock> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        List<PlanBlock> blocks = new ArrayList<>();
+        forEachInDateRange(from, to, blocks::add);
+        return blocks;
+    }
+    
+    /**
+     * Finds all plan blocks between two dates (inclusive), ordered by date and start time,
+     * locking the scanned index range ({@code FOR UPDATE}) until the transaction ends.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of plan blocks in the range
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<PlanBlock> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE date BETWEEN ? AND ? ORDER BY date, start_time" +
+                     dbManager.getBackend().forUpdateClause();
+        List<PlanBlock> rows = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.add(mapRowToPlanBlock(rs));
+                }
+            }
+        }
+        return rows;
+    }
+    
+    /**
+     * Streams all plan blocks between two dates (inclusive), ordered by date and start time.
+     * 
+     * <p>Rows are read with a fetch size of {@code db.fetchSize}, so large
+     * ranges are not buffered in full by the driver.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param action receives each row in order
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super PlanBlock> action) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE date BETWEEN ? AND ? ORDER BY date, start_time";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setFetchSize(dbManager.getFetchSize());
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(mapRowToPlanBlock(rs));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Finds the first plan block between two dates whose time range overlaps
+     * the given times and that passes a filter.
+     * 
+     * <p>The date and time conditions are served by the
+     * {@code (date, start_time, end_time)} index; rows are streamed and the
+     * query is closed at the first accepted one.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param startTime the start of the time window
+     * @param endTime the end of the time window
+     * @param filter decides whether a candidate counts
+     * @return the first accepted plan block, or null
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public PlanBlock findFirstOverlapping(LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime,
+                                          Predicate<? super PlanBlock> filter) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE date BETWEEN ? AND ? AND start_time < ? AND end_time > ? " +
+                     "ORDER BY date, start_time";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setFetchSize(dbManager.getFetchSize());
+            pstmt.setObject(1, java.sql.Date.valueOf(from));
+            pstmt.setObject(2, java.sql.Date.valueOf(to));
+            pstmt.setObject(3, java.sql.Time.valueOf(endTime));
+            pstmt.setObject(4, java.sql.Time.valueOf(startTime));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    PlanBlock block = mapRowToPlanBlock(rs);
+                    if (filter.test(block)) {
+                        return block;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Updates an existing plan block.
+     * 
+     * @param block the plan block to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void update(PlanBlock block) throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            update(conn, block);
+        }
+    }
+    
+    /**
+     * Saves a new plan block unless it overlaps an existing one on the same date.
+     * 
+     * <p>The overlap check and the insert run in one transaction. The check locks
+     * the matching index range, so a concurrent writer cannot slip an overlapping
+     * row in between; if the two collide in a deadlock the attempt is retried.
+     * 
+     * @param block the plan block to save
+     * @return the first conflicting plan block, or null if the plan block was saved
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public PlanBlock saveIfFree(PlanBlock block) throws SQLException {
+        return writeIfFree(block, false);
+    }
+    
+    /**
+     * Updates a plan block unless its new time range overlaps another one on the same date.
+     * 
+     * @param block the plan block to update
+     * @return the first conflicting plan block, or null if the plan block was updated
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public PlanBlock updateIfFree(PlanBlock block) throws SQLException {
+        return writeIfFree(block, true);
+    }
+    
+    /**
+     * Deletes a plan block by ID.
+     * 
+     * @param id the plan block ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void delete(Long id) throws SQLException {
+        String sql = "DELETE FROM plan_blocks WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Inserts several plan blocks with multi-row INSERT statements and sets their generated IDs.
+     * 
+     * <p>All rows are written in one transaction, joining the caller's
+     * transaction if there is one. No overlap check is done here.
+     * 
+     * @param blocks the plan blocks to save, in the order their IDs are assigned
+     * @return the same list, with IDs set
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<PlanBlock> saveAll(List<PlanBlock> blocks) throws SQLException {
+        if (blocks.isEmpty()) {
+            return blocks;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                for (List<PlanBlock> chunk : BatchStatements.chunks(blocks)) {
+                    String sql = BatchStatements.multiRowInsert(INSERT_PREFIX, COLUMN_COUNT, chunk.size());
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            bind(pstmt, i * COLUMN_COUNT, chunk.get(i));
+                        }
+                        pstmt.executeUpdate();
+                        long[] ids = BatchStatements.generatedKeys(pstmt, chunk.size());
+                        for (int i = 0; i < chunk.size(); i++) {
+                            chunk.get(i).setId(ids[i]);
+                        }
+                    }
+                }
+            }
+        });
+        return blocks;
+    }
+    
+    /**
+     * Updates several plan blocks with one JDBC batch, in one transaction.
+     * 
+     * @param blocks the plan blocks to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void updateAll(List<PlanBlock> blocks) throws SQLException {
+        if (blocks.isEmpty()) {
+            return;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                for (PlanBlock block : blocks) {
+                    bind(pstmt, 0, block);
+                    pstmt.setLong(COLUMN_COUNT + 1, block.getId());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+        });
+    }
+    
+    /**
+     * Deletes several plan blocks by ID, in one transaction.
+     * 
+     * @param ids the plan block IDs
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void deleteAll(List<Long> ids) throws SQLException {
+        if (ids.isEmpty()) {
+            return;
+        }
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                for (List<Long> chunk : BatchStatements.chunks(ids)) {
+                    String sql = "DELETE FROM plan_blocks WHERE id IN " + BatchStatements.placeholders(chunk.size());
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            pstmt.setLong(i + 1, chunk.get(i));
+                        }
+                        pstmt.executeUpdate();
+                    }
+                }
+            }
+        });
+    }
+    
+    /**
+     * Inserts a plan block on the given connection and sets its generated ID.
+     * 
+     * @param conn the connection to use
+     * @param block the plan block to insert
+     * @throws SQLException if a database error occurs
+     */
+    private void insert(Connection conn, PlanBlock block) throws SQLException {
+        String sql = BatchStatements.multiRowInsert(INSERT_PREFIX, COLUMN_COUNT, 1);
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            bind(pstmt, 0, block);
+            pstmt.executeUpdate();
+            
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    block.setId(rs.getLong(1));
+                }
+            }
+        }
+    }
+    
+    /**
+     * Updates a plan block on the given connection.
+     * 
+     * @param conn the connection to use
+     * @param block the plan block to update
+     * @throws SQLException if a database error occurs
+     */
+    private void update(Connection conn, PlanBlock block) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+            bind(pstmt, 0, block);
+            pstmt.setLong(COLUMN_COUNT + 1, block.getId());
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Binds the column values of a plan block, in INSERT column order.
+     * 
+     * @param pstmt the statement
+     * @param offset the number of parameters before the first column
+     * @param block the plan block
+     * @throws SQLException if a database error occurs
+     */
+    private void bind(PreparedStatement pstmt, int offset, PlanBlock block) throws SQLException {
+        pstmt.setObject(offset + 1, java.sql.Date.valueOf(block.getDate()));
+        pstmt.setObject(offset + 2, java.sql.Time.valueOf(block.getStartTime()));
+        pstmt.setObject(offset + 3, java.sql.Time.valueOf(block.getEndTime()));
+        pstmt.setString(offset + 4, block.getTitle());
+        pstmt.setString(offset + 5, block.getCategory());
+        if (block.getLinkedTaskId() != null) {
+            pstmt.setLong(offset + 6, block.getLinkedTaskId());
+        } else {
+            pstmt.setNull(offset + 6, Types.INTEGER);
+        }
+    }
+    
+    /**
+     * Runs the overlap check and the write in one transaction, joining the
+     * caller's transaction if there is one.
+     * 
+     * @param block the plan block to write
+     * @param existing true to update an existing row, false to insert a new one
+     * @return the first conflicting plan block, or null if the write happened
+     * @throws SQLException if a database error occurs
+     */
+    private PlanBlock writeIfFree(PlanBlock block, boolean existing) throws SQLException {
+        return dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                PlanBlock conflict = findOverlapping(conn, block, existing ? block.getId() : null);
+                if (conflict == null) {
+                    if (existing) {
+                        update(conn, block);
+                    } else {
+                        insert(conn, block);
+                    }
+                }
+                return conflict;
+            }
+        });
+    }
+    
+    /**
+     * Finds the first row on the same date whose time range overlaps the given one,
+     * locking the scanned range until the transaction ends.
+     * 
+     * @param conn the connection of the running transaction
+     * @param block the plan block to check
+     * @param excludeId the ID to ignore (the row being updated), or null
+     * @return the first conflicting plan block, or null if there is none
+     * @throws SQLException if a database error occurs
+     */
+    private PlanBlock findOverlapping(Connection conn, PlanBlock block, Long excludeId) throws SQLException {
+        String sql = "SELECT * FROM plan_blocks WHERE date = ? AND start_time < ? AND end_time > ?" +
+                     (excludeId != null ? " AND id <> ?" : "") +
+                     " ORDER BY start_time LIMIT 1" + dbManager.getBackend().forUpdateClause();
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setObject(1, java.sql.Date.valueOf(block.getDate()));
+            pstmt.setObject(2, java.sql.Time.valueOf(block.getEndTime()));
+            pstmt.setObject(3, java.sql.Time.valueOf(block.getStartTime()));
+            if (excludeId != null) {
+                pstmt.setLong(4, excludeId);
+            }
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToPlanBlock(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Maps a ResultSet row to a PlanBlock object.
+     * 
+     * @param rs the ResultSet
+     * @return the PlanBlock object
+     * @throws SQLException if a database error occurs
+     */
+    private PlanBlock mapRowToPlanBlock(ResultSet rs) throws SQLException {
+        PlanBlock block = new PlanBlock();
+        block.setId(rs.getLong("id"));
+        java.sql.Date sqlDate = rs.getDate("date");
+        block.setDate(sqlDate != null ? sqlDate.toLocalDate() : null);
+        java.sql.Time startTime = rs.getTime("start_time");
+        block.setStartTime(startTime != null ? startTime.toLocalTime() : null);
+        java.sql.Time endTime = rs.getTime("end_time");
+        block.setEndTime(endTime != null ? endTime.toLocalTime() : null);
+        block.setTitle(rs.getString("title"));
+        block.setCategory(rs.getString("category"));
+        long linkedTaskId = rs.getLong("linked_task_id");
+        if (!rs.wasNull()) {
+            block.setLinkedTaskId(linkedTaskId);
+        }
+        return block;
+    }
+}
+
@@ -0,0 +1,324 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
+
+import java.sql.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link RecurrenceRepository} backed by a JDBC database.
+ * 
+ * <p>Rules live in {@code plan_recurrences}, one row each; the days of a
+ * weekly rule are a bit mask in {@code days_of_week} (bit 0 for Monday).
+ * Exception dates live in {@code plan_recurrence_exceptions} and are read
+ * for all the rules of a query at once.
+ * 
+ */
+public class JdbcRecurrenceRepository implements RecurrenceRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO plan_recurrences (pattern, days_of_week, start_date, end_date, start_time, end_time, " +
+            "title, category, linked_task_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL =
+            "UPDATE plan_recurrences SET pattern = ?, days_of_week = ?, start_date = ?, end_date = ?, " +
+            "start_time = ?, end_time = ?, title = ?, category = ?, linked_task_id = ? WHERE id = ?";
+    private static final int COLUMN_COUNT = 9;
+    
+    private final DatabaseManager dbManager;
+    
+    /**
+     * Constructs a JdbcRecurrenceRepository.
+     */
+    public JdbcRecurrenceRepository() {
+        this.dbManager = DatabaseManager.getInstance();
+    }
+    
+    /**
+     * Saves a new recurrence rule and its exceptions, in one transaction.
+     * 
+     * @param rule the rule to save
+     * @return the saved rule with generated ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public RecurrenceRule save(RecurrenceRule rule) throws SQLException {
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection();
+                 PreparedStatement pstmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                bind(pstmt, rule);
+                pstmt.executeUpdate();
+                try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                    if (rs.next()) {
+                        rule.setId(rs.getLong(1));
+                    }
+                }
+                insertExceptions(conn, rule);
+            }
+        });
+        return rule;
+    }
+    
+    /**
+     * Finds a recurrence rule by ID.
+     * 
+     * @param id the rule ID
+     * @return the rule with its exceptions, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public RecurrenceRule findById(Long id) throws SQLException {
+        List<RecurrenceRule> rules = query("SELECT * FROM plan_recurrences WHERE id = ?", id);
+        return rules.isEmpty() ? null : rules.get(0);
+    }
+    
+    /**
+     * Finds the rules whose dates overlap a date range, ordered by start time.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the rules with their exceptions
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<RecurrenceRule> findActive(LocalDate from, LocalDate to) throws SQLException {
+        return query("SELECT * FROM plan_recurrences WHERE start_date <= ? " +
+                     "AND (end_date IS NULL OR end_date >= ?) ORDER BY start_time, id",
+                java.sql.Date.valueOf(to), java.sql.Date.valueOf(from));
+    }
+    
+    /**
+     * Finds the rules whose dates overlap a date range, ordered by start time,
+     * locking them ({@code FOR UPDATE}) until the transaction ends.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the rules with their exceptions
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<RecurrenceRule> findActiveForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        return query("SELECT * FROM plan_recurrences WHERE start_date <= ? " +
+                     "AND (end_date IS NULL OR end_date >= ?) ORDER BY start_time, id" +
+                     dbManager.getBackend().forUpdateClause(),
+                java.sql.Date.valueOf(to), java.sql.Date.valueOf(from));
+    }
+    
+    /**
+     * Finds all recurrence rules, ordered by start date and start time.
+     * 
+     * @return the rules with their exceptions
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<RecurrenceRule> findAll() throws SQLException {
+        return query("SELECT * FROM plan_recurrences ORDER BY start_date, start_time, id");
+    }
+    
+    /**
+     * Updates a recurrence rule and replaces its exceptions, in one transaction.
+     * 
+     * @param rule the rule to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void update(RecurrenceRule rule) throws SQLException {
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                try (PreparedStatement pstmt = conn.prepareStatement(UPDATE_SQL)) {
+                    bind(pstmt, rule);
+                    pstmt.setLong(COLUMN_COUNT + 1, rule.getId());
+                    pstmt.executeUpdate();
+                }
+                deleteExceptions(conn, rule.getId());
+                insertExceptions(conn, rule);
+            }
+        });
+    }
+    
+    /**
+     * Deletes a recurrence rule and its exceptions, in one transaction.
+     * 
+     * @param id the rule ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void delete(Long id) throws SQLException {
+        dbManager.inTransaction(() -> {
+            try (Connection conn = dbManager.getConnection()) {
+                deleteExceptions(conn, id);
+                try (PreparedStatement pstmt = conn.prepareStatement("DELETE FROM plan_recurrences WHERE id = ?")) {
+                    pstmt.setLong(1, id);
+                    pstmt.executeUpdate();
+                }
+            }
+        });
+    }
+    
+    /**
+     * Runs a rule query and fills in the exceptions of the rules found.
+     * 
+     * @param sql the query on {@code plan_recurrences}
+     * @param params the query parameters
+     * @return the rules, in query order
+     * @throws SQLException if a database error occurs
+     */
+    private List<RecurrenceRule> query(String sql, Object... params) throws SQLException {
+        List<RecurrenceRule> rules = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection()) {
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < params.length; i++) {
+                    pstmt.setObject(i + 1, params[i]);
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        rules.add(mapRowToRule(rs));
+                    }
+                }
+            }
+            loadExceptions(conn, rules);
+        }
+        return rules;
+    }
+    
+    /**
+     * Reads the exception dates of some rules, a chunk of rule IDs per query.
+     * 
+     * @param conn the connection to use
+     * @param rules the rules to fill in
+     * @throws SQLException if a database error occurs
+     */
+    private void loadExceptions(Connection conn, List<RecurrenceRule> rules) throws SQLException {
+        Map<Long, Set<LocalDate>> byRule = new HashMap<>();
+        List<Long> ids = new ArrayList<>();
+        for (RecurrenceRule rule : rules) {
+            ids.add(rule.getId());
+        }
+        for (List<Long> chunk : BatchStatements.chunks(ids)) {
+            String sql = "SELECT recurrence_id, date FROM plan_recurrence_exceptions WHERE recurrence_id IN " +
+                         BatchStatements.placeholders(chunk.size());
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setLong(i + 1, chunk.get(i));
+                }
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        byRule.computeIfAbsent(rs.getLong("recurrence_id"), id -> new TreeSet<>())
+                                .add(rs.getDate("date").toLocalDate());
+                    }
+                }
+            }
+        }
+        for (RecurrenceRule rule : rules) {
+            rule.setExceptions(byRule.getOrDefault(rule.getId(), Set.of()));
+        }
+    }
+    
+    /**
+     * Inserts the exception dates of a rule with one JDBC batch.
+     * 
+     * @param conn the connection to use
+     * @param rule the rule, with its ID set
+     * @throws SQLException if a database error occurs
+     */
+    private void insertExceptions(Connection conn, RecurrenceRule rule) throws SQLException {
+        if (rule.getExceptions().isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO plan_recurrence_exceptions (recurrence_id, date) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (LocalDate date : rule.getExceptions()) {
+                pstmt.setLong(1, rule.getId());
+                pstmt.setObject(2, java.sql.Date.valueOf(date));
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+    
+    private void deleteExceptions(Connection conn, Long ruleId) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "DELETE FROM plan_recurrence_exceptions WHERE recurrence_id = ?")) {
+            pstmt.setLong(1, ruleId);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Binds the column values of a rule, in INSERT column order.
+     * 
+     * @param pstmt the statement
+     * @param rule the rule
+     * @throws SQLException if a database error occurs
+     */
+    private void bind(PreparedStatement pstmt, RecurrenceRule rule) throws SQLException {
+        pstmt.setString(1, rule.getPattern().name());
+        pstmt.setInt(2, toMask(rule.getDaysOfWeek()));
+        pstmt.setObject(3, java.sql.Date.valueOf(rule.getStartDate()));
+        if (rule.getEndDate() != null) {
+            pstmt.setObject(4, java.sql.Date.valueOf(rule.getEndDate()));
+        } else {
+            pstmt.setNull(4, Types.DATE);
+        }
+        pstmt.setObject(5, java.sql.Time.valueOf(rule.getStartTime()));
+        pstmt.setObject(6, java.sql.Time.valueOf(rule.getEndTime()));
+        pstmt.setString(7, rule.getTitle());
+        pstmt.setString(8, rule.getCategory());
+        if (rule.getLinkedTaskId() != null) {
+            pstmt.setLong(9, rule.getLinkedTaskId());
+        } else {
+            pstmt.setNull(9, Types.INTEGER);
+        }
+    }
+    
+    /**
+     * Maps a ResultSet row to a RecurrenceRule object, without its exceptions.
+     * 
+     * @param rs the ResultSet
+     * @return the RecurrenceRule object
+     * @throws SQLException if a database error occurs
+     */
+    private RecurrenceRule mapRowToRule(ResultSet rs) throws SQLException {
+        RecurrenceRule rule = new RecurrenceRule();
+        rule.setId(rs.getLong("id"));
+        rule.setPattern(RecurrencePattern.valueOf(rs.getString("pattern")));
+        rule.setDaysOfWeek(fromMask(rs.getInt("days_of_week")));
+        rule.setStartDate(rs.getDate("start_date").toLocalDate());
+        java.sql.Date endDate = rs.getDate("end_date");
+        rule.setEndDate(endDate != null ? endDate.toLocalDate() : null);
+        rule.setStartTime(rs.getTime("start_time").toLocalTime());
+        rule.setEndTime(rs.getTime("end_time").toLocalTime());
+        rule.setTitle(rs.getString("title"));
+        rule.setCategory(rs.getString("category"));
+        long linkedTaskId = rs.getLong("linked_task_id");
+        if (!rs.wasNull()) {
+            rule.setLinkedTaskId(linkedTaskId);
+        }
+        return rule;
+    }
+    
+    private static int toMask(Set<DayOfWeek> days) {
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+    
+    private static Set<DayOfWeek> fromMask(int mask) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if ((mask & (1 << (day.getValue() - 1))) != 0) {
+                days.add(day);
+            }
+        }
+        return days;
+    }
+}
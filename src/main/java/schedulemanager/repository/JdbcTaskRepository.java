@@ -0,0 +1,303 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TaskSummary;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link TaskRepository} backed by a JDBC database.
+ * 
+ * <p>Provides CRUD operations and queries for tasks.
+ * 
+ */
+public class JdbcTaskRepository implements TaskRepository {
+    /** Columns read for list views, qualified so they also work in joins. */
+    static final String SUMMARY_COLUMNS =
+            "t.id, t.folder_id, t.title, t.status, t.priority, t.color_tag, t.created_at";
+    
+    private final DatabaseManager dbManager;
+    
+    /**
+     * Constructs a JdbcTaskRepository.
+     */
+    public JdbcTaskRepository() {
+        this.dbManager = DatabaseManager.getInstance();
+    }
+    
+    /**
+     * Saves a new task to the database.
+     * 
+     * @param task the task to save
+     * @return the saved task with generated ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public Task save(Task task) throws SQLException {
+        String sql = "INSERT INTO tasks (title, folder_id, status, color_tag, priority, " +
+                     "deadline, estimate_minutes, description, created_at) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, task.getTitle());
+            pstmt.setLong(2, task.getFolderId());
+            pstmt.setString(3, task.getStatus().name());
+            pstmt.setString(4, task.getColorTag());
+            pstmt.setString(5, task.getPriority().name());
+            if (task.getDeadline() != null) {
+                pstmt.setObject(6, java.sql.Date.valueOf(task.getDeadline()));
+            } else {
+                pstmt.setNull(6, Types.DATE);
+            }
+            pstmt.setObject(7, task.getEstimateMinutes(), Types.INTEGER);
+            pstmt.setString(8, task.getDescription());
+            pstmt.setObject(9, java.sql.Timestamp.valueOf(task.getCreatedAt()));
+            pstmt.executeUpdate();
+            
+            try (ResultSet rs = pstmt.getGeneratedKeys()) {
+                if (rs.next()) {
+                    task.setId(rs.getLong(1));
+                }
+            }
+        }
+        return task;
+    }
+    
+    /**
+     * Finds a task by ID.
+     * 
+     * @param id the task ID
+     * @return the task, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public Task findById(Long id) throws SQLException {
+        String sql = "SELECT * FROM tasks WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                return mapRowToTask(rs);
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Finds all tasks in a folder.
+     * 
+     * @param folderId the folder ID
+     * @return list of tasks in the folder
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<Task> findByFolderId(Long folderId) throws SQLException {
+        String sql = "SELECT * FROM tasks WHERE folder_id = ? ORDER BY created_at DESC, id";
+        List<Task> tasks = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, folderId);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                tasks.add(mapRowToTask(rs));
+            }
+        }
+        return tasks;
+    }
+    
+    /**
+     * Finds the summaries of all tasks in a folder, newest first (ties by ID).
+     * 
+     * @param folderId the folder ID
+     * @return list of task summaries in the folder
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<TaskSummary> findSummariesByFolderId(Long folderId) throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM tasks t WHERE t.folder_id = ? ORDER BY t.created_at DESC, t.id";
+        List<TaskSummary> summaries = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, folderId);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                summaries.add(mapRowToSummary(rs));
+            }
+        }
+        return summaries;
+    }
+    
+    /**
+     * Finds one page of task summaries in a folder, starting after a given row.
+     * 
+     * <p>The {@code (folder_id, created_at DESC, id)} index serves both the
+     * filter and the order, so the database reads only the rows it returns.
+     * 
+     * @param folderId the folder ID
+     * @param after the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows
+     * @return the summaries on the page
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public List<TaskSummary> findSummaryPage(Long folderId, TaskSummary after, int limit) throws SQLException {
+        String sql = "SELECT " + SUMMARY_COLUMNS + " FROM tasks t WHERE t.folder_id = ?" +
+                     (after != null ? " AND (t.created_at < ? OR (t.created_at = ? AND t.id > ?))" : "") +
+                     " ORDER BY t.created_at DESC, t.id LIMIT ?";
+        List<TaskSummary> summaries = new ArrayList<>();
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            pstmt.setLong(index++, folderId);
+            if (after != null) {
+                java.sql.Timestamp createdAt = java.sql.Timestamp.valueOf(after.getCreatedAt());
+                pstmt.setObject(index++, createdAt);
+                pstmt.setObject(index++, createdAt);
+                pstmt.setLong(index++, after.getId());
+            }
+            pstmt.setInt(index, limit);
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                summaries.add(mapRowToSummary(rs));
+            }
+        }
+        return summaries;
+    }
+    
+    /**
+     * Counts the tasks in a folder.
+     * 
+     * @param folderId the folder ID
+     * @return the number of tasks in the folder
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public int countByFolderId(Long folderId) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM tasks WHERE folder_id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, folderId);
+            ResultSet rs = pstmt.executeQuery();
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+    
+    /**
+     * Updates an existing task.
+     * 
+     * @param task the task to update
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void update(Task task) throws SQLException {
+        String sql = "UPDATE tasks SET title = ?, folder_id = ?, status = ?, color_tag = ?, " +
+                     "priority = ?, deadline = ?, estimate_minutes = ?, description = ? " +
+                     "WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, task.getTitle());
+            pstmt.setLong(2, task.getFolderId());
+            pstmt.setString(3, task.getStatus().name());
+            pstmt.setString(4, task.getColorTag());
+            pstmt.setString(5, task.getPriority().name());
+            if (task.getDeadline() != null) {
+                pstmt.setObject(6, java.sql.Date.valueOf(task.getDeadline()));
+            } else {
+                pstmt.setNull(6, Types.DATE);
+            }
+            pstmt.setObject(7, task.getEstimateMinutes(), Types.INTEGER);
+            pstmt.setString(8, task.getDescription());
+            pstmt.setLong(9, task.getId());
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Updates only the status of a task.
+     * 
+     * @param taskId the task ID
+     * @param status the new status
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void updateStatus(Long taskId, TaskStatus status) throws SQLException {
+        String sql = "UPDATE tasks SET status = ? WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, status.name());
+            pstmt.setLong(2, taskId);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Deletes a task by ID.
+     * 
+     * @param id the task ID
+     * @throws SQLException if a database error occurs
+     */
+    @Override
+    public void delete(Long id) throws SQLException {
+        String sql = "DELETE FROM tasks WHERE id = ?";
+        try (Connection conn = dbManager.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setLong(1, id);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * Maps a ResultSet row to a Task object.
+     * 
+     * <p>Package-private so other repositories joining {@code tasks} can reuse it.
+     * 
+     * @param rs the ResultSet
+     * @return the Task object
+     * @throws SQLException if a database error occurs
+     */
+    /**
+     * Maps a row selected with {@link #SUMMARY_COLUMNS} to a TaskSummary.
+     * 
+     * @param rs the ResultSet
+     * @return the TaskSummary object
+     * @throws SQLException if a database error occurs
+     */
+    static TaskSummary mapRowToSummary(ResultSet rs) throws SQLException {
+        java.sql.Timestamp createdAt = rs.getTimestamp("created_at");
+        return new TaskSummary(rs.getLong("id"), rs.getLong("folder_id"), rs.getString("title"),
+                TaskStatus.valueOf(rs.getString("status")),
+                schedulemanager.domain.Priority.valueOf(rs.getString("priority")),
+                rs.getString("color_tag"), createdAt != null ? createdAt.toLocalDateTime() : null);
+    }
+    
+    static Task mapRowToTask(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setTitle(rs.getString("title"));
+        task.setFolderId(rs.getLong("folder_id"));
+        task.setStatus(TaskStatus.valueOf(rs.getString("status")));
+        task.setColorTag(rs.getString("color_tag"));
+        task.setPriority(schedulemanager.domain.Priority.valueOf(rs.getString("priority")));
+        java.sql.Date deadlineDate = rs.getDate("deadline");
+        if (deadlineDate != null) {
+            task.setDeadline(deadlineDate.toLocalDate());
+        }
+        int estimate = rs.getInt("estimate_minutes");
+        if (!rs.wasNull()) {
+            task.setEstimateMinutes(estimate);
+        }
+        task.setDescription(rs.getString("description"));
+        java.sql.Timestamp createdAt = rs.getTimestamp("created_at");
+        if (createdAt != null) {
+            task.setCreatedAt(createdAt.toLocalDateTime());
+        }
+        return task;
+    }
+}
+
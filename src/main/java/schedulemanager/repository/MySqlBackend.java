@@ -0,0 +1,82 @@
+package schedulemanager.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * {@link StorageBackend} for a MySQL 8 server.
+ *
+ * <p>Configured via system properties:
+ * <ul>
+ *   <li>db.host (default: localhost)</li>
+ *   <li>db.port (default: 3306)</li>
+ *   <li>db.name (default: schedule_manager)</li>
+ *   <li>db.user (default: root)</li>
+ *   <li>db.password (default: empty)</li>
+ * </ul>
+ */
+public final class MySqlBackend implements StorageBackend {
+    private final String host = System.getProperty("db.host", "localhost");
+    private final String port = System.getProperty("db.port", "3306");
+    private final String name = System.getProperty("db.name", "schedule_manager");
+    private final String user = System.getProperty("db.user", "root");
+    private final String password = System.getProperty("db.password", "");
+
+    @Override
+    public String getDescription() {
+        return "MySQL database: " + name;
+    }
+
+    @Override
+    public String getJdbcUrl() {
+        return "jdbc:mysql://" + host + ":" + port + "/" + name
+                + "?useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC";
+    }
+
+    @Override
+    public Properties getConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("user", user);
+        properties.setProperty("password", password);
+        // Sends a JDBC batch as multi-statement round trips instead of one per row
+        properties.setProperty("rewriteBatchedStatements", "true");
+        // Makes a positive fetch size stream rows through a server-side cursor
+        properties.setProperty("useCursorFetch", "true");
+        return properties;
+    }
+
+    @Override
+    public String idColumnDefinition() {
+        return "id BIGINT AUTO_INCREMENT PRIMARY KEY";
+    }
+
+    @Override
+    public String dropIndexStatement(String index, String table) {
+        return "DROP INDEX " + index + " ON " + table;
+    }
+
+    @Override
+    public List<String> temporalToTextStatements(String table, List<String> columns) {
+        return List.of();
+    }
+
+    @Override
+    public String forUpdateClause() {
+        return " FOR UPDATE";
+    }
+
+    @Override
+    public String upsertClause(String keyColumn, List<String> updateColumns) {
+        return updateColumns.stream()
+                .map(column -> column + " = VALUES(" + column + ")")
+                .collect(Collectors.joining(", ", " ON DUPLICATE KEY UPDATE ", ""));
+    }
+
+    @Override
+    public boolean isRetryable(SQLException e) {
+        // 40001: deadlock found when trying to get lock
+        return "40001".equals(e.getSQLState());
+    }
+}
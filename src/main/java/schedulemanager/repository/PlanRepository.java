@@ -1,61 +1,33 @@
 package schedulemanager.repository;
 
+import schedulemanager.domain.DayGroups;
 import schedulemanager.domain.PlanBlock;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
- * Repository for managing PlanBlock entities in the database.
+ * Repository for managing PlanBlock entities.
  * 
  * <p>Provides CRUD operations for plan blocks (planned time blocks).
  * 
+ * <p>Implemented over JDBC by {@link JdbcPlanRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryPlanRepository}.
+ * 
  */
-public class PlanRepository {
-    private final DatabaseManager dbManager;
-    
-    /**
-     * Constructs a PlanRepository.
-     */
-    public PlanRepository() {
-        this.dbManager = DatabaseManager.getInstance();
-    }
-    
+public interface PlanRepository {
     /**
-     * Saves a new plan block to the database.
+     * Saves a new plan block.
      * 
      * @param block the plan block to save
      * @return the saved plan block with generated ID
      * @throws SQLException if a database error occurs
      */
-    public PlanBlock save(PlanBlock block) throws SQLException {
-        String sql = "INSERT INTO plan_blocks (date, start_time, end_time, title, category, linked_task_id) " +
-                     "VALUES (?, ?, ?, ?, ?, ?)";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(block.getDate()));
-            pstmt.setObject(2, java.sql.Time.valueOf(block.getStartTime()));
-            pstmt.setObject(3, java.sql.Time.valueOf(block.getEndTime()));
-            pstmt.setString(4, block.getTitle());
-            pstmt.setString(5, block.getCategory());
-            if (block.getLinkedTaskId() != null) {
-                pstmt.setLong(6, block.getLinkedTaskId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-            pstmt.executeUpdate();
-            
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    block.setId(rs.getLong(1));
-                }
-            }
-        }
-        return block;
-    }
+    PlanBlock save(PlanBlock block) throws SQLException;
     
     /**
      * Finds a plan block by ID.
@@ -64,18 +36,7 @@ public class PlanRepository {
      * @return the plan block, or null if not found
      * @throws SQLException if a database error occurs
      */
-    public PlanBlock findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM plan_blocks WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapRowToPlanBlock(rs);
-            }
-        }
-        return null;
-    }
+    PlanBlock findById(Long id) throws SQLException;
     
     /**
      * Finds all plan blocks for a specific date, ordered by start time.
@@ -84,18 +45,76 @@ public class PlanRepository {
      * @return list of plan blocks for the date
      * @throws SQLException if a database error occurs
      */
-    public List<PlanBlock> findByDate(LocalDate date) throws SQLException {
-        String sql = "SELECT * FROM plan_blocks WHERE date = ? ORDER BY start_time";
-        List<PlanBlock> blocks = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(date));
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                blocks.add(mapRowToPlanBlock(rs));
-            }
-        }
-        return blocks;
+    List<PlanBlock> findByDate(LocalDate date) throws SQLException;
+    
+    /**
+     * Finds all plan blocks between two dates (inclusive), ordered by date and start time.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of plan blocks in the range
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> findByDateRange(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Finds all plan blocks between two dates (inclusive), ordered by date and start time,
+     * locking the scanned range until the transaction ends.
+     * 
+     * <p>Must be called inside a transaction. Concurrent writers to the range
+     * wait for it, so a batch checked against the result for overlaps can be
+     * written without another batch slipping in between.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return list of plan blocks in the range
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Streams all plan blocks between two dates (inclusive) to an action, ordered by
+     * date and start time, without holding the whole range in memory.
+     * 
+     * <p>JDBC implementations fetch rows in chunks of {@code db.fetchSize}.
+     * The action runs while the query is open and must not call back into
+     * the repositories.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param action receives each plan block in order
+     * @throws SQLException if a database error occurs
+     */
+    void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super PlanBlock> action) throws SQLException;
+    
+    /**
+     * Finds the first plan block between two dates (inclusive) whose time
+     * range overlaps the given times and that passes a filter.
+     * 
+     * <p>The time window is applied in the query, so only candidate rows are
+     * read, and reading stops at the first one the filter accepts.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @param startTime the start of the time window
+     * @param endTime the end of the time window
+     * @param filter decides whether a candidate counts, e.g. by its date
+     * @return the first accepted plan block in date and start order, or null
+     * @throws SQLException if a database error occurs
+     */
+    PlanBlock findFirstOverlapping(LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime,
+                                   Predicate<? super PlanBlock> filter) throws SQLException;
+    
+    /**
+     * Finds all plan blocks between two dates (inclusive), grouped by day.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the plan blocks of each day in the range, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    default DayGroups<PlanBlock> findGroupedByDay(LocalDate from, LocalDate to) throws SQLException {
+        return DayGroups.of(from, to, findByDateRange(from, to), PlanBlock::getDate);
     }
     
     /**
@@ -104,25 +123,28 @@ public class PlanRepository {
      * @param block the plan block to update
      * @throws SQLException if a database error occurs
      */
-    public void update(PlanBlock block) throws SQLException {
-        String sql = "UPDATE plan_blocks SET date = ?, start_time = ?, end_time = ?, " +
-                     "title = ?, category = ?, linked_task_id = ? WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(block.getDate()));
-            pstmt.setObject(2, java.sql.Time.valueOf(block.getStartTime()));
-            pstmt.setObject(3, java.sql.Time.valueOf(block.getEndTime()));
-            pstmt.setString(4, block.getTitle());
-            pstmt.setString(5, block.getCategory());
-            if (block.getLinkedTaskId() != null) {
-                pstmt.setLong(6, block.getLinkedTaskId());
-            } else {
-                pstmt.setNull(6, Types.INTEGER);
-            }
-            pstmt.setLong(7, block.getId());
-            pstmt.executeUpdate();
-        }
-    }
+    void update(PlanBlock block) throws SQLException;
+    
+    /**
+     * Saves a new plan block unless it overlaps an existing one on the same date.
+     * 
+     * <p>The overlap check and the insert are atomic: a concurrent writer cannot
+     * slip an overlapping row in between.
+     * 
+     * @param block the plan block to save
+     * @return the first conflicting plan block, or null if the plan block was saved
+     * @throws SQLException if a database error occurs
+     */
+    PlanBlock saveIfFree(PlanBlock block) throws SQLException;
+    
+    /**
+     * Updates a plan block unless its new time range overlaps another one on the same date.
+     * 
+     * @param block the plan block to update
+     * @return the first conflicting plan block, or null if the plan block was updated
+     * @throws SQLException if a database error occurs
+     */
+    PlanBlock updateIfFree(PlanBlock block) throws SQLException;
     
     /**
      * Deletes a plan block by ID.
@@ -130,38 +152,32 @@ public class PlanRepository {
      * @param id the plan block ID
      * @throws SQLException if a database error occurs
      */
-    public void delete(Long id) throws SQLException {
-        String sql = "DELETE FROM plan_blocks WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            pstmt.executeUpdate();
-        }
-    }
+    void delete(Long id) throws SQLException;
     
     /**
-     * Maps a ResultSet row to a PlanBlock object.
+     * Saves several new plan blocks at once, in one transaction.
+     * 
+     * <p>No overlap check is done; callers validate the batch first.
      * 
-     * @param rs the ResultSet
-     * @return the PlanBlock object
+     * @param blocks the plan blocks to save
+     * @return the same list, with generated IDs set in order
      * @throws SQLException if a database error occurs
      */
-    private PlanBlock mapRowToPlanBlock(ResultSet rs) throws SQLException {
-        PlanBlock block = new PlanBlock();
-        block.setId(rs.getLong("id"));
-        java.sql.Date sqlDate = rs.getDate("date");
-        block.setDate(sqlDate != null ? sqlDate.toLocalDate() : null);
-        java.sql.Time startTime = rs.getTime("start_time");
-        block.setStartTime(startTime != null ? startTime.toLocalTime() : null);
-        java.sql.Time endTime = rs.getTime("end_time");
-        block.setEndTime(endTime != null ? endTime.toLocalTime() : null);
-        block.setTitle(rs.getString("title"));
-        block.setCategory(rs.getString("category"));
-        long linkedTaskId = rs.getLong("linked_task_id");
-        if (!rs.wasNull()) {
-            block.setLinkedTaskId(linkedTaskId);
-        }
-        return block;
-    }
+    List<PlanBlock> saveAll(List<PlanBlock> blocks) throws SQLException;
+    
+    /**
+     * Updates several plan blocks at once, in one transaction.
+     * 
+     * @param blocks the plan blocks to update
+     * @throws SQLException if a database error occurs
+     */
+    void updateAll(List<PlanBlock> blocks) throws SQLException;
+    
+    /**
+     * Deletes several plan blocks by ID, in one transaction.
+     * 
+     * @param ids the plan block IDs
+     * @throws SQLException if a database error occurs
+     */
+    void deleteAll(List<Long> ids) throws SQLException;
 }
-
@@ -0,0 +1,88 @@
+package schedulemanager.repository;
+
+import schedulemanager.domain.RecurrenceRule;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository for managing RecurrenceRule entities.
+ * 
+ * <p>Only the rules are stored, each with its exception dates; their
+ * occurrences are expanded by the services for the dates being read.
+ * 
+ * <p>Implemented over JDBC by {@link JdbcRecurrenceRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryRecurrenceRepository}.
+ * 
+ */
+public interface RecurrenceRepository {
+    /**
+     * Saves a new recurrence rule with its exceptions.
+     * 
+     * @param rule the rule to save
+     * @return the saved rule with generated ID
+     * @throws SQLException if a database error occurs
+     */
+    RecurrenceRule save(RecurrenceRule rule) throws SQLException;
+    
+    /**
+     * Finds a recurrence rule by ID.
+     * 
+     * @param id the rule ID
+     * @return the rule with its exceptions, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    RecurrenceRule findById(Long id) throws SQLException;
+    
+    /**
+     * Finds the rules whose dates overlap a date range: rules starting on or
+     * before {@code to} and not ending before {@code from}.
+     * 
+     * <p>A rule returned may still have no occurrence in the range, e.g. a
+     * weekly rule over a range of two days.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the rules with their exceptions, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    List<RecurrenceRule> findActive(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Same as {@link #findActive}, but locks the rules found, and the index
+     * range a new rule for those dates would go into, until the transaction ends.
+     * 
+     * <p>Must be called inside a transaction.
+     * 
+     * @param from the first date
+     * @param to the last date
+     * @return the rules with their exceptions, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    List<RecurrenceRule> findActiveForUpdate(LocalDate from, LocalDate to) throws SQLException;
+    
+    /**
+     * Finds all recurrence rules.
+     * 
+     * @return the rules with their exceptions, ordered by start date and start time
+     * @throws SQLException if a database error occurs
+     */
+    List<RecurrenceRule> findAll() throws SQLException;
+    
+    /**
+     * Updates an existing recurrence rule, replacing its exceptions.
+     * 
+     * @param rule the rule to update
+     * @throws SQLException if a database error occurs
+     */
+    void update(RecurrenceRule rule) throws SQLException;
+    
+    /**
+     * Deletes a recurrence rule and its exceptions by ID.
+     * 
+     * @param id the rule ID
+     * @throws SQLException if a database error occurs
+     */
+    void delete(Long id) throws SQLException;
+}
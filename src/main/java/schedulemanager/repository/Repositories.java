@@ -0,0 +1,129 @@
+package schedulemanager.repository;
+
+import schedulemanager.repository.memory.InMemoryStore;
+
+/**
+ * The set of repositories the services work with, plus the unit of work
+ * that spans them.
+ *
+ * <p>Which implementation is used follows the {@code db.backend} system property:
+ * <ul>
+ *   <li>{@code mysql} or {@code sqlite} - the JDBC repositories over
+ *       {@link DatabaseManager} (see {@link StorageBackend})</li>
+ *   <li>{@code memory} - in-memory repositories over {@link InMemoryStore},
+ *       persisted to an append-only journal</li>
+ * </ul>
+ */
+public final class Repositories {
+    private final TaskRepository taskRepository;
+    private final TaskFolderRepository folderRepository;
+    private final TodayRepository todayRepository;
+    private final PlanRepository planRepository;
+    private final RecurrenceRepository recurrenceRepository;
+    private final ActivityRepository activityRepository;
+    private final DailyStatisticsRepository statisticsRepository;
+    private final UnitOfWork transactions;
+
+    private Repositories(TaskRepository taskRepository, TaskFolderRepository folderRepository,
+                         TodayRepository todayRepository, PlanRepository planRepository,
+                         RecurrenceRepository recurrenceRepository, ActivityRepository activityRepository,
+                         DailyStatisticsRepository statisticsRepository, UnitOfWork transactions) {
+        this.taskRepository = taskRepository;
+        this.folderRepository = folderRepository;
+        this.todayRepository = todayRepository;
+        this.planRepository = planRepository;
+        this.recurrenceRepository = recurrenceRepository;
+        this.activityRepository = activityRepository;
+        this.statisticsRepository = statisticsRepository;
+        this.transactions = transactions;
+    }
+
+    /**
+     * Creates the repositories selected by the {@code db.backend} system property.
+     *
+     * @return the repositories
+     */
+    public static Repositories fromSystemProperties() {
+        if ("memory".equalsIgnoreCase(System.getProperty("db.backend"))) {
+            InMemoryStore store = InMemoryStore.getInstance();
+            return new Repositories(store.getTaskRepository(), store.getFolderRepository(),
+                    store.getTodayRepository(), store.getPlanRepository(), store.getRecurrenceRepository(),
+                    store.getActivityRepository(), store.getStatisticsRepository(), store);
+        }
+        return new Repositories(new JdbcTaskRepository(), new JdbcTaskFolderRepository(),
+                new JdbcTodayRepository(), new JdbcPlanRepository(), new JdbcRecurrenceRepository(),
+                new JdbcActivityRepository(), new JdbcDailyStatisticsRepository(), DatabaseManager.getInstance());
+    }
+
+    /**
+     * Gets the task repository.
+     *
+     * @return the task repository
+     */
+    public TaskRepository getTaskRepository() {
+        return taskRepository;
+    }
+
+    /**
+     * Gets the folder repository.
+     *
+     * @return the folder repository
+     */
+    public TaskFolderRepository getFolderRepository() {
+        return folderRepository;
+    }
+
+    /**
+     * Gets the Today list repository.
+     *
+     * @return the Today list repository
+     */
+    public TodayRepository getTodayRepository() {
+        return todayRepository;
+    }
+
+    /**
+     * Gets the plan block repository.
+     *
+     * @return the plan block repository
+     */
+    public PlanRepository getPlanRepository() {
+        return planRepository;
+    }
+
+    /**
+     * Gets the recurrence rule repository.
+     *
+     * @return the recurrence rule repository
+     */
+    public RecurrenceRepository getRecurrenceRepository() {
+        return recurrenceRepository;
+    }
+
+    /**
+     * Gets the actual session repository.
+     *
+     * @return the actual session repository
+     */
+    public ActivityRepository getActivityRepository() {
+        return activityRepository;
+    }
+
+    /**
+     * Gets the daily statistics repository.
+     *
+     * @return the daily statistics repository
+     */
+    public DailyStatisticsRepository getStatisticsRepository() {
+        return statisticsRepository;
+    }
+
+    /**
+     * Gets the unit of work spanning these repositories.
+     *
+     * @return the unit of work
+     */
+    public UnitOfWork getTransactions() {
+        return transactions;
+    }
+}
@@ -0,0 +1,342 @@
+package schedulemanager.repository;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Applies versioned schema migrations to the database.
+ *
+ * <p>The applied version is recorded in the {@code schema_version} table.
+ * On startup only the migrations newer than the recorded version are run,
+ * so a database that is already current executes no DDL at all.
+ *
+ * <p>Migrations are append-only: never edit a released step, add a new one
+ * with the next version number instead.
+ *
+ * <p>Every step can run again on a schema it already changed: tables are
+ * created with {@code IF NOT EXISTS} and indexes are only created or dropped
+ * after checking the JDBC metadata. A migration and its version row run in
+ * one transaction, which SQLite rolls back as a whole; MySQL commits each DDL
+ * statement on its own, so a migration interrupted there is simply
+ * completed by the next startup.
+ *
+ * <p>Statements are written in SQL common to all {@link StorageBackend}s;
+ * the few engine-specific fragments (auto-increment keys, DROP INDEX) are
+ * asked from the backend the migrator runs against.
+ */
+public class SchemaMigrator {
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Create base tables", backend -> List.of(
+            sql("""
+            CREATE TABLE IF NOT EXISTS task_folders (
+                %s,
+                name VARCHAR(255) NOT NULL,
+                parent_folder_id BIGINT,
+                FOREIGN KEY (parent_folder_id) REFERENCES task_folders(id)
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS tasks (
+                %s,
+                title VARCHAR(255) NOT NULL,
+                folder_id BIGINT NOT NULL,
+                status VARCHAR(20) NOT NULL,
+                color_tag VARCHAR(50),
+                priority VARCHAR(20) NOT NULL,
+                deadline DATE,
+                estimate_minutes INT,
+                description TEXT,
+                created_at DATETIME NOT NULL,
+                FOREIGN KEY (folder_id) REFERENCES task_folders(id),
+                CHECK (status IN ('TODO', 'DOING', 'DONE')),
+                CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH', 'URGENT'))
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS today_tasks (
+                %s,
+                task_id BIGINT NOT NULL,
+                date DATE NOT NULL,
+                display_order INT,
+                FOREIGN KEY (task_id) REFERENCES tasks(id),
+                UNIQUE(task_id, date)
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS plan_blocks (
+                %s,
+                date DATE NOT NULL,
+                start_time TIME NOT NULL,
+                end_time TIME NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                category VARCHAR(100),
+                linked_task_id BIGINT,
+                FOREIGN KEY (linked_task_id) REFERENCES tasks(id)
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS actual_sessions (
+                %s,
+                date DATE NOT NULL,
+                start_time TIME NOT NULL,
+                end_time TIME NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                category VARCHAR(100),
+                linked_task_id BIGINT,
+                FOREIGN KEY (linked_task_id) REFERENCES tasks(id)
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS daily_statistics (
+                date DATE PRIMARY KEY,
+                planned_minutes INT NOT NULL,
+                actual_minutes INT NOT NULL,
+                overlap_minutes INT NOT NULL,
+                quantitative_accuracy DOUBLE NOT NULL,
+                temporal_accuracy DOUBLE NOT NULL
+            )
+            """)
+        )),
+        new Migration(2, "Add composite indexes for date and folder lookups", backend -> List.of(
+            createIndex("idx_plan_blocks_date_start", "plan_blocks", "date, start_time"),
+            createIndex("idx_actual_sessions_date_start", "actual_sessions", "date, start_time"),
+            createIndex("idx_today_tasks_date_order", "today_tasks", "date, display_order"),
+            createIndex("idx_tasks_folder_created", "tasks", "folder_id, created_at")
+        )),
+        new Migration(3, "Cover end_time in the date indexes for overlap checks", backend -> List.of(
+            createIndex("idx_plan_blocks_date_range", "plan_blocks", "date, start_time, end_time"),
+            dropIndex("idx_plan_blocks_date_start", "plan_blocks"),
+            createIndex("idx_actual_sessions_date_range", "actual_sessions", "date, start_time, end_time"),
+            dropIndex("idx_actual_sessions_date_start", "actual_sessions")
+        )),
+        new Migration(4, "Order the folder index like keyset task pages", backend -> List.of(
+            createIndex("idx_tasks_folder_page", "tasks", "folder_id, created_at DESC, id"),
+            dropIndex("idx_tasks_folder_created", "tasks")
+        )),
+        new Migration(5, "Add recurrence rules for repeating plan blocks", backend -> List.of(
+            sql("""
+            CREATE TABLE IF NOT EXISTS plan_recurrences (
+                %s,
+                pattern VARCHAR(20) NOT NULL,
+                days_of_week INT NOT NULL,
+                start_date DATE NOT NULL,
+                end_date DATE,
+                start_time TIME NOT NULL,
+                end_time TIME NOT NULL,
+                title VARCHAR(255) NOT NULL,
+                category VARCHAR(100),
+                linked_task_id BIGINT,
+                FOREIGN KEY (linked_task_id) REFERENCES tasks(id),
+                CHECK (pattern IN ('DAILY', 'WEEKDAYS', 'WEEKLY'))
+            )
+            """.formatted(backend.idColumnDefinition())),
+            sql("""
+            CREATE TABLE IF NOT EXISTS plan_recurrence_exceptions (
+                recurrence_id BIGINT NOT NULL,
+                date DATE NOT NULL,
+                PRIMARY KEY (recurrence_id, date),
+                FOREIGN KEY (recurrence_id) REFERENCES plan_recurrences(id)
+            )
+            """),
+            createIndex("idx_plan_recurrences_dates", "plan_recurrences", "start_date, end_date")
+        )),
+        new Migration(6, "Store dates and times as zone-independent text", backend -> Stream.of(
+                backend.temporalToTextStatements("tasks", List.of("deadline", "created_at")),
+                backend.temporalToTextStatements("today_tasks", List.of("date")),
+                backend.temporalToTextStatements("plan_blocks", List.of("date", "start_time", "end_time")),
+                backend.temporalToTextStatements("actual_sessions", List.of("date", "start_time", "end_time")),
+                backend.temporalToTextStatements("daily_statistics", List.of("date")),
+                backend.temporalToTextStatements("plan_recurrences",
+                        List.of("start_date", "end_date", "start_time", "end_time")),
+                backend.temporalToTextStatements("plan_recurrence_exceptions", List.of("date")))
+            .flatMap(List::stream)
+            .map(SchemaMigrator::sql)
+            .collect(Collectors.toList()))
+    );
+
+    private final StorageBackend backend;
+
+    /**
+     * Constructs a SchemaMigrator.
+     *
+     * @param backend the backend whose dialect the statements are built for
+     */
+    public SchemaMigrator(StorageBackend backend) {
+        this.backend = backend;
+    }
+
+    /**
+     * Gets the schema version this code base expects.
+     *
+     * @return the latest migration version
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Brings the schema up to the latest version.
+     *
+     * @param conn the connection to migrate on
+     * @return the schema version after migrating
+     * @throws SQLException if a migration step fails
+     */
+    public int migrate(Connection conn) throws SQLException {
+        int current = getCurrentVersion(conn);
+        if (current >= getLatestVersion()) {
+            return current;
+        }
+
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                try {
+                    for (Step step : migration.steps.apply(backend)) {
+                        step.apply(conn, backend);
+                    }
+                    recordVersion(conn, migration);
+                    conn.commit();
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw new SQLException("Schema migration " + migration.version + " ("
+                            + migration.description + ") failed: " + e.getMessage(), e.getSQLState(), e);
+                }
+                System.out.println("Applied schema migration " + migration.version
+                        + ": " + migration.description);
+                current = migration.version;
+            }
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return current;
+    }
+
+    /**
+     * Reads the recorded schema version, creating the version table on first run.
+     *
+     * @param conn the connection
+     * @return the current version, or 0 for a database that was never migrated
+     * @throws SQLException if a database error occurs
+     */
+    private int getCurrentVersion(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+            return 0;
+        } catch (SQLException e) {
+            // Table does not exist yet
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INT PRIMARY KEY,
+                    description VARCHAR(255) NOT NULL,
+                    applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+        return 0;
+    }
+
+    private void recordVersion(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Tells whether a table has an index of the given name.
+     *
+     * @param conn the connection
+     * @param table the table
+     * @param index the index name
+     * @return true if the index exists
+     * @throws SQLException if a database error occurs
+     */
+    private static boolean indexExists(Connection conn, String table, String index) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        try (ResultSet rs = metaData.getIndexInfo(conn.getCatalog(), null, table, false, true)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A statement run as is; it must be safe to run twice.
+     */
+    private static Step sql(String statement) {
+        return (conn, backend) -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(statement);
+            }
+        };
+    }
+
+    /**
+     * Creates an index unless it already exists. MySQL has no
+     * {@code CREATE INDEX IF NOT EXISTS}, so the metadata is checked instead.
+     */
+    private static Step createIndex(String index, String table, String columns) {
+        return (conn, backend) -> {
+            if (!indexExists(conn, table, index)) {
+                sql("CREATE INDEX " + index + " ON " + table + " (" + columns + ")").apply(conn, backend);
+            }
+        };
+    }
+
+    /**
+     * Drops an index if it exists.
+     */
+    private static Step dropIndex(String index, String table) {
+        return (conn, backend) -> {
+            if (indexExists(conn, table, index)) {
+                sql(backend.dropIndexStatement(index, table)).apply(conn, backend);
+            }
+        };
+    }
+
+    /**
+     * One idempotent change within a migration.
+     */
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn, StorageBackend backend) throws SQLException;
+    }
+
+    /**
+     * A single schema version step.
+     */
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final Function<StorageBackend, List<Step>> steps;
+
+        Migration(int version, String description, Function<StorageBackend, List<Step>> steps) {
+            this.version = version;
+            this.description = description;
+            this.steps = steps;
+        }
+    }
+}
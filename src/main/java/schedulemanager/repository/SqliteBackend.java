@@ -0,0 +1,95 @@
+package schedulemanager.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * {@link StorageBackend} for an embedded SQLite file database.
+ *
+ * <p>Runs in-process, so there is no server to install and no network hop
+ * per query; suited to single-user desktop use and to running the tests.
+ * The database file is chosen with the {@code db.file} system property
+ * (default: {@code schedule_manager_local.db}) and is created on first start.
+ *
+ * <p>Connections use write-ahead logging, so readers never wait for the
+ * writer, and start transactions with {@code BEGIN IMMEDIATE}: the first
+ * statement of a transaction takes the write lock, which serializes
+ * concurrent writers the way {@code SELECT ... FOR UPDATE} does on MySQL.
+ *
+ * <p>Dates, times and timestamps are stored as text in {@link #DATE_FORMAT}
+ * rather than the driver's default of epoch milliseconds. Epoch values of a
+ * local midnight depend on the time zone they were written in, so rows stopped
+ * matching {@code date = ?} after a time zone or DST rule change; text is
+ * the same in every zone and readable by SQLite's own date functions.
+ */
+public final class SqliteBackend implements StorageBackend {
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    /** Text form of every date, time and timestamp column; fixed width, so it sorts like the value. */
+    static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss.SSS";
+
+    private final String file = System.getProperty("db.file", "schedule_manager_local.db");
+
+    @Override
+    public String getDescription() {
+        return "SQLite database file: " + file;
+    }
+
+    @Override
+    public String getJdbcUrl() {
+        return "jdbc:sqlite:" + file;
+    }
+
+    @Override
+    public Properties getConnectionProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("foreign_keys", "true");
+        properties.setProperty("journal_mode", "WAL");
+        properties.setProperty("synchronous", "NORMAL");
+        properties.setProperty("busy_timeout", "5000");
+        properties.setProperty("transaction_mode", "IMMEDIATE");
+        properties.setProperty("date_class", "TEXT");
+        properties.setProperty("date_string_format", DATE_FORMAT);
+        return properties;
+    }
+
+    @Override
+    public String idColumnDefinition() {
+        return "id INTEGER PRIMARY KEY AUTOINCREMENT";
+    }
+
+    @Override
+    public String dropIndexStatement(String index, String table) {
+        return "DROP INDEX " + index;
+    }
+
+    @Override
+    public List<String> temporalToTextStatements(String table, List<String> columns) {
+        // Rows written before date_class=TEXT hold epoch milliseconds of local time
+        return columns.stream()
+                .map(column -> "UPDATE " + table + " SET " + column + " = strftime('%Y-%m-%d %H:%M:%f', "
+                        + column + " / 1000.0, 'unixepoch', 'localtime') WHERE typeof(" + column + ") = 'integer'")
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public String forUpdateClause() {
+        return "";
+    }
+
+    @Override
+    public String upsertClause(String keyColumn, List<String> updateColumns) {
+        return updateColumns.stream()
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", ", " ON CONFLICT (" + keyColumn + ") DO UPDATE SET ", ""));
+    }
+
+    @Override
+    public boolean isRetryable(SQLException e) {
+        int code = e.getErrorCode() & 0xff;
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED;
+    }
+}
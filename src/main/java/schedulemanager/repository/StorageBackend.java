@@ -0,0 +1,120 @@
+package schedulemanager.repository;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Storage engine the repositories run on.
+ *
+ * <p>A backend supplies the JDBC URL and driver properties used by the
+ * connection pool, plus the few pieces of SQL that differ between engines.
+ * Everything else the repositories and {@link SchemaMigrator} issue is
+ * plain SQL shared by all backends.
+ *
+ * <p>The backend is chosen with the {@code db.backend} system property:
+ * <ul>
+ *   <li>{@code mysql} (default) - {@link MySqlBackend}, a MySQL server</li>
+ *   <li>{@code sqlite} - {@link SqliteBackend}, an embedded file database</li>
+ * </ul>
+ *
+ * <p>The {@code memory} setting does not use JDBC at all and is handled by
+ * {@link Repositories}.
+ */
+public interface StorageBackend {
+
+    /**
+     * Creates the backend selected by the {@code db.backend} system property.
+     *
+     * @return the configured backend
+     * @throws IllegalArgumentException if the property names an unknown backend
+     */
+    static StorageBackend fromSystemProperties() {
+        String name = System.getProperty("db.backend", "mysql");
+        switch (name.toLowerCase()) {
+            case "mysql":
+                return new MySqlBackend();
+            case "sqlite":
+                return new SqliteBackend();
+            default:
+                throw new IllegalArgumentException("Unknown storage backend: " + name
+                        + " (expected mysql or sqlite)");
+        }
+    }
+
+    /**
+     * Gets a short description of the backend for log output.
+     *
+     * @return the description
+     */
+    String getDescription();
+
+    /**
+     * Gets the JDBC URL connections are opened with.
+     *
+     * @return the JDBC URL
+     */
+    String getJdbcUrl();
+
+    /**
+     * Gets the driver properties connections are opened with.
+     *
+     * @return the connection properties
+     */
+    Properties getConnectionProperties();
+
+    /**
+     * Gets the column definition of an auto-generated {@code id} primary key.
+     *
+     * @return the column definition, starting with the column name
+     */
+    String idColumnDefinition();
+
+    /**
+     * Builds the statement that drops an index.
+     *
+     * @param index the index name
+     * @param table the table the index belongs to
+     * @return the DROP INDEX statement
+     */
+    String dropIndexStatement(String index, String table);
+
+    /**
+     * Builds the statements that convert date, time and timestamp values
+     * stored in an older binary form to the text form the backend now binds.
+     * Empty for engines with native temporal column types.
+     *
+     * @param table the table
+     * @param columns the temporal columns of the table
+     * @return the UPDATE statements, possibly none
+     */
+    List<String> temporalToTextStatements(String table, List<String> columns);
+
+    /**
+     * Gets the clause appended to a SELECT that must lock the rows it reads
+     * until the transaction ends. Empty for engines whose transactions already
+     * serialize writers.
+     *
+     * @return the locking clause, with a leading space, or an empty string
+     */
+    String forUpdateClause();
+
+    /**
+     * Gets the clause appended to an INSERT so that a row with the same key
+     * is overwritten instead of rejected.
+     *
+     * @param keyColumn the unique key column
+     * @param updateColumns the columns to overwrite
+     * @return the upsert clause, with a leading space
+     */
+    String upsertClause(String keyColumn, List<String> updateColumns);
+
+    /**
+     * Tells whether a failed transaction may succeed if simply run again,
+     * as is the case for deadlocks and busy locks.
+     *
+     * @param e the exception thrown by the transaction
+     * @return true if the transaction can be retried
+     */
+    boolean isRetryable(SQLException e);
+}
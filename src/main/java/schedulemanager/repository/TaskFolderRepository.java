@@ -1,54 +1,32 @@
 package schedulemanager.repository;
 
 import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskFolderNode;
 
-import java.sql.*;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Repository for managing TaskFolder entities in the database.
+ * Repository for managing TaskFolder entities.
  * 
  * <p>Provides CRUD operations and hierarchical queries for task folders.
  * 
+ * <p>Implemented over JDBC by {@link JdbcTaskFolderRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryTaskFolderRepository}.
+ * 
  */
-public class TaskFolderRepository {
-    private final DatabaseManager dbManager;
-    
-    /**
-     * Constructs a TaskFolderRepository.
-     */
-    public TaskFolderRepository() {
-        this.dbManager = DatabaseManager.getInstance();
-    }
-    
+public interface TaskFolderRepository {
     /**
-     * Saves a new task folder to the database.
+     * Saves a new task folder.
      * 
      * @param folder the folder to save
      * @return the saved folder with generated ID
      * @throws SQLException if a database error occurs
      */
-    public TaskFolder save(TaskFolder folder) throws SQLException {
-        String sql = "INSERT INTO task_folders (name, parent_folder_id) VALUES (?, ?)";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, folder.getName());
-            if (folder.getParentFolderId() != null) {
-                pstmt.setLong(2, folder.getParentFolderId());
-            } else {
-                pstmt.setNull(2, Types.INTEGER);
-            }
-            pstmt.executeUpdate();
-            
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    folder.setId(rs.getLong(1));
-                }
-            }
-        }
-        return folder;
-    }
+    TaskFolder save(TaskFolder folder) throws SQLException;
     
     /**
      * Finds a task folder by ID.
@@ -57,18 +35,7 @@ public class TaskFolderRepository {
      * @return the folder, or null if not found
      * @throws SQLException if a database error occurs
      */
-    public TaskFolder findById(Long id) throws SQLException {
-        String sql = "SELECT * FROM task_folders WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return mapRowToFolder(rs);
-            }
-        }
-        return null;
-    }
+    TaskFolder findById(Long id) throws SQLException;
     
     /**
      * Finds all root folders (folders without a parent).
@@ -76,18 +43,7 @@ public class TaskFolderRepository {
      * @return list of root folders
      * @throws SQLException if a database error occurs
      */
-    public List<TaskFolder> findRootFolders() throws SQLException {
-        String sql = "SELECT * FROM task_folders WHERE parent_folder_id IS NULL ORDER BY name";
-        List<TaskFolder> folders = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                folders.add(mapRowToFolder(rs));
-            }
-        }
-        return folders;
-    }
+    List<TaskFolder> findRootFolders() throws SQLException;
     
     /**
      * Finds all subfolders of a given parent folder.
@@ -96,19 +52,7 @@ public class TaskFolderRepository {
      * @return list of subfolders
      * @throws SQLException if a database error occurs
      */
-    public List<TaskFolder> findByParentId(Long parentId) throws SQLException {
-        String sql = "SELECT * FROM task_folders WHERE parent_folder_id = ? ORDER BY name";
-        List<TaskFolder> folders = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, parentId);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                folders.add(mapRowToFolder(rs));
-            }
-        }
-        return folders;
-    }
+    List<TaskFolder> findByParentId(Long parentId) throws SQLException;
     
     /**
      * Finds all folders.
@@ -116,71 +60,52 @@ public class TaskFolderRepository {
      * @return list of all folders
      * @throws SQLException if a database error occurs
      */
-    public List<TaskFolder> findAll() throws SQLException {
-        String sql = "SELECT * FROM task_folders ORDER BY name";
-        List<TaskFolder> folders = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                folders.add(mapRowToFolder(rs));
-            }
-        }
-        return folders;
-    }
+    List<TaskFolder> findAll() throws SQLException;
     
     /**
-     * Updates an existing task folder.
+     * Loads the whole folder hierarchy.
      * 
-     * @param folder the folder to update
+     * <p>All folders are read with one {@link #findAll()} call and linked to
+     * their parents through an in-memory index. Siblings keep the name order of {@link #findAll()}.
+     * 
+     * @return list of root nodes, each holding its subfolders
      * @throws SQLException if a database error occurs
      */
-    public void update(TaskFolder folder) throws SQLException {
-        String sql = "UPDATE task_folders SET name = ?, parent_folder_id = ? WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, folder.getName());
-            if (folder.getParentFolderId() != null) {
-                pstmt.setLong(2, folder.getParentFolderId());
+    default List<TaskFolderNode> findTree() throws SQLException {
+        List<TaskFolder> folders = findAll();
+        Map<Long, TaskFolderNode> nodesById = new HashMap<>();
+        for (TaskFolder folder : folders) {
+            nodesById.put(folder.getId(), new TaskFolderNode(folder));
+        }
+        
+        List<TaskFolderNode> roots = new ArrayList<>();
+        for (TaskFolder folder : folders) {
+            TaskFolderNode node = nodesById.get(folder.getId());
+            TaskFolderNode parent = folder.getParentFolderId() != null
+                ? nodesById.get(folder.getParentFolderId())
+                : null;
+            if (parent != null) {
+                parent.addChild(node);
             } else {
-                pstmt.setNull(2, Types.INTEGER);
+                roots.add(node);
             }
-            pstmt.setLong(3, folder.getId());
-            pstmt.executeUpdate();
         }
+        return roots;
     }
     
     /**
-     * Deletes a task folder by ID.
+     * Updates an existing task folder.
      * 
-     * @param id the folder ID
+     * @param folder the folder to update
      * @throws SQLException if a database error occurs
      */
-    public void delete(Long id) throws SQLException {
-        String sql = "DELETE FROM task_folders WHERE id = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, id);
-            pstmt.executeUpdate();
-        }
-    }
+    void update(TaskFolder folder) throws SQLException;
     
     /**
-     * Maps a ResultSet row to a TaskFolder object.
+     * Deletes a task folder by ID.
      * 
-     * @param rs the ResultSet
-     * @return the TaskFolder object
+     * @param id the folder ID
      * @throws SQLException if a database error occurs
      */
-    private TaskFolder mapRowToFolder(ResultSet rs) throws SQLException {
-        TaskFolder folder = new TaskFolder();
-        folder.setId(rs.getLong("id"));
-        folder.setName(rs.getString("name"));
-        long parentId = rs.getLong("parent_folder_id");
-        if (!rs.wasNull()) {
-            folder.setParentFolderId(parentId);
-        }
-        return folder;
-    }
+    void delete(Long id) throws SQLException;
 }
-
@@ -1,65 +1,37 @@
 package schedulemanager.repository;
 
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskSummary;
 import schedulemanager.domain.TodayTask;
 
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Repository for managing TodayTask mappings in the database.
+ * Repository for managing TodayTask mappings.
  * 
  * <p>TodayTask represents the selection of tasks for a specific day.
  * This repository handles adding/removing tasks from the Today list
  * and managing their display order.
  * 
+ * <p>Implemented over JDBC by {@link JdbcTodayRepository} and in memory by
+ * {@link schedulemanager.repository.memory.InMemoryTodayRepository}.
+ * 
  */
-public class TodayRepository {
-    private final DatabaseManager dbManager;
-    
-    /**
-     * Constructs a TodayRepository.
-     */
-    public TodayRepository() {
-        this.dbManager = DatabaseManager.getInstance();
-    }
-    
+public interface TodayRepository {
     /**
      * Adds a task to the Today list for a specific date.
      * 
+     * <p>The task is appended after the current last position; two concurrent
+     * additions never get the same position.
+     * 
      * @param taskId the task ID
      * @param date the date
      * @return the created TodayTask
      * @throws SQLException if a database error occurs
      */
-    public TodayTask addTask(Long taskId, LocalDate date) throws SQLException {
-        // Get max order for this date
-        int maxOrder = getMaxOrderForDate(date);
-        
-        String sql = "INSERT INTO today_tasks (task_id, date, display_order) VALUES (?, ?, ?)";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setLong(1, taskId);
-            pstmt.setObject(2, java.sql.Date.valueOf(date));
-            pstmt.setInt(3, maxOrder + 1);
-            pstmt.executeUpdate();
-            
-            TodayTask todayTask = new TodayTask(taskId, date);
-            todayTask.setDisplayOrder(maxOrder + 1);
-            
-            try (ResultSet rs = pstmt.getGeneratedKeys()) {
-                if (rs.next()) {
-                    todayTask.setId(rs.getLong(1));
-                }
-            }
-            return todayTask;
-        }
-    }
+    TodayTask addTask(Long taskId, LocalDate date) throws SQLException;
     
     /**
      * Removes a task from the Today list for a specific date.
@@ -68,15 +40,7 @@ public class TodayRepository {
      * @param date the date
      * @throws SQLException if a database error occurs
      */
-    public void removeTask(Long taskId, LocalDate date) throws SQLException {
-        String sql = "DELETE FROM today_tasks WHERE task_id = ? AND date = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, taskId);
-            pstmt.setObject(2, java.sql.Date.valueOf(date));
-            pstmt.executeUpdate();
-        }
-    }
+    void removeTask(Long taskId, LocalDate date) throws SQLException;
     
     /**
      * Gets all tasks for a specific date, ordered by display_order.
@@ -85,101 +49,47 @@ public class TodayRepository {
      * @return list of TodayTask mappings
      * @throws SQLException if a database error occurs
      */
-    public List<TodayTask> findByDate(LocalDate date) throws SQLException {
-        String sql = "SELECT * FROM today_tasks WHERE date = ? ORDER BY display_order";
-        List<TodayTask> tasks = new ArrayList<>();
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(date));
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                tasks.add(mapRowToTodayTask(rs));
-            }
-        }
-        return tasks;
-    }
+    List<TodayTask> findByDate(LocalDate date) throws SQLException;
     
     /**
-     * Updates the display order of tasks for a date.
+     * Gets the full tasks in the Today list for a specific date, ordered by display_order.
+     * 
+     * <p>Joins {@code today_tasks} with {@code tasks} so the whole list is
+     * loaded in a single query.
      * 
      * @param date the date
-     * @param taskIds ordered list of task IDs
+     * @return list of tasks in display order
      * @throws SQLException if a database error occurs
      */
-    public void updateOrder(LocalDate date, List<Long> taskIds) throws SQLException {
-        String sql = "UPDATE today_tasks SET display_order = ? WHERE task_id = ? AND date = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            for (int i = 0; i < taskIds.size(); i++) {
-                pstmt.setInt(1, i + 1);
-                pstmt.setLong(2, taskIds.get(i));
-                pstmt.setObject(3, java.sql.Date.valueOf(date));
-                pstmt.addBatch();
-            }
-            pstmt.executeBatch();
-        }
-    }
+    List<Task> findTasksByDate(LocalDate date) throws SQLException;
     
     /**
-     * Checks if a task is in the Today list for a specific date.
+     * Gets the summaries of the tasks in the Today list for a date, in display order.
+     * 
+     * <p>Like {@link #findTasksByDate(LocalDate)}, but reads only the list columns.
      * 
-     * @param taskId the task ID
      * @param date the date
-     * @return true if the task is in Today list
+     * @return list of task summaries in display order
      * @throws SQLException if a database error occurs
      */
-    public boolean isTaskInToday(Long taskId, LocalDate date) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM today_tasks WHERE task_id = ? AND date = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setLong(1, taskId);
-            pstmt.setObject(2, java.sql.Date.valueOf(date));
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
-            }
-        }
-        return false;
-    }
+    List<TaskSummary> findSummariesByDate(LocalDate date) throws SQLException;
     
     /**
-     * Gets the maximum display order for a date.
+     * Updates the display order of tasks for a date, atomically.
      * 
      * @param date the date
-     * @return the maximum order, or 0 if no tasks exist
+     * @param taskIds ordered list of task IDs
      * @throws SQLException if a database error occurs
      */
-    private int getMaxOrderForDate(LocalDate date) throws SQLException {
-        String sql = "SELECT MAX(display_order) FROM today_tasks WHERE date = ?";
-        try (Connection conn = dbManager.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setObject(1, java.sql.Date.valueOf(date));
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                int value = rs.getInt(1);
-                if (!rs.wasNull()) {
-                    return value;
-                }
-            }
-        }
-        return 0;
-    }
+    void updateOrder(LocalDate date, List<Long> taskIds) throws SQLException;
     
     /**
-     * Maps a ResultSet row to a TodayTask object.
+     * Checks if a task is in the Today list for a specific date.
      * 
-     * @param rs the ResultSet
-     * @return the TodayTask object
+     * @param taskId the task ID
+     * @param date the date
+     * @return true if the task is in Today list
      * @throws SQLException if a database error occurs
      */
-    private TodayTask mapRowToTodayTask(ResultSet rs) throws SQLException {
-        TodayTask todayTask = new TodayTask();
-        todayTask.setId(rs.getLong("id"));
-        todayTask.setTaskId(rs.getLong("task_id"));
-        java.sql.Date sqlDate = rs.getDate("date");
-        todayTask.setDate(sqlDate != null ? sqlDate.toLocalDate() : null);
-        todayTask.setDisplayOrder(rs.getInt("display_order"));
-        return todayTask;
-    }
+    boolean isTaskInToday(Long taskId, LocalDate date) throws SQLException;
 }
-
@@ -0,0 +1,57 @@
+package schedulemanager.repository;
+
+import java.sql.SQLException;
+
+/**
+ * Runs several repository calls as one atomic unit.
+ *
+ * <p>Everything the work does through the repositories of the same storage
+ * is committed together if it returns normally and undone if it throws.
+ * A unit of work started inside another one joins it.
+ *
+ * <p>Implemented by {@link DatabaseManager} for the JDBC backends and by
+ * {@link schedulemanager.repository.memory.InMemoryStore} for in-memory storage.
+ */
+public interface UnitOfWork {
+
+    /**
+     * Work executed inside a transaction.
+     *
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    interface SqlWork<T> {
+        T execute() throws SQLException;
+    }
+
+    /**
+     * Work without a result executed inside a transaction.
+     */
+    @FunctionalInterface
+    interface SqlAction {
+        void execute() throws SQLException;
+    }
+
+    /**
+     * Runs work as one transaction.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     * @throws SQLException if a storage error occurs
+     */
+    <T> T inTransaction(SqlWork<T> work) throws SQLException;
+
+    /**
+     * Runs work without a result as one transaction.
+     *
+     * @param action the work to run
+     * @throws SQLException if a storage error occurs
+     */
+    default void inTransaction(SqlAction action) throws SQLException {
+        inTransaction(() -> {
+            action.execute();
+            return null;
+        });
+    }
+}
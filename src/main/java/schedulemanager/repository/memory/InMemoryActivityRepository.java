@@ -0,0 +1,158 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.ActualSession;
+import schedulemanager.repository.ActivityRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * {@link ActivityRepository} backed by the {@link InMemoryStore}.
+ * 
+ */
+public final class InMemoryActivityRepository implements ActivityRepository {
+    private final InMemoryStore store;
+    
+    InMemoryActivityRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public ActualSession save(ActualSession session) throws SQLException {
+        return store.inTransaction(() -> {
+            insert(session);
+            return session;
+        });
+    }
+    
+    @Override
+    public ActualSession findById(Long id) throws SQLException {
+        return store.read(() -> {
+            ActualSession session = store.sessions().get(id);
+            return session != null ? Rows.copy(session) : null;
+        });
+    }
+    
+    @Override
+    public List<ActualSession> findByDate(LocalDate date) throws SQLException {
+        return store.read(() -> store.sessions().byKey(date).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<ActualSession> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        return store.read(() -> store.sessions().byKeyRange(from, to).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Same as {@link #findByDateRange}: the enclosing transaction holds the
+     * store's write lock, which already keeps other writers out.
+     */
+    @Override
+    public List<ActualSession> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        return findByDateRange(from, to);
+    }
+    
+    @Override
+    public void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super ActualSession> action) throws SQLException {
+        for (ActualSession row : store.read(() -> store.sessions().byKeyRange(from, to))) {
+            action.accept(Rows.copy(row));
+        }
+    }
+    
+    @Override
+    public void update(ActualSession session) throws SQLException {
+        store.inTransaction(() -> update(session, store.sessions().get(session.getId())));
+    }
+    
+    @Override
+    public ActualSession saveIfFree(ActualSession session) throws SQLException {
+        return store.inTransaction(() -> {
+            ActualSession conflict = findOverlapping(session, null);
+            if (conflict == null) {
+                insert(session);
+            }
+            return conflict;
+        });
+    }
+    
+    @Override
+    public ActualSession updateIfFree(ActualSession session) throws SQLException {
+        return store.inTransaction(() -> {
+            ActualSession conflict = findOverlapping(session, session.getId());
+            if (conflict == null) {
+                update(session, store.sessions().get(session.getId()));
+            }
+            return conflict;
+        });
+    }
+    
+    @Override
+    public void delete(Long id) throws SQLException {
+        store.inTransaction(() -> store.delete(InMemoryStore.Kind.SESSION, id));
+    }
+    
+    @Override
+    public List<ActualSession> saveAll(List<ActualSession> sessions) throws SQLException {
+        store.inTransaction(() -> {
+            for (ActualSession session : sessions) {
+                insert(session);
+            }
+        });
+        return sessions;
+    }
+    
+    @Override
+    public void updateAll(List<ActualSession> sessions) throws SQLException {
+        store.inTransaction(() -> {
+            for (ActualSession session : sessions) {
+                update(session, store.sessions().get(session.getId()));
+            }
+        });
+    }
+    
+    @Override
+    public void deleteAll(List<Long> ids) throws SQLException {
+        store.inTransaction(() -> {
+            for (Long id : ids) {
+                store.delete(InMemoryStore.Kind.SESSION, id);
+            }
+        });
+    }
+    
+    private void insert(ActualSession session) throws SQLException {
+        requireLinkedTask(session.getLinkedTaskId());
+        session.setId(store.sessions().nextId());
+        store.put(InMemoryStore.Kind.SESSION, Rows.copy(session));
+    }
+    
+    private void update(ActualSession session, ActualSession existing) throws SQLException {
+        if (existing != null) {
+            requireLinkedTask(session.getLinkedTaskId());
+            store.put(InMemoryStore.Kind.SESSION, Rows.copy(session));
+        }
+    }
+    
+    private ActualSession findOverlapping(ActualSession session, Long excludeId) {
+        for (ActualSession other : store.sessions().byKey(session.getDate())) {
+            if (other.getStartTime().isBefore(session.getEndTime())
+                    && other.getEndTime().isAfter(session.getStartTime())
+                    && !other.getId().equals(excludeId)) {
+                return Rows.copy(other);
+            }
+        }
+        return null;
+    }
+    
+    private void requireLinkedTask(Long taskId) throws SQLException {
+        if (taskId != null && store.tasks().get(taskId) == null) {
+            throw InMemoryStore.constraintViolation("Task " + taskId + " does not exist");
+        }
+    }
+}
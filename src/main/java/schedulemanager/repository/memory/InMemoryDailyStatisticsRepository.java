@@ -0,0 +1,52 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.DailyStatistics;
+import schedulemanager.repository.DailyStatisticsRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link DailyStatisticsRepository} backed by the {@link InMemoryStore}.
+ * 
+ * <p>Statistics are derived from plan blocks and sessions, so they are not
+ * journaled: after a restart they are simply recomputed on first read.
+ * 
+ */
+public final class InMemoryDailyStatisticsRepository implements DailyStatisticsRepository {
+    private final InMemoryStore store;
+    
+    InMemoryDailyStatisticsRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public void saveAll(List<DailyStatistics> statsList) throws SQLException {
+        store.checkAvailable();
+        for (DailyStatistics stats : statsList) {
+            store.statistics().put(stats.getDate(), Rows.copy(stats));
+        }
+    }
+    
+    @Override
+    public DailyStatistics findByDate(LocalDate date) throws SQLException {
+        store.checkAvailable();
+        DailyStatistics stats = store.statistics().get(date);
+        return stats != null ? Rows.copy(stats) : null;
+    }
+    
+    @Override
+    public List<DailyStatistics> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        store.checkAvailable();
+        return store.statistics().subMap(from, true, to, true).values().stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void deleteByDate(LocalDate date) throws SQLException {
+        store.statistics().remove(date);
+    }
+}
@@ -0,0 +1,174 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.repository.PlanRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PlanRepository} backed by the {@link InMemoryStore}.
+ * 
+ */
+public final class InMemoryPlanRepository implements PlanRepository {
+    private final InMemoryStore store;
+    
+    InMemoryPlanRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public PlanBlock save(PlanBlock block) throws SQLException {
+        return store.inTransaction(() -> {
+            insert(block);
+            return block;
+        });
+    }
+    
+    @Override
+    public PlanBlock findById(Long id) throws SQLException {
+        return store.read(() -> {
+            PlanBlock block = store.planBlocks().get(id);
+            return block != null ? Rows.copy(block) : null;
+        });
+    }
+    
+    @Override
+    public List<PlanBlock> findByDate(LocalDate date) throws SQLException {
+        return store.read(() -> store.planBlocks().byKey(date).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<PlanBlock> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        return store.read(() -> store.planBlocks().byKeyRange(from, to).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Same as {@link #findByDateRange}: the enclosing transaction holds the
+     * store's write lock, which already keeps other writers out.
+     */
+    @Override
+    public List<PlanBlock> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        return findByDateRange(from, to);
+    }
+    
+    @Override
+    public void forEachInDateRange(LocalDate from, LocalDate to, Consumer<? super PlanBlock> action) throws SQLException {
+        for (PlanBlock row : store.read(() -> store.planBlocks().byKeyRange(from, to))) {
+            action.accept(Rows.copy(row));
+        }
+    }
+    
+    @Override
+    public PlanBlock findFirstOverlapping(LocalDate from, LocalDate to, LocalTime startTime, LocalTime endTime,
+                                          Predicate<? super PlanBlock> filter) throws SQLException {
+        return store.read(() -> {
+            for (PlanBlock row : store.planBlocks().byKeyRange(from, to)) {
+                if (row.getStartTime().isBefore(endTime) && row.getEndTime().isAfter(startTime)
+                        && filter.test(row)) {
+                    return Rows.copy(row);
+                }
+            }
+            return null;
+        });
+    }
+    
+    @Override
+    public void update(PlanBlock block) throws SQLException {
+        store.inTransaction(() -> update(block, store.planBlocks().get(block.getId())));
+    }
+    
+    @Override
+    public PlanBlock saveIfFree(PlanBlock block) throws SQLException {
+        return store.inTransaction(() -> {
+            PlanBlock conflict = findOverlapping(block, null);
+            if (conflict == null) {
+                insert(block);
+            }
+            return conflict;
+        });
+    }
+    
+    @Override
+    public PlanBlock updateIfFree(PlanBlock block) throws SQLException {
+        return store.inTransaction(() -> {
+            PlanBlock conflict = findOverlapping(block, block.getId());
+            if (conflict == null) {
+                update(block, store.planBlocks().get(block.getId()));
+            }
+            return conflict;
+        });
+    }
+    
+    @Override
+    public void delete(Long id) throws SQLException {
+        store.inTransaction(() -> store.delete(InMemoryStore.Kind.PLAN, id));
+    }
+    
+    @Override
+    public List<PlanBlock> saveAll(List<PlanBlock> blocks) throws SQLException {
+        store.inTransaction(() -> {
+            for (PlanBlock block : blocks) {
+                insert(block);
+            }
+        });
+        return blocks;
+    }
+    
+    @Override
+    public void updateAll(List<PlanBlock> blocks) throws SQLException {
+        store.inTransaction(() -> {
+            for (PlanBlock block : blocks) {
+                update(block, store.planBlocks().get(block.getId()));
+            }
+        });
+    }
+    
+    @Override
+    public void deleteAll(List<Long> ids) throws SQLException {
+        store.inTransaction(() -> {
+            for (Long id : ids) {
+                store.delete(InMemoryStore.Kind.PLAN, id);
+            }
+        });
+    }
+    
+    private void insert(PlanBlock block) throws SQLException {
+        requireLinkedTask(block.getLinkedTaskId());
+        block.setId(store.planBlocks().nextId());
+        store.put(InMemoryStore.Kind.PLAN, Rows.copy(block));
+    }
+    
+    private void update(PlanBlock block, PlanBlock existing) throws SQLException {
+        if (existing != null) {
+            requireLinkedTask(block.getLinkedTaskId());
+            store.put(InMemoryStore.Kind.PLAN, Rows.copy(block));
+        }
+    }
+    
+    private PlanBlock findOverlapping(PlanBlock block, Long excludeId) {
+        for (PlanBlock other : store.planBlocks().byKey(block.getDate())) {
+            if (other.getStartTime().isBefore(block.getEndTime())
+                    && other.getEndTime().isAfter(block.getStartTime())
+                    && !other.getId().equals(excludeId)) {
+                return Rows.copy(other);
+            }
+        }
+        return null;
+    }
+    
+    private void requireLinkedTask(Long taskId) throws SQLException {
+        if (taskId != null && store.tasks().get(taskId) == null) {
+            throw InMemoryStore.constraintViolation("Task " + taskId + " does not exist");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.repository.RecurrenceRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link RecurrenceRepository} backed by the {@link InMemoryStore}.
+ * 
+ * <p>Rules are indexed by start date, so the rules active in a range are the
+ * ones starting up to its last date whose end date, if any, is not before
+ * its first date.
+ * 
+ */
+public final class InMemoryRecurrenceRepository implements RecurrenceRepository {
+    private static final Comparator<RecurrenceRule> BY_START_TIME =
+            Comparator.comparing(RecurrenceRule::getStartTime).thenComparing(RecurrenceRule::getId);
+    
+    private final InMemoryStore store;
+    
+    InMemoryRecurrenceRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public RecurrenceRule save(RecurrenceRule rule) throws SQLException {
+        return store.inTransaction(() -> {
+            requireLinkedTask(rule.getLinkedTaskId());
+            rule.setId(store.recurrences().nextId());
+            store.put(InMemoryStore.Kind.RECURRENCE, Rows.copy(rule));
+            return rule;
+        });
+    }
+    
+    @Override
+    public RecurrenceRule findById(Long id) throws SQLException {
+        return store.read(() -> {
+            RecurrenceRule rule = store.recurrences().get(id);
+            return rule != null ? Rows.copy(rule) : null;
+        });
+    }
+    
+    @Override
+    public List<RecurrenceRule> findActive(LocalDate from, LocalDate to) throws SQLException {
+        return store.read(() -> store.recurrences().byKeyRange(LocalDate.MIN, to).stream()
+                .filter(rule -> rule.getEndDate() == null || !rule.getEndDate().isBefore(from))
+                .sorted(BY_START_TIME)
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    /**
+     * Same as {@link #findActive}: the enclosing transaction holds the
+     * store's write lock, which already keeps other writers out.
+     */
+    @Override
+    public List<RecurrenceRule> findActiveForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        return findActive(from, to);
+    }
+    
+    @Override
+    public List<RecurrenceRule> findAll() throws SQLException {
+        return store.read(() -> store.recurrences().byKeyRange(LocalDate.MIN, LocalDate.MAX).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public void update(RecurrenceRule rule) throws SQLException {
+        store.inTransaction(() -> {
+            if (store.recurrences().get(rule.getId()) != null) {
+                requireLinkedTask(rule.getLinkedTaskId());
+                store.put(InMemoryStore.Kind.RECURRENCE, Rows.copy(rule));
+            }
+        });
+    }
+    
+    @Override
+    public void delete(Long id) throws SQLException {
+        store.inTransaction(() -> store.delete(InMemoryStore.Kind.RECURRENCE, id));
+    }
+    
+    private void requireLinkedTask(Long taskId) throws SQLException {
+        if (taskId != null && store.tasks().get(taskId) == null) {
+            throw InMemoryStore.constraintViolation("Task " + taskId + " does not exist");
+        }
+    }
+}
@@ -0,0 +1,470 @@
+package schedulemanager.repository.memory;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import schedulemanager.domain.ActualSession;
+import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TodayTask;
+import schedulemanager.repository.UnitOfWork;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory storage for folders, tasks, Today entries, plan blocks, recurrence
+ * rules and sessions.
+ *
+ * <p>All rows live in indexed maps, so reads never touch disk. Every committed
+ * change is appended to a {@link Journal} in the directory given by the
+ * {@code db.dir} system property (default: {@code schedule_manager_data});
+ * on startup the snapshot and journal are replayed. The journal is compacted
+ * into a new snapshot every {@code db.journal.compactThreshold} records
+ * (default: 10000).
+ *
+ * <p>Reads share a read lock; writes run as transactions holding the write
+ * lock. A transaction that throws is undone in memory and never reaches the
+ * journal. A transaction that completes returns once its records are fsynced.
+ * If the journal cannot be written, the store stops: the failed commit and
+ * every later read or write throw {@link SQLException} until the store is
+ * reopened, which brings back the last state on disk. Changes of the failed
+ * commit are never compacted into a snapshot.
+ *
+ * <p>Materialized daily statistics are derived data and are kept in memory
+ * only; they are recomputed after a restart.
+ */
+public final class InMemoryStore implements UnitOfWork {
+    private static final Gson GSON = new GsonBuilder()
+            .serializeNulls()
+            .registerTypeAdapter(LocalDate.class, isoAdapter(LocalDate::parse))
+            .registerTypeAdapter(LocalTime.class, isoAdapter(LocalTime::parse))
+            .registerTypeAdapter(LocalDateTime.class, isoAdapter(LocalDateTime::parse))
+            .create();
+
+    private static InMemoryStore instance;
+
+    /**
+     * Kinds of journaled rows.
+     */
+    enum Kind {
+        FOLDER(TaskFolder.class),
+        TASK(Task.class),
+        TODAY(TodayTask.class),
+        PLAN(PlanBlock.class),
+        RECURRENCE(RecurrenceRule.class),
+        SESSION(ActualSession.class);
+
+        private final Class<?> rowType;
+
+        Kind(Class<?> rowType) {
+            this.rowType = rowType;
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<Transaction> currentTransaction = new ThreadLocal<>();
+
+    private final Table<Long, TaskFolder> folders = new Table<>(TaskFolder::getId,
+            TaskFolder::getParentFolderId,
+            Comparator.comparing(TaskFolder::getName, String.CASE_INSENSITIVE_ORDER));
+    private final Table<Long, Task> tasks = new Table<>(Task::getId, Task::getFolderId,
+            Comparator.comparing(Task::getCreatedAt, Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+    private final Table<LocalDate, TodayTask> todayTasks = new Table<>(TodayTask::getId, TodayTask::getDate,
+            Comparator.comparing(TodayTask::getDisplayOrder, Comparator.nullsLast(Comparator.<Integer>naturalOrder())));
+    private final Table<LocalDate, PlanBlock> planBlocks = new Table<>(PlanBlock::getId, PlanBlock::getDate,
+            Comparator.comparing(PlanBlock::getStartTime));
+    private final Table<LocalDate, RecurrenceRule> recurrences = new Table<>(RecurrenceRule::getId,
+            RecurrenceRule::getStartDate, Comparator.comparing(RecurrenceRule::getStartTime));
+    private final Table<LocalDate, ActualSession> sessions = new Table<>(ActualSession::getId,
+            ActualSession::getDate, Comparator.comparing(ActualSession::getStartTime));
+    private final ConcurrentSkipListMap<LocalDate, DailyStatistics> statistics = new ConcurrentSkipListMap<>();
+
+    private final Journal journal;
+
+    private final InMemoryTaskRepository taskRepository = new InMemoryTaskRepository(this);
+    private final InMemoryTaskFolderRepository folderRepository = new InMemoryTaskFolderRepository(this);
+    private final InMemoryTodayRepository todayRepository = new InMemoryTodayRepository(this);
+    private final InMemoryPlanRepository planRepository = new InMemoryPlanRepository(this);
+    private final InMemoryRecurrenceRepository recurrenceRepository = new InMemoryRecurrenceRepository(this);
+    private final InMemoryActivityRepository activityRepository = new InMemoryActivityRepository(this);
+    private final InMemoryDailyStatisticsRepository statisticsRepository =
+            new InMemoryDailyStatisticsRepository(this);
+
+    /**
+     * Opens a store outside the singleton, with its own way of opening the
+     * journal file.
+     *
+     * @param directory the directory holding the journal and snapshot
+     * @param compactThreshold the number of records after which the journal is compacted
+     * @param opener opens the journal file
+     * @throws IOException if the journal cannot be read
+     */
+    InMemoryStore(Path directory, int compactThreshold, Journal.ChannelOpener opener) throws IOException {
+        this.journal = new Journal(directory, compactThreshold, this::snapshotRecords, opener);
+        journal.open(this::replay);
+        System.out.println("Using in-memory storage with journal in: " + directory.toAbsolutePath());
+    }
+
+    /**
+     * Gets the store, replaying its journal on first use.
+     *
+     * @return the store
+     * @throws IllegalStateException if the journal cannot be read
+     */
+    public static synchronized InMemoryStore getInstance() {
+        if (instance == null) {
+            Path directory = Path.of(System.getProperty("db.dir", "schedule_manager_data"));
+            int compactThreshold = Integer.getInteger("db.journal.compactThreshold", 10_000);
+            try {
+                instance = new InMemoryStore(directory, compactThreshold, Journal.ChannelOpener.DEFAULT);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot open journal in " + directory, e);
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Closes the store and resets the singleton instance. For testing only.
+     */
+    public static synchronized void resetInstanceForTesting() {
+        if (instance != null) {
+            instance.close();
+        }
+        instance = null;
+    }
+
+    /**
+     * Writes out pending journal records and closes the journal.
+     */
+    void close() {
+        journal.close();
+    }
+
+    public InMemoryTaskRepository getTaskRepository() {
+        return taskRepository;
+    }
+
+    public InMemoryTaskFolderRepository getFolderRepository() {
+        return folderRepository;
+    }
+
+    public InMemoryTodayRepository getTodayRepository() {
+        return todayRepository;
+    }
+
+    public InMemoryPlanRepository getPlanRepository() {
+        return planRepository;
+    }
+
+    public InMemoryRecurrenceRepository getRecurrenceRepository() {
+        return recurrenceRepository;
+    }
+
+    public InMemoryActivityRepository getActivityRepository() {
+        return activityRepository;
+    }
+
+    public InMemoryDailyStatisticsRepository getStatisticsRepository() {
+        return statisticsRepository;
+    }
+
+    /**
+     * Runs work as one transaction under the write lock.
+     *
+     * <p>Nested calls join the outer transaction. If the work throws, every
+     * change it made is undone. Otherwise its records are queued to the journal
+     * before the lock is released, and the call returns once they are fsynced.
+     *
+     * @param work the work to run
+     * @param <T> the result type
+     * @return the result of the work
+     * @throws SQLException if the work fails, the journal cannot be written or
+     *         the store stopped after an earlier journal error
+     */
+    @Override
+    public <T> T inTransaction(SqlWork<T> work) throws SQLException {
+        if (currentTransaction.get() != null) {
+            return work.execute();
+        }
+        Transaction transaction = new Transaction();
+        T result;
+        CompletableFuture<Void> durable;
+        lock.writeLock().lock();
+        currentTransaction.set(transaction);
+        try {
+            checkAvailable();
+            result = work.execute();
+            durable = journal.append(transaction.records);
+        } catch (SQLException | RuntimeException | Error e) {
+            transaction.rollback();
+            throw e;
+        } finally {
+            currentTransaction.remove();
+            lock.writeLock().unlock();
+        }
+        try {
+            durable.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the journal", e);
+        } catch (ExecutionException e) {
+            throw new SQLException("Error writing journal: " + e.getCause().getMessage(), e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * Runs a query under the read lock.
+     *
+     * @param query the query
+     * @param <T> the result type
+     * @return the query result
+     * @throws SQLException if the store stopped after a journal error
+     */
+    <T> T read(Supplier<T> query) throws SQLException {
+        checkAvailable();
+        return underReadLock(query);
+    }
+
+    /**
+     * Fails once the journal has stopped, since the memory may then hold
+     * changes that never reached the disk.
+     *
+     * @throws SQLException if the journal could not be written
+     */
+    void checkAvailable() throws SQLException {
+        IOException failure = journal.getFailure();
+        if (failure != null) {
+            throw new SQLException("Storage stopped after a journal write failed; restart to reload it: "
+                    + failure.getMessage(), failure);
+        }
+    }
+
+    private <T> T underReadLock(Supplier<T> query) {
+        lock.readLock().lock();
+        try {
+            return query.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    Table<Long, TaskFolder> folders() {
+        return folders;
+    }
+
+    Table<Long, Task> tasks() {
+        return tasks;
+    }
+
+    Table<LocalDate, TodayTask> todayTasks() {
+        return todayTasks;
+    }
+
+    Table<LocalDate, PlanBlock> planBlocks() {
+        return planBlocks;
+    }
+
+    Table<LocalDate, RecurrenceRule> recurrences() {
+        return recurrences;
+    }
+
+    Table<LocalDate, ActualSession> sessions() {
+        return sessions;
+    }
+
+    ConcurrentSkipListMap<LocalDate, DailyStatistics> statistics() {
+        return statistics;
+    }
+
+    /**
+     * Inserts or replaces a row inside the running transaction.
+     *
+     * @param kind the kind of row
+     * @param row the row, owned by the store from now on
+     * @param <E> the row type
+     */
+    <E> void put(Kind kind, E row) {
+        Transaction transaction = requireTransaction();
+        Table<?, E> table = table(kind);
+        E previous = table.put(row);
+        transaction.undo.add(() -> {
+            if (previous != null) {
+                table.put(previous);
+            } else {
+                table.remove(idOf(kind, row));
+            }
+        });
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "put");
+        record.addProperty("kind", kind.name());
+        record.add("row", GSON.toJsonTree(row));
+        transaction.records.add(GSON.toJson(record));
+    }
+
+    /**
+     * Deletes a row inside the running transaction.
+     *
+     * @param kind the kind of row
+     * @param id the row ID
+     * @param <E> the row type
+     */
+    <E> void delete(Kind kind, Long id) {
+        Transaction transaction = requireTransaction();
+        Table<?, E> table = table(kind);
+        E previous = table.remove(id);
+        if (previous == null) {
+            return;
+        }
+        transaction.undo.add(() -> table.put(previous));
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "delete");
+        record.addProperty("kind", kind.name());
+        record.addProperty("id", id);
+        transaction.records.add(GSON.toJson(record));
+    }
+
+    /**
+     * Creates the error reported when a write would break a foreign key or
+     * unique constraint, with the SQLState a database would use.
+     *
+     * @param message the error message
+     * @return the exception to throw
+     */
+    static SQLException constraintViolation(String message) {
+        return new SQLException(message, "23000");
+    }
+
+    private Transaction requireTransaction() {
+        Transaction transaction = currentTransaction.get();
+        if (transaction == null) {
+            throw new IllegalStateException("Store changes must run inside inTransaction");
+        }
+        return transaction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> Table<?, E> table(Kind kind) {
+        switch (kind) {
+            case FOLDER:
+                return (Table<?, E>) folders;
+            case TASK:
+                return (Table<?, E>) tasks;
+            case TODAY:
+                return (Table<?, E>) todayTasks;
+            case PLAN:
+                return (Table<?, E>) planBlocks;
+            case RECURRENCE:
+                return (Table<?, E>) recurrences;
+            case SESSION:
+                return (Table<?, E>) sessions;
+            default:
+                throw new IllegalArgumentException("Unknown kind: " + kind);
+        }
+    }
+
+    private static Long idOf(Kind kind, Object row) {
+        switch (kind) {
+            case FOLDER:
+                return ((TaskFolder) row).getId();
+            case TASK:
+                return ((Task) row).getId();
+            case TODAY:
+                return ((TodayTask) row).getId();
+            case PLAN:
+                return ((PlanBlock) row).getId();
+            case RECURRENCE:
+                return ((RecurrenceRule) row).getId();
+            case SESSION:
+                return ((ActualSession) row).getId();
+            default:
+                throw new IllegalArgumentException("Unknown kind: " + kind);
+        }
+    }
+
+    /**
+     * Applies one journal or snapshot record during startup.
+     *
+     * @param line the record
+     */
+    private void replay(String line) {
+        JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+        Kind kind = Kind.valueOf(record.get("kind").getAsString());
+        if (record.get("op").getAsString().equals("put")) {
+            table(kind).put(GSON.fromJson(record.get("row"), kind.rowType));
+        } else {
+            table(kind).remove(record.get("id").getAsLong());
+        }
+    }
+
+    /**
+     * Describes the whole current state as put records, for compaction.
+     *
+     * @return the snapshot records
+     */
+    private List<String> snapshotRecords() {
+        return underReadLock(() -> {
+            List<String> records = new ArrayList<>();
+            for (Kind kind : Kind.values()) {
+                for (Object row : table(kind).all()) {
+                    JsonObject record = new JsonObject();
+                    record.addProperty("op", "put");
+                    record.addProperty("kind", kind.name());
+                    record.add("row", GSON.toJsonTree(row));
+                    records.add(GSON.toJson(record));
+                }
+            }
+            return records;
+        });
+    }
+
+    private static <T> TypeAdapter<T> isoAdapter(Function<String, T> parse) {
+        return new TypeAdapter<T>() {
+            @Override
+            public void write(JsonWriter out, T value) throws IOException {
+                out.value(value.toString());
+            }
+
+            @Override
+            public T read(JsonReader in) throws IOException {
+                return parse.apply(in.nextString());
+            }
+        }.nullSafe();
+    }
+
+    /**
+     * Undo actions and journal records of one running transaction.
+     */
+    private static final class Transaction {
+        final List<Runnable> undo = new ArrayList<>();
+        final List<String> records = new ArrayList<>();
+
+        void rollback() {
+            for (int i = undo.size() - 1; i >= 0; i--) {
+                undo.get(i).run();
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.repository.TaskFolderRepository;
+
+import java.sql.SQLException;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TaskFolderRepository} backed by the {@link InMemoryStore}.
+ * 
+ */
+public final class InMemoryTaskFolderRepository implements TaskFolderRepository {
+    private static final Comparator<TaskFolder> BY_NAME =
+            Comparator.comparing(TaskFolder::getName, String.CASE_INSENSITIVE_ORDER);
+    
+    private final InMemoryStore store;
+    
+    InMemoryTaskFolderRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public TaskFolder save(TaskFolder folder) throws SQLException {
+        return store.inTransaction(() -> {
+            requireParent(folder.getParentFolderId());
+            folder.setId(store.folders().nextId());
+            store.put(InMemoryStore.Kind.FOLDER, Rows.copy(folder));
+            return folder;
+        });
+    }
+    
+    @Override
+    public TaskFolder findById(Long id) throws SQLException {
+        return store.read(() -> {
+            TaskFolder folder = store.folders().get(id);
+            return folder != null ? Rows.copy(folder) : null;
+        });
+    }
+    
+    @Override
+    public List<TaskFolder> findRootFolders() throws SQLException {
+        return findByParentId(null);
+    }
+    
+    @Override
+    public List<TaskFolder> findByParentId(Long parentId) throws SQLException {
+        return store.read(() -> store.folders().byKey(parentId).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<TaskFolder> findAll() throws SQLException {
+        return store.read(() -> store.folders().all().stream()
+                .sorted(BY_NAME)
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public void update(TaskFolder folder) throws SQLException {
+        store.inTransaction(() -> {
+            if (store.folders().get(folder.getId()) != null) {
+                requireParent(folder.getParentFolderId());
+                store.put(InMemoryStore.Kind.FOLDER, Rows.copy(folder));
+            }
+        });
+    }
+    
+    @Override
+    public void delete(Long id) throws SQLException {
+        store.inTransaction(() -> {
+            if (!store.folders().byKey(id).isEmpty() || !store.tasks().byKey(id).isEmpty()) {
+                throw InMemoryStore.constraintViolation("Folder " + id + " is not empty");
+            }
+            store.delete(InMemoryStore.Kind.FOLDER, id);
+        });
+    }
+    
+    private void requireParent(Long parentId) throws SQLException {
+        if (parentId != null && store.folders().get(parentId) == null) {
+            throw InMemoryStore.constraintViolation("Folder " + parentId + " does not exist");
+        }
+    }
+}
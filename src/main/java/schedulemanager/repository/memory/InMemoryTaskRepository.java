@@ -0,0 +1,121 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TaskSummary;
+import schedulemanager.repository.TaskRepository;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TaskRepository} backed by the {@link InMemoryStore}.
+ * 
+ */
+public final class InMemoryTaskRepository implements TaskRepository {
+    private final InMemoryStore store;
+    
+    InMemoryTaskRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public Task save(Task task) throws SQLException {
+        return store.inTransaction(() -> {
+            requireFolder(task.getFolderId());
+            task.setId(store.tasks().nextId());
+            store.put(InMemoryStore.Kind.TASK, Rows.copy(task));
+            return task;
+        });
+    }
+    
+    @Override
+    public Task findById(Long id) throws SQLException {
+        return store.read(() -> {
+            Task task = store.tasks().get(id);
+            return task != null ? Rows.copy(task) : null;
+        });
+    }
+    
+    @Override
+    public List<Task> findByFolderId(Long folderId) throws SQLException {
+        return store.read(() -> store.tasks().byKey(folderId).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<TaskSummary> findSummariesByFolderId(Long folderId) throws SQLException {
+        return store.read(() -> store.tasks().byKey(folderId).stream()
+                .map(TaskSummary::of)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<TaskSummary> findSummaryPage(Long folderId, TaskSummary after, int limit) throws SQLException {
+        Task start = after != null ? positionOf(after) : null;
+        return store.read(() -> store.tasks().byKeyAfter(folderId, start, limit).stream()
+                .map(TaskSummary::of)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public int countByFolderId(Long folderId) throws SQLException {
+        return store.read(() -> store.tasks().byKey(folderId).size());
+    }
+    
+    @Override
+    public void update(Task task) throws SQLException {
+        store.inTransaction(() -> {
+            Task existing = store.tasks().get(task.getId());
+            if (existing == null) {
+                return;
+            }
+            requireFolder(task.getFolderId());
+            Task row = Rows.copy(task);
+            // created_at is not part of the UPDATE statement of the JDBC repository either
+            row.setCreatedAt(existing.getCreatedAt());
+            store.put(InMemoryStore.Kind.TASK, row);
+        });
+    }
+    
+    @Override
+    public void updateStatus(Long taskId, TaskStatus status) throws SQLException {
+        store.inTransaction(() -> {
+            Task existing = store.tasks().get(taskId);
+            if (existing != null) {
+                Task row = Rows.copy(existing);
+                row.setStatus(status);
+                store.put(InMemoryStore.Kind.TASK, row);
+            }
+        });
+    }
+    
+    @Override
+    public void delete(Long id) throws SQLException {
+        store.inTransaction(() -> {
+            boolean referenced = store.todayTasks().all().stream().anyMatch(t -> id.equals(t.getTaskId()))
+                    || store.planBlocks().all().stream().anyMatch(b -> id.equals(b.getLinkedTaskId()))
+                    || store.recurrences().all().stream().anyMatch(r -> id.equals(r.getLinkedTaskId()))
+                    || store.sessions().all().stream().anyMatch(s -> id.equals(s.getLinkedTaskId()));
+            if (referenced) {
+                throw InMemoryStore.constraintViolation("Task " + id + " is still referenced");
+            }
+            store.delete(InMemoryStore.Kind.TASK, id);
+        });
+    }
+    
+    private void requireFolder(Long folderId) throws SQLException {
+        if (folderId == null || store.folders().get(folderId) == null) {
+            throw InMemoryStore.constraintViolation("Folder " + folderId + " does not exist");
+        }
+    }
+    
+    private static Task positionOf(TaskSummary summary) {
+        Task task = new Task();
+        task.setId(summary.getId());
+        task.setCreatedAt(summary.getCreatedAt());
+        return task;
+    }
+}
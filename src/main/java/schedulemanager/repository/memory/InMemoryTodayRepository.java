@@ -0,0 +1,103 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskSummary;
+import schedulemanager.domain.TodayTask;
+import schedulemanager.repository.TodayRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TodayRepository} backed by the {@link InMemoryStore}.
+ * 
+ */
+public final class InMemoryTodayRepository implements TodayRepository {
+    private final InMemoryStore store;
+    
+    InMemoryTodayRepository(InMemoryStore store) {
+        this.store = store;
+    }
+    
+    @Override
+    public TodayTask addTask(Long taskId, LocalDate date) throws SQLException {
+        return store.inTransaction(() -> {
+            if (store.tasks().get(taskId) == null) {
+                throw InMemoryStore.constraintViolation("Task " + taskId + " does not exist");
+            }
+            if (find(taskId, date) != null) {
+                throw InMemoryStore.constraintViolation("Task " + taskId + " is already in Today for " + date);
+            }
+            List<TodayTask> existing = store.todayTasks().byKey(date);
+            int maxOrder = existing.isEmpty() ? 0 : existing.get(existing.size() - 1).getDisplayOrder();
+            
+            TodayTask todayTask = new TodayTask(taskId, date);
+            todayTask.setDisplayOrder(maxOrder + 1);
+            todayTask.setId(store.todayTasks().nextId());
+            store.put(InMemoryStore.Kind.TODAY, Rows.copy(todayTask));
+            return todayTask;
+        });
+    }
+    
+    @Override
+    public void removeTask(Long taskId, LocalDate date) throws SQLException {
+        store.inTransaction(() -> {
+            TodayTask existing = find(taskId, date);
+            if (existing != null) {
+                store.delete(InMemoryStore.Kind.TODAY, existing.getId());
+            }
+        });
+    }
+    
+    @Override
+    public List<TodayTask> findByDate(LocalDate date) throws SQLException {
+        return store.read(() -> store.todayTasks().byKey(date).stream()
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<Task> findTasksByDate(LocalDate date) throws SQLException {
+        return store.read(() -> store.todayTasks().byKey(date).stream()
+                .map(todayTask -> store.tasks().get(todayTask.getTaskId()))
+                .map(Rows::copy)
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public List<TaskSummary> findSummariesByDate(LocalDate date) throws SQLException {
+        return store.read(() -> store.todayTasks().byKey(date).stream()
+                .map(todayTask -> TaskSummary.of(store.tasks().get(todayTask.getTaskId())))
+                .collect(Collectors.toList()));
+    }
+    
+    @Override
+    public void updateOrder(LocalDate date, List<Long> taskIds) throws SQLException {
+        store.inTransaction(() -> {
+            for (int i = 0; i < taskIds.size(); i++) {
+                TodayTask existing = find(taskIds.get(i), date);
+                if (existing != null) {
+                    TodayTask row = Rows.copy(existing);
+                    row.setDisplayOrder(i + 1);
+                    store.put(InMemoryStore.Kind.TODAY, row);
+                }
+            }
+        });
+    }
+    
+    @Override
+    public boolean isTaskInToday(Long taskId, LocalDate date) throws SQLException {
+        return store.read(() -> find(taskId, date) != null);
+    }
+    
+    private TodayTask find(Long taskId, LocalDate date) {
+        for (TodayTask todayTask : store.todayTasks().byKey(date)) {
+            if (todayTask.getTaskId().equals(taskId)) {
+                return todayTask;
+            }
+        }
+        return null;
+    }
+}
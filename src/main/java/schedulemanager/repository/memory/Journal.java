@@ -0,0 +1,282 @@
+package schedulemanager.repository.memory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Append-only journal of store mutations, with periodic snapshot compaction.
+ *
+ * <p>Each record is one line of text. Committed records are handed to a
+ * single writer thread, which writes everything queued so far and then
+ * fsyncs once for the whole batch (group commit); a commit completes when
+ * its batch is on disk.
+ *
+ * <p>After {@code compactThreshold} records the writer asks the store for a
+ * snapshot, writes it to {@code snapshot.jsonl} through a temporary file and
+ * an atomic rename, then truncates {@code journal.log}. Replaying a record
+ * twice must be harmless, since records queued while the snapshot was taken
+ * end up both in the snapshot and in the new journal.
+ *
+ * <p>If a batch cannot be written, the bytes already written for it are cut
+ * off the file and the journal stops: that batch and every later one fail,
+ * since they may depend on it, and no snapshot is taken until the journal is
+ * opened again.
+ */
+final class Journal implements AutoCloseable {
+    private static final String JOURNAL_FILE = "journal.log";
+    private static final String SNAPSHOT_FILE = "snapshot.jsonl";
+
+    private final Path journalPath;
+    private final Path snapshotPath;
+    private final int compactThreshold;
+    private final Supplier<List<String>> snapshotSource;
+    private final ChannelOpener opener;
+    private final BlockingQueue<Batch> queue = new LinkedBlockingQueue<>();
+    private FileChannel channel;
+    private Thread writer;
+    private int recordsSinceCompaction;
+    private volatile IOException failure;
+
+    /**
+     * Constructs a Journal.
+     *
+     * @param directory the directory holding the journal and snapshot files
+     * @param compactThreshold the number of records after which the journal is compacted
+     * @param snapshotSource supplies the records describing the whole current state
+     * @param opener opens the journal file for reading and writing
+     */
+    Journal(Path directory, int compactThreshold, Supplier<List<String>> snapshotSource,
+            ChannelOpener opener) {
+        this.journalPath = directory.resolve(JOURNAL_FILE);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.compactThreshold = compactThreshold;
+        this.snapshotSource = snapshotSource;
+        this.opener = opener;
+    }
+
+    /**
+     * Feeds the snapshot and then the journal to {@code apply}, and opens the
+     * journal for appending.
+     *
+     * <p>A last journal line without its newline is the remains of a write
+     * interrupted by a crash; it is discarded and cut off the file.
+     *
+     * @param apply handles one record
+     * @throws IOException if the files cannot be read or opened
+     */
+    void open(Consumer<String> apply) throws IOException {
+        Files.createDirectories(journalPath.getParent());
+        if (Files.exists(snapshotPath)) {
+            for (String line : Files.readAllLines(snapshotPath, StandardCharsets.UTF_8)) {
+                apply.accept(line);
+            }
+        }
+
+        channel = opener.open(journalPath);
+        byte[] content = Files.readAllBytes(journalPath);
+        int lineStart = 0;
+        for (int i = 0; i < content.length; i++) {
+            if (content[i] == '\n') {
+                apply.accept(new String(content, lineStart, i - lineStart, StandardCharsets.UTF_8));
+                recordsSinceCompaction++;
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < content.length) {
+            channel.truncate(lineStart);
+            channel.force(true);
+        }
+        channel.position(lineStart);
+
+        writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues the records of one commit.
+     *
+     * @param records the records, in order
+     * @return a future completed once the records are fsynced
+     */
+    CompletableFuture<Void> append(List<String> records) {
+        if (records.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Batch batch = new Batch(records);
+        queue.add(batch);
+        return batch.done;
+    }
+
+    /**
+     * Writes out everything queued so far and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        if (writer == null) {
+            return;
+        }
+        queue.add(Batch.STOP);
+        try {
+            writer.join();
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            System.err.println("Error closing journal: " + e.getMessage());
+        }
+        writer = null;
+    }
+
+    /**
+     * Gets the error that stopped the journal.
+     *
+     * @return the write error, or null while the journal is working
+     */
+    IOException getFailure() {
+        return failure;
+    }
+
+    private void writeLoop() {
+        List<Batch> batches = new ArrayList<>();
+        while (true) {
+            try {
+                batches.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batches);
+            boolean stop = batches.remove(Batch.STOP);
+            try {
+                write(batches);
+                batches.forEach(batch -> batch.done.complete(null));
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+                batches.forEach(batch -> batch.done.completeExceptionally(e));
+            }
+            if (failure == null && recordsSinceCompaction >= compactThreshold) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    // The journal is still complete; compaction is retried after the next batch
+                    System.err.println("Error compacting journal: " + e.getMessage());
+                }
+            }
+            batches.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void write(List<Batch> batches) throws IOException {
+        if (batches.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        StringBuilder text = new StringBuilder();
+        int records = 0;
+        for (Batch batch : batches) {
+            for (String record : batch.records) {
+                text.append(record).append('\n');
+            }
+            records += batch.records.size();
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+        long start = channel.position();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            discardFrom(start, e);
+            throw e;
+        }
+        recordsSinceCompaction += records;
+    }
+
+    /**
+     * Cuts a failed batch off the end of the file, so that the next startup
+     * replays only whole records.
+     */
+    private void discardFrom(long start, IOException cause) {
+        try {
+            channel.truncate(start);
+            channel.position(start);
+            channel.force(true);
+        } catch (IOException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    private void compact() throws IOException {
+        Path temporary = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringBuilder text = new StringBuilder();
+            for (String record : snapshotSource.get()) {
+                text.append(record).append('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+        channel.truncate(0);
+        channel.force(true);
+        recordsSinceCompaction = 0;
+    }
+
+    /**
+     * Opens the journal file.
+     */
+    @FunctionalInterface
+    interface ChannelOpener {
+        ChannelOpener DEFAULT = path -> FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        /**
+         * Opens the file for reading and writing, creating it if needed.
+         *
+         * @param path the journal file
+         * @return the open channel
+         * @throws IOException if the file cannot be opened
+         */
+        FileChannel open(Path path) throws IOException;
+    }
+
+    /**
+     * The records of one commit and the future completed when they are durable.
+     */
+    private static final class Batch {
+        static final Batch STOP = new Batch(List.of());
+
+        final List<String> records;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        Batch(List<String> records) {
+            this.records = records;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package schedulemanager.repository.memory;
+
+import schedulemanager.domain.ActualSession;
+import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TodayTask;
+
+/**
+ * Copies of domain objects.
+ *
+ * <p>The in-memory store keeps its own copy of every row and hands out
+ * copies, so callers mutating a returned object never change stored state
+ * behind the store's back, just as with rows read from a database.
+ */
+final class Rows {
+
+    private Rows() {
+    }
+
+    static TaskFolder copy(TaskFolder folder) {
+        return new TaskFolder(folder.getId(), folder.getName(), folder.getParentFolderId());
+    }
+
+    static Task copy(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setFolderId(task.getFolderId());
+        copy.setStatus(task.getStatus());
+        copy.setColorTag(task.getColorTag());
+        copy.setPriority(task.getPriority());
+        copy.setDeadline(task.getDeadline());
+        copy.setEstimateMinutes(task.getEstimateMinutes());
+        copy.setDescription(task.getDescription());
+        copy.setCreatedAt(task.getCreatedAt());
+        return copy;
+    }
+
+    static TodayTask copy(TodayTask todayTask) {
+        TodayTask copy = new TodayTask(todayTask.getTaskId(), todayTask.getDate());
+        copy.setId(todayTask.getId());
+        copy.setDisplayOrder(todayTask.getDisplayOrder());
+        return copy;
+    }
+
+    static PlanBlock copy(PlanBlock block) {
+        PlanBlock copy = new PlanBlock(block.getDate(), block.getStartTime(), block.getEndTime(), block.getTitle());
+        copy.setId(block.getId());
+        copy.setCategory(block.getCategory());
+        copy.setLinkedTaskId(block.getLinkedTaskId());
+        copy.setRecurrenceId(block.getRecurrenceId());
+        return copy;
+    }
+
+    static RecurrenceRule copy(RecurrenceRule rule) {
+        RecurrenceRule copy = new RecurrenceRule(rule.getPattern(), rule.getStartDate(), rule.getStartTime(),
+                rule.getEndTime(), rule.getTitle());
+        copy.setId(rule.getId());
+        copy.setDaysOfWeek(rule.getDaysOfWeek());
+        copy.setEndDate(rule.getEndDate());
+        copy.setCategory(rule.getCategory());
+        copy.setLinkedTaskId(rule.getLinkedTaskId());
+        copy.setExceptions(rule.getExceptions());
+        return copy;
+    }
+
+    static ActualSession copy(ActualSession session) {
+        ActualSession copy = new ActualSession(session.getDate(), session.getStartTime(),
+                session.getEndTime(), session.getTitle());
+        copy.setId(session.getId());
+        copy.setCategory(session.getCategory());
+        copy.setLinkedTaskId(session.getLinkedTaskId());
+        return copy;
+    }
+
+    static DailyStatistics copy(DailyStatistics stats) {
+        DailyStatistics copy = new DailyStatistics(stats.getDate());
+        copy.setPlannedMinutes(stats.getPlannedMinutes());
+        copy.setActualMinutes(stats.getActualMinutes());
+        copy.setOverlapMinutes(stats.getOverlapMinutes());
+        copy.setQuantitativeAccuracy(stats.getQuantitativeAccuracy());
+        copy.setTemporalAccuracy(stats.getTemporalAccuracy());
+        return copy;
+    }
+}
@@ -0,0 +1,156 @@
+package schedulemanager.repository.memory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Rows of one entity type, indexed by ID and by one secondary key.
+ *
+ * <p>Rows sharing a key are kept in a list sorted by the table's row order,
+ * so "rows of a date ordered by start time" or "tasks of a folder, newest
+ * first" are read without sorting. Keys are ordered (nulls first), which
+ * gives range queries over dates.
+ *
+ * <p>Not thread-safe; {@link InMemoryStore} guards every access with its lock.
+ *
+ * @param <K> the secondary key type
+ * @param <E> the row type
+ */
+final class Table<K extends Comparable<? super K>, E> {
+    private final Function<E, Long> idOf;
+    private final Function<E, K> keyOf;
+    private final Comparator<E> order;
+    private final Map<Long, E> rows = new HashMap<>();
+    private final NavigableMap<K, List<E>> index =
+            new TreeMap<>(Comparator.nullsFirst(Comparator.<K>naturalOrder()));
+    private long lastId;
+
+    /**
+     * Constructs a Table.
+     *
+     * @param idOf extracts the row ID
+     * @param keyOf extracts the secondary key
+     * @param order the order of rows sharing a key
+     */
+    Table(Function<E, Long> idOf, Function<E, K> keyOf, Comparator<E> order) {
+        this.idOf = idOf;
+        this.keyOf = keyOf;
+        this.order = order.thenComparing(idOf);
+    }
+
+    /**
+     * Reserves the next row ID.
+     *
+     * @return a new ID, greater than any ID in the table
+     */
+    long nextId() {
+        return ++lastId;
+    }
+
+    E get(Long id) {
+        return rows.get(id);
+    }
+
+    Collection<E> all() {
+        return rows.values();
+    }
+
+    int size() {
+        return rows.size();
+    }
+
+    /**
+     * Gets the rows with a key, in row order.
+     *
+     * @param key the key, may be null
+     * @return unmodifiable list of rows, empty if there are none
+     */
+    List<E> byKey(K key) {
+        List<E> list = index.get(key);
+        return list != null ? Collections.unmodifiableList(list) : List.of();
+    }
+
+    /**
+     * Gets a slice of the rows with a key: those that follow a given row in
+     * row order.
+     *
+     * @param key the key, may be null
+     * @param after the row to start after, which need not be stored; null to start at the first row
+     * @param limit the maximum number of rows
+     * @return list of at most {@code limit} rows, in row order
+     */
+    List<E> byKeyAfter(K key, E after, int limit) {
+        List<E> list = index.getOrDefault(key, List.of());
+        int from = 0;
+        if (after != null) {
+            int position = Collections.binarySearch(list, after, order);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return new ArrayList<>(list.subList(from, from + Math.min(limit, list.size() - from)));
+    }
+
+    /**
+     * Gets the rows whose key lies in a range, ordered by key then row order.
+     *
+     * @param from the first key (inclusive)
+     * @param to the last key (inclusive)
+     * @return list of rows in the range
+     */
+    List<E> byKeyRange(K from, K to) {
+        List<E> result = new ArrayList<>();
+        for (List<E> list : index.subMap(from, true, to, true).values()) {
+            result.addAll(list);
+        }
+        return result;
+    }
+
+    /**
+     * Inserts or replaces a row.
+     *
+     * @param row the row, which the table takes ownership of
+     * @return the row it replaced, or null
+     */
+    E put(E row) {
+        Long id = idOf.apply(row);
+        E previous = rows.put(id, row);
+        if (previous != null) {
+            unindex(previous);
+        }
+        List<E> list = index.computeIfAbsent(keyOf.apply(row), k -> new ArrayList<>());
+        int position = Collections.binarySearch(list, row, order);
+        list.add(position < 0 ? -position - 1 : position, row);
+        lastId = Math.max(lastId, id);
+        return previous;
+    }
+
+    /**
+     * Removes a row.
+     *
+     * @param id the row ID
+     * @return the removed row, or null if there was none
+     */
+    E remove(Long id) {
+        E previous = rows.remove(id);
+        if (previous != null) {
+            unindex(previous);
+        }
+        return previous;
+    }
+
+    private void unindex(E row) {
+        K key = keyOf.apply(row);
+        List<E> list = index.get(key);
+        list.remove(row);
+        if (list.isEmpty()) {
+            index.remove(key);
+        }
+    }
+}
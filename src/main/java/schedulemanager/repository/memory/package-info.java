@@ -0,0 +1,9 @@
+/**
+ * In-memory repositories, persisted to an append-only journal.
+ *
+ * <p>{@link schedulemanager.repository.memory.InMemoryStore} holds every row in
+ * indexed tables and runs writes as transactions; the repository classes are
+ * views over it that copy rows at the boundary and enforce the same foreign key
+ * and unique constraints as the SQL schema. Selected with {@code db.backend=memory}.
+ */
+package schedulemanager.repository.memory;
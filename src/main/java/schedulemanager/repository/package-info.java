@@ -1,17 +1,27 @@
 /**
  * Data access layer for database operations.
  *
- * <p>Repositories handle all SQL operations and map database rows to domain objects.
- * Uses MySQL database.
+ * <p>Repositories are interfaces. The JDBC implementations handle all SQL
+ * operations and map database rows to domain objects; they run on MySQL or on
+ * an embedded SQLite file. The in-memory implementations in
+ * {@code schedulemanager.repository.memory} keep all rows in memory, persisted
+ * to an append-only journal. {@code db.backend} selects one of the three.
  *
  * <p>Key classes:
  * <ul>
+ *   <li>{@link schedulemanager.repository.Repositories} - The repositories selected by {@code db.backend}</li>
+ *   <li>{@link schedulemanager.repository.UnitOfWork} - Transactions spanning several repositories</li>
  *   <li>{@link schedulemanager.repository.DatabaseManager} - Connection management and schema initialization</li>
+ *   <li>{@link schedulemanager.repository.StorageBackend} - Storage engine SPI (MySQL, SQLite)</li>
+ *   <li>{@link schedulemanager.repository.ConnectionPool} - Bounded JDBC connection pool</li>
+ *   <li>{@link schedulemanager.repository.SchemaMigrator} - Versioned schema migrations</li>
  *   <li>{@link schedulemanager.repository.TaskRepository} - CRUD for tasks</li>
  *   <li>{@link schedulemanager.repository.TaskFolderRepository} - CRUD for folders</li>
  *   <li>{@link schedulemanager.repository.TodayRepository} - Today list mappings</li>
  *   <li>{@link schedulemanager.repository.PlanRepository} - Plan blocks</li>
+ *   <li>{@link schedulemanager.repository.RecurrenceRepository} - Recurrence rules of repeating plan blocks</li>
  *   <li>{@link schedulemanager.repository.ActivityRepository} - Actual sessions</li>
+ *   <li>{@link schedulemanager.repository.DailyStatisticsRepository} - Materialized daily statistics</li>
  * </ul>
  */
 package schedulemanager.repository;
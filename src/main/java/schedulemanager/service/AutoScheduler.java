@@ -0,0 +1,167 @@
+package schedulemanager.service;
+
+import schedulemanager.domain.DayTimeline;
+import schedulemanager.domain.FreeSlot;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Packs tasks into the free working hours of a day as proposed plan blocks.
+ *
+ * <p>Tasks are placed one at a time, most pressing first, each in the
+ * earliest free window it fits in. The order is: tasks due on or before the
+ * day, then higher priority, then earlier deadline, then the order the tasks
+ * were given in (the Today display order). A task takes its estimate, or
+ * {@link #DEFAULT_ESTIMATE_MINUTES} without one.
+ *
+ * <p>Working hours may end at midnight, read as the end of the day like in
+ * {@link ScheduleService#findFreeSlots}. A plan block ends on its own day,
+ * so no proposed block ends later than 23:59.
+ *
+ * <p>Done tasks and tasks already linked to a block of the day are left out.
+ * Tasks longer than every window still free are reported as unscheduled.
+ *
+ * <p>The free time is read once from the existing blocks and kept as a list
+ * of gaps, so proposing is pure computation: n tasks and g gaps take
+ * O(n log n + n * g). Proposed blocks overlap neither the existing blocks nor
+ * each other. Nothing is saved; a proposal is committed with
+ * {@link ScheduleService#createPlanBlocks(List)}.
+ */
+public final class AutoScheduler {
+    /** Minutes given to a task without an estimate. */
+    public static final int DEFAULT_ESTIMATE_MINUTES = 30;
+
+    /** The latest minute a plan block can end at, since it cannot end at 24:00. */
+    private static final int LAST_BLOCK_END = DayTimeline.MINUTES_PER_DAY - 1;
+
+    private final LocalTime workStart;
+    private final LocalTime workEnd;
+
+    /**
+     * Constructs an AutoScheduler for the given working hours.
+     *
+     * @param workStart the start of the working hours
+     * @param workEnd the end of the working hours; midnight for the end of the day
+     * @throws IllegalArgumentException if the working hours do not end after they start
+     */
+    public AutoScheduler(LocalTime workStart, LocalTime workEnd) {
+        if (workStart == null || workEnd == null
+                || DayTimeline.endMinuteOf(workEnd) <= DayTimeline.minuteOf(workStart)) {
+            throw new IllegalArgumentException("Working hours must end after they start");
+        }
+        this.workStart = workStart;
+        this.workEnd = workEnd;
+    }
+
+    /**
+     * Proposes plan blocks for some tasks on a day.
+     *
+     * @param date the day to plan
+     * @param tasks the tasks to place, in the order to keep between equally pressing tasks
+     * @param existing the plan blocks already on the day
+     * @return the proposal
+     */
+    public Proposal propose(LocalDate date, List<Task> tasks, List<PlanBlock> existing) {
+        Set<Long> alreadyPlanned = new HashSet<>();
+        for (PlanBlock block : existing) {
+            if (block.getLinkedTaskId() != null) {
+                alreadyPlanned.add(block.getLinkedTaskId());
+            }
+        }
+        List<Task> pending = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (task.getStatus() != TaskStatus.DONE && !alreadyPlanned.contains(task.getId())) {
+                pending.add(task);
+            }
+        }
+        pending.sort(mostPressingFirst(date));
+
+        List<FreeSlot> free = new ArrayList<>();
+        ScheduleService.collectFreeSlots(date, DayTimeline.ofPlanBlocks(existing),
+                DayTimeline.minuteOf(workStart), Math.min(DayTimeline.endMinuteOf(workEnd), LAST_BLOCK_END),
+                1, Integer.MAX_VALUE, free);
+        int[] gapStarts = new int[free.size()];
+        int[] gapEnds = new int[free.size()];
+        for (int i = 0; i < free.size(); i++) {
+            gapStarts[i] = DayTimeline.minuteOf(free.get(i).getStartTime());
+            gapEnds[i] = DayTimeline.endMinuteOf(free.get(i).getEndTime());
+        }
+
+        List<PlanBlock> blocks = new ArrayList<>();
+        List<Task> unscheduled = new ArrayList<>();
+        for (Task task : pending) {
+            int minutes = durationOf(task);
+            int gap = 0;
+            while (gap < gapStarts.length && gapEnds[gap] - gapStarts[gap] < minutes) {
+                gap++;
+            }
+            if (gap == gapStarts.length) {
+                unscheduled.add(task);
+                continue;
+            }
+            PlanBlock block = new PlanBlock(date, DayTimeline.timeOf(gapStarts[gap]),
+                    DayTimeline.timeOf(gapStarts[gap] + minutes), task.getTitle());
+            block.setLinkedTaskId(task.getId());
+            blocks.add(block);
+            gapStarts[gap] += minutes;
+        }
+        blocks.sort(Comparator.comparing(PlanBlock::getStartTime));
+        return new Proposal(blocks, unscheduled);
+    }
+
+    /**
+     * Orders tasks due on or before the day first, then by descending
+     * priority, then by deadline; the sort is stable, so ties keep their order.
+     */
+    private static Comparator<Task> mostPressingFirst(LocalDate date) {
+        return Comparator.comparing((Task task) -> task.getDeadline() == null || task.getDeadline().isAfter(date))
+                .thenComparing(Task::getPriority, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Task::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static int durationOf(Task task) {
+        Integer estimate = task.getEstimateMinutes();
+        return estimate != null && estimate > 0 ? estimate : DEFAULT_ESTIMATE_MINUTES;
+    }
+
+    /**
+     * Plan blocks proposed for a day, with the tasks that did not fit.
+     */
+    public static final class Proposal {
+        private final List<PlanBlock> blocks;
+        private final List<Task> unscheduled;
+
+        private Proposal(List<PlanBlock> blocks, List<Task> unscheduled) {
+            this.blocks = Collections.unmodifiableList(blocks);
+            this.unscheduled = Collections.unmodifiableList(unscheduled);
+        }
+
+        /**
+         * Gets the proposed plan blocks, linked to their tasks.
+         *
+         * @return the blocks, ordered by start time
+         */
+        public List<PlanBlock> getBlocks() {
+            return blocks;
+        }
+
+        /**
+         * Gets the tasks longer than every free window left.
+         *
+         * @return the unscheduled tasks, most pressing first
+         */
+        public List<Task> getUnscheduled() {
+            return unscheduled;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package schedulemanager.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Finds overlaps between a batch of new or changed time ranges and the rows
+ * already stored, in memory.
+ *
+ * <p>Batch and existing rows are sorted once by date and start time and swept
+ * in a single pass, so checking n incoming against m stored ranges costs
+ * O((n + m) log(n + m)) instead of one query per incoming row. Ranges that
+ * only touch at an edge do not overlap.
+ *
+ * @param <E> the row type (plan block or session)
+ */
+final class IntervalConflicts<E> {
+    private final Function<E, LocalDate> dateOf;
+    private final Function<E, LocalTime> startOf;
+    private final Function<E, LocalTime> endOf;
+
+    /**
+     * Constructs an IntervalConflicts.
+     *
+     * @param dateOf extracts the date of a row
+     * @param startOf extracts the start time of a row
+     * @param endOf extracts the end time of a row
+     */
+    IntervalConflicts(Function<E, LocalDate> dateOf, Function<E, LocalTime> startOf,
+                      Function<E, LocalTime> endOf) {
+        this.dateOf = dateOf;
+        this.startOf = startOf;
+        this.endOf = endOf;
+    }
+
+    /**
+     * Finds the first overlap that involves a batch row.
+     *
+     * @param batch the rows about to be written
+     * @param existing the stored rows on the batch's dates, without the rows the batch replaces
+     * @return the pair that overlaps, or null if the batch fits
+     */
+    Conflict<E> find(List<E> batch, List<E> existing) {
+        Set<E> incoming = Collections.newSetFromMap(new IdentityHashMap<>());
+        incoming.addAll(batch);
+        List<E> rows = new ArrayList<>(batch.size() + existing.size());
+        rows.addAll(existing);
+        rows.addAll(batch);
+        rows.sort(Comparator.comparing(dateOf).thenComparing(startOf));
+
+        E latest = null;
+        for (E row : rows) {
+            boolean sameDate = latest != null && dateOf.apply(latest).equals(dateOf.apply(row));
+            if (sameDate && startOf.apply(row).isBefore(endOf.apply(latest))
+                    && (incoming.contains(row) || incoming.contains(latest))) {
+                return incoming.contains(row) ? new Conflict<>(row, latest) : new Conflict<>(latest, row);
+            }
+            if (!sameDate || endOf.apply(row).isAfter(endOf.apply(latest))) {
+                latest = row;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A batch row and the row it overlaps.
+     *
+     * @param <E> the row type
+     */
+    static final class Conflict<E> {
+        final E incoming;
+        final E other;
+
+        Conflict(E incoming, E other) {
+            this.incoming = incoming;
+            this.other = other;
+        }
+    }
+}
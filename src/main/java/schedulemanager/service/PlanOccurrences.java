@@ -0,0 +1,154 @@
+package schedulemanager.service;
+
+import schedulemanager.domain.DayGroups;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.repository.PlanRepository;
+import schedulemanager.repository.RecurrenceRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reads the plan blocks of a date or date range together with the
+ * occurrences of the recurrence rules on those dates, merged as if every
+ * occurrence were a stored row.
+ *
+ * <p>Occurrences are expanded lazily: a read loads only the rules active in
+ * its range, with one query, and builds occurrences for the dates of that
+ * range alone. A rule repeating forever therefore costs one row in storage,
+ * and reads expand it only for the dates actually shown or computed.
+ *
+ * <p>Results have the order of the plan repository's finders (date, then
+ * start time), so they can be used wherever stored blocks are: calendars,
+ * free-slot search, overlap checks and statistics.
+ */
+final class PlanOccurrences {
+    private static final Comparator<PlanBlock> BY_DATE_AND_START =
+            Comparator.comparing(PlanBlock::getDate).thenComparing(PlanBlock::getStartTime);
+
+    private final PlanRepository planRepository;
+    private final RecurrenceRepository recurrenceRepository;
+
+    /**
+     * Constructs a PlanOccurrences.
+     *
+     * @param planRepository the stored plan blocks
+     * @param recurrenceRepository the recurrence rules
+     */
+    PlanOccurrences(PlanRepository planRepository, RecurrenceRepository recurrenceRepository) {
+        this.planRepository = planRepository;
+        this.recurrenceRepository = recurrenceRepository;
+    }
+
+    /**
+     * Finds the plan blocks and occurrences of a date, ordered by start time.
+     *
+     * @param date the date
+     * @return the plan blocks of the date
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> findByDate(LocalDate date) throws SQLException {
+        return merge(planRepository.findByDate(date), occurrences(date, date));
+    }
+
+    /**
+     * Finds the plan blocks and occurrences between two dates (inclusive),
+     * ordered by date and start time.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the plan blocks of the range
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> findByDateRange(LocalDate from, LocalDate to) throws SQLException {
+        return merge(planRepository.findByDateRange(from, to), occurrences(from, to));
+    }
+
+    /**
+     * Same as {@link #findByDateRange}, but locks the stored rows of the range
+     * and the rules active in it until the transaction ends, so neither can
+     * change under the caller; see {@link PlanRepository#findByDateRangeForUpdate}.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the plan blocks of the range
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> findByDateRangeForUpdate(LocalDate from, LocalDate to) throws SQLException {
+        return merge(planRepository.findByDateRangeForUpdate(from, to),
+                expand(recurrenceRepository.findActiveForUpdate(from, to), from, to));
+    }
+
+    /**
+     * Finds the plan blocks and occurrences between two dates (inclusive), grouped by day.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the plan blocks of each day in the range, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    DayGroups<PlanBlock> findGroupedByDay(LocalDate from, LocalDate to) throws SQLException {
+        return DayGroups.of(from, to, findByDateRange(from, to), PlanBlock::getDate);
+    }
+
+    /**
+     * Builds only the occurrences between two dates (inclusive).
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the occurrences, ordered by date and start time
+     * @throws SQLException if a database error occurs
+     */
+    List<PlanBlock> occurrences(LocalDate from, LocalDate to) throws SQLException {
+        return expand(recurrenceRepository.findActive(from, to), from, to);
+    }
+
+    /**
+     * Builds the occurrences of some rules between two dates (inclusive).
+     *
+     * @param rules the rules, ordered by start time
+     * @param from the first date
+     * @param to the last date
+     * @return the occurrences, ordered by date and start time
+     */
+    static List<PlanBlock> expand(List<RecurrenceRule> rules, LocalDate from, LocalDate to) {
+        List<PlanBlock> occurrences = new ArrayList<>();
+        if (rules.isEmpty()) {
+            return occurrences;
+        }
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            for (RecurrenceRule rule : rules) {
+                if (rule.occursOn(date)) {
+                    occurrences.add(rule.occurrenceOn(date));
+                }
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Merges two lists ordered by date and start time into one.
+     */
+    private static List<PlanBlock> merge(List<PlanBlock> stored, List<PlanBlock> occurrences) {
+        if (occurrences.isEmpty()) {
+            return stored;
+        }
+        List<PlanBlock> merged = new ArrayList<>(stored.size() + occurrences.size());
+        int i = 0;
+        int j = 0;
+        while (i < stored.size() && j < occurrences.size()) {
+            if (BY_DATE_AND_START.compare(occurrences.get(j), stored.get(i)) < 0) {
+                merged.add(occurrences.get(j++));
+            } else {
+                merged.add(stored.get(i++));
+            }
+        }
+        merged.addAll(stored.subList(i, stored.size()));
+        merged.addAll(occurrences.subList(j, occurrences.size()));
+        return merged;
+    }
+}
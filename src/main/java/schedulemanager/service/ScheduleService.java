@@ -1,28 +1,79 @@
 package schedulemanager.service;
 
+import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.DayGroups;
+import schedulemanager.domain.DayTimeline;
+import schedulemanager.domain.FreeSlot;
 import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.repository.DailyStatisticsRepository;
 import schedulemanager.repository.PlanRepository;
+import schedulemanager.repository.RecurrenceRepository;
+import schedulemanager.repository.Repositories;
+import schedulemanager.repository.UnitOfWork;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing plan blocks (planned time blocks) with validation.
  * 
  * <p>Provides operations for creating, updating, and deleting plan blocks,
- * including validation to prevent overlapping time blocks.
+ * including validation to prevent overlapping time blocks. Every change
+ * invalidates the materialized statistics of the affected dates, in the
+ * same transaction as the change itself.
+ * 
+ * <p>Repeating blocks are stored once as {@link RecurrenceRule}s. Every read
+ * of plan blocks includes the occurrences of the rules on the dates read,
+ * expanded on demand, and overlap validation treats those occurrences like
+ * stored blocks.
  * 
  */
 public class ScheduleService {
+    private static final IntervalConflicts<PlanBlock> CONFLICTS =
+            new IntervalConflicts<>(PlanBlock::getDate, PlanBlock::getStartTime, PlanBlock::getEndTime);
+    
+    /** Days of plan blocks read per query while searching for free slots. */
+    private static final int FREE_SLOT_CHUNK_DAYS = 7;
+    
+    /** Stands in for the end date of a rule that repeats forever, in range queries. */
+    private static final LocalDate LAST_DATE = LocalDate.of(9999, 12, 31);
+    
+    private final UnitOfWork transactions;
     private final PlanRepository planRepository;
+    private final RecurrenceRepository recurrenceRepository;
+    private final PlanOccurrences planOccurrences;
+    private final DailyStatisticsRepository statisticsRepository;
     
     /**
-     * Constructs a ScheduleService.
+     * Constructs a ScheduleService over the repositories selected by system properties.
      */
     public ScheduleService() {
-        this.planRepository = new PlanRepository();
+        this(Repositories.fromSystemProperties());
+    }
+    
+    /**
+     * Constructs a ScheduleService over the given repositories.
+     * 
+     * @param repositories the repositories to use
+     */
+    public ScheduleService(Repositories repositories) {
+        this.transactions = repositories.getTransactions();
+        this.planRepository = repositories.getPlanRepository();
+        this.recurrenceRepository = repositories.getRecurrenceRepository();
+        this.planOccurrences = new PlanOccurrences(planRepository, recurrenceRepository);
+        this.statisticsRepository = repositories.getStatisticsRepository();
     }
     
     /**
@@ -35,32 +86,66 @@ public class ScheduleService {
      */
     public PlanBlock createPlanBlock(PlanBlock block) throws SQLException {
         validatePlanBlock(block);
-        checkNoOverlaps(block);
-        return planRepository.save(block);
+        return transactions.inTransaction(() -> {
+            checkNoOverlaps(List.of(block), planOccurrences.occurrences(block.getDate(), block.getDate()));
+            PlanBlock conflict = planRepository.saveIfFree(block);
+            if (conflict != null) {
+                throw overlapError(conflict);
+            }
+            statisticsRepository.deleteByDate(block.getDate());
+            return block;
+        });
     }
     
     /**
      * Updates an existing plan block with validation.
      * 
      * @param block the plan block to update
-     * @throws IllegalArgumentException if validation fails
+     * @throws IllegalArgumentException if validation fails, or if the block is
+     *         an occurrence of a recurrence rule
      * @throws SQLException if a database error occurs
      */
     public void updatePlanBlock(PlanBlock block) throws SQLException {
         validatePlanBlock(block);
-        checkNoOverlaps(block, block.getId());
-        planRepository.update(block);
+        requireStored(block);
+        transactions.inTransaction(() -> {
+            checkNoOverlaps(List.of(block), planOccurrences.occurrences(block.getDate(), block.getDate()));
+            PlanBlock previous = planRepository.findById(block.getId());
+            PlanBlock conflict = planRepository.updateIfFree(block);
+            if (conflict != null) {
+                throw overlapError(conflict);
+            }
+            statisticsRepository.deleteByDate(block.getDate());
+            if (previous != null && !previous.getDate().equals(block.getDate())) {
+                statisticsRepository.deleteByDate(previous.getDate());
+            }
+        });
     }
     
     /**
-     * Gets all plan blocks for a specific date.
+     * Gets all plan blocks for a specific date, including the occurrences of
+     * recurrence rules on that date.
      * 
      * @param date the date
-     * @return list of plan blocks for the date
+     * @return list of plan blocks for the date, ordered by start time
      * @throws SQLException if a database error occurs
      */
     public List<PlanBlock> getPlanBlocksForDate(LocalDate date) throws SQLException {
-        return planRepository.findByDate(date);
+        return planOccurrences.findByDate(date);
+    }
+    
+    /**
+     * Gets all plan blocks of a date range grouped by day, with one query for
+     * the blocks and one for the recurrence rules, e.g. for a week or month
+     * calendar. Occurrences of the rules are included.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the plan blocks of each day, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    public DayGroups<PlanBlock> getPlanBlocksByDay(LocalDate from, LocalDate to) throws SQLException {
+        return planOccurrences.findGroupedByDay(from, to);
     }
     
     /**
@@ -78,10 +163,376 @@ public class ScheduleService {
      * Deletes a plan block.
      * 
      * @param blockId the plan block ID
+     * @throws IllegalArgumentException if the ID is null, as for an occurrence of a recurrence rule
      * @throws SQLException if a database error occurs
      */
     public void deletePlanBlock(Long blockId) throws SQLException {
-        planRepository.delete(blockId);
+        if (blockId == null) {
+            throw occurrenceError();
+        }
+        transactions.inTransaction(() -> {
+            PlanBlock existing = planRepository.findById(blockId);
+            planRepository.delete(blockId);
+            if (existing != null) {
+                statisticsRepository.deleteByDate(existing.getDate());
+            }
+        });
+    }
+    
+    /**
+     * Creates several plan blocks at once.
+     * 
+     * <p>Every plan block is validated, then the whole batch is checked for
+     * overlaps against itself and against the stored plan blocks and
+     * occurrences of its dates in memory, with a single range query. If anything fails nothing is saved.
+     * Otherwise the batch is inserted with multi-row statements.
+     * 
+     * <p>The range query locks the stored rows of the dates checked, so two
+     * concurrent batches cannot both pass the check and insert overlapping rows.
+     * 
+     * @param blocks the plan blocks to create
+     * @return the same list, with generated IDs set in order
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time range)
+     * @throws SQLException if a database error occurs
+     */
+    public List<PlanBlock> createPlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        blocks.forEach(this::validatePlanBlock);
+        if (blocks.isEmpty()) {
+            return blocks;
+        }
+        return transactions.inTransaction(() -> {
+            checkNoOverlaps(blocks, planOccurrences.findByDateRangeForUpdate(firstDate(blocks), lastDate(blocks)));
+            planRepository.saveAll(blocks);
+            invalidateStatistics(blocks);
+            return blocks;
+        });
+    }
+    
+    /**
+     * Updates several existing plan blocks at once.
+     * 
+     * <p>The new time ranges are checked against each other and against the
+     * other stored plan blocks of their dates, as in {@link #createPlanBlocks(List)},
+     * with the checked range locked the same way.
+     * 
+     * @param blocks the plan blocks to update
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time range),
+     *         or if a block is an occurrence of a recurrence rule
+     * @throws SQLException if a database error occurs
+     */
+    public void updatePlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        blocks.forEach(this::validatePlanBlock);
+        blocks.forEach(this::requireStored);
+        if (blocks.isEmpty()) {
+            return;
+        }
+        transactions.inTransaction(() -> {
+            Map<Long, PlanBlock> changed = new HashMap<>();
+            for (PlanBlock block : blocks) {
+                changed.put(block.getId(), block);
+            }
+            List<PlanBlock> others = new ArrayList<>();
+            List<PlanBlock> previous = new ArrayList<>();
+            for (PlanBlock stored : planOccurrences.findByDateRangeForUpdate(firstDate(blocks), lastDate(blocks))) {
+                if (!stored.isOccurrence() && changed.containsKey(stored.getId())) {
+                    previous.add(stored);
+                } else {
+                    others.add(stored);
+                }
+            }
+            checkNoOverlaps(blocks, others);
+            if (previous.size() < changed.size()) {
+                // Rows moved in from dates outside the range: look up their old dates
+                Set<Long> found = previous.stream().map(PlanBlock::getId).collect(Collectors.toSet());
+                for (Long id : changed.keySet()) {
+                    if (!found.contains(id)) {
+                        PlanBlock stored = planRepository.findById(id);
+                        if (stored != null) {
+                            previous.add(stored);
+                        }
+                    }
+                }
+            }
+            planRepository.updateAll(blocks);
+            invalidateStatistics(blocks);
+            invalidateStatistics(previous);
+        });
+    }
+    
+    /**
+     * Deletes several plan blocks at once.
+     * 
+     * @param blocks the plan blocks to delete
+     * @throws IllegalArgumentException if a block is an occurrence of a recurrence rule
+     * @throws SQLException if a database error occurs
+     */
+    public void deletePlanBlocks(List<PlanBlock> blocks) throws SQLException {
+        blocks.forEach(this::requireStored);
+        if (blocks.isEmpty()) {
+            return;
+        }
+        transactions.inTransaction(() -> {
+            planRepository.deleteAll(blocks.stream().map(PlanBlock::getId).collect(Collectors.toList()));
+            invalidateStatistics(blocks);
+        });
+    }
+    
+    /**
+     * Copies the plan blocks of a date range so that {@code from} lands on {@code targetFrom}.
+     * 
+     * <p>Titles, times, categories and linked tasks are kept. The copies are
+     * created with {@link #createPlanBlocks(List)}, so they are all saved or,
+     * on an overlap at the target, none. Occurrences of recurrence rules are
+     * not copied; their rules already decide which dates they fall on.
+     * 
+     * @param from the first date to copy
+     * @param to the last date to copy
+     * @param targetFrom the date the first copied day lands on
+     * @return the created plan blocks
+     * @throws IllegalArgumentException if a copy overlaps an existing block
+     * @throws SQLException if a database error occurs
+     */
+    public List<PlanBlock> copyPlanBlocks(LocalDate from, LocalDate to, LocalDate targetFrom) throws SQLException {
+        long shift = ChronoUnit.DAYS.between(from, targetFrom);
+        List<PlanBlock> copies = new ArrayList<>();
+        for (PlanBlock block : planRepository.findByDateRange(from, to)) {
+            PlanBlock copy = new PlanBlock(block.getDate().plusDays(shift), block.getStartTime(),
+                    block.getEndTime(), block.getTitle());
+            copy.setCategory(block.getCategory());
+            copy.setLinkedTaskId(block.getLinkedTaskId());
+            copies.add(copy);
+        }
+        return createPlanBlocks(copies);
+    }
+    
+    /**
+     * Creates a recurrence rule with validation.
+     * 
+     * <p>The rule is rejected if any of its occurrences would overlap a stored
+     * plan block or an occurrence of another rule. Stored blocks are searched
+     * from the rule's start date on, with the rule's time window in the query,
+     * and the search stops at the first conflict; other rules are compared
+     * pattern against pattern, without expanding them.
+     * 
+     * @param rule the rule to create
+     * @return the created rule with generated ID
+     * @throws IllegalArgumentException if validation fails (overlap, invalid dates or times)
+     * @throws SQLException if a database error occurs
+     */
+    public RecurrenceRule createRecurrence(RecurrenceRule rule) throws SQLException {
+        validateRecurrence(rule);
+        return transactions.inTransaction(() -> {
+            checkRecurrenceFree(rule);
+            recurrenceRepository.save(rule);
+            invalidateStatistics(rule);
+            return rule;
+        });
+    }
+    
+    /**
+     * Updates a recurrence rule with validation, as in {@link #createRecurrence}.
+     * 
+     * @param rule the rule to update
+     * @throws IllegalArgumentException if validation fails
+     * @throws SQLException if a database error occurs
+     */
+    public void updateRecurrence(RecurrenceRule rule) throws SQLException {
+        validateRecurrence(rule);
+        transactions.inTransaction(() -> {
+            RecurrenceRule previous = recurrenceRepository.findById(rule.getId());
+            checkRecurrenceFree(rule);
+            recurrenceRepository.update(rule);
+            invalidateStatistics(rule);
+            if (previous != null) {
+                invalidateStatistics(previous);
+            }
+        });
+    }
+    
+    /**
+     * Deletes a recurrence rule, and with it all its occurrences.
+     * 
+     * @param ruleId the rule ID
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteRecurrence(Long ruleId) throws SQLException {
+        transactions.inTransaction(() -> {
+            RecurrenceRule existing = recurrenceRepository.findById(ruleId);
+            recurrenceRepository.delete(ruleId);
+            if (existing != null) {
+                invalidateStatistics(existing);
+            }
+        });
+    }
+    
+    /**
+     * Removes one occurrence of a recurrence rule by adding its date to the
+     * rule's exceptions.
+     * 
+     * @param ruleId the rule ID
+     * @param date the date of the occurrence
+     * @return the updated rule
+     * @throws IllegalArgumentException if the rule does not exist
+     * @throws SQLException if a database error occurs
+     */
+    public RecurrenceRule skipOccurrence(Long ruleId, LocalDate date) throws SQLException {
+        return transactions.inTransaction(() -> {
+            RecurrenceRule rule = recurrenceRepository.findById(ruleId);
+            if (rule == null) {
+                throw new IllegalArgumentException("Recurrence rule not found: " + ruleId);
+            }
+            if (rule.occursOn(date)) {
+                rule.addException(date);
+                recurrenceRepository.update(rule);
+                statisticsRepository.deleteByDate(date);
+            }
+            return rule;
+        });
+    }
+    
+    /**
+     * Gets a recurrence rule by ID.
+     * 
+     * @param ruleId the rule ID
+     * @return the rule, or null if not found
+     * @throws SQLException if a database error occurs
+     */
+    public RecurrenceRule getRecurrence(Long ruleId) throws SQLException {
+        return recurrenceRepository.findById(ruleId);
+    }
+    
+    /**
+     * Gets all recurrence rules.
+     * 
+     * @return the rules, ordered by start date and start time
+     * @throws SQLException if a database error occurs
+     */
+    public List<RecurrenceRule> getRecurrences() throws SQLException {
+        return recurrenceRepository.findAll();
+    }
+    
+    /**
+     * Finds the free windows of one day within working hours.
+     * 
+     * @param date the date
+     * @param minMinutes the shortest window to report
+     * @param workStart the start of the working hours
+     * @param workEnd the end of the working hours; midnight for the end of the day
+     * @return the free slots, in time order
+     * @throws IllegalArgumentException if the duration or working hours are invalid
+     * @throws SQLException if a database error occurs
+     */
+    public List<FreeSlot> findFreeSlots(LocalDate date, int minMinutes, LocalTime workStart,
+                                        LocalTime workEnd) throws SQLException {
+        return findFreeSlots(date, date, minMinutes, workStart, workEnd, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Finds the free windows of a date range within the working hours of each day.
+     * 
+     * <p>Each day's plan blocks, read in date and start order through the
+     * date index, are turned into a minute timeline, and the free windows are
+     * the runs of uncovered minutes between the working hours. Plan blocks
+     * are read a week at a time and the search stops once {@code limit} slots
+     * are found, so the work done is proportional to the weeks read up to the
+     * last slot returned: the next free slot over months of plans costs only
+     * the weeks up to it, but a range with fewer than {@code limit} free slots,
+     * such as a fully booked one, is read in full.
+     * 
+     * <p>For the next free window of today, pass the current time as
+     * {@code workStart} and a limit of 1. To search up to the end of each day,
+     * pass midnight as {@code workEnd}; slots reaching it end at midnight.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @param minMinutes the shortest window to report
+     * @param workStart the start of the working hours on each day
+     * @param workEnd the end of the working hours on each day; midnight for the end of the day
+     * @param limit the most slots to return
+     * @return the earliest free slots, in date and time order
+     * @throws IllegalArgumentException if the range, duration, working hours or limit is invalid
+     * @throws SQLException if a database error occurs
+     */
+    public List<FreeSlot> findFreeSlots(LocalDate from, LocalDate to, int minMinutes, LocalTime workStart,
+                                        LocalTime workEnd, int limit) throws SQLException {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new IllegalArgumentException("A date range with its start not after its end is required");
+        }
+        if (minMinutes <= 0) {
+            throw new IllegalArgumentException("Minimum duration must be positive");
+        }
+        if (workStart == null || workEnd == null
+                || DayTimeline.endMinuteOf(workEnd) <= DayTimeline.minuteOf(workStart)) {
+            throw new IllegalArgumentException("Working hours must end after they start");
+        }
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        
+        int windowStart = DayTimeline.minuteOf(workStart);
+        int windowEnd = DayTimeline.endMinuteOf(workEnd);
+        List<FreeSlot> slots = new ArrayList<>();
+        LocalDate chunkStart = from;
+        while (!chunkStart.isAfter(to) && slots.size() < limit) {
+            LocalDate chunkEnd = chunkStart.plusDays(FREE_SLOT_CHUNK_DAYS - 1);
+            if (chunkEnd.isAfter(to)) {
+                chunkEnd = to;
+            }
+            DayGroups<PlanBlock> byDay = planOccurrences.findGroupedByDay(chunkStart, chunkEnd);
+            for (LocalDate day = chunkStart; !day.isAfter(chunkEnd) && slots.size() < limit; day = day.plusDays(1)) {
+                collectFreeSlots(day, DayTimeline.ofPlanBlocks(byDay.get(day)), windowStart, windowEnd,
+                        minMinutes, limit, slots);
+            }
+            chunkStart = chunkEnd.plusDays(1);
+        }
+        return slots;
+    }
+    
+    /**
+     * Proposes plan blocks that pack some tasks into the free working hours of a day.
+     * 
+     * <p>Nothing is saved; commit the proposal with {@link #createPlanBlocks(List)},
+     * which rejects it as a whole if the day changed meanwhile.
+     * 
+     * @param date the day to plan
+     * @param tasks the tasks to place, e.g. the Today list in display order
+     * @param workStart the start of the working hours
+     * @param workEnd the end of the working hours; midnight for the end of the day
+     * @return the proposed blocks and the tasks that did not fit
+     * @throws IllegalArgumentException if the working hours are invalid
+     * @throws SQLException if a database error occurs
+     * @see AutoScheduler
+     */
+    public AutoScheduler.Proposal proposeSchedule(LocalDate date, List<Task> tasks, LocalTime workStart,
+                                                  LocalTime workEnd) throws SQLException {
+        AutoScheduler scheduler = new AutoScheduler(workStart, workEnd);
+        return scheduler.propose(date, tasks, planOccurrences.findByDate(date));
+    }
+    
+    /**
+     * Adds the free runs of one day's timeline inside a minute window, until the limit is reached.
+     * 
+     * @param day the date of the timeline
+     * @param planned the planned minutes of the day
+     * @param windowStart the first minute of the window
+     * @param windowEnd the end minute of the window (exclusive)
+     * @param minMinutes the shortest run to add
+     * @param limit the size {@code slots} may grow to
+     * @param slots receives the free slots, in time order
+     */
+    static void collectFreeSlots(LocalDate day, DayTimeline planned, int windowStart, int windowEnd,
+                                 int minMinutes, int limit, List<FreeSlot> slots) {
+        int start = planned.nextFreeMinute(windowStart);
+        while (start < windowEnd && slots.size() < limit) {
+            int end = Math.min(planned.nextCoveredMinute(start), windowEnd);
+            if (end - start >= minMinutes) {
+                slots.add(new FreeSlot(day, DayTimeline.timeOf(start), DayTimeline.endTimeOf(end)));
+            }
+            if (end == windowEnd) {
+                return;
+            }
+            start = planned.nextFreeMinute(end);
+        }
     }
     
     /**
@@ -106,52 +557,146 @@ public class ScheduleService {
     }
     
     /**
-     * Checks that the plan block does not overlap with existing blocks for the same date.
+     * Rejects a plan block that is not a stored row, such as an occurrence
+     * expanded from a recurrence rule.
      * 
-     * @param block the plan block to check
-     * @throws IllegalArgumentException if overlap is detected
-     * @throws SQLException if a database error occurs
+     * @param block the plan block about to be changed
+     * @throws IllegalArgumentException if the block is an occurrence or has no ID
+     */
+    private void requireStored(PlanBlock block) {
+        if (block.isOccurrence() || block.getId() == null) {
+            throw occurrenceError();
+        }
+    }
+    
+    private static IllegalArgumentException occurrenceError() {
+        return new IllegalArgumentException(
+            "A repeating plan block cannot be changed on its own: edit the recurrence or skip the occurrence");
+    }
+    
+    /**
+     * Validates a recurrence rule (pattern, dates, time range, required fields).
+     * 
+     * @param rule the rule to validate
+     * @throws IllegalArgumentException if validation fails
      */
-    private void checkNoOverlaps(PlanBlock block) throws SQLException {
-        checkNoOverlaps(block, null);
+    private void validateRecurrence(RecurrenceRule rule) {
+        if (rule.getPattern() == null) {
+            throw new IllegalArgumentException("Recurrence pattern is required");
+        }
+        if (rule.getPattern() == RecurrencePattern.WEEKLY && rule.getDaysOfWeek().isEmpty()) {
+            throw new IllegalArgumentException("A weekly recurrence needs at least one day of the week");
+        }
+        if (rule.getStartDate() == null) {
+            throw new IllegalArgumentException("Recurrence start date is required");
+        }
+        if (rule.getEndDate() != null && rule.getEndDate().isBefore(rule.getStartDate())) {
+            throw new IllegalArgumentException("Recurrence end date must not be before its start date");
+        }
+        if (rule.getStartTime() == null || rule.getEndTime() == null) {
+            throw new IllegalArgumentException("Recurrence start and end times are required");
+        }
+        if (!rule.getEndTime().isAfter(rule.getStartTime())) {
+            throw new IllegalArgumentException("End time must be after start time");
+        }
+        if (rule.getTitle() == null || rule.getTitle().trim().isEmpty()) {
+            throw new IllegalArgumentException("Recurrence title is required");
+        }
     }
     
     /**
-     * Checks that the plan block does not overlap with existing blocks (excluding the given ID).
+     * Throws if an occurrence of a rule would overlap a stored plan block or an
+     * occurrence of another rule.
+     * 
+     * <p>This is the one place a rule is checked over all its dates rather
+     * than a read range; only stored blocks inside its time window are read.
      * 
-     * @param block the plan block to check
-     * @param excludeId the ID to exclude from overlap check (for updates)
-     * @throws IllegalArgumentException if overlap is detected
+     * @param rule the rule about to be written; its own stored version is ignored
+     * @throws IllegalArgumentException if there is an overlap
      * @throws SQLException if a database error occurs
      */
-    private void checkNoOverlaps(PlanBlock block, Long excludeId) throws SQLException {
-        List<PlanBlock> existingBlocks = planRepository.findByDate(block.getDate());
-        LocalTime start = block.getStartTime();
-        LocalTime end = block.getEndTime();
-        
-        for (PlanBlock existing : existingBlocks) {
-            if (excludeId != null && existing.getId().equals(excludeId)) {
+    private void checkRecurrenceFree(RecurrenceRule rule) throws SQLException {
+        LocalDate last = rule.getEndDate() != null ? rule.getEndDate() : LAST_DATE;
+        PlanBlock conflict = planRepository.findFirstOverlapping(rule.getStartDate(), last,
+                rule.getStartTime(), rule.getEndTime(), block -> rule.occursOn(block.getDate()));
+        if (conflict != null) {
+            throw overlapError(conflict);
+        }
+        for (RecurrenceRule other : recurrenceRepository.findActive(rule.getStartDate(), last)) {
+            if (other.getId().equals(rule.getId())
+                    || !other.getStartTime().isBefore(rule.getEndTime())
+                    || !other.getEndTime().isAfter(rule.getStartTime())) {
                 continue;
             }
-            if (overlaps(start, end, existing.getStartTime(), existing.getEndTime())) {
-                throw new IllegalArgumentException(
-                    "Plan block overlaps with existing block: " + existing.getTitle() +
-                    " (" + existing.getStartTime() + " - " + existing.getEndTime() + ")");
+            LocalDate shared = rule.firstSharedDate(other);
+            if (shared != null) {
+                throw overlapError(other.occurrenceOn(shared));
             }
         }
     }
     
     /**
-     * Checks if two time intervals overlap.
+     * Builds the error for a write rejected because of an overlap.
+     * 
+     * @param existing the conflicting plan block
+     * @return the exception to throw
+     */
+    private IllegalArgumentException overlapError(PlanBlock existing) {
+        return new IllegalArgumentException(
+            "Plan block overlaps with existing block: " + existing.getTitle() +
+            " (" + existing.getStartTime() + " - " + existing.getEndTime() + ")");
+    }
+    
+    /**
+     * Throws if any plan block of a batch overlaps another one of the batch or a stored one.
+     * 
+     * @param batch the plan blocks about to be written
+     * @param stored the stored plan blocks of the batch's dates, without those the batch replaces
+     * @throws IllegalArgumentException if there is an overlap
+     */
+    private void checkNoOverlaps(List<PlanBlock> batch, List<PlanBlock> stored) {
+        IntervalConflicts.Conflict<PlanBlock> conflict = CONFLICTS.find(batch, stored);
+        if (conflict != null) {
+            throw overlapError(conflict.other);
+        }
+    }
+    
+    /**
+     * Drops the materialized statistics of every date touched by some plan blocks.
      * 
-     * @param start1 start of first interval
-     * @param end1 end of first interval
-     * @param start2 start of second interval
-     * @param end2 end of second interval
-     * @return true if intervals overlap
+     * @param blocks the plan blocks
+     * @throws SQLException if a database error occurs
      */
-    private boolean overlaps(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
+    private void invalidateStatistics(List<PlanBlock> blocks) throws SQLException {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (PlanBlock block : blocks) {
+            dates.add(block.getDate());
+        }
+        for (LocalDate date : dates) {
+            statisticsRepository.deleteByDate(date);
+        }
+    }
+    
+    /**
+     * Drops the materialized statistics of every date a rule occurs on.
+     * 
+     * @param rule the rule
+     * @throws SQLException if a database error occurs
+     */
+    private void invalidateStatistics(RecurrenceRule rule) throws SQLException {
+        LocalDate last = rule.getEndDate() != null ? rule.getEndDate() : LAST_DATE;
+        for (DailyStatistics stats : statisticsRepository.findByDateRange(rule.getStartDate(), last)) {
+            if (rule.occursOn(stats.getDate())) {
+                statisticsRepository.deleteByDate(stats.getDate());
+            }
+        }
+    }
+    
+    private static LocalDate firstDate(List<PlanBlock> blocks) {
+        return blocks.stream().map(PlanBlock::getDate).min(LocalDate::compareTo).get();
+    }
+    
+    private static LocalDate lastDate(List<PlanBlock> blocks) {
+        return blocks.stream().map(PlanBlock::getDate).max(LocalDate::compareTo).get();
     }
 }
-
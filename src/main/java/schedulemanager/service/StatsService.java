@@ -2,35 +2,71 @@ package schedulemanager.service;
 
 import schedulemanager.domain.ActualSession;
 import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.DayGroups;
+import schedulemanager.domain.DaySnapshot;
+import schedulemanager.domain.DayTimeline;
 import schedulemanager.domain.PlanBlock;
 import schedulemanager.repository.ActivityRepository;
-import schedulemanager.repository.PlanRepository;
+import schedulemanager.repository.DailyStatisticsRepository;
+import schedulemanager.repository.Repositories;
+import schedulemanager.repository.UnitOfWork;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for calculating statistics comparing planned vs actual activities.
  * 
  * <p>Provides methods to calculate quantitative accuracy, temporal accuracy,
- * and task-to-task comparisons.
+ * and task-to-task comparisons, for a single day or a date range.
+ * 
+ * <p>Planned time includes the occurrences of recurrence rules, expanded for
+ * the dates being computed, exactly as if they were stored plan blocks.
+ * 
+ * <p>Every view counts minutes the same way, on {@link DayTimeline}s: planned
+ * and actual minutes are the minutes of a day covered by at least one block
+ * or session, and overlap minutes are those covered by both, so no minute is
+ * counted twice. Daily statistics apply this to all of a day's rows; task and
+ * category statistics apply it to each group's rows per day and sum the days.
+ * 
+ * <p>Statistics are materialized inside a transaction that first locks the
+ * plan blocks, rules and sessions of the days computed. A write to those days
+ * either commits before the locking reads, and is seen by them, or waits until
+ * the statistics are stored and then deletes them; a stale row is never left behind.
  * 
  */
 public class StatsService {
-    private final PlanRepository planRepository;
+    private final UnitOfWork transactions;
+    private final PlanOccurrences planOccurrences;
     private final ActivityRepository activityRepository;
+    private final DailyStatisticsRepository statisticsRepository;
     
     /**
-     * Constructs a StatsService.
+     * Constructs a StatsService over the repositories selected by system properties.
      */
     public StatsService() {
-        this.planRepository = new PlanRepository();
-        this.activityRepository = new ActivityRepository();
+        this(Repositories.fromSystemProperties());
+    }
+    
+    /**
+     * Constructs a StatsService over the given repositories.
+     * 
+     * @param repositories the repositories to use
+     */
+    public StatsService(Repositories repositories) {
+        this.transactions = repositories.getTransactions();
+        this.planOccurrences = new PlanOccurrences(repositories.getPlanRepository(),
+            repositories.getRecurrenceRepository());
+        this.activityRepository = repositories.getActivityRepository();
+        this.statisticsRepository = repositories.getStatisticsRepository();
     }
     
     /**
@@ -45,29 +81,190 @@ public class StatsService {
      *   <li>Temporal accuracy (0.0 to 1.0)</li>
      * </ul>
      * 
+     * <p>The result is served from {@code daily_statistics} when it has been
+     * materialized; otherwise it is computed and stored. ScheduleService and
+     * TrackingService delete the stored row whenever the day changes; the
+     * day's rows are locked while computing, so such a deletion always comes
+     * after the row is stored.
+     * 
      * @param date the date for which to compute statistics
      * @return the daily statistics
      * @throws SQLException if a database error occurs
      */
     public DailyStatistics computeDailyStats(LocalDate date) throws SQLException {
-        List<PlanBlock> planBlocks = planRepository.findByDate(date);
-        List<ActualSession> sessions = activityRepository.findByDate(date);
+        return transactions.inTransaction(() -> {
+            DailyStatistics stored = statisticsRepository.findByDate(date);
+            if (stored != null) {
+                return stored;
+            }
+            List<PlanBlock> planBlocks = planOccurrences.findByDateRangeForUpdate(date, date);
+            List<ActualSession> sessions = activityRepository.findByDateRangeForUpdate(date, date);
+            DailyStatistics stats = buildDailyStats(date, planBlocks, sessions);
+            statisticsRepository.save(stats);
+            return stats;
+        });
+    }
+    
+    /**
+     * Computes daily statistics from an already loaded day snapshot.
+     * 
+     * <p>Works entirely in memory; no query is issued.
+     * 
+     * @param snapshot the day snapshot
+     * @return the daily statistics
+     */
+    public DailyStatistics computeDailyStats(DaySnapshot snapshot) {
+        return buildDailyStats(snapshot.getDate(), snapshot.getPlanBlocks(), snapshot.getSessions());
+    }
+    
+    /**
+     * Computes daily statistics for every day in a date range.
+     * 
+     * <p>Days already materialized in {@code daily_statistics} are read from
+     * there. For the remaining days, plan blocks and sessions are loaded with
+     * one locking query per table, the per-day statistics are computed in parallel on
+     * the common fork-join pool, and the results are stored in one batch, all
+     * in one transaction.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return statistics for each day in the range, in date order (days without data have zero values)
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws SQLException if a database error occurs
+     */
+    public List<DailyStatistics> computeStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        validateRange(from, to);
+        return transactions.inTransaction(() -> loadStatsForRange(from, to));
+    }
+    
+    /**
+     * Serves or computes the statistics of a range, inside the caller's transaction.
+     */
+    private List<DailyStatistics> loadStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        Map<LocalDate, DailyStatistics> byDate = new HashMap<>();
+        for (DailyStatistics stored : statisticsRepository.findByDateRange(from, to)) {
+            byDate.put(stored.getDate(), stored);
+        }
         
+        List<LocalDate> missing = from.datesUntil(to.plusDays(1))
+            .filter(day -> !byDate.containsKey(day))
+            .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            LocalDate firstMissing = missing.get(0);
+            LocalDate lastMissing = missing.get(missing.size() - 1);
+            DayGroups<PlanBlock> blocksByDay = DayGroups.of(firstMissing, lastMissing,
+                planOccurrences.findByDateRangeForUpdate(firstMissing, lastMissing), PlanBlock::getDate);
+            DayGroups<ActualSession> sessionsByDay = DayGroups.of(firstMissing, lastMissing,
+                activityRepository.findByDateRangeForUpdate(firstMissing, lastMissing), ActualSession::getDate);
+            
+            List<DailyStatistics> computed = missing.parallelStream()
+                .map(day -> buildDailyStats(day, blocksByDay.get(day), sessionsByDay.get(day)))
+                .collect(Collectors.toList());
+            statisticsRepository.saveAll(computed);
+            for (DailyStatistics stats : computed) {
+                byDate.put(stats.getDate(), stats);
+            }
+        }
+        
+        return from.datesUntil(to.plusDays(1))
+            .map(byDate::get)
+            .collect(Collectors.toList());
+    }
+    
+    /**
+     * Computes task-to-task statistics for a specific date.
+     * 
+     * <p>For each task that has planned blocks or actual sessions, calculates:
+     * <ul>
+     *   <li>Planned minutes for the task</li>
+     *   <li>Actual minutes for the task</li>
+     *   <li>Temporal deviation (overlap minutes for the task)</li>
+     * </ul>
+     * 
+     * @param date the date for which to compute statistics
+     * @return map of task ID to task statistics (planned minutes, actual minutes, overlap minutes)
+     * @throws SQLException if a database error occurs
+     */
+    public Map<Long, TaskStats> computeTaskStats(LocalDate date) throws SQLException {
+        List<PlanBlock> planBlocks = planOccurrences.findByDate(date);
+        List<ActualSession> sessions = activityRepository.findByDate(date);
+        return groupStats(planBlocks, sessions, PlanBlock::getLinkedTaskId, ActualSession::getLinkedTaskId);
+    }
+    
+    /**
+     * Computes task-to-task statistics from an already loaded day snapshot.
+     * 
+     * <p>Works entirely in memory; no query is issued.
+     * 
+     * @param snapshot the day snapshot
+     * @return map of task ID to task statistics
+     */
+    public Map<Long, TaskStats> computeTaskStats(DaySnapshot snapshot) {
+        return groupStats(snapshot.getPlanBlocks(), snapshot.getSessions(),
+            PlanBlock::getLinkedTaskId, ActualSession::getLinkedTaskId);
+    }
+    
+    /**
+     * Computes task-to-task statistics summed over a date range.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return map of task ID to task statistics for the whole range
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws SQLException if a database error occurs
+     */
+    public Map<Long, TaskStats> computeTaskStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        validateRange(from, to);
+        List<PlanBlock> planBlocks = planOccurrences.findByDateRange(from, to);
+        List<ActualSession> sessions = activityRepository.findByDateRange(from, to);
+        return groupStats(planBlocks, sessions, PlanBlock::getLinkedTaskId, ActualSession::getLinkedTaskId);
+    }
+    
+    /**
+     * Computes statistics per category summed over a date range.
+     * 
+     * <p>Blocks and sessions without a category are not included.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return map of category to statistics for the whole range
+     * @throws IllegalArgumentException if {@code from} is after {@code to}
+     * @throws SQLException if a database error occurs
+     */
+    public Map<String, TaskStats> computeCategoryStatsForRange(LocalDate from, LocalDate to) throws SQLException {
+        validateRange(from, to);
+        List<PlanBlock> planBlocks = planOccurrences.findByDateRange(from, to);
+        List<ActualSession> sessions = activityRepository.findByDateRange(from, to);
+        return groupStats(planBlocks, sessions, PlanBlock::getCategory, ActualSession::getCategory);
+    }
+    
+    /**
+     * Builds the daily statistics from the plan blocks and sessions of one day.
+     * 
+     * <p>Plan and actual time are turned into minute timelines once; planned,
+     * actual and overlap minutes are then bit counts of the timelines and of
+     * their intersection, so a minute is never counted twice.
+     * 
+     * @param date the date
+     * @param planBlocks the plan blocks of the day
+     * @param sessions the actual sessions of the day
+     * @return the daily statistics
+     */
+    private DailyStatistics buildDailyStats(LocalDate date, List<PlanBlock> planBlocks,
+                                            List<ActualSession> sessions) {
         DailyStatistics stats = new DailyStatistics(date);
         
         // Calculate total planned and actual minutes
-        int plannedMinutes = planBlocks.stream()
-            .mapToInt(PlanBlock::getDurationMinutes)
-            .sum();
-        int actualMinutes = sessions.stream()
-            .mapToInt(ActualSession::getDurationMinutes)
-            .sum();
+        DayTimeline planned = DayTimeline.ofPlanBlocks(planBlocks);
+        DayTimeline actual = DayTimeline.ofSessions(sessions);
+        int plannedMinutes = planned.minutes();
+        int actualMinutes = actual.minutes();
         
         stats.setPlannedMinutes(plannedMinutes);
         stats.setActualMinutes(actualMinutes);
         
         // Calculate overlap (intersection of planned and actual time)
-        int overlapMinutes = calculateOverlapMinutes(planBlocks, sessions);
+        int overlapMinutes = planned.overlapMinutes(actual);
         stats.setOverlapMinutes(overlapMinutes);
         
         // Calculate quantitative accuracy
@@ -88,116 +285,81 @@ public class StatsService {
     }
     
     /**
-     * Computes task-to-task statistics for a specific date.
+     * Groups plan blocks and sessions by a key (task or category) and computes
+     * planned, actual and overlap minutes for each group.
      * 
-     * <p>For each task that has planned blocks or actual sessions, calculates:
-     * <ul>
-     *   <li>Planned minutes for the task</li>
-     *   <li>Actual minutes for the task</li>
-     *   <li>Temporal deviation (overlap minutes for the task)</li>
-     * </ul>
+     * <p>Items whose key is null are skipped. Minutes are counted per group
+     * and day on minute timelines, as for the daily statistics, and the groups
+     * are computed in parallel, since they are independent.
      * 
-     * @param date the date for which to compute statistics
-     * @return map of task ID to task statistics (planned minutes, actual minutes, overlap minutes)
-     * @throws SQLException if a database error occurs
+     * @param planBlocks the plan blocks, ordered by date and start time
+     * @param sessions the actual sessions, ordered by date and start time
+     * @param blockKey extracts the group key from a plan block
+     * @param sessionKey extracts the group key from a session
+     * @return map of group key to statistics
      */
-    public Map<Long, TaskStats> computeTaskStats(LocalDate date) throws SQLException {
-        List<PlanBlock> planBlocks = planRepository.findByDate(date);
-        List<ActualSession> sessions = activityRepository.findByDate(date);
-        
-        Map<Long, TaskStats> taskStatsMap = new HashMap<>();
+    private <K> Map<K, TaskStats> groupStats(List<PlanBlock> planBlocks, List<ActualSession> sessions,
+                                             Function<PlanBlock, K> blockKey,
+                                             Function<ActualSession, K> sessionKey) {
+        Map<K, TaskStats> statsMap = new HashMap<>();
         
         // Process plan blocks
         for (PlanBlock block : planBlocks) {
-            if (block.getLinkedTaskId() != null) {
-                TaskStats stats = taskStatsMap.computeIfAbsent(
-                    block.getLinkedTaskId(), k -> new TaskStats());
-                stats.plannedMinutes += block.getDurationMinutes();
-                stats.plannedBlocks.add(block);
+            K key = blockKey.apply(block);
+            if (key != null) {
+                statsMap.computeIfAbsent(key, k -> new TaskStats()).plannedBlocks.add(block);
             }
         }
         
         // Process actual sessions
         for (ActualSession session : sessions) {
-            if (session.getLinkedTaskId() != null) {
-                TaskStats stats = taskStatsMap.computeIfAbsent(
-                    session.getLinkedTaskId(), k -> new TaskStats());
-                stats.actualMinutes += session.getDurationMinutes();
-                stats.actualSessions.add(session);
+            K key = sessionKey.apply(session);
+            if (key != null) {
+                statsMap.computeIfAbsent(key, k -> new TaskStats()).actualSessions.add(session);
             }
         }
         
-        // Calculate overlap for each task
-        for (Map.Entry<Long, TaskStats> entry : taskStatsMap.entrySet()) {
-            TaskStats stats = entry.getValue();
-            stats.overlapMinutes = calculateOverlapMinutes(
-                stats.plannedBlocks, stats.actualSessions);
-        }
+        // Count the minutes of each group
+        statsMap.values().parallelStream().forEach(StatsService::countMinutes);
         
-        return taskStatsMap;
+        return statsMap;
     }
     
     /**
-     * Calculates the total overlap minutes between plan blocks and actual sessions.
+     * Sets the planned, actual and overlap minutes of a group from its rows,
+     * day by day on minute timelines.
      * 
-     * @param planBlocks list of plan blocks
-     * @param sessions list of actual sessions
-     * @return total overlap minutes
+     * @param stats the group, with its plan blocks and sessions filled in
      */
-    private int calculateOverlapMinutes(List<PlanBlock> planBlocks, List<ActualSession> sessions) {
-        int totalOverlap = 0;
-        
-        for (PlanBlock block : planBlocks) {
-            for (ActualSession session : sessions) {
-                // Only calculate overlap if they're on the same date (should be, but check anyway)
-                if (block.getDate().equals(session.getDate())) {
-                    int overlap = calculateIntervalOverlap(
-                        block.getStartTime(), block.getEndTime(),
-                        session.getStartTime(), session.getEndTime());
-                    totalOverlap += overlap;
-                }
-            }
+    private static void countMinutes(TaskStats stats) {
+        Map<LocalDate, List<PlanBlock>> blocksByDay = stats.plannedBlocks.stream()
+            .collect(Collectors.groupingBy(PlanBlock::getDate));
+        Map<LocalDate, List<ActualSession>> sessionsByDay = stats.actualSessions.stream()
+            .collect(Collectors.groupingBy(ActualSession::getDate));
+        Set<LocalDate> days = new HashSet<>(blocksByDay.keySet());
+        days.addAll(sessionsByDay.keySet());
+        for (LocalDate day : days) {
+            DayTimeline planned = DayTimeline.ofPlanBlocks(blocksByDay.getOrDefault(day, List.of()));
+            DayTimeline actual = DayTimeline.ofSessions(sessionsByDay.getOrDefault(day, List.of()));
+            stats.plannedMinutes += planned.minutes();
+            stats.actualMinutes += actual.minutes();
+            stats.overlapMinutes += planned.overlapMinutes(actual);
         }
-        
-        return totalOverlap;
     }
     
-    /**
-     * Calculates the overlap in minutes between two time intervals.
-     * 
-     * @param start1 start of first interval
-     * @param end1 end of first interval
-     * @param start2 start of second interval
-     * @param end2 end of second interval
-     * @return overlap in minutes, or 0 if no overlap
-     */
-    private int calculateIntervalOverlap(LocalTime start1, LocalTime end1,
-                                         LocalTime start2, LocalTime end2) {
-        if (!overlaps(start1, end1, start2, end2)) {
-            return 0;
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Range start and end dates are required");
+        }
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start must not be after range end");
         }
-        
-        LocalTime overlapStart = start1.isAfter(start2) ? start1 : start2;
-        LocalTime overlapEnd = end1.isBefore(end2) ? end1 : end2;
-        
-        return (int) java.time.Duration.between(overlapStart, overlapEnd).toMinutes();
-    }
-    
-    /**
-     * Checks if two time intervals overlap.
-     * 
-     * @param start1 start of first interval
-     * @param end1 end of first interval
-     * @param start2 start of second interval
-     * @param end2 end of second interval
-     * @return true if intervals overlap
-     */
-    private boolean overlaps(LocalTime start1, LocalTime end1, LocalTime start2, LocalTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
     }
     
     /**
      * Inner class to hold task statistics.
+     * 
+     * <p>Also used for category statistics, which carry the same totals.
      */
     public static class TaskStats {
         public int plannedMinutes = 0;
@@ -206,13 +368,4 @@ public class StatsService {
         public List<PlanBlock> plannedBlocks = new ArrayList<>();
         public List<ActualSession> actualSessions = new ArrayList<>();
     }
-
-    public List<PlanBlock> getPlanBlocks(LocalDate date) throws SQLException {
-        return planRepository.findByDate(date);
-    }
-    
-    public List<ActualSession> getActualSessions(LocalDate date) throws SQLException {
-        return activityRepository.findByDate(date);
-    }
 }
-
@@ -0,0 +1,203 @@
+package schedulemanager.service;
+
+import schedulemanager.domain.Task;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least-recently-used cache of tasks by ID, used by {@link TaskService}.
+ *
+ * <p>Entries are copies: callers get their own {@link Task} instance, so
+ * editing one without saving it never changes what the cache returns. When
+ * the cache is full, the entry read least recently is evicted.
+ *
+ * <p>Writes must call {@link #invalidate(Long)}. A load that started before an
+ * invalidation is not cached when it finishes, so a slow read cannot put back
+ * a row that a concurrent write has already replaced.
+ *
+ * <p>Thread-safe. A maximum size of zero disables caching; counters are still kept.
+ */
+public final class TaskCache {
+    private final int maxSize;
+    private final Map<Long, Task> entries;
+    private long invalidations;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Constructs a TaskCache.
+     *
+     * @param maxSize the maximum number of cached tasks
+     * @throws IllegalArgumentException if maxSize is negative
+     */
+    TaskCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                if (size() > TaskCache.this.maxSize) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a cached task and counts the hit or miss.
+     *
+     * @param id the task ID
+     * @return a copy of the cached task, or null if it is not cached
+     */
+    synchronized Task get(Long id) {
+        Task task = entries.get(id);
+        if (task == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return copy(task);
+    }
+
+    /**
+     * Gets a token to pass to {@link #put(Long, Task, long)} after loading a task.
+     * Take it before reading the database.
+     *
+     * @return the current invalidation count
+     */
+    synchronized long loadToken() {
+        return invalidations;
+    }
+
+    /**
+     * Caches a task loaded from the database, unless an invalidation happened
+     * since the load started.
+     *
+     * @param id the task ID
+     * @param task the loaded task; null is not cached
+     * @param token the value of {@link #loadToken()} taken before the load
+     */
+    synchronized void put(Long id, Task task, long token) {
+        if (task == null || maxSize == 0 || token != invalidations) {
+            return;
+        }
+        entries.put(id, copy(task));
+    }
+
+    /**
+     * Drops a task from the cache after it was written.
+     *
+     * @param id the task ID
+     */
+    synchronized void invalidate(Long id) {
+        invalidations++;
+        entries.remove(id);
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the current cache metrics
+     */
+    public synchronized CacheMetrics getMetrics() {
+        return new CacheMetrics(maxSize, entries.size(), hitCount, missCount, evictionCount);
+    }
+
+    private static Task copy(Task task) {
+        Task copy = new Task(task.getTitle(), task.getFolderId(), task.getPriority());
+        copy.setId(task.getId());
+        copy.setStatus(task.getStatus());
+        copy.setColorTag(task.getColorTag());
+        copy.setDeadline(task.getDeadline());
+        copy.setEstimateMinutes(task.getEstimateMinutes());
+        copy.setDescription(task.getDescription());
+        copy.setCreatedAt(task.getCreatedAt());
+        return copy;
+    }
+
+    /**
+     * Point-in-time snapshot of the task cache counters, for sizing the cache.
+     */
+    public static final class CacheMetrics {
+        private final int maxSize;
+        private final int size;
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+
+        CacheMetrics(int maxSize, int size, long hitCount, long missCount, long evictionCount) {
+            this.maxSize = maxSize;
+            this.size = size;
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Gets the configured maximum number of cached tasks.
+         *
+         * @return the maximum size
+         */
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * Gets the number of tasks currently cached.
+         *
+         * @return the number of entries
+         */
+        public int getSize() {
+            return size;
+        }
+
+        /**
+         * Gets the number of lookups answered from the cache.
+         *
+         * @return the hit count
+         */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /**
+         * Gets the number of lookups that had to read the database.
+         *
+         * @return the miss count
+         */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /**
+         * Gets the number of entries dropped because the cache was full.
+         *
+         * @return the eviction count
+         */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /**
+         * Gets the share of lookups answered from the cache.
+         *
+         * @return the hit ratio between 0 and 1, or 0 if there were no lookups
+         */
+        public double getHitRatio() {
+            long lookups = hitCount + missCount;
+            return lookups == 0 ? 0.0 : (double) hitCount / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return "CacheMetrics[size=" + size + "/" + maxSize + ", hits=" + hitCount
+                    + ", misses=" + missCount + ", evictions=" + evictionCount + "]";
+        }
+    }
+}
@@ -2,6 +2,8 @@ package schedulemanager.service;
 
 import schedulemanager.domain.Task;
 import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TaskSummary;
+import schedulemanager.repository.Repositories;
 import schedulemanager.repository.TaskRepository;
 
 import java.sql.SQLException;
@@ -13,15 +15,31 @@ import java.util.List;
  * <p>Provides high-level operations for task management, including
  * validation and coordination with repositories.
  * 
+ * <p>{@link #getTask(Long)} reads through a {@link TaskCache} of up to
+ * {@code task.cache.maxSize} tasks (default: 1000, 0 disables it). Every write
+ * made through this service invalidates the task it touches.
+ * 
  */
 public class TaskService {
+    private static final int CACHE_MAX_SIZE = Integer.getInteger("task.cache.maxSize", 1000);
+    
     private final TaskRepository taskRepository;
+    private final TaskCache cache = new TaskCache(CACHE_MAX_SIZE);
     
     /**
-     * Constructs a TaskService.
+     * Constructs a TaskService over the repositories selected by system properties.
      */
     public TaskService() {
-        this.taskRepository = new TaskRepository();
+        this(Repositories.fromSystemProperties());
+    }
+    
+    /**
+     * Constructs a TaskService over the given repositories.
+     * 
+     * @param repositories the repositories to use
+     */
+    public TaskService(Repositories repositories) {
+        this.taskRepository = repositories.getTaskRepository();
     }
     
     /**
@@ -34,7 +52,9 @@ public class TaskService {
      */
     public Task createTask(Task task) throws SQLException {
         validateTask(task);
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        cache.invalidate(saved.getId());
+        return saved;
     }
     
     /**
@@ -47,6 +67,7 @@ public class TaskService {
     public void updateTask(Task task) throws SQLException {
         validateTask(task);
         taskRepository.update(task);
+        cache.invalidate(task.getId());
     }
     
     /**
@@ -58,17 +79,34 @@ public class TaskService {
      */
     public void updateTaskStatus(Long taskId, TaskStatus status) throws SQLException {
         taskRepository.updateStatus(taskId, status);
+        cache.invalidate(taskId);
     }
     
     /**
-     * Gets a task by ID.
+     * Gets a task by ID, from the cache when possible.
      * 
      * @param taskId the task ID
      * @return the task, or null if not found
      * @throws SQLException if a database error occurs
      */
     public Task getTask(Long taskId) throws SQLException {
-        return taskRepository.findById(taskId);
+        Task cached = cache.get(taskId);
+        if (cached != null) {
+            return cached;
+        }
+        long token = cache.loadToken();
+        Task task = taskRepository.findById(taskId);
+        cache.put(taskId, task, token);
+        return task;
+    }
+    
+    /**
+     * Gets a snapshot of the task cache counters.
+     * 
+     * @return the cache metrics
+     */
+    public TaskCache.CacheMetrics getCacheMetrics() {
+        return cache.getMetrics();
     }
     
     /**
@@ -82,6 +120,49 @@ public class TaskService {
         return taskRepository.findByFolderId(folderId);
     }
     
+    /**
+     * Gets the summaries of all tasks in a folder, newest first (ties by ID).
+     * 
+     * <p>Cheaper than {@link #getTasksByFolder(Long)} for list views, which do
+     * not need the description.
+     * 
+     * @param folderId the folder ID
+     * @return list of task summaries in the folder
+     * @throws SQLException if a database error occurs
+     */
+    public List<TaskSummary> getTaskSummariesByFolder(Long folderId) throws SQLException {
+        return taskRepository.findSummariesByFolderId(folderId);
+    }
+    
+    /**
+     * Gets one page of task summaries in a folder, in the order of
+     * {@link #getTaskSummariesByFolder(Long)}.
+     * 
+     * @param folderId the folder ID
+     * @param after the last row of the previous page, or null for the first page
+     * @param limit the maximum number of rows
+     * @return the summaries on the page
+     * @throws SQLException if a database error occurs
+     * @throws IllegalArgumentException if limit is not positive
+     */
+    public List<TaskSummary> getTaskSummaryPage(Long folderId, TaskSummary after, int limit) throws SQLException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        return taskRepository.findSummaryPage(folderId, after, limit);
+    }
+    
+    /**
+     * Counts the tasks in a folder.
+     * 
+     * @param folderId the folder ID
+     * @return the number of tasks in the folder
+     * @throws SQLException if a database error occurs
+     */
+    public int countTasksInFolder(Long folderId) throws SQLException {
+        return taskRepository.countByFolderId(folderId);
+    }
+    
     /**
      * Deletes a task.
      * 
@@ -90,6 +171,7 @@ public class TaskService {
      */
     public void deleteTask(Long taskId) throws SQLException {
         taskRepository.delete(taskId);
+        cache.invalidate(taskId);
     }
     
     /**
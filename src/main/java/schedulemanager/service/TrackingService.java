@@ -1,27 +1,55 @@
 package schedulemanager.service;
 
 import schedulemanager.domain.ActualSession;
+import schedulemanager.domain.DayGroups;
 import schedulemanager.repository.ActivityRepository;
+import schedulemanager.repository.DailyStatisticsRepository;
+import schedulemanager.repository.Repositories;
+import schedulemanager.repository.UnitOfWork;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing actual activity sessions with validation.
  * 
  * <p>Provides operations for creating, updating, and deleting actual sessions,
- * including validation to prevent overlapping sessions.
+ * including validation to prevent overlapping sessions. Every change
+ * invalidates the materialized statistics of the affected dates, in the
+ * same transaction as the change itself.
  * 
  */
 public class TrackingService {
+    private static final IntervalConflicts<ActualSession> CONFLICTS =
+            new IntervalConflicts<>(ActualSession::getDate, ActualSession::getStartTime, ActualSession::getEndTime);
+    
+    private final UnitOfWork transactions;
     private final ActivityRepository activityRepository;
+    private final DailyStatisticsRepository statisticsRepository;
     
     /**
-     * Constructs a TrackingService.
+     * Constructs a TrackingService over the repositories selected by system properties.
      */
     public TrackingService() {
-        this.activityRepository = new ActivityRepository();
+        this(Repositories.fromSystemProperties());
+    }
+    
+    /**
+     * Constructs a TrackingService over the given repositories.
+     * 
+     * @param repositories the repositories to use
+     */
+    public TrackingService(Repositories repositories) {
+        this.transactions = repositories.getTransactions();
+        this.activityRepository = repositories.getActivityRepository();
+        this.statisticsRepository = repositories.getStatisticsRepository();
     }
     
     /**
@@ -34,8 +62,14 @@ public class TrackingService {
      */
     public ActualSession createSession(ActualSession session) throws SQLException {
         validateSession(session);
-        checkNoOverlaps(session);
-        return activityRepository.save(session);
+        return transactions.inTransaction(() -> {
+            ActualSession conflict = activityRepository.saveIfFree(session);
+            if (conflict != null) {
+                throw overlapError(conflict);
+            }
+            statisticsRepository.deleteByDate(session.getDate());
+            return session;
+        });
     }
     
     /**
@@ -47,8 +81,17 @@ public class TrackingService {
      */
     public void updateSession(ActualSession session) throws SQLException {
         validateSession(session);
-        checkNoOverlaps(session, session.getId());
-        activityRepository.update(session);
+        transactions.inTransaction(() -> {
+            ActualSession previous = activityRepository.findById(session.getId());
+            ActualSession conflict = activityRepository.updateIfFree(session);
+            if (conflict != null) {
+                throw overlapError(conflict);
+            }
+            statisticsRepository.deleteByDate(session.getDate());
+            if (previous != null && !previous.getDate().equals(session.getDate())) {
+                statisticsRepository.deleteByDate(previous.getDate());
+            }
+        });
     }
     
     /**
@@ -62,6 +105,19 @@ public class TrackingService {
         return activityRepository.findByDate(date);
     }
     
+    /**
+     * Gets all actual sessions of a date range grouped by day, with one query,
+     * e.g. for a week or month calendar.
+     * 
+     * @param from the first date (inclusive)
+     * @param to the last date (inclusive)
+     * @return the actual sessions of each day, ordered by start time
+     * @throws SQLException if a database error occurs
+     */
+    public DayGroups<ActualSession> getSessionsByDay(LocalDate from, LocalDate to) throws SQLException {
+        return activityRepository.findGroupedByDay(from, to);
+    }
+    
     /**
      * Gets an actual session by ID.
      * 
@@ -80,7 +136,110 @@ public class TrackingService {
      * @throws SQLException if a database error occurs
      */
     public void deleteSession(Long sessionId) throws SQLException {
-        activityRepository.delete(sessionId);
+        transactions.inTransaction(() -> {
+            ActualSession existing = activityRepository.findById(sessionId);
+            activityRepository.delete(sessionId);
+            if (existing != null) {
+                statisticsRepository.deleteByDate(existing.getDate());
+            }
+        });
+    }
+    
+    /**
+     * Creates several sessions at once.
+     * 
+     * <p>Every session is validated, then the whole batch is checked for
+     * overlaps against itself and against the stored sessions of its dates in
+     * memory, with a single range query. If anything fails nothing is saved.
+     * Otherwise the batch is inserted with multi-row statements.
+     * 
+     * <p>The range query locks the stored rows of the dates checked, so two
+     * concurrent batches cannot both pass the check and insert overlapping rows.
+     * 
+     * @param sessions the sessions to create
+     * @return the same list, with generated IDs set in order
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time range)
+     * @throws SQLException if a database error occurs
+     */
+    public List<ActualSession> createSessions(List<ActualSession> sessions) throws SQLException {
+        sessions.forEach(this::validateSession);
+        if (sessions.isEmpty()) {
+            return sessions;
+        }
+        return transactions.inTransaction(() -> {
+            checkNoOverlaps(sessions,
+                    activityRepository.findByDateRangeForUpdate(firstDate(sessions), lastDate(sessions)));
+            activityRepository.saveAll(sessions);
+            invalidateStatistics(sessions);
+            return sessions;
+        });
+    }
+    
+    /**
+     * Updates several existing sessions at once.
+     * 
+     * <p>The new time ranges are checked against each other and against the
+     * other stored sessions of their dates, as in {@link #createSessions(List)},
+     * with the checked range locked the same way.
+     * 
+     * @param sessions the sessions to update
+     * @throws IllegalArgumentException if validation fails (overlap, invalid time range)
+     * @throws SQLException if a database error occurs
+     */
+    public void updateSessions(List<ActualSession> sessions) throws SQLException {
+        sessions.forEach(this::validateSession);
+        if (sessions.isEmpty()) {
+            return;
+        }
+        transactions.inTransaction(() -> {
+            Map<Long, ActualSession> changed = new HashMap<>();
+            for (ActualSession session : sessions) {
+                changed.put(session.getId(), session);
+            }
+            List<ActualSession> others = new ArrayList<>();
+            List<ActualSession> previous = new ArrayList<>();
+            LocalDate first = firstDate(sessions);
+            LocalDate last = lastDate(sessions);
+            for (ActualSession stored : activityRepository.findByDateRangeForUpdate(first, last)) {
+                if (changed.containsKey(stored.getId())) {
+                    previous.add(stored);
+                } else {
+                    others.add(stored);
+                }
+            }
+            checkNoOverlaps(sessions, others);
+            if (previous.size() < changed.size()) {
+                // Rows moved in from dates outside the range: look up their old dates
+                Set<Long> found = previous.stream().map(ActualSession::getId).collect(Collectors.toSet());
+                for (Long id : changed.keySet()) {
+                    if (!found.contains(id)) {
+                        ActualSession stored = activityRepository.findById(id);
+                        if (stored != null) {
+                            previous.add(stored);
+                        }
+                    }
+                }
+            }
+            activityRepository.updateAll(sessions);
+            invalidateStatistics(sessions);
+            invalidateStatistics(previous);
+        });
+    }
+    
+    /**
+     * Deletes several sessions at once.
+     * 
+     * @param sessions the sessions to delete
+     * @throws SQLException if a database error occurs
+     */
+    public void deleteSessions(List<ActualSession> sessions) throws SQLException {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        transactions.inTransaction(() -> {
+            activityRepository.deleteAll(sessions.stream().map(ActualSession::getId).collect(Collectors.toList()));
+            invalidateStatistics(sessions);
+        });
     }
     
     /**
@@ -105,53 +264,52 @@ public class TrackingService {
     }
     
     /**
-     * Checks that the session does not overlap with existing sessions for the same date.
+     * Builds the error for a write rejected because of an overlap.
      * 
-     * @param session the session to check
-     * @throws IllegalArgumentException if overlap is detected
-     * @throws SQLException if a database error occurs
+     * @param existing the conflicting session
+     * @return the exception to throw
      */
-    private void checkNoOverlaps(ActualSession session) throws SQLException {
-        checkNoOverlaps(session, null);
+    private IllegalArgumentException overlapError(ActualSession existing) {
+        return new IllegalArgumentException(
+            "Session overlaps with existing session: " + existing.getTitle() +
+            " (" + existing.getStartTime() + " - " + existing.getEndTime() + ")");
     }
     
     /**
-     * Checks that the session does not overlap with existing sessions (excluding the given ID).
+     * Throws if any session of a batch overlaps another one of the batch or a stored one.
      * 
-     * @param session the session to check
-     * @param excludeId the ID to exclude from overlap check (for updates)
-     * @throws IllegalArgumentException if overlap is detected
-     * @throws SQLException if a database error occurs
+     * @param batch the sessions about to be written
+     * @param stored the stored sessions of the batch's dates, without those the batch replaces
+     * @throws IllegalArgumentException if there is an overlap
      */
-    private void checkNoOverlaps(ActualSession session, Long excludeId) throws SQLException {
-        List<ActualSession> existingSessions = activityRepository.findByDate(session.getDate());
-        var start = session.getStartTime();
-        var end = session.getEndTime();
-        
-        for (ActualSession existing : existingSessions) {
-            if (excludeId != null && existing.getId().equals(excludeId)) {
-                continue;
-            }
-            if (overlaps(start, end, existing.getStartTime(), existing.getEndTime())) {
-                throw new IllegalArgumentException(
-                    "Session overlaps with existing session: " + existing.getTitle() +
-                    " (" + existing.getStartTime() + " - " + existing.getEndTime() + ")");
-            }
+    private void checkNoOverlaps(List<ActualSession> batch, List<ActualSession> stored) {
+        IntervalConflicts.Conflict<ActualSession> conflict = CONFLICTS.find(batch, stored);
+        if (conflict != null) {
+            throw overlapError(conflict.other);
         }
     }
     
     /**
-     * Checks if two time intervals overlap.
+     * Drops the materialized statistics of every date touched by some sessions.
      * 
-     * @param start1 start of first interval
-     * @param end1 end of first interval
-     * @param start2 start of second interval
-     * @param end2 end of second interval
-     * @return true if intervals overlap
+     * @param sessions the sessions
+     * @throws SQLException if a database error occurs
      */
-    private boolean overlaps(java.time.LocalTime start1, java.time.LocalTime end1,
-                            java.time.LocalTime start2, java.time.LocalTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
+    private void invalidateStatistics(List<ActualSession> sessions) throws SQLException {
+        Set<LocalDate> dates = new TreeSet<>();
+        for (ActualSession session : sessions) {
+            dates.add(session.getDate());
+        }
+        for (LocalDate date : dates) {
+            statisticsRepository.deleteByDate(date);
+        }
+    }
+    
+    private static LocalDate firstDate(List<ActualSession> sessions) {
+        return sessions.stream().map(ActualSession::getDate).min(LocalDate::compareTo).get();
+    }
+    
+    private static LocalDate lastDate(List<ActualSession> sessions) {
+        return sessions.stream().map(ActualSession::getDate).max(LocalDate::compareTo).get();
     }
 }
-
@@ -1,5 +1,6 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
 import schedulemanager.domain.ActualSession;
 
@@ -7,6 +8,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Comparator;
 
 /**
  * Panel for displaying and managing actual activity sessions.
@@ -16,19 +18,23 @@ import java.util.List;
  */
 public class ActualCalendarPanel extends JPanel {
     private final ScheduleController controller;
+    private final RefreshScheduler refreshScheduler;
     private JList<ActualSession> sessionList;
     private DefaultListModel<ActualSession> listModel;
-    private Runnable refreshCallback;
     
     /**
      * Constructs an ActualCalendarPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public ActualCalendarPanel(ScheduleController controller) {
+    public ActualCalendarPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
         this.listModel = new DefaultListModel<>();
         initializeUI();
+        controller.getEvents().subscribe(ActualSession.class,
+            event -> SwingUtilities.invokeLater(() -> applyEvent(event)));
     }
     
     /**
@@ -61,29 +67,22 @@ public class ActualCalendarPanel extends JPanel {
      * Refreshes the sessions list from the database.
      */
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            new SwingWorker<List<ActualSession>, Void>() {
-                @Override
-                protected List<ActualSession> doInBackground() throws Exception {
-                    return controller.getSessions(LocalDate.now());
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        listModel.clear();
-                        List<ActualSession> sessions = get();
-                        for (ActualSession session : sessions) {
-                            listModel.addElement(session);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(ActualCalendarPanel.this,
-                            "Error loading sessions: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            }.execute();
-        });
+        refreshScheduler.request(this, () -> controller.getSessions(LocalDate.now()), this::showSessions,
+            e -> JOptionPane.showMessageDialog(this,
+                "Error loading sessions: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
+    }
+    
+    /**
+     * Shows already loaded sessions, replacing the list.
+     * 
+     * @param sessions today's sessions, ordered by start time
+     */
+    void showSessions(List<ActualSession> sessions) {
+        listModel.clear();
+        for (ActualSession session : sessions) {
+            listModel.addElement(session);
+        }
     }
     
     /**
@@ -104,11 +103,7 @@ public class ActualCalendarPanel extends JPanel {
                 @Override
                 protected void done() {
                     try {
-                        get(); // Check for exceptions
-                        refresh();
-                        if (refreshCallback != null) {
-                            refreshCallback.run();
-                        }
+                        get(); // Check for exceptions; the list is patched by the change event
                     } catch (Exception e) {
                         JOptionPane.showMessageDialog(ActualCalendarPanel.this,
                             "Error creating session: " + e.getCause().getMessage(),
@@ -144,9 +139,12 @@ public class ActualCalendarPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the list is patched by the change event
+                    } catch (Exception e) {
+                        JOptionPane.showMessageDialog(ActualCalendarPanel.this,
+                            "Error deleting session: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -154,12 +152,19 @@ public class ActualCalendarPanel extends JPanel {
     }
     
     /**
-     * Sets the callback to be invoked when sessions are modified.
+     * Applies a session change to the list in place, without querying.
+     * 
+     * <p>The list shows today's sessions ordered by start time; a change is
+     * applied by dropping the old row and inserting the new one where it belongs.
      * 
-     * @param callback the refresh callback
+     * @param event the change event
      */
-    public void setRefreshCallback(Runnable callback) {
-        this.refreshCallback = callback;
+    private void applyEvent(DomainEvent<ActualSession> event) {
+        ListPatches.removeIf(listModel, session -> session.getId().equals(event.getId()));
+        ActualSession changed = event.getEntity();
+        if (event.getKind() != DomainEvent.Kind.DELETED && changed.getDate().equals(LocalDate.now())) {
+            ListPatches.insertSorted(listModel, changed, Comparator.comparing(ActualSession::getStartTime));
+        }
     }
     
     /**
@@ -1,14 +1,17 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
 import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskFolderNode;
 
 import javax.swing.*;
 import javax.swing.tree.DefaultMutableTreeNode;
 import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 import java.awt.*;
-import java.sql.SQLException;
+import java.util.Enumeration;
 import java.util.List;
 
 /**
@@ -19,18 +22,22 @@ import java.util.List;
  */
 public class FoldersPanel extends JPanel {
     private final ScheduleController controller;
+    private final RefreshScheduler refreshScheduler;
     private JTree folderTree;
     private DefaultTreeModel treeModel;
-    private Runnable refreshCallback;
     
     /**
      * Constructs a FoldersPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public FoldersPanel(ScheduleController controller) {
+    public FoldersPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
         initializeUI();
+        controller.getEvents().subscribe(TaskFolder.class,
+            event -> SwingUtilities.invokeLater(() -> applyEvent(event)));
     }
     
     /**
@@ -91,52 +98,53 @@ public class FoldersPanel extends JPanel {
     }
     
     /**
-     * Refreshes the folder tree from the database.
+     * Refreshes the folder tree.
+     * 
+     * <p>The controller serves the hierarchy from memory after its first load.
+     * The new tree is built off the EDT and swapped into the model in one step.
      */
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            new SwingWorker<Void, Void>() {
-                @Override
-                protected Void doInBackground() throws Exception {
-                    DefaultMutableTreeNode root = (DefaultMutableTreeNode) treeModel.getRoot();
-                    root.removeAllChildren();
-                    
-                    List<TaskFolder> rootFolders = controller.getRootFolders();
-                    for (TaskFolder folder : rootFolders) {
-                        DefaultMutableTreeNode node = new DefaultMutableTreeNode(folder);
-                        root.add(node);
-                        loadSubfolders(node, folder.getId());
-                    }
-                    
-                    return null;
-                }
-                
-                @Override
-                protected void done() {
-                    treeModel.reload();
-                }
-            }.execute();
-        });
+        refreshScheduler.request(this, () -> buildTree(controller.getFolderTree()), treeModel::setRoot,
+            e -> JOptionPane.showMessageDialog(this,
+                "Error loading folders: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     /**
-     * Recursively loads subfolders into the tree.
+     * Shows an already loaded folder tree.
      * 
-     * @param parentNode the parent tree node
-     * @param parentId the parent folder ID
+     * @param roots the root folder nodes
      */
-    private void loadSubfolders(DefaultMutableTreeNode parentNode, Long parentId) {
-        try {
-            List<TaskFolder> subfolders = controller.getSubfolders(parentId);
-            for (TaskFolder folder : subfolders) {
-                DefaultMutableTreeNode node = new DefaultMutableTreeNode(folder);
-                parentNode.add(node);
-                loadSubfolders(node, folder.getId());
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this, "Error loading subfolders: " + e.getMessage(),
-                "Error", JOptionPane.ERROR_MESSAGE);
+    void showFolders(List<TaskFolderNode> roots) {
+        treeModel.setRoot(buildTree(roots));
+    }
+    
+    /**
+     * Converts the folder tree into Swing tree nodes under a "Folders" root.
+     * 
+     * @param roots the root folder nodes
+     * @return the tree root
+     */
+    private DefaultMutableTreeNode buildTree(List<TaskFolderNode> roots) {
+        DefaultMutableTreeNode root = new DefaultMutableTreeNode("Folders");
+        for (TaskFolderNode folderNode : roots) {
+            root.add(buildTreeNode(folderNode));
+        }
+        return root;
+    }
+    
+    /**
+     * Recursively converts a folder node into a Swing tree node.
+     * 
+     * @param folderNode the folder node
+     * @return the tree node with all its subfolders
+     */
+    private DefaultMutableTreeNode buildTreeNode(TaskFolderNode folderNode) {
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode(folderNode.getFolder());
+        for (TaskFolderNode child : folderNode.getChildren()) {
+            node.add(buildTreeNode(child));
         }
+        return node;
     }
     
     /**
@@ -164,9 +172,13 @@ public class FoldersPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the tree is patched by the change event
+                    } catch (Exception e) {
+                        String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                        JOptionPane.showMessageDialog(FoldersPanel.this,
+                            "Error creating folder: " + message,
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -200,11 +212,7 @@ public class FoldersPanel extends JPanel {
                 @Override
                 protected void done() {
                     try {
-                        get(); // Check for exceptions
-                        refresh();
-                        if (refreshCallback != null) {
-                            refreshCallback.run();
-                        }
+                        get(); // Check for exceptions; the tree is patched by the change event
                     } catch (Exception e) {
                         String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
                         JOptionPane.showMessageDialog(FoldersPanel.this,
@@ -216,6 +224,58 @@ public class FoldersPanel extends JPanel {
         }
     }
     
+    /**
+     * Applies a folder change to the tree in place: a new folder is inserted
+     * under its parent in name order, a deleted one is removed.
+     * 
+     * @param event the change event
+     */
+    private void applyEvent(DomainEvent<TaskFolder> event) {
+        DefaultMutableTreeNode root = (DefaultMutableTreeNode) treeModel.getRoot();
+        if (event.getKind() == DomainEvent.Kind.DELETED) {
+            DefaultMutableTreeNode node = findNode(event.getId());
+            if (node != null) {
+                treeModel.removeNodeFromParent(node);
+            }
+            return;
+        }
+        
+        TaskFolder folder = event.getEntity();
+        DefaultMutableTreeNode parent = folder.getParentFolderId() != null
+            ? findNode(folder.getParentFolderId())
+            : null;
+        if (parent == null) {
+            parent = root;
+        }
+        int index = 0;
+        while (index < parent.getChildCount()
+                && ((DefaultMutableTreeNode) parent.getChildAt(index)).getUserObject().toString()
+                    .compareToIgnoreCase(folder.getName()) <= 0) {
+            index++;
+        }
+        DefaultMutableTreeNode node = new DefaultMutableTreeNode(folder);
+        treeModel.insertNodeInto(node, parent, index);
+        folderTree.scrollPathToVisible(new TreePath(node.getPath()));
+    }
+    
+    /**
+     * Finds the tree node of a folder.
+     * 
+     * @param folderId the folder ID
+     * @return the node, or null if the folder is not in the tree
+     */
+    private DefaultMutableTreeNode findNode(Long folderId) {
+        Enumeration<?> nodes = ((DefaultMutableTreeNode) treeModel.getRoot()).breadthFirstEnumeration();
+        while (nodes.hasMoreElements()) {
+            DefaultMutableTreeNode node = (DefaultMutableTreeNode) nodes.nextElement();
+            if (node.getUserObject() instanceof TaskFolder
+                    && folderId.equals(((TaskFolder) node.getUserObject()).getId())) {
+                return node;
+            }
+        }
+        return null;
+    }
+    
     /**
      * Gets the selected folder.
      * 
@@ -229,15 +289,6 @@ public class FoldersPanel extends JPanel {
         return null;
     }
     
-    /**
-     * Sets the callback to be invoked when folders are modified.
-     * 
-     * @param callback the refresh callback
-     */
-    public void setRefreshCallback(Runnable callback) {
-        this.refreshCallback = callback;
-    }
-    
     /**
      * Gets the folder tree component.
      * 
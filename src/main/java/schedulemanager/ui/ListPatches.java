@@ -0,0 +1,66 @@
+package schedulemanager.ui;
+
+import javax.swing.*;
+import java.util.Comparator;
+import java.util.function.Predicate;
+
+/**
+ * Small in-place edits of list models, used to apply domain events without
+ * reloading a list. Must be called on the Event Dispatch Thread.
+ */
+final class ListPatches {
+
+    private ListPatches() {
+    }
+
+    /**
+     * Removes every element that matches.
+     *
+     * @param model the list model
+     * @param match selects the elements to remove
+     * @param <E> the element type
+     */
+    static <E> void removeIf(DefaultListModel<E> model, Predicate<? super E> match) {
+        for (int i = model.getSize() - 1; i >= 0; i--) {
+            if (match.test(model.getElementAt(i))) {
+                model.remove(i);
+            }
+        }
+    }
+
+    /**
+     * Replaces the first element that matches, leaving the list unchanged if none does.
+     *
+     * @param model the list model
+     * @param match selects the element to replace
+     * @param replacement the new element
+     * @param <E> the element type
+     * @return true if an element was replaced
+     */
+    static <E> boolean replace(DefaultListModel<E> model, Predicate<? super E> match, E replacement) {
+        for (int i = 0; i < model.getSize(); i++) {
+            if (match.test(model.getElementAt(i))) {
+                model.set(i, replacement);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Inserts an element at its place in a list that is sorted by an order,
+     * after any equal elements.
+     *
+     * @param model the sorted list model
+     * @param element the element to insert
+     * @param order the order of the list
+     * @param <E> the element type
+     */
+    static <E> void insertSorted(DefaultListModel<E> model, E element, Comparator<? super E> order) {
+        int index = model.getSize();
+        while (index > 0 && order.compare(model.getElementAt(index - 1), element) > 0) {
+            index--;
+        }
+        model.add(index, element);
+    }
+}
@@ -1,9 +1,15 @@
 package schedulemanager.ui;
 
 import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.DaySnapshot;
+import schedulemanager.domain.TaskSummary;
 
 import javax.swing.*;
 import java.awt.*;
+import java.time.LocalDate;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 /**
  * Main application window for Schedule Manager.
@@ -15,11 +21,20 @@ import java.awt.*;
  *   <li>Bottom: Statistics panel with AI insights</li>
  * </ul>
  * 
+ * <p>The window shows at once with a loading message; the storage is opened
+ * and the first data read in the background by {@link StartupLoader}, and the
+ * panels are put in place when it is done. The time to the first paint and
+ * until the panels are filled is printed at startup.
+ * 
  * @author Schedule Manager
  * @version 1.0
  */
 public class MainWindow extends JFrame {
-    private final ScheduleController controller;
+    private final long startNanos;
+    private final RefreshScheduler refreshScheduler;
+    private ScheduleController controller;
+    private JLabel loadingLabel;
+    private long firstPaintNanos;
     private FoldersPanel foldersPanel;
     private TasksPanel tasksPanel;
     private TodayPanel todayPanel;
@@ -28,33 +43,62 @@ public class MainWindow extends JFrame {
     private StatsPanel statsPanel;
     
     /**
-     * Constructs the main window.
+     * Constructs the main window and starts loading its data in the background.
      */
     public MainWindow() {
-        this.controller = new ScheduleController();
-        initializeUI();
+        this.startNanos = System.nanoTime();
+        this.refreshScheduler = new RefreshScheduler();
+        initializeFrame();
+        StartupLoader.load(LocalDate.now()).whenComplete((data, error) ->
+            SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    showStartupError(error);
+                } else {
+                    initializeUI(data);
+                }
+            }));
     }
     
     /**
-     * Initializes the UI components and layout.
+     * Sets up the frame with a loading message, shown until the data is loaded.
      */
-    private void initializeUI() {
+    private void initializeFrame() {
         setTitle("Schedule Manager");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setSize(1400, 900);
         setLocationRelativeTo(null);
+        setLayout(new BorderLayout());
+        
+        loadingLabel = new JLabel("Loading schedule...", SwingConstants.CENTER);
+        add(loadingLabel, BorderLayout.CENTER);
+    }
+    
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (firstPaintNanos == 0) {
+            firstPaintNanos = System.nanoTime();
+        }
+    }
+    
+    /**
+     * Initializes the panels and fills them with the data loaded at startup.
+     * 
+     * @param data the startup data
+     */
+    private void initializeUI(StartupLoader.StartupData data) {
+        controller = data.getController();
+        remove(loadingLabel);
         
         // Create panels
-        foldersPanel = new FoldersPanel(controller);
-        tasksPanel = new TasksPanel(controller);
-        todayPanel = new TodayPanel(controller);
-        planCalendarPanel = new PlanCalendarPanel(controller);
-        actualCalendarPanel = new ActualCalendarPanel(controller);
-        statsPanel = new StatsPanel(controller);
+        foldersPanel = new FoldersPanel(controller, refreshScheduler);
+        tasksPanel = new TasksPanel(controller, refreshScheduler);
+        todayPanel = new TodayPanel(controller, refreshScheduler);
+        planCalendarPanel = new PlanCalendarPanel(controller, refreshScheduler);
+        actualCalendarPanel = new ActualCalendarPanel(controller, refreshScheduler);
+        statsPanel = new StatsPanel(controller, refreshScheduler);
         
         // Set up layout
-        setLayout(new BorderLayout());
-        
         // Left panel: Folders and Tasks
         JPanel leftPanel = new JPanel(new BorderLayout());
         leftPanel.setBorder(BorderFactory.createTitledBorder("Task Manager"));
@@ -89,33 +133,53 @@ public class MainWindow extends JFrame {
         // Connect panels
         tasksPanel.setFoldersPanel(foldersPanel);
         
-        // Set up refresh callbacks
-        foldersPanel.setRefreshCallback(() -> {
-            tasksPanel.refresh();
-            todayPanel.refresh();
-        });
-        tasksPanel.setRefreshCallback(() -> {
-            todayPanel.refresh();
-            planCalendarPanel.refresh();
-            actualCalendarPanel.refresh();
-        });
-        todayPanel.setRefreshCallback(() -> {
-            planCalendarPanel.refresh();
-            actualCalendarPanel.refresh();
-            statsPanel.refresh();
-        });
-        planCalendarPanel.setRefreshCallback(() -> statsPanel.refresh());
-        actualCalendarPanel.setRefreshCallback(() -> statsPanel.refresh());
+        // Panels keep themselves up to date from the controller's change events
         
         // Add folder selection listener
         foldersPanel.getFolderTree().addTreeSelectionListener(e -> tasksPanel.refresh());
         
-        // Initial refresh - load all data at startup
-        foldersPanel.refresh();
-        planCalendarPanel.refresh();
-        actualCalendarPanel.refresh();
-        todayPanel.refresh();
-        statsPanel.refresh();
+        // Show the data loaded at startup; the day panels share one snapshot
+        DaySnapshot day = data.getDay();
+        foldersPanel.showFolders(data.getFolders());
+        planCalendarPanel.showBlocks(day.getPlanBlocks());
+        actualCalendarPanel.showSessions(day.getSessions());
+        todayPanel.showTasks(day.getTodayTasks().stream()
+            .map(TaskSummary::of)
+            .collect(Collectors.toList()));
+        statsPanel.showDay(day);
+        
+        revalidate();
+        repaint();
+        reportStartupTimes();
+    }
+    
+    /**
+     * Replaces the loading message with the reason the data could not be loaded.
+     * 
+     * @param error the startup failure
+     */
+    private void showStartupError(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+        cause.printStackTrace();
+        loadingLabel.setText("Could not load the schedule: " + cause.getMessage());
+        JOptionPane.showMessageDialog(this,
+            "Error loading schedule: " + cause.getMessage(),
+            "Error", JOptionPane.ERROR_MESSAGE);
+    }
+    
+    /**
+     * Prints the time from construction to the first paint of the frame and
+     * until the panels were filled.
+     */
+    private void reportStartupTimes() {
+        long now = System.nanoTime();
+        String firstPaint = firstPaintNanos != 0
+            ? TimeUnit.NANOSECONDS.toMillis(firstPaintNanos - startNanos) + " ms"
+            : "not yet";
+        System.out.println("Startup: first paint " + firstPaint
+            + ", interactive after " + TimeUnit.NANOSECONDS.toMillis(now - startNanos) + " ms");
     }
     
     /**
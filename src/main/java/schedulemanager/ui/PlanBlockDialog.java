@@ -1,12 +1,15 @@
 package schedulemanager.ui;
 
 import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
+import java.util.Set;
 
 /**
  * Dialog for creating or editing a plan block.
@@ -15,6 +18,10 @@ import java.time.format.DateTimeParseException;
  * @version 1.0
  */
 public class PlanBlockDialog extends JDialog {
+    private static final String[] REPEAT_OPTIONS = {"Never", "Every day", "Weekdays", "Weekly"};
+    private static final RecurrencePattern[] REPEAT_PATTERNS =
+        {null, RecurrencePattern.DAILY, RecurrencePattern.WEEKDAYS, RecurrencePattern.WEEKLY};
+    
     private PlanBlock planBlock;
     private boolean confirmed = false;
     
@@ -22,6 +29,7 @@ public class PlanBlockDialog extends JDialog {
     private JTextField endTimeField;
     private JTextField titleField;
     private JTextField categoryField;
+    private JComboBox<String> repeatCombo;
     
     /**
      * Constructs a PlanBlockDialog.
@@ -75,6 +83,15 @@ public class PlanBlockDialog extends JDialog {
         categoryField = new JTextField(20);
         formPanel.add(categoryField, gbc);
         
+        // Repeat (new blocks only; an existing block stays a single block)
+        if (planBlock == null) {
+            gbc.gridx = 0; gbc.gridy = 4;
+            formPanel.add(new JLabel("Repeat:"), gbc);
+            gbc.gridx = 1;
+            repeatCombo = new JComboBox<>(REPEAT_OPTIONS);
+            formPanel.add(repeatCombo, gbc);
+        }
+        
         add(formPanel, BorderLayout.CENTER);
         
         // Buttons
@@ -176,6 +193,27 @@ public class PlanBlockDialog extends JDialog {
         return planBlock;
     }
     
+    /**
+     * Gets the recurrence rule to create instead of a single block, if a
+     * repeat option was chosen. The rule starts on the block's date and,
+     * when weekly, repeats on that date's day of the week.
+     * 
+     * @return the rule, or null if the block does not repeat
+     */
+    public RecurrenceRule getRecurrenceRule() {
+        RecurrencePattern pattern = repeatCombo != null ? REPEAT_PATTERNS[repeatCombo.getSelectedIndex()] : null;
+        if (pattern == null) {
+            return null;
+        }
+        RecurrenceRule rule = new RecurrenceRule(pattern, planBlock.getDate(), planBlock.getStartTime(),
+            planBlock.getEndTime(), planBlock.getTitle());
+        rule.setCategory(planBlock.getCategory());
+        if (pattern == RecurrencePattern.WEEKLY) {
+            rule.setDaysOfWeek(Set.of(planBlock.getDate().getDayOfWeek()));
+        }
+        return rule;
+    }
+    
     /**
      * Checks if the dialog was confirmed (OK clicked).
      * 
@@ -1,12 +1,20 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
 import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.service.AutoScheduler;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Comparator;
+import java.util.Objects;
 
 /**
  * Panel for displaying and managing plan blocks (planned time blocks).
@@ -15,20 +23,30 @@ import java.util.List;
  * @version 1.0
  */
 public class PlanCalendarPanel extends JPanel {
+    /** Working hours the Today list is auto-planned into. */
+    private static final LocalTime WORK_START = LocalTime.of(9, 0);
+    private static final LocalTime WORK_END = LocalTime.of(17, 0);
+    
     private final ScheduleController controller;
+    private final RefreshScheduler refreshScheduler;
     private JList<PlanBlock> planList;
     private DefaultListModel<PlanBlock> listModel;
-    private Runnable refreshCallback;
     
     /**
      * Constructs a PlanCalendarPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public PlanCalendarPanel(ScheduleController controller) {
+    public PlanCalendarPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
         this.listModel = new DefaultListModel<>();
         initializeUI();
+        controller.getEvents().subscribe(PlanBlock.class,
+            event -> SwingUtilities.invokeLater(() -> applyEvent(event)));
+        controller.getEvents().subscribe(RecurrenceRule.class,
+            event -> SwingUtilities.invokeLater(this::refresh));
     }
     
     /**
@@ -48,12 +66,15 @@ public class PlanCalendarPanel extends JPanel {
         JPanel buttonPanel = new JPanel(new FlowLayout());
         JButton addButton = new JButton("Add Block");
         JButton deleteButton = new JButton("Delete");
+        JButton autoPlanButton = new JButton("Auto-plan Today");
         
         addButton.addActionListener(e -> addPlanBlock());
         deleteButton.addActionListener(e -> deletePlanBlock());
+        autoPlanButton.addActionListener(e -> autoPlanToday());
         
         buttonPanel.add(addButton);
         buttonPanel.add(deleteButton);
+        buttonPanel.add(autoPlanButton);
         add(buttonPanel, BorderLayout.SOUTH);
     }
     
@@ -61,54 +82,49 @@ public class PlanCalendarPanel extends JPanel {
      * Refreshes the plan blocks list from the database.
      */
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            new SwingWorker<List<PlanBlock>, Void>() {
-                @Override
-                protected List<PlanBlock> doInBackground() throws Exception {
-                    return controller.getPlanBlocks(LocalDate.now());
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        listModel.clear();
-                        List<PlanBlock> blocks = get();
-                        for (PlanBlock block : blocks) {
-                            listModel.addElement(block);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(PlanCalendarPanel.this,
-                            "Error loading plan blocks: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            }.execute();
-        });
+        refreshScheduler.request(this, () -> controller.getPlanBlocks(LocalDate.now()), this::showBlocks,
+            e -> JOptionPane.showMessageDialog(this,
+                "Error loading plan blocks: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
     }
     
     /**
-     * Shows dialog to add a new plan block.
+     * Shows already loaded blocks, replacing the list.
+     * 
+     * @param blocks today's plan blocks, ordered by start time
+     */
+    void showBlocks(List<PlanBlock> blocks) {
+        listModel.clear();
+        for (PlanBlock block : blocks) {
+            listModel.addElement(block);
+        }
+    }
+    
+    /**
+     * Shows dialog to add a new plan block, or a recurrence rule if the
+     * user chose to repeat it.
      */
     private void addPlanBlock() {
         PlanBlockDialog dialog = new PlanBlockDialog(this, null);
         dialog.setVisible(true);
         if (dialog.isConfirmed()) {
             PlanBlock block = dialog.getPlanBlock();
+            RecurrenceRule rule = dialog.getRecurrenceRule();
             new SwingWorker<Void, Void>() {
                 @Override
                 protected Void doInBackground() throws Exception {
-                    controller.createPlanBlock(block);
+                    if (rule != null) {
+                        controller.createRecurrence(rule);
+                    } else {
+                        controller.createPlanBlock(block);
+                    }
                     return null;
                 }
                 
                 @Override
                 protected void done() {
                     try {
-                        get(); // Check for exceptions
-                        refresh();
-                        if (refreshCallback != null) {
-                            refreshCallback.run();
-                        }
+                        get(); // Check for exceptions; the list is patched by the change event
                     } catch (Exception e) {
                         JOptionPane.showMessageDialog(PlanCalendarPanel.this,
                             "Error creating plan block: " + e.getCause().getMessage(),
@@ -119,6 +135,86 @@ public class PlanCalendarPanel extends JPanel {
         }
     }
     
+    /**
+     * Proposes blocks for the Today tasks in the rest of today's working
+     * hours and saves them, all at once, if the user accepts the proposal.
+     */
+    private void autoPlanToday() {
+        LocalTime now = LocalTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalTime from = now.isAfter(WORK_START) ? now : WORK_START;
+        if (!from.isBefore(WORK_END)) {
+            JOptionPane.showMessageDialog(this, "Today's working hours are over.",
+                "Auto-plan", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        
+        new SwingWorker<AutoScheduler.Proposal, Void>() {
+            @Override
+            protected AutoScheduler.Proposal doInBackground() throws Exception {
+                return controller.proposeSchedule(LocalDate.now(), from, WORK_END);
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    confirmProposal(get());
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PlanCalendarPanel.this,
+                        "Error planning today: " + e.getCause().getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Shows a proposal and saves its blocks if the user accepts it.
+     * 
+     * @param proposal the proposed blocks
+     */
+    private void confirmProposal(AutoScheduler.Proposal proposal) {
+        if (proposal.getBlocks().isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No Today task left to plan in the free time.",
+                "Auto-plan", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        StringBuilder message = new StringBuilder("Add these plan blocks?\n\n");
+        for (PlanBlock block : proposal.getBlocks()) {
+            message.append(block.getStartTime()).append(" - ").append(block.getEndTime())
+                .append(": ").append(block.getTitle()).append('\n');
+        }
+        if (!proposal.getUnscheduled().isEmpty()) {
+            message.append("\nNo room left for:\n");
+            for (Task task : proposal.getUnscheduled()) {
+                message.append(task.getTitle()).append('\n');
+            }
+        }
+        int confirm = JOptionPane.showConfirmDialog(this, message.toString(),
+            "Auto-plan Today", JOptionPane.YES_NO_OPTION);
+        if (confirm != JOptionPane.YES_OPTION) {
+            return;
+        }
+        
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                controller.applySchedule(proposal);
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    get(); // Check for exceptions; the list is patched by the change events
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PlanCalendarPanel.this,
+                        "Error saving plan blocks: " + e.getCause().getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
     /**
      * Deletes the selected plan block.
      */
@@ -129,6 +225,10 @@ public class PlanCalendarPanel extends JPanel {
                 "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
+        if (selected.isOccurrence()) {
+            deleteOccurrence(selected);
+            return;
+        }
         
         int confirm = JOptionPane.showConfirmDialog(this,
             "Delete plan block '" + selected.getTitle() + "'?",
@@ -144,9 +244,12 @@ public class PlanCalendarPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the list is patched by the change event
+                    } catch (Exception e) {
+                        JOptionPane.showMessageDialog(PlanCalendarPanel.this,
+                            "Error deleting plan block: " + e.getCause().getMessage(),
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -154,12 +257,58 @@ public class PlanCalendarPanel extends JPanel {
     }
     
     /**
-     * Sets the callback to be invoked when plan blocks are modified.
+     * Deletes a repeating block: either this occurrence only or the whole rule.
+     * 
+     * @param occurrence the selected occurrence
+     */
+    private void deleteOccurrence(PlanBlock occurrence) {
+        String[] options = {"Only this day", "Every day", "Cancel"};
+        int choice = JOptionPane.showOptionDialog(this,
+            "'" + occurrence.getTitle() + "' repeats. Delete it:",
+            "Confirm Delete", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE,
+            null, options, options[0]);
+        if (choice != 0 && choice != 1) {
+            return;
+        }
+        
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                if (choice == 0) {
+                    controller.skipOccurrence(occurrence.getRecurrenceId(), occurrence.getDate());
+                } else {
+                    controller.deleteRecurrence(occurrence.getRecurrenceId());
+                }
+                return null;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    get(); // Check for exceptions; the list is reloaded on the rule's change event
+                } catch (Exception e) {
+                    JOptionPane.showMessageDialog(PlanCalendarPanel.this,
+                        "Error deleting plan block: " + e.getCause().getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Applies a plan block change to the list in place, without querying.
      * 
-     * @param callback the refresh callback
+     * <p>The list shows today's plan blocks ordered by start time; a change is
+     * applied by dropping the old row and inserting the new one where it belongs.
+     * 
+     * @param event the change event
      */
-    public void setRefreshCallback(Runnable callback) {
-        this.refreshCallback = callback;
+    private void applyEvent(DomainEvent<PlanBlock> event) {
+        ListPatches.removeIf(listModel, block -> Objects.equals(block.getId(), event.getId()));
+        PlanBlock changed = event.getEntity();
+        if (event.getKind() != DomainEvent.Kind.DELETED && changed.getDate().equals(LocalDate.now())) {
+            ListPatches.insertSorted(listModel, changed, Comparator.comparing(PlanBlock::getStartTime));
+        }
     }
     
     /**
@@ -172,8 +321,9 @@ public class PlanCalendarPanel extends JPanel {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
             if (value instanceof PlanBlock) {
                 PlanBlock block = (PlanBlock) value;
-                setText(String.format("%s - %s: %s",
-                    block.getStartTime(), block.getEndTime(), block.getTitle()));
+                setText(String.format("%s - %s: %s%s",
+                    block.getStartTime(), block.getEndTime(), block.getTitle(),
+                    block.isOccurrence() ? " (repeats)" : ""));
             }
             return this;
         }
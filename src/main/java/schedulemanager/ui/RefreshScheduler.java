@@ -0,0 +1,141 @@
+package schedulemanager.ui;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the background reloads of the panels, at most one per panel at a time.
+ *
+ * <p>Requests are keyed by the view they refresh. A request waits for a short
+ * delay and is replaced by any later request for the same key, so a burst of
+ * changes produces a single reload. Starting a reload supersedes the one in
+ * flight for that key: a queued load is cancelled, and the result of a
+ * running one is dropped instead of being applied after the newer one.
+ * Running loads are not interrupted, since that would break their database
+ * connection.
+ *
+ * <p>Loads run on a fixed number of daemon threads; results and errors are
+ * handed back on the Event Dispatch Thread. Requests may be made from any thread.
+ */
+public final class RefreshScheduler {
+    /** Default time a request waits for later ones to coalesce with. */
+    public static final int DEFAULT_DELAY_MILLIS = 50;
+
+    /** Default number of loads run at the same time. */
+    public static final int DEFAULT_THREADS = 2;
+
+    private final ExecutorService executor;
+    private final int delayMillis;
+    private final Map<Object, Slot> slots = new HashMap<>();
+
+    /**
+     * Constructs a RefreshScheduler with the default delay and thread count.
+     */
+    public RefreshScheduler() {
+        this(DEFAULT_THREADS, DEFAULT_DELAY_MILLIS);
+    }
+
+    /**
+     * Constructs a RefreshScheduler.
+     *
+     * @param threads the number of loads run at the same time
+     * @param delayMillis the time a request waits for later ones to coalesce with
+     */
+    public RefreshScheduler(int threads, int delayMillis) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        if (delayMillis < 0) {
+            throw new IllegalArgumentException("Delay must not be negative");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "refresh-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delayMillis = delayMillis;
+    }
+
+    /**
+     * Requests a reload of a view, replacing any request for it still waiting.
+     *
+     * @param key identifies the view, usually the panel itself
+     * @param load reads the data, on a background thread
+     * @param apply shows the data, on the Event Dispatch Thread
+     * @param onError receives a load failure, on the Event Dispatch Thread
+     * @param <T> the type of the loaded data
+     */
+    public <T> void request(Object key, Callable<T> load, Consumer<T> apply, Consumer<Exception> onError) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> request(key, load, apply, onError));
+            return;
+        }
+        Slot slot = slots.computeIfAbsent(key, k -> new Slot());
+        slot.pending = () -> start(slot, load, apply, onError);
+        slot.timer.restart();
+    }
+
+    /**
+     * Stops the background threads. Waiting and running reloads are dropped.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> void start(Slot slot, Callable<T> load, Consumer<T> apply, Consumer<Exception> onError) {
+        int generation = ++slot.generation;
+        if (slot.inFlight != null) {
+            slot.inFlight.cancel(false);
+        }
+        slot.inFlight = executor.submit(() -> {
+            try {
+                T result = load.call();
+                deliver(slot, generation, () -> apply.accept(result));
+            } catch (Exception e) {
+                deliver(slot, generation, () -> onError.accept(e));
+            }
+        });
+    }
+
+    /**
+     * Hands a result to the Event Dispatch Thread, unless a newer reload of
+     * the same view has started since.
+     */
+    private void deliver(Slot slot, int generation, Runnable handler) {
+        SwingUtilities.invokeLater(() -> {
+            if (generation == slot.generation) {
+                slot.inFlight = null;
+                handler.run();
+            }
+        });
+    }
+
+    /**
+     * Reload state of one view. Only used on the Event Dispatch Thread.
+     */
+    private final class Slot {
+        private final Timer timer;
+        private Runnable pending;
+        private Future<?> inFlight;
+        private int generation;
+
+        private Slot() {
+            timer = new Timer(delayMillis, e -> {
+                Runnable request = pending;
+                pending = null;
+                if (request != null) {
+                    request.run();
+                }
+            });
+            timer.setRepeats(false);
+        }
+    }
+}
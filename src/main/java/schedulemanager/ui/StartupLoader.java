@@ -0,0 +1,126 @@
+package schedulemanager.ui;
+
+import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.ActualSession;
+import schedulemanager.domain.DaySnapshot;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolderNode;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loads what the main window shows at startup, off the Event Dispatch Thread.
+ *
+ * <p>The controller is built first, which opens the storage and verifies the
+ * schema. The folder tree and the three parts of the day (plan blocks,
+ * sessions and Today tasks) are then read concurrently, and the day parts
+ * are combined into one snapshot that fills the Today, calendar and
+ * statistics panels, instead of each panel querying the day on its own.
+ */
+final class StartupLoader {
+    /** One thread per read that runs concurrently. */
+    private static final int THREADS = 4;
+
+    private StartupLoader() {
+    }
+
+    /**
+     * Starts loading on background threads.
+     *
+     * @param date the day to show
+     * @return completes with the loaded data, or with the first failure
+     */
+    static CompletableFuture<StartupData> load(LocalDate date) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<ScheduleController> controller =
+                CompletableFuture.supplyAsync(ScheduleController::new, executor);
+        CompletableFuture<List<TaskFolderNode>> folders =
+                controller.thenApplyAsync(query(ScheduleController::getFolderTree), executor);
+        CompletableFuture<List<PlanBlock>> planBlocks =
+                controller.thenApplyAsync(query(c -> c.getPlanBlocks(date)), executor);
+        CompletableFuture<List<ActualSession>> sessions =
+                controller.thenApplyAsync(query(c -> c.getSessions(date)), executor);
+        CompletableFuture<List<Task>> todayTasks =
+                controller.thenApplyAsync(query(c -> c.getTodayTasks(date)), executor);
+
+        return CompletableFuture.allOf(folders, planBlocks, sessions, todayTasks)
+                .thenApply(done -> new StartupData(controller.join(), folders.join(),
+                        new DaySnapshot(date, planBlocks.join(), sessions.join(), todayTasks.join())))
+                .whenComplete((data, error) -> executor.shutdown());
+    }
+
+    /**
+     * Adapts a controller read to a completion stage, wrapping its SQLException.
+     */
+    private static <T> Function<ScheduleController, T> query(Query<T> query) {
+        return controller -> {
+            try {
+                return query.run(controller);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Query<T> {
+        T run(ScheduleController controller) throws SQLException;
+    }
+
+    /**
+     * Everything loaded at startup.
+     */
+    static final class StartupData {
+        private final ScheduleController controller;
+        private final List<TaskFolderNode> folders;
+        private final DaySnapshot day;
+
+        private StartupData(ScheduleController controller, List<TaskFolderNode> folders, DaySnapshot day) {
+            this.controller = controller;
+            this.folders = folders;
+            this.day = day;
+        }
+
+        /**
+         * Gets the controller, with its storage open.
+         *
+         * @return the controller
+         */
+        ScheduleController getController() {
+            return controller;
+        }
+
+        /**
+         * Gets the folder tree.
+         *
+         * @return the root folder nodes
+         */
+        List<TaskFolderNode> getFolders() {
+            return folders;
+        }
+
+        /**
+         * Gets the snapshot of the day shown.
+         *
+         * @return the day snapshot
+         */
+        DaySnapshot getDay() {
+            return day;
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.ActualSession;
 import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.DaySnapshot;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TodayTask;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 
 /**
  * Panel for displaying statistics and AI insights.
@@ -15,20 +27,35 @@ import java.time.LocalDate;
  */
 public class StatsPanel extends JPanel {
     private final ScheduleController controller;
+    private final RefreshScheduler refreshScheduler;
     private JLabel quantAccuracyLabel;
     private JLabel tempAccuracyLabel;
     private JLabel plannedMinutesLabel;
     private JLabel actualMinutesLabel;
     private JTextArea insightsArea;
+    private DaySnapshot snapshot;
+    private boolean todayTasksStale;
     
     /**
      * Constructs a StatsPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public StatsPanel(ScheduleController controller) {
+    public StatsPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
         initializeUI();
+        controller.getEvents().subscribe(PlanBlock.class,
+            event -> SwingUtilities.invokeLater(() -> applyPlanEvent(event)));
+        controller.getEvents().subscribe(RecurrenceRule.class,
+            event -> SwingUtilities.invokeLater(this::refresh));
+        controller.getEvents().subscribe(ActualSession.class,
+            event -> SwingUtilities.invokeLater(() -> applySessionEvent(event)));
+        controller.getEvents().subscribe(TodayTask.class,
+            event -> SwingUtilities.invokeLater(() -> todayTasksStale = true));
+        controller.getEvents().subscribe(Task.class,
+            event -> SwingUtilities.invokeLater(() -> todayTasksStale = true));
     }
     
     /**
@@ -75,31 +102,90 @@ public class StatsPanel extends JPanel {
     
     /**
      * Refreshes the statistics display.
+     * 
+     * <p>Loads a snapshot of the current day and keeps it, so generating
+     * insights afterwards does not query the same data again.
      */
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            new SwingWorker<DailyStatistics, Void>() {
-                @Override
-                protected DailyStatistics doInBackground() throws Exception {
-                    return controller.getDailyStats(LocalDate.now());
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        DailyStatistics stats = get();
-                        updateStatsDisplay(stats);
-                    } catch (Exception e) {
-                        quantAccuracyLabel.setText("Quantitative Accuracy: Error");
-                        tempAccuracyLabel.setText("Temporal Accuracy: Error");
-                        plannedMinutesLabel.setText("Planned Minutes: Error");
-                        actualMinutesLabel.setText("Actual Minutes: Error");
-                    }
-                }
-            }.execute();
+        refreshScheduler.request(this, () -> controller.loadDaySnapshot(LocalDate.now()), this::showDay, e -> {
+            quantAccuracyLabel.setText("Quantitative Accuracy: Error");
+            tempAccuracyLabel.setText("Temporal Accuracy: Error");
+            plannedMinutesLabel.setText("Planned Minutes: Error");
+            actualMinutesLabel.setText("Actual Minutes: Error");
         });
     }
     
+    /**
+     * Shows the statistics of an already loaded day and keeps its snapshot.
+     * 
+     * @param loaded the day snapshot
+     */
+    void showDay(DaySnapshot loaded) {
+        snapshot = loaded;
+        todayTasksStale = false;
+        updateStatsDisplay(controller.getDailyStats(loaded));
+    }
+    
+    /**
+     * Applies a plan block change to the snapshot and recomputes the statistics.
+     * 
+     * @param event the change event
+     */
+    private void applyPlanEvent(DomainEvent<PlanBlock> event) {
+        if (!snapshotIsCurrent()) {
+            refresh();
+            return;
+        }
+        List<PlanBlock> blocks = patch(snapshot.getPlanBlocks(), event, PlanBlock::getId,
+            PlanBlock::getDate, Comparator.comparing(PlanBlock::getStartTime));
+        showSnapshot(new DaySnapshot(snapshot.getDate(), blocks,
+            snapshot.getSessions(), snapshot.getTodayTasks()));
+    }
+    
+    /**
+     * Applies an actual session change to the snapshot and recomputes the statistics.
+     * 
+     * @param event the change event
+     */
+    private void applySessionEvent(DomainEvent<ActualSession> event) {
+        if (!snapshotIsCurrent()) {
+            refresh();
+            return;
+        }
+        List<ActualSession> sessions = patch(snapshot.getSessions(), event, ActualSession::getId,
+            ActualSession::getDate, Comparator.comparing(ActualSession::getStartTime));
+        showSnapshot(new DaySnapshot(snapshot.getDate(), snapshot.getPlanBlocks(),
+            sessions, snapshot.getTodayTasks()));
+    }
+    
+    /**
+     * Tells whether the kept snapshot can be patched: it exists and is for today.
+     */
+    private boolean snapshotIsCurrent() {
+        return snapshot != null && snapshot.getDate().equals(LocalDate.now());
+    }
+    
+    /**
+     * Applies a change to one list of the snapshot: the old version is dropped
+     * and the new one, if it is still on the snapshot day, inserted in order.
+     */
+    private <E> List<E> patch(List<E> items, DomainEvent<E> event, Function<E, Long> id,
+                              Function<E, LocalDate> date, Comparator<E> order) {
+        List<E> patched = new ArrayList<>(items);
+        patched.removeIf(item -> Objects.equals(id.apply(item), event.getId()));
+        E changed = event.getEntity();
+        if (event.getKind() != DomainEvent.Kind.DELETED && snapshot.getDate().equals(date.apply(changed))) {
+            patched.add(changed);
+            patched.sort(order);
+        }
+        return patched;
+    }
+    
+    private void showSnapshot(DaySnapshot patched) {
+        snapshot = patched;
+        updateStatsDisplay(controller.getDailyStats(patched));
+    }
+    
     /**
      * Updates the statistics display labels.
      * 
@@ -116,13 +202,21 @@ public class StatsPanel extends JPanel {
     
     /**
      * Generates AI insights for the current day.
+     * 
+     * <p>Reuses the snapshot loaded by the last refresh when it is still for
+     * today and its Today tasks have not changed since.
      */
     private void generateInsights() {
+        DaySnapshot current = todayTasksStale ? null : snapshot;
         SwingUtilities.invokeLater(() -> {
             new SwingWorker<String, Void>() {
                 @Override
                 protected String doInBackground() throws Exception {
-                    return controller.generateInsights(LocalDate.now());
+                    LocalDate today = LocalDate.now();
+                    if (current != null && current.getDate().equals(today)) {
+                        return controller.generateInsights(current);
+                    }
+                    return controller.generateInsights(today);
                 }
                 
                 @Override
@@ -0,0 +1,289 @@
+package schedulemanager.ui;
+
+import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.TaskSummary;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * List model for the tasks of one folder that loads them page by page as
+ * they are displayed.
+ *
+ * <p>Loading a folder reads only its task count and first page, so even huge
+ * folders paint at once. A row whose page is not loaded yet reads as null
+ * while a background worker fetches the page; pages far from the one last
+ * loaded are dropped again, so memory stays bounded while scrolling.
+ *
+ * <p>Pages are read with keyset pagination, which needs the last row of the
+ * previous page. Those boundary rows are kept when their page is dropped, and
+ * a jump past the known boundaries walks forward from the nearest one.
+ *
+ * <p>Must only be used on the Event Dispatch Thread.
+ *
+ */
+public class TaskListModel extends AbstractListModel<TaskSummary> {
+    /** Number of rows read per query. */
+    public static final int PAGE_SIZE = 100;
+
+    /** Pages kept on each side of the last loaded page. */
+    private static final int PAGES_KEPT_AROUND = 3;
+
+    private final ScheduleController controller;
+    private final RefreshScheduler refreshScheduler;
+    private final Consumer<Exception> errorHandler;
+    private final Map<Integer, List<TaskSummary>> pages = new HashMap<>();
+    private final List<TaskSummary> boundaries = new ArrayList<>();
+    private Long folderId;
+    private int size;
+    private int generation;
+    private boolean loading;
+    private Integer pendingPage;
+
+    /**
+     * Constructs an empty TaskListModel.
+     *
+     * @param controller the schedule controller
+     * @param refreshScheduler runs the folder loads
+     * @param errorHandler receives errors from background loads, on the Event Dispatch Thread
+     */
+    public TaskListModel(ScheduleController controller, RefreshScheduler refreshScheduler,
+                         Consumer<Exception> errorHandler) {
+        this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Shows the tasks of a folder, replacing the current content.
+     *
+     * <p>Also used to reload the current folder after tasks change. The rows
+     * are cleared at once; loads requested in quick succession are coalesced
+     * into one.
+     *
+     * @param folderId the folder ID, or null to show nothing
+     */
+    public void load(Long folderId) {
+        generation++;
+        int oldSize = size;
+        this.folderId = folderId;
+        size = 0;
+        pages.clear();
+        boundaries.clear();
+        loading = false;
+        pendingPage = null;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (folderId == null) {
+            return;
+        }
+
+        int loadGeneration = generation;
+        loading = true;
+        refreshScheduler.request(this, () -> {
+            int count = controller.countTasksInFolder(folderId);
+            return new FirstPage(count, controller.getTaskSummaryPage(folderId, null, PAGE_SIZE));
+        }, firstPage -> {
+            if (loadGeneration != generation) {
+                return;
+            }
+            loading = false;
+            size = Math.max(firstPage.count, firstPage.rows.size());
+            storePage(0, firstPage.rows);
+            if (size > 0) {
+                fireIntervalAdded(this, 0, size - 1);
+            }
+            loadPendingPage();
+        }, e -> {
+            if (loadGeneration == generation) {
+                loading = false;
+                errorHandler.accept(e);
+            }
+        });
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets a row, scheduling its page to be loaded if it is not in memory.
+     *
+     * @param index the row index
+     * @return the task summary, or null while its page is loading
+     */
+    @Override
+    public TaskSummary getElementAt(int index) {
+        int page = index / PAGE_SIZE;
+        List<TaskSummary> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = index % PAGE_SIZE;
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+
+    /**
+     * Gets the folder shown.
+     *
+     * @return the folder ID, or null if nothing is shown
+     */
+    public Long getFolderId() {
+        return folderId;
+    }
+
+    /**
+     * Tells whether a task is in one of the pages in memory.
+     *
+     * @param taskId the task ID
+     * @return true if the task is loaded
+     */
+    public boolean contains(Long taskId) {
+        return indexOf(taskId) >= 0;
+    }
+
+    /**
+     * Replaces a loaded row with a newer version of the same task. Its
+     * position is kept, since edits do not change the creation time the list
+     * is ordered by.
+     *
+     * @param summary the new version of the task
+     * @return true if the task was loaded and replaced
+     */
+    public boolean replace(TaskSummary summary) {
+        int index = indexOf(summary.getId());
+        if (index < 0) {
+            return false;
+        }
+        int page = index / PAGE_SIZE;
+        List<TaskSummary> rows = new ArrayList<>(pages.get(page));
+        rows.set(index % PAGE_SIZE, summary);
+        pages.put(page, rows);
+        fireContentsChanged(this, index, index);
+        return true;
+    }
+
+    private int indexOf(Long taskId) {
+        for (Map.Entry<Integer, List<TaskSummary>> entry : pages.entrySet()) {
+            List<TaskSummary> rows = entry.getValue();
+            for (int i = 0; i < rows.size(); i++) {
+                if (rows.get(i).getId().equals(taskId)) {
+                    return entry.getKey() * PAGE_SIZE + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads a page in the background, or queues it if another load is running.
+     * Only the most recently requested page is queued: pages skipped while
+     * scrolling fast are not loaded.
+     */
+    private void requestPage(int page) {
+        if (loading) {
+            pendingPage = page;
+            return;
+        }
+        int known = boundaries.size();
+        if (known > 0 && boundaries.get(known - 1) == null && page >= known) {
+            return; // past the last page of the folder
+        }
+
+        int loadGeneration = generation;
+        Long loadFolderId = folderId;
+        int start = Math.min(page, known);
+        TaskSummary startAfter = start > 0 ? boundaries.get(start - 1) : null;
+        loading = true;
+        new SwingWorker<List<TaskSummary>, Void>() {
+            private final List<TaskSummary> skippedBoundaries = new ArrayList<>();
+
+            @Override
+            protected List<TaskSummary> doInBackground() throws Exception {
+                // Walks from the nearest known boundary; skipped pages keep only their last row
+                TaskSummary after = startAfter;
+                for (int current = start; current < page; current++) {
+                    List<TaskSummary> rows = controller.getTaskSummaryPage(loadFolderId, after, PAGE_SIZE);
+                    if (rows.size() < PAGE_SIZE) {
+                        skippedBoundaries.add(null);
+                        return null; // the folder ends before the page
+                    }
+                    after = rows.get(rows.size() - 1);
+                    skippedBoundaries.add(after);
+                }
+                return controller.getTaskSummaryPage(loadFolderId, after, PAGE_SIZE);
+            }
+
+            @Override
+            protected void done() {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                loading = false;
+                try {
+                    List<TaskSummary> rows = get();
+                    for (int i = 0; i < skippedBoundaries.size(); i++) {
+                        storeBoundary(start + i, skippedBoundaries.get(i));
+                    }
+                    if (rows != null) {
+                        storePage(page, rows);
+                        evictPagesAround(page);
+                        int first = page * PAGE_SIZE;
+                        if (first < size) {
+                            fireContentsChanged(TaskListModel.this, first, Math.min(size, first + PAGE_SIZE) - 1);
+                        }
+                    }
+                    loadPendingPage();
+                } catch (Exception e) {
+                    errorHandler.accept(e);
+                }
+            }
+        }.execute();
+    }
+
+    private void loadPendingPage() {
+        Integer page = pendingPage;
+        pendingPage = null;
+        if (page != null && !pages.containsKey(page)) {
+            requestPage(page);
+        }
+    }
+
+    private void storePage(int page, List<TaskSummary> rows) {
+        pages.put(page, rows);
+        storeBoundary(page, rows.size() == PAGE_SIZE ? rows.get(rows.size() - 1) : null);
+    }
+
+    /**
+     * Records the last row of a page; null marks the last page of the folder.
+     */
+    private void storeBoundary(int page, TaskSummary lastRow) {
+        if (page == boundaries.size()) {
+            boundaries.add(lastRow);
+        }
+    }
+
+    private void evictPagesAround(int page) {
+        pages.keySet().removeIf(loaded -> Math.abs(loaded - page) > PAGES_KEPT_AROUND);
+    }
+
+    /**
+     * The task count of a folder with its first page.
+     */
+    private static final class FirstPage {
+        private final int count;
+        private final List<TaskSummary> rows;
+
+        private FirstPage(int count, List<TaskSummary> rows) {
+            this.count = count;
+            this.rows = rows;
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
 import schedulemanager.domain.Priority;
 import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TaskSummary;
 
 import javax.swing.*;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Panel for displaying and managing tasks in the selected folder.
@@ -17,20 +20,26 @@ import java.util.List;
  */
 public class TasksPanel extends JPanel {
     private final ScheduleController controller;
-    private JList<Task> taskList;
-    private DefaultListModel<Task> listModel;
+    private final RefreshScheduler refreshScheduler;
+    private JList<TaskSummary> taskList;
+    private final TaskListModel listModel;
     private FoldersPanel foldersPanel;
-    private Runnable refreshCallback;
     
     /**
      * Constructs a TasksPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public TasksPanel(ScheduleController controller) {
+    public TasksPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
-        this.listModel = new DefaultListModel<>();
+        this.refreshScheduler = refreshScheduler;
+        this.listModel = new TaskListModel(controller, refreshScheduler, e -> JOptionPane.showMessageDialog(this,
+            "Error loading tasks: " + (e.getCause() != null ? e.getCause().getMessage() : e.getMessage()),
+            "Error", JOptionPane.ERROR_MESSAGE));
         initializeUI();
+        controller.getEvents().subscribe(Task.class,
+            event -> SwingUtilities.invokeLater(() -> applyEvent(event)));
     }
     
     /**
@@ -42,6 +51,9 @@ public class TasksPanel extends JPanel {
         taskList = new JList<>(listModel);
         taskList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         taskList.setCellRenderer(new TaskListCellRenderer());
+        // A fixed row size keeps JList from reading every row to measure the list
+        taskList.setPrototypeCellValue(new TaskSummary(0L, 0L, "Prototype task title for sizing",
+            TaskStatus.DOING, Priority.MEDIUM, null, null));
         
         JScrollPane scrollPane = new JScrollPane(taskList);
         add(scrollPane, BorderLayout.CENTER);
@@ -76,6 +88,8 @@ public class TasksPanel extends JPanel {
     
     /**
      * Refreshes the task list based on the selected folder.
+     * 
+     * <p>Only the first page is read here; the rest is loaded while scrolling.
      */
     public void refresh() {
         if (foldersPanel == null) {
@@ -83,31 +97,8 @@ public class TasksPanel extends JPanel {
         }
         
         SwingUtilities.invokeLater(() -> {
-            new SwingWorker<List<Task>, Void>() {
-                @Override
-                protected List<Task> doInBackground() throws Exception {
-                    var selectedFolder = foldersPanel.getSelectedFolder();
-                    if (selectedFolder != null) {
-                        return controller.getTasksByFolder(selectedFolder.getId());
-                    }
-                    return List.of();
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        listModel.clear();
-                        List<Task> tasks = get();
-                        for (Task task : tasks) {
-                            listModel.addElement(task);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(TasksPanel.this,
-                            "Error loading tasks: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            }.execute();
+            var selectedFolder = foldersPanel.getSelectedFolder();
+            listModel.load(selectedFolder != null ? selectedFolder.getId() : null);
         });
     }
     
@@ -135,9 +126,13 @@ public class TasksPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the list is patched by the change event
+                    } catch (Exception e) {
+                        String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                        JOptionPane.showMessageDialog(TasksPanel.this,
+                            "Error creating task: " + message,
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -146,16 +141,50 @@ public class TasksPanel extends JPanel {
     
     /**
      * Shows dialog to edit the selected task.
+     * 
+     * <p>The list only holds summaries, so the full task (with its description)
+     * is loaded before the dialog opens.
      */
     private void editTask() {
-        Task selected = taskList.getSelectedValue();
+        TaskSummary selected = taskList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select a task to edit.",
                 "No Selection", JOptionPane.WARNING_MESSAGE);
             return;
         }
         
-        TaskDialog dialog = new TaskDialog(this, selected.getFolderId(), selected);
+        new SwingWorker<Task, Void>() {
+            @Override
+            protected Task doInBackground() throws Exception {
+                return controller.getTask(selected.getId());
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    Task task = get();
+                    if (task == null) {
+                        refresh();
+                        return;
+                    }
+                    showEditDialog(task);
+                } catch (Exception e) {
+                    String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                    JOptionPane.showMessageDialog(TasksPanel.this,
+                        "Error loading task: " + message,
+                        "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+    
+    /**
+     * Opens the edit dialog for a fully loaded task and saves the result.
+     * 
+     * @param existing the task to edit
+     */
+    private void showEditDialog(Task existing) {
+        TaskDialog dialog = new TaskDialog(this, existing.getFolderId(), existing);
         dialog.setVisible(true);
         if (dialog.isConfirmed()) {
             Task task = dialog.getTask();
@@ -168,9 +197,13 @@ public class TasksPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the list is patched by the change event
+                    } catch (Exception e) {
+                        String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                        JOptionPane.showMessageDialog(TasksPanel.this,
+                            "Error updating task: " + message,
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -181,7 +214,7 @@ public class TasksPanel extends JPanel {
      * Deletes the selected task.
      */
     private void deleteTask() {
-        Task selected = taskList.getSelectedValue();
+        TaskSummary selected = taskList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select a task to delete.",
                 "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -202,9 +235,13 @@ public class TasksPanel extends JPanel {
                 
                 @Override
                 protected void done() {
-                    refresh();
-                    if (refreshCallback != null) {
-                        refreshCallback.run();
+                    try {
+                        get(); // Check for exceptions; the list is patched by the change event
+                    } catch (Exception e) {
+                        String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                        JOptionPane.showMessageDialog(TasksPanel.this,
+                            "Error deleting task: " + message,
+                            "Error", JOptionPane.ERROR_MESSAGE);
                     }
                 }
             }.execute();
@@ -215,7 +252,7 @@ public class TasksPanel extends JPanel {
      * Adds the selected task to Today list.
      */
     private void addToToday() {
-        Task selected = taskList.getSelectedValue();
+        TaskSummary selected = taskList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select a task to add to Today.",
                 "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -232,14 +269,7 @@ public class TasksPanel extends JPanel {
             @Override
             protected void done() {
                 try {
-                    get(); // Check for exceptions
-                    // Explicitly refresh Today panel - the callback should handle this
-                    // but we ensure it happens
-                    SwingUtilities.invokeLater(() -> {
-                        if (refreshCallback != null) {
-                            refreshCallback.run();
-                        }
-                    });
+                    get(); // Check for exceptions; the Today list is patched by the change event
                 } catch (Exception e) {
                     String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
                     JOptionPane.showMessageDialog(TasksPanel.this,
@@ -251,12 +281,40 @@ public class TasksPanel extends JPanel {
     }
     
     /**
-     * Sets the callback to be invoked when tasks are modified.
+     * Applies a task change to the list.
+     * 
+     * <p>An edit of a loaded row is patched in place. Adding or removing a
+     * task in the shown folder shifts every page after it, so the list is
+     * reloaded instead, which reads only the count and the first page.
      * 
-     * @param callback the refresh callback
+     * @param event the change event
      */
-    public void setRefreshCallback(Runnable callback) {
-        this.refreshCallback = callback;
+    private void applyEvent(DomainEvent<Task> event) {
+        Long shownFolderId = listModel.getFolderId();
+        if (shownFolderId == null) {
+            return;
+        }
+        Task task = event.getEntity();
+        boolean inShownFolder = task != null && Objects.equals(task.getFolderId(), shownFolderId);
+        switch (event.getKind()) {
+            case CREATED:
+                if (inShownFolder) {
+                    listModel.load(shownFolderId);
+                }
+                break;
+            case UPDATED:
+                if (inShownFolder) {
+                    listModel.replace(TaskSummary.of(task));
+                } else if (listModel.contains(event.getId())) {
+                    listModel.load(shownFolderId); // moved to another folder
+                }
+                break;
+            case DELETED:
+                if (listModel.contains(event.getId())) {
+                    listModel.load(shownFolderId);
+                }
+                break;
+        }
     }
     
     /**
@@ -267,8 +325,11 @@ public class TasksPanel extends JPanel {
         public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                                                       boolean isSelected, boolean cellHasFocus) {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-            if (value instanceof Task) {
-                Task task = (Task) value;
+            if (value == null) {
+                setText("Loading...");
+                setForeground(Color.GRAY);
+            } else if (value instanceof TaskSummary) {
+                TaskSummary task = (TaskSummary) value;
                 setText(task.getTitle() + " [" + task.getStatus() + "]");
                 // Color based on priority
                 if (task.getPriority() == Priority.URGENT) {
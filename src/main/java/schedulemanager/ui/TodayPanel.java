@@ -1,11 +1,15 @@
 package schedulemanager.ui;
 
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.controller.ScheduleController;
 import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskSummary;
 import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TodayTask;
 
 import javax.swing.*;
 import java.awt.*;
+import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -17,19 +21,24 @@ import java.util.List;
  */
 public class TodayPanel extends JPanel {
     private final ScheduleController controller;
-    private JList<Task> todayList;
-    private DefaultListModel<Task> listModel;
-    private Runnable refreshCallback;
+    private final RefreshScheduler refreshScheduler;
+    private JList<TaskSummary> todayList;
+    private DefaultListModel<TaskSummary> listModel;
     
     /**
      * Constructs a TodayPanel.
      * 
      * @param controller the schedule controller
+     * @param refreshScheduler runs the reloads of this panel
      */
-    public TodayPanel(ScheduleController controller) {
+    public TodayPanel(ScheduleController controller, RefreshScheduler refreshScheduler) {
         this.controller = controller;
+        this.refreshScheduler = refreshScheduler;
         this.listModel = new DefaultListModel<>();
         initializeUI();
+        controller.getEvents().subscribe(TodayTask.class, this::applyTodayEvent);
+        controller.getEvents().subscribe(Task.class,
+            event -> SwingUtilities.invokeLater(() -> applyTaskEvent(event)));
     }
     
     /**
@@ -68,36 +77,29 @@ public class TodayPanel extends JPanel {
      * Refreshes the Today list from the database.
      */
     public void refresh() {
-        SwingUtilities.invokeLater(() -> {
-            new SwingWorker<List<Task>, Void>() {
-                @Override
-                protected List<Task> doInBackground() throws Exception {
-                    return controller.getTodayTasks(LocalDate.now());
-                }
-                
-                @Override
-                protected void done() {
-                    try {
-                        listModel.clear();
-                        List<Task> tasks = get();
-                        for (Task task : tasks) {
-                            listModel.addElement(task);
-                        }
-                    } catch (Exception e) {
-                        JOptionPane.showMessageDialog(TodayPanel.this,
-                            "Error loading today tasks: " + e.getMessage(),
-                            "Error", JOptionPane.ERROR_MESSAGE);
-                    }
-                }
-            }.execute();
-        });
+        refreshScheduler.request(this, () -> controller.getTodayTaskSummaries(LocalDate.now()), this::showTasks,
+            e -> JOptionPane.showMessageDialog(this,
+                "Error loading today tasks: " + e.getMessage(),
+                "Error", JOptionPane.ERROR_MESSAGE));
+    }
+    
+    /**
+     * Shows already loaded tasks, replacing the list.
+     * 
+     * @param tasks the Today tasks, in display order
+     */
+    void showTasks(List<TaskSummary> tasks) {
+        listModel.clear();
+        for (TaskSummary task : tasks) {
+            listModel.addElement(task);
+        }
     }
     
     /**
      * Removes the selected task from Today list.
      */
     private void removeFromToday() {
-        Task selected = todayList.getSelectedValue();
+        TaskSummary selected = todayList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select a task to remove.",
                 "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -113,9 +115,13 @@ public class TodayPanel extends JPanel {
             
             @Override
             protected void done() {
-                refresh();
-                if (refreshCallback != null) {
-                    refreshCallback.run();
+                try {
+                    get(); // Check for exceptions; the list is patched by the change event
+                } catch (Exception e) {
+                    String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                    JOptionPane.showMessageDialog(TodayPanel.this,
+                        "Error removing task from Today: " + message,
+                        "Error", JOptionPane.ERROR_MESSAGE);
                 }
             }
         }.execute();
@@ -127,7 +133,7 @@ public class TodayPanel extends JPanel {
      * @param status the new status
      */
     private void updateStatus(TaskStatus status) {
-        Task selected = todayList.getSelectedValue();
+        TaskSummary selected = todayList.getSelectedValue();
         if (selected == null) {
             JOptionPane.showMessageDialog(this, "Please select a task.",
                 "No Selection", JOptionPane.WARNING_MESSAGE);
@@ -143,21 +149,90 @@ public class TodayPanel extends JPanel {
             
             @Override
             protected void done() {
-                refresh();
-                if (refreshCallback != null) {
-                    refreshCallback.run();
+                try {
+                    get(); // Check for exceptions; the list is patched by the change event
+                } catch (Exception e) {
+                    String message = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                    JOptionPane.showMessageDialog(TodayPanel.this,
+                        "Error updating task status: " + message,
+                        "Error", JOptionPane.ERROR_MESSAGE);
                 }
             }
         }.execute();
     }
     
     /**
-     * Sets the callback to be invoked when Today list is modified.
+     * Applies a change of the Today list.
+     * 
+     * <p>Runs on the thread that made the change, so a task added to Today
+     * can be read there before the list is patched on the Event Dispatch
+     * Thread. Entries of other days are ignored.
      * 
-     * @param callback the refresh callback
+     * @param event the change event
      */
-    public void setRefreshCallback(Runnable callback) {
-        this.refreshCallback = callback;
+    private void applyTodayEvent(DomainEvent<TodayTask> event) {
+        TodayTask entry = event.getEntity();
+        if (!LocalDate.now().equals(entry.getDate())) {
+            return;
+        }
+        Long taskId = entry.getTaskId();
+        switch (event.getKind()) {
+            case CREATED:
+                Task task;
+                try {
+                    task = controller.getTask(taskId);
+                } catch (SQLException e) {
+                    refresh();
+                    return;
+                }
+                if (task == null) {
+                    return;
+                }
+                TaskSummary added = TaskSummary.of(task);
+                SwingUtilities.invokeLater(() -> {
+                    ListPatches.removeIf(listModel, shown -> shown.getId().equals(taskId));
+                    listModel.addElement(added);
+                });
+                break;
+            case UPDATED:
+                SwingUtilities.invokeLater(() -> moveTo(taskId, entry.getDisplayOrder() - 1));
+                break;
+            case DELETED:
+                SwingUtilities.invokeLater(
+                    () -> ListPatches.removeIf(listModel, shown -> shown.getId().equals(taskId)));
+                break;
+        }
+    }
+    
+    /**
+     * Applies a task change to the entry that shows the task, if any.
+     * 
+     * @param event the change event
+     */
+    private void applyTaskEvent(DomainEvent<Task> event) {
+        if (event.getKind() == DomainEvent.Kind.DELETED) {
+            ListPatches.removeIf(listModel, shown -> shown.getId().equals(event.getId()));
+        } else if (event.getKind() == DomainEvent.Kind.UPDATED) {
+            ListPatches.replace(listModel, shown -> shown.getId().equals(event.getId()),
+                TaskSummary.of(event.getEntity()));
+        }
+    }
+    
+    /**
+     * Moves the entry of a task to a position in the list.
+     * 
+     * @param taskId the task ID
+     * @param index the new position, clamped to the list
+     */
+    private void moveTo(Long taskId, int index) {
+        for (int i = 0; i < listModel.getSize(); i++) {
+            TaskSummary shown = listModel.getElementAt(i);
+            if (shown.getId().equals(taskId)) {
+                listModel.remove(i);
+                listModel.add(Math.max(0, Math.min(index, listModel.getSize())), shown);
+                return;
+            }
+        }
     }
     
     /**
@@ -168,8 +243,8 @@ public class TodayPanel extends JPanel {
         public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                                                       boolean isSelected, boolean cellHasFocus) {
             super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-            if (value instanceof Task) {
-                Task task = (Task) value;
+            if (value instanceof TaskSummary) {
+                TaskSummary task = (TaskSummary) value;
                 setText(task.getTitle() + " [" + task.getStatus() + "]");
                 // Visual indication based on status
                 if (task.getStatus() == TaskStatus.DONE) {
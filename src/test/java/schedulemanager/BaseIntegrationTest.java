@@ -1,24 +1,76 @@
 package schedulemanager;
 
 import schedulemanager.repository.DatabaseManager;
+import schedulemanager.repository.memory.InMemoryStore;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
 /**
- * Base class for integration tests. Uses MySQL database {@code schedule_manager_test}.
- * Create the database before running tests: {@code CREATE DATABASE schedule_manager_test;}
+ * Base class for integration tests.
+ *
+ * <p>By default every test class gets a fresh embedded SQLite database in a
+ * temporary file, so no server is needed. Run with {@code -Dtest.db.backend=mysql}
+ * to use the MySQL database {@code schedule_manager_test} instead.
+ * Create it before running tests: {@code CREATE DATABASE schedule_manager_test;}
+ *
+ * <p>Run with {@code -Dtest.db.backend=memory} to use the in-memory store,
+ * journaling to a temporary directory.
  */
 abstract class BaseIntegrationTest {
 
+    private static File databaseFile;
+    private static File journalDirectory;
+
     @BeforeAll
-    static void setupDatabase() {
-        System.setProperty("db.name", "schedule_manager_test");
+    static void setupDatabase() throws IOException {
+        String backend = System.getProperty("test.db.backend", "sqlite");
+        System.setProperty("db.backend", backend);
+        if (backend.equals("sqlite")) {
+            databaseFile = File.createTempFile("schedule_manager_test", ".db");
+            System.setProperty("db.file", databaseFile.getAbsolutePath());
+        } else if (backend.equals("memory")) {
+            journalDirectory = Files.createTempDirectory("schedule_manager_test").toFile();
+            System.setProperty("db.dir", journalDirectory.getAbsolutePath());
+        } else {
+            System.setProperty("db.name", "schedule_manager_test");
+        }
         DatabaseManager.resetInstanceForTesting();
+        InMemoryStore.resetInstanceForTesting();
     }
 
     @AfterAll
     static void teardownDatabase() {
         DatabaseManager.resetInstanceForTesting();
+        InMemoryStore.resetInstanceForTesting();
+        if (databaseFile != null) {
+            for (String suffix : new String[] { "", "-wal", "-shm" }) {
+                new File(databaseFile.getPath() + suffix).delete();
+            }
+            databaseFile = null;
+        }
+        if (journalDirectory != null) {
+            File[] files = journalDirectory.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+            journalDirectory.delete();
+            journalDirectory = null;
+        }
+    }
+
+    /**
+     * Skips the calling test unless it runs against a JDBC database.
+     */
+    static void assumeJdbcBackend() {
+        assumeFalse(System.getProperty("db.backend").equals("memory"), "Test needs a JDBC backend");
     }
 }
@@ -0,0 +1,84 @@
+package schedulemanager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.repository.ConnectionPool;
+import schedulemanager.repository.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Connection Pool")
+class ConnectionPoolTest extends BaseIntegrationTest {
+
+    @BeforeEach
+    void setUp() {
+        assumeJdbcBackend();
+    }
+
+    @Test
+    @DisplayName("Conexiunea închisă se întoarce în pool și este refolosită")
+    void getConnection_afterClose_reusesPhysicalConnection() throws SQLException {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        try (Connection conn = dbManager.getConnection()) {
+            assertTrue(conn.isValid(2));
+        }
+        long createdBefore = dbManager.getPoolMetrics().getCreatedCount();
+
+        try (Connection conn = dbManager.getConnection()) {
+            assertFalse(conn.isClosed());
+        }
+
+        ConnectionPool.PoolMetrics metrics = dbManager.getPoolMetrics();
+        assertEquals(createdBefore, metrics.getCreatedCount());
+        assertEquals(0, metrics.getActiveConnections());
+        assertTrue(metrics.getIdleConnections() >= 1);
+    }
+
+    @Test
+    @DisplayName("Conexiunea returnată nu mai poate fi folosită")
+    void closedConnection_rejectsFurtherCalls() throws SQLException {
+        Connection conn = DatabaseManager.getInstance().getConnection();
+        conn.close();
+
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, conn::createStatement);
+    }
+
+    @Test
+    @DisplayName("Închiderea concurentă a aceleiași conexiuni o returnează o singură dată")
+    void concurrentClose_returnsConnectionOnce() throws Exception {
+        DatabaseManager dbManager = DatabaseManager.getInstance();
+        Connection conn = dbManager.getConnection();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> closes = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                closes.add(executor.submit(() -> {
+                    start.await();
+                    conn.close();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> close : closes) {
+                close.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        ConnectionPool.PoolMetrics metrics = dbManager.getPoolMetrics();
+        assertEquals(0, metrics.getActiveConnections());
+    }
+}
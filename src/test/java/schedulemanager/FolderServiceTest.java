@@ -5,6 +5,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import schedulemanager.domain.Task;
 import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskFolderNode;
 import schedulemanager.domain.Priority;
 
 import java.sql.SQLException;
@@ -52,6 +53,29 @@ class FolderServiceTest extends BaseIntegrationTest {
         assertEquals("Child", subfolders.get(0).getName());
     }
 
+    @Test
+    @DisplayName("Arborele de foldere conține toate nivelurile")
+    void getFolderTree_returnsNestedHierarchy() throws SQLException {
+        TaskFolder parent = controller.createFolder(new TaskFolder("Tree Root"));
+        TaskFolder child = new TaskFolder("Tree Child");
+        child.setParentFolderId(parent.getId());
+        controller.createFolder(child);
+        TaskFolder grandchild = new TaskFolder("Tree Grandchild");
+        grandchild.setParentFolderId(child.getId());
+        controller.createFolder(grandchild);
+
+        TaskFolderNode rootNode = controller.getFolderTree().stream()
+                .filter(n -> n.getFolder().getId().equals(parent.getId()))
+                .findFirst()
+                .orElseThrow();
+
+        assertEquals(1, rootNode.getChildren().size());
+        TaskFolderNode childNode = rootNode.getChildren().get(0);
+        assertEquals("Tree Child", childNode.getFolder().getName());
+        assertEquals(1, childNode.getChildren().size());
+        assertEquals("Tree Grandchild", childNode.getChildren().get(0).getFolder().getName());
+    }
+
     @Test
     @DisplayName("Nu poate șterge folder cu taskuri")
     void deleteFolder_withTasks_throwsException() throws SQLException {
@@ -82,4 +106,36 @@ class FolderServiceTest extends BaseIntegrationTest {
         List<TaskFolder> roots = controller.getRootFolders();
         assertFalse(roots.stream().anyMatch(f -> f.getId().equals(folder.getId())));
     }
+
+    @Test
+    @DisplayName("Subarborele unui folder include toți descendenții")
+    void getFolderSubtreeIds_returnsFolderAndDescendants() throws SQLException {
+        TaskFolder root = controller.createFolder(new TaskFolder("Subtree Root"));
+        TaskFolder child = new TaskFolder("Subtree Child");
+        child.setParentFolderId(root.getId());
+        child = controller.createFolder(child);
+        TaskFolder grandchild = new TaskFolder("Subtree Grandchild");
+        grandchild.setParentFolderId(child.getId());
+        grandchild = controller.createFolder(grandchild);
+
+        assertEquals(List.of(root.getId(), child.getId(), grandchild.getId()),
+                controller.getFolderSubtreeIds(root.getId()));
+        assertEquals(List.of(grandchild.getId()), controller.getFolderSubtreeIds(grandchild.getId()));
+    }
+
+    @Test
+    @DisplayName("Un controller nou vede folderele create de altul")
+    void folderHierarchy_newController_loadsStoredFolders() throws SQLException {
+        TaskFolder parent = controller.createFolder(new TaskFolder("Stored Parent"));
+        TaskFolder child = new TaskFolder("Stored Child");
+        child.setParentFolderId(parent.getId());
+        controller.createFolder(child);
+
+        ScheduleController fresh = new ScheduleController();
+
+        List<TaskFolder> subfolders = fresh.getSubfolders(parent.getId());
+        assertEquals(1, subfolders.size());
+        assertEquals("Stored Child", subfolders.get(0).getName());
+        assertThrows(IllegalStateException.class, () -> fresh.deleteFolder(parent.getId()));
+    }
 }
@@ -3,12 +3,23 @@ package schedulemanager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import schedulemanager.domain.DayGroups;
+import schedulemanager.domain.FreeSlot;
 import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
 
 import java.sql.SQLException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -93,4 +104,270 @@ class ScheduleServiceTest extends BaseIntegrationTest {
         List<PlanBlock> blocks = controller.getPlanBlocks(TEST_DATE);
         assertTrue(blocks.isEmpty());
     }
+
+    @Test
+    @DisplayName("Actualizare - suprapunerea cu alt bloc e respinsă, cu sine însuși e permisă")
+    void updatePlanBlock_overlapCheckExcludesItself() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 2, 24);
+        controller.createPlanBlock(new PlanBlock(date,
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Morning"));
+        PlanBlock block = controller.createPlanBlock(new PlanBlock(date,
+                LocalTime.of(9, 0), LocalTime.of(10, 0), "Later"));
+
+        block.setEndTime(LocalTime.of(10, 30));
+        controller.updatePlanBlock(block);
+
+        block.setStartTime(LocalTime.of(8, 30));
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> controller.updatePlanBlock(block));
+        assertTrue(error.getMessage().contains("Morning"));
+        assertEquals(LocalTime.of(9, 0), controller.getPlanBlocks(date).get(1).getStartTime());
+    }
+
+    @Test
+    @DisplayName("Creare în lot - ID-uri în ordine, suprapunerea anulează tot lotul")
+    void createPlanBlocks_batch_allOrNothing() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 3, 10);
+        List<PlanBlock> created = controller.createPlanBlocks(List.of(
+                new PlanBlock(monday, LocalTime.of(9, 0), LocalTime.of(10, 0), "Standup"),
+                new PlanBlock(monday, LocalTime.of(10, 0), LocalTime.of(12, 0), "Focus"),
+                new PlanBlock(monday.plusDays(1), LocalTime.of(9, 0), LocalTime.of(10, 0), "Review")));
+
+        assertTrue(created.get(0).getId() < created.get(1).getId());
+        assertTrue(created.get(1).getId() < created.get(2).getId());
+        assertEquals("Focus", controller.getPlanBlocks(monday).get(1).getTitle());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> controller.createPlanBlocks(List.of(
+                        new PlanBlock(monday.plusDays(2), LocalTime.of(9, 0), LocalTime.of(10, 0), "Fits"),
+                        new PlanBlock(monday, LocalTime.of(11, 30), LocalTime.of(13, 0), "Clash"))));
+        assertTrue(error.getMessage().contains("Focus"));
+        assertTrue(controller.getPlanBlocks(monday.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Copiere săptămână și actualizare în lot")
+    void copyPlanBlocks_thenUpdateBatch() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 3, 17);
+        controller.createPlanBlocks(List.of(
+                new PlanBlock(monday, LocalTime.of(8, 0), LocalTime.of(9, 0), "Gym"),
+                new PlanBlock(monday.plusDays(4), LocalTime.of(14, 0), LocalTime.of(15, 0), "Planning")));
+
+        List<PlanBlock> copies = controller.copyPlanBlocks(monday, monday.plusDays(6), monday.plusWeeks(1));
+        assertEquals(2, copies.size());
+        DayGroups<PlanBlock> week = controller.getPlanBlocksByDay(monday.plusWeeks(1), monday.plusDays(13));
+        assertEquals(List.of(monday.plusWeeks(1), monday.plusDays(11)), week.getDates());
+        assertEquals("Planning", controller.getPlanBlocks(monday.plusDays(11)).get(0).getTitle());
+
+        // Swapping two blocks is only valid when checked as one batch
+        PlanBlock gym = copies.get(0);
+        PlanBlock planning = copies.get(1);
+        gym.setDate(planning.getDate());
+        gym.setStartTime(LocalTime.of(14, 0));
+        gym.setEndTime(LocalTime.of(15, 0));
+        planning.setDate(monday.plusWeeks(1));
+        planning.setStartTime(LocalTime.of(8, 0));
+        planning.setEndTime(LocalTime.of(9, 0));
+        controller.updatePlanBlocks(List.of(gym, planning));
+
+        assertEquals("Planning", controller.getPlanBlocks(monday.plusWeeks(1)).get(0).getTitle());
+        assertEquals("Gym", controller.getPlanBlocks(monday.plusDays(11)).get(0).getTitle());
+
+        controller.deletePlanBlocks(copies);
+        assertTrue(controller.getPlanBlocks(monday.plusWeeks(1)).isEmpty());
+        assertEquals(1, controller.getPlanBlocks(monday).size());
+    }
+
+    @Test
+    @DisplayName("Găsește ferestrele libere dintre blocuri, în programul de lucru")
+    void findFreeSlots_returnsGapsWithinWorkingHours() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 6, 2);
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Standup"));
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(10, 15), LocalTime.of(12, 0), "Focus"));
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(16, 0), LocalTime.of(18, 30), "Review"));
+
+        List<FreeSlot> slots = controller.findFreeSlots(date, 30, LocalTime.of(8, 0), LocalTime.of(17, 0));
+
+        assertEquals(2, slots.size());
+        assertEquals(LocalTime.of(8, 0), slots.get(0).getStartTime());
+        assertEquals(LocalTime.of(9, 0), slots.get(0).getEndTime());
+        assertEquals(LocalTime.of(12, 0), slots.get(1).getStartTime());
+        assertEquals(LocalTime.of(16, 0), slots.get(1).getEndTime());
+        assertEquals(240, slots.get(1).getDurationMinutes());
+    }
+
+    @Test
+    @DisplayName("Primele K ferestre libere ale săptămânii, în ordine cronologică")
+    void findFreeSlots_overRange_stopsAtLimit() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 6, 9);
+        for (int day = 0; day < 3; day++) {
+            controller.createPlanBlock(new PlanBlock(monday.plusDays(day),
+                    LocalTime.of(9, 0), LocalTime.of(17, 0), "Busy"));
+        }
+        controller.createPlanBlock(new PlanBlock(monday.plusDays(3),
+                LocalTime.of(9, 0), LocalTime.of(13, 0), "Morning"));
+
+        List<FreeSlot> slots = controller.findFreeSlots(monday, monday.plusDays(13), 60,
+                LocalTime.of(9, 0), LocalTime.of(17, 0), 3);
+
+        assertEquals(3, slots.size());
+        assertEquals(monday.plusDays(3), slots.get(0).getDate());
+        assertEquals(LocalTime.of(13, 0), slots.get(0).getStartTime());
+        assertEquals(monday.plusDays(4), slots.get(1).getDate());
+        assertEquals(480, slots.get(1).getDurationMinutes());
+        assertEquals(monday.plusDays(5), slots.get(2).getDate());
+    }
+
+    @Test
+    @DisplayName("Programul de lucru poate ține până la miezul nopții")
+    void findFreeSlots_workdayEndingAtMidnight_includesLastMinute() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 6, 23);
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(22, 0), LocalTime.of(23, 0), "Late call"));
+
+        List<FreeSlot> slots = controller.findFreeSlots(date, 30, LocalTime.of(21, 0), LocalTime.MIDNIGHT);
+
+        assertEquals(2, slots.size());
+        assertEquals(LocalTime.of(21, 0), slots.get(0).getStartTime());
+        assertEquals(LocalTime.of(22, 0), slots.get(0).getEndTime());
+        assertEquals(LocalTime.of(23, 0), slots.get(1).getStartTime());
+        assertEquals(LocalTime.MIDNIGHT, slots.get(1).getEndTime());
+        assertEquals(60, slots.get(1).getDurationMinutes());
+    }
+
+    @Test
+    @DisplayName("Respinge durată sau program de lucru invalid")
+    void findFreeSlots_invalidArguments_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.findFreeSlots(TEST_DATE, 0, LocalTime.of(9, 0), LocalTime.of(17, 0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.findFreeSlots(TEST_DATE, 30, LocalTime.of(17, 0), LocalTime.of(9, 0)));
+    }
+
+    @Test
+    @DisplayName("Două loturi concurente care se suprapun: doar unul e salvat")
+    void createPlanBlocks_concurrentOverlappingBatches_onlyOneIsSaved() throws Exception {
+        LocalDate date = LocalDate.of(2025, 8, 4);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<Boolean> first = executor.submit(createBatchAfter(start, List.of(
+                    new PlanBlock(date, LocalTime.of(9, 0), LocalTime.of(10, 0), "First A"),
+                    new PlanBlock(date, LocalTime.of(11, 0), LocalTime.of(12, 0), "First B"))));
+            Future<Boolean> second = executor.submit(createBatchAfter(start, List.of(
+                    new PlanBlock(date, LocalTime.of(9, 30), LocalTime.of(10, 30), "Second A"),
+                    new PlanBlock(date, LocalTime.of(13, 0), LocalTime.of(14, 0), "Second B"))));
+            start.countDown();
+
+            assertTrue(first.get() ^ second.get());
+        } finally {
+            executor.shutdown();
+        }
+        List<PlanBlock> stored = controller.getPlanBlocks(date);
+        assertEquals(2, stored.size());
+        assertEquals(stored.get(0).getTitle().split(" ")[0], stored.get(1).getTitle().split(" ")[0]);
+    }
+
+    /**
+     * Creates a batch once the latch opens; true if it was saved, false if rejected as overlapping.
+     */
+    private Callable<Boolean> createBatchAfter(CountDownLatch start, List<PlanBlock> blocks) {
+        return () -> {
+            start.await();
+            try {
+                new ScheduleController().createPlanBlocks(blocks);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        };
+    }
+
+    @Test
+    @DisplayName("Aparițiile recurente apar în ziua și în intervalul citit, alături de blocurile salvate")
+    void recurrence_expandsIntoDayAndRangeReads() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 9, 1);
+        RecurrenceRule standup = weekdayStandup(monday);
+        controller.createPlanBlock(new PlanBlock(monday.plusDays(1), LocalTime.of(10, 0), LocalTime.of(11, 0), "Review"));
+
+        List<PlanBlock> tuesday = controller.getPlanBlocks(monday.plusDays(1));
+        assertEquals(2, tuesday.size());
+        assertEquals("Standup", tuesday.get(0).getTitle());
+        assertEquals(standup.getId(), tuesday.get(0).getRecurrenceId());
+        assertFalse(tuesday.get(1).isOccurrence());
+
+        DayGroups<PlanBlock> week = controller.getPlanBlocksByDay(monday, monday.plusDays(6));
+        assertEquals(6, week.size());
+        assertEquals(1, week.get(monday.plusDays(4)).size());
+        assertTrue(week.get(monday.plusDays(5)).isEmpty());
+        assertTrue(controller.getPlanBlocks(monday.plusDays(14)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Suprapunerile cu aparițiile recurente sunt respinse ca la blocurile salvate")
+    void recurrence_overlapsAreRejected() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 9, 8);
+        controller.createPlanBlock(new PlanBlock(monday, LocalTime.of(10, 0), LocalTime.of(11, 0), "Review"));
+        weekdayStandup(monday);
+
+        assertThrows(IllegalArgumentException.class, () -> controller.createPlanBlock(
+                new PlanBlock(monday.plusDays(2), LocalTime.of(9, 0), LocalTime.of(9, 30), "Clash")));
+        assertThrows(IllegalArgumentException.class, () -> controller.createPlanBlocks(List.of(
+                new PlanBlock(monday.plusDays(3), LocalTime.of(9, 10), LocalTime.of(9, 20), "Clash"))));
+        controller.createPlanBlock(new PlanBlock(monday.plusDays(5), LocalTime.of(9, 0), LocalTime.of(9, 30), "Saturday"));
+
+        RecurrenceRule overStored = new RecurrenceRule(RecurrencePattern.DAILY, monday,
+                LocalTime.of(10, 30), LocalTime.of(11, 30), "Reading");
+        overStored.setEndDate(monday.plusDays(6));
+        assertThrows(IllegalArgumentException.class, () -> controller.createRecurrence(overStored));
+
+        RecurrenceRule mondays = new RecurrenceRule(RecurrencePattern.WEEKLY, monday,
+                LocalTime.of(8, 30), LocalTime.of(9, 5), "Planning");
+        mondays.setDaysOfWeek(Set.of(DayOfWeek.MONDAY));
+        mondays.setEndDate(monday.plusDays(6));
+        assertThrows(IllegalArgumentException.class, () -> controller.createRecurrence(mondays));
+        mondays.setDaysOfWeek(Set.of(DayOfWeek.SUNDAY));
+        controller.createRecurrence(mondays);
+        assertEquals(1, controller.getPlanBlocks(monday.plusDays(6)).size());
+    }
+
+    @Test
+    @DisplayName("O apariție sărită dispare, iar ștergerea regulii le elimină pe toate")
+    void recurrence_skipAndDelete() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 9, 15);
+        RecurrenceRule standup = weekdayStandup(monday);
+
+        controller.skipOccurrence(standup.getId(), monday.plusDays(2));
+
+        assertTrue(controller.getPlanBlocks(monday.plusDays(2)).isEmpty());
+        assertEquals(1, controller.getPlanBlocks(monday.plusDays(3)).size());
+        controller.createPlanBlock(new PlanBlock(monday.plusDays(2), LocalTime.of(9, 0), LocalTime.of(9, 30), "Workshop"));
+
+        controller.deleteRecurrence(standup.getId());
+        assertTrue(controller.getPlanBlocks(monday.plusDays(3)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> controller.skipOccurrence(standup.getId(), monday));
+    }
+
+    @Test
+    @DisplayName("O apariție recurentă nu poate fi modificată sau ștearsă ca un bloc salvat")
+    void recurrence_occurrenceCannotBeEditedDirectly() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 9, 22);
+        weekdayStandup(monday);
+        PlanBlock occurrence = controller.getPlanBlocks(monday).get(0);
+        occurrence.setEndTime(LocalTime.of(9, 30));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> controller.updatePlanBlock(occurrence));
+        assertTrue(error.getMessage().contains("skip the occurrence"));
+        assertThrows(IllegalArgumentException.class, () -> controller.deletePlanBlock(occurrence.getId()));
+        assertThrows(IllegalArgumentException.class, () -> controller.updatePlanBlocks(List.of(occurrence)));
+        assertThrows(IllegalArgumentException.class, () -> controller.deletePlanBlocks(List.of(occurrence)));
+        assertEquals(LocalTime.of(9, 15), controller.getPlanBlocks(monday).get(0).getEndTime());
+    }
+
+    private RecurrenceRule weekdayStandup(LocalDate monday) throws SQLException {
+        RecurrenceRule standup = new RecurrenceRule(RecurrencePattern.WEEKDAYS, monday,
+                LocalTime.of(9, 0), LocalTime.of(9, 15), "Standup");
+        standup.setEndDate(monday.plusDays(6));
+        return controller.createRecurrence(standup);
+    }
 }
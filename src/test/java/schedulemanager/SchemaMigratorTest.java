@@ -0,0 +1,49 @@
+package schedulemanager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.repository.DatabaseManager;
+import schedulemanager.repository.SchemaMigrator;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Schema Migrations")
+class SchemaMigratorTest extends BaseIntegrationTest {
+
+    private DatabaseManager dbManager;
+
+    @BeforeEach
+    void setUp() {
+        assumeJdbcBackend();
+        dbManager = DatabaseManager.getInstance();
+    }
+
+    @Test
+    @DisplayName("O schemă curentă nu mai rulează nimic")
+    void migrate_currentSchema_isNoOp() throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            assertEquals(SchemaMigrator.getLatestVersion(), new SchemaMigrator(dbManager.getBackend()).migrate(conn));
+        }
+    }
+
+    @Test
+    @DisplayName("Migrările aplicate dar neînregistrate pot rula din nou fără erori")
+    void migrate_unrecordedVersions_rerunsIdempotently() throws SQLException {
+        try (Connection conn = dbManager.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM schema_version WHERE version > 1");
+            }
+
+            int version = new SchemaMigrator(dbManager.getBackend()).migrate(conn);
+
+            assertEquals(SchemaMigrator.getLatestVersion(), version);
+        }
+        DatabaseManager.resetInstanceForTesting();
+        assertDoesNotThrow(DatabaseManager::getInstance);
+    }
+}
@@ -5,15 +5,24 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import schedulemanager.domain.ActualSession;
 import schedulemanager.domain.DailyStatistics;
+import schedulemanager.domain.DaySnapshot;
 import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
 import schedulemanager.domain.Task;
 import schedulemanager.domain.TaskFolder;
 import schedulemanager.domain.Priority;
+import schedulemanager.service.StatsService;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -86,4 +95,150 @@ class StatsServiceTest extends BaseIntegrationTest {
         assertEquals(60, stats.actualMinutes);
         assertEquals(60, stats.overlapMinutes);  // 10:30-11:30 overlap
     }
+
+    @Test
+    @DisplayName("Statistici pe interval - câte o intrare pentru fiecare zi")
+    void computeStatsForRange_returnsOneEntryPerDay() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 4, 7);
+        LocalDate wednesday = monday.plusDays(2);
+
+        PlanBlock block = new PlanBlock(monday, LocalTime.of(9, 0), LocalTime.of(10, 0), "Plan");
+        block.setCategory("Work");
+        controller.createPlanBlock(block);
+        ActualSession session = new ActualSession(wednesday, LocalTime.of(9, 0), LocalTime.of(9, 30), "Actual");
+        session.setCategory("Work");
+        controller.createSession(session);
+
+        List<DailyStatistics> range = controller.getStatsForRange(monday, wednesday);
+
+        assertEquals(3, range.size());
+        assertEquals(monday, range.get(0).getDate());
+        assertEquals(60, range.get(0).getPlannedMinutes());
+        assertEquals(0, range.get(1).getPlannedMinutes());
+        assertEquals(30, range.get(2).getActualMinutes());
+        assertEquals(0, range.get(2).getOverlapMinutes());
+
+        Map<String, schedulemanager.service.StatsService.TaskStats> byCategory =
+                controller.getCategoryStatsForRange(monday, wednesday);
+        assertEquals(60, byCategory.get("Work").plannedMinutes);
+        assertEquals(30, byCategory.get("Work").actualMinutes);
+        assertEquals(0, byCategory.get("Work").overlapMinutes);
+    }
+
+    @Test
+    @DisplayName("Statistici pe interval - interval invalid")
+    void computeStatsForRange_invalidRange_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> controller.getStatsForRange(TEST_DATE, TEST_DATE.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Statisticile salvate se recalculează după modificarea zilei")
+    void computeDailyStats_afterNewSession_isRecomputed() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 5, 12);
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(8, 0), LocalTime.of(9, 0), "Plan"));
+        assertEquals(0, controller.getDailyStats(date).getActualMinutes());
+
+        ActualSession session = controller.createSession(
+                new ActualSession(date, LocalTime.of(8, 0), LocalTime.of(8, 45), "Actual"));
+        DailyStatistics afterCreate = controller.getDailyStats(date);
+        assertEquals(45, afterCreate.getActualMinutes());
+        assertEquals(45, afterCreate.getOverlapMinutes());
+
+        controller.deleteSession(session.getId());
+        assertEquals(0, controller.getDailyStats(date).getActualMinutes());
+    }
+
+    @Test
+    @DisplayName("Snapshot zilnic - aceleași statistici ca interogarea directă")
+    void computeDailyStats_fromSnapshot_matchesDirectComputation() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 6, 2);
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(13, 0), LocalTime.of(15, 0), "Plan"));
+        controller.createSession(new ActualSession(date, LocalTime.of(14, 0), LocalTime.of(16, 0), "Actual"));
+
+        DaySnapshot snapshot = controller.loadDaySnapshot(date);
+        assertEquals(1, snapshot.getPlanBlocks().size());
+        assertEquals(1, snapshot.getSessions().size());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getSessions().clear());
+
+        DailyStatistics fromSnapshot = controller.getDailyStats(snapshot);
+        DailyStatistics direct = controller.getDailyStats(date);
+        assertEquals(direct.getPlannedMinutes(), fromSnapshot.getPlannedMinutes());
+        assertEquals(direct.getActualMinutes(), fromSnapshot.getActualMinutes());
+        assertEquals(60, fromSnapshot.getOverlapMinutes());
+    }
+
+    @Test
+    @DisplayName("Aparițiile recurente intră în minutele planificate, zilnic și pe interval")
+    void computeStats_countOccurrencesLikeStoredBlocks() throws SQLException {
+        LocalDate monday = LocalDate.of(2025, 10, 6);
+        assertEquals(0, controller.getDailyStats(monday).getPlannedMinutes());
+
+        RecurrenceRule focus = new RecurrenceRule(RecurrencePattern.DAILY, monday,
+                LocalTime.of(8, 0), LocalTime.of(9, 0), "Focus");
+        focus.setEndDate(monday.plusDays(4));
+        focus = controller.createRecurrence(focus);
+        controller.createSession(new ActualSession(monday, LocalTime.of(8, 30), LocalTime.of(9, 0), "Focus"));
+
+        DailyStatistics stats = controller.getDailyStats(monday);
+        assertEquals(60, stats.getPlannedMinutes());
+        assertEquals(30, stats.getOverlapMinutes());
+        List<DailyStatistics> week = controller.getStatsForRange(monday, monday.plusDays(6));
+        assertEquals(60, week.get(4).getPlannedMinutes());
+        assertEquals(0, week.get(5).getPlannedMinutes());
+
+        controller.skipOccurrence(focus.getId(), monday);
+        assertEquals(0, controller.getDailyStats(monday).getPlannedMinutes());
+    }
+
+    @Test
+    @DisplayName("Statisticile calculate în paralel cu o scriere nu rămân vechi")
+    void computeDailyStats_concurrentWrite_neverLeavesStaleRow() throws Exception {
+        LocalDate date = LocalDate.of(2025, 11, 3);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int block = 0; block < 10; block++) {
+                LocalTime start = LocalTime.of(8 + block, 0);
+                CountDownLatch go = new CountDownLatch(1);
+                Future<?> reader = executor.submit(() -> {
+                    go.await();
+                    return new ScheduleController().getDailyStats(date);
+                });
+                Future<?> writer = executor.submit(() -> {
+                    go.await();
+                    return new ScheduleController().createPlanBlock(
+                            new PlanBlock(date, start, start.plusMinutes(30), "Block " + start));
+                });
+                go.countDown();
+                reader.get();
+                writer.get();
+
+                assertEquals((block + 1) * 30, controller.getDailyStats(date).getPlannedMinutes());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Statisticile zilnice și cele pe task numără minutele la fel")
+    void dailyAndTaskStats_countMinutesTheSameWay() {
+        LocalDate date = LocalDate.of(2025, 6, 16);
+        PlanBlock block = new PlanBlock(date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Write");
+        block.setLinkedTaskId(1L);
+        ActualSession first = new ActualSession(date, LocalTime.of(9, 0), LocalTime.of(9, 45), "Write");
+        first.setLinkedTaskId(1L);
+        ActualSession overlapping = new ActualSession(date, LocalTime.of(9, 30), LocalTime.of(10, 0), "Write");
+        overlapping.setLinkedTaskId(1L);
+        DaySnapshot snapshot = new DaySnapshot(date, List.of(block), List.of(first, overlapping), List.of());
+        StatsService statsService = new StatsService();
+
+        DailyStatistics daily = statsService.computeDailyStats(snapshot);
+        StatsService.TaskStats task = statsService.computeTaskStats(snapshot).get(1L);
+
+        assertEquals(60, daily.getActualMinutes());
+        assertEquals(daily.getPlannedMinutes(), task.plannedMinutes);
+        assertEquals(daily.getActualMinutes(), task.actualMinutes);
+        assertEquals(daily.getOverlapMinutes(), task.overlapMinutes);
+    }
 }
@@ -4,14 +4,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import schedulemanager.controller.DomainEvent;
 import schedulemanager.domain.Priority;
 import schedulemanager.domain.Task;
 import schedulemanager.domain.TaskFolder;
 import schedulemanager.domain.TaskStatus;
+import schedulemanager.domain.TaskSummary;
 import schedulemanager.controller.ScheduleController;
 
 import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -129,5 +134,133 @@ class TaskServiceTest extends BaseIntegrationTest {
             List<Task> tasks = controller.getTasksByFolder(folder.getId());
             assertTrue(tasks.isEmpty());
         }
+    
+
+        @Test
+        @DisplayName("Sumarele taskurilor au câmpurile pentru listă, fără descriere")
+        void getTaskSummariesByFolder_returnsListColumns() throws SQLException {
+            TaskFolder folder = controller.createFolder(new TaskFolder("Summaries"));
+            Task task = new Task("Summarized", folder.getId(), Priority.HIGH);
+            task.setDescription("A long note that list views never show");
+            task.setColorTag("#FF0000");
+            Task created = controller.createTask(task);
+            controller.updateTaskStatus(created.getId(), TaskStatus.DOING);
+
+            List<TaskSummary> summaries = controller.getTaskSummariesByFolder(folder.getId());
+
+            assertEquals(1, summaries.size());
+            TaskSummary summary = summaries.get(0);
+            assertEquals(created.getId(), summary.getId());
+            assertEquals(folder.getId(), summary.getFolderId());
+            assertEquals("Summarized", summary.getTitle());
+            assertEquals(TaskStatus.DOING, summary.getStatus());
+            assertEquals(Priority.HIGH, summary.getPriority());
+            assertEquals("#FF0000", summary.getColorTag());
+            assertEquals("A long note that list views never show",
+                    controller.getTask(summary.getId()).getDescription());
+        }
+    }
+
+    @Nested
+    @DisplayName("Cache task-uri")
+    class Caching {
+
+        @Test
+        @DisplayName("A doua citire a aceluiași task vine din cache")
+        void getTask_secondRead_isCacheHit() throws SQLException {
+            TaskFolder folder = controller.createFolder(new TaskFolder("Cached"));
+            Task task = controller.createTask(new Task("Cached task", folder.getId(), Priority.LOW));
+            long hitsBefore = controller.getTaskCacheMetrics().getHitCount();
+
+            controller.getTask(task.getId());
+            Task second = controller.getTask(task.getId());
+
+            assertEquals("Cached task", second.getTitle());
+            assertEquals(hitsBefore + 1, controller.getTaskCacheMetrics().getHitCount());
+        }
+
+        @Test
+        @DisplayName("Scrierile invalidează task-ul din cache")
+        void getTask_afterWrites_returnsFreshTask() throws SQLException {
+            TaskFolder folder = controller.createFolder(new TaskFolder("Cached"));
+            Task task = controller.createTask(new Task("Before", folder.getId(), Priority.LOW));
+            controller.getTask(task.getId());
+
+            task.setTitle("After");
+            controller.updateTask(task);
+            assertEquals("After", controller.getTask(task.getId()).getTitle());
+
+            controller.updateTaskStatus(task.getId(), TaskStatus.DONE);
+            assertEquals(TaskStatus.DONE, controller.getTask(task.getId()).getStatus());
+
+            controller.deleteTask(task.getId());
+            assertNull(controller.getTask(task.getId()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Evenimente")
+    class Events {
+
+        @Test
+        @DisplayName("Creare, actualizare și ștergere publică câte un eveniment")
+        void writes_publishEvents() throws SQLException {
+            List<DomainEvent<Task>> events = new ArrayList<>();
+            controller.getEvents().subscribe(Task.class, events::add);
+            TaskFolder folder = controller.createFolder(new TaskFolder("Events"));
+
+            Task task = controller.createTask(new Task("Watched", folder.getId(), Priority.MEDIUM));
+            controller.updateTaskStatus(task.getId(), TaskStatus.DOING);
+            controller.deleteTask(task.getId());
+
+            assertEquals(List.of(DomainEvent.Kind.CREATED, DomainEvent.Kind.UPDATED, DomainEvent.Kind.DELETED),
+                    events.stream().map(DomainEvent::getKind).collect(Collectors.toList()));
+            assertTrue(events.stream().allMatch(event -> task.getId().equals(event.getId())));
+            assertEquals(TaskStatus.DOING, events.get(1).getEntity().getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("Paginare task-uri")
+    class Pagination {
+
+        @Test
+        @DisplayName("Paginile consecutive acoperă folderul în ordine, fără dubluri")
+        void getTaskSummaryPage_walksWholeFolderInOrder() throws SQLException {
+            TaskFolder folder = controller.createFolder(new TaskFolder("Paged"));
+            LocalDateTime base = LocalDateTime.of(2025, 4, 1, 9, 0);
+            for (int i = 0; i < 7; i++) {
+                Task task = new Task("Task " + i, folder.getId(), Priority.MEDIUM);
+                // Pairs share a timestamp, so pages must break ties by ID
+                task.setCreatedAt(base.plusMinutes(i / 2));
+                controller.createTask(task);
+            }
+
+            List<Long> paged = new ArrayList<>();
+            TaskSummary after = null;
+            List<TaskSummary> page;
+            do {
+                page = controller.getTaskSummaryPage(folder.getId(), after, 3);
+                assertTrue(page.size() <= 3);
+                page.forEach(summary -> paged.add(summary.getId()));
+                after = page.isEmpty() ? after : page.get(page.size() - 1);
+            } while (page.size() == 3);
+
+            List<Long> all = controller.getTaskSummariesByFolder(folder.getId()).stream()
+                    .map(TaskSummary::getId)
+                    .collect(Collectors.toList());
+            assertEquals(7, paged.size());
+            assertEquals(all, paged);
+            assertEquals(7, controller.countTasksInFolder(folder.getId()));
+        }
+
+        @Test
+        @DisplayName("Aruncă excepție pentru dimensiune de pagină nepozitivă")
+        void getTaskSummaryPage_withNonPositiveLimit_throwsException() throws SQLException {
+            TaskFolder folder = controller.createFolder(new TaskFolder("Paged"));
+
+            assertThrows(IllegalArgumentException.class,
+                    () -> controller.getTaskSummaryPage(folder.getId(), null, 0));
+        }
     }
 }
@@ -0,0 +1,73 @@
+package schedulemanager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.Priority;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.repository.DatabaseManager;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Dates Across Time Zones")
+class TimeZoneStorageTest extends BaseIntegrationTest {
+
+    /** A DST change in Europe, far from the dates of the other tests. */
+    private static final LocalDate TEST_DATE = LocalDate.of(2025, 3, 30);
+
+    private TimeZone originalZone;
+
+    @BeforeEach
+    void setUp() {
+        assumeJdbcBackend();
+        originalZone = TimeZone.getDefault();
+    }
+
+    @AfterEach
+    void restoreZone() {
+        if (originalZone != null) {
+            reopenIn(originalZone);
+        }
+    }
+
+    @Test
+    @DisplayName("Datele și orele scrise într-un fus orar se regăsesc în altul")
+    void datesAndTimes_surviveTimeZoneChange() throws SQLException {
+        reopenIn(TimeZone.getTimeZone("America/New_York"));
+        ScheduleController writer = new ScheduleController();
+        TaskFolder folder = writer.createFolder(new TaskFolder("Zones"));
+        Task task = new Task("Due on the DST day", folder.getId(), Priority.LOW);
+        task.setDeadline(TEST_DATE);
+        task = writer.createTask(task);
+        writer.createPlanBlock(new PlanBlock(TEST_DATE, LocalTime.of(0, 30), LocalTime.of(2, 30), "Night"));
+
+        reopenIn(TimeZone.getTimeZone("Asia/Tokyo"));
+        ScheduleController reader = new ScheduleController();
+
+        List<PlanBlock> blocks = reader.getPlanBlocks(TEST_DATE);
+        assertEquals(1, blocks.size());
+        assertEquals(LocalTime.of(0, 30), blocks.get(0).getStartTime());
+        assertEquals(LocalTime.of(2, 30), blocks.get(0).getEndTime());
+        assertEquals(TEST_DATE, reader.getTask(task.getId()).getDeadline());
+        assertThrows(IllegalArgumentException.class, () -> reader.createPlanBlock(
+                new PlanBlock(TEST_DATE, LocalTime.of(2, 0), LocalTime.of(3, 0), "Overlap")));
+    }
+
+    /**
+     * Switches the default time zone and reopens the database, as a restart would.
+     */
+    private static void reopenIn(TimeZone zone) {
+        TimeZone.setDefault(zone);
+        DatabaseManager.resetInstanceForTesting();
+    }
+}
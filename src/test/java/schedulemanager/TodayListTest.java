@@ -3,12 +3,19 @@ package schedulemanager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import schedulemanager.controller.DomainEvent;
+import schedulemanager.domain.PlanBlock;
 import schedulemanager.domain.Task;
 import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskSummary;
+import schedulemanager.domain.TodayTask;
 import schedulemanager.domain.Priority;
+import schedulemanager.service.AutoScheduler;
 
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -61,10 +68,93 @@ class TodayListTest extends BaseIntegrationTest {
         assertTrue(todayTasks.isEmpty());
     }
 
+    @Test
+    @DisplayName("Today list păstrează ordinea de afișare")
+    void getTodayTasks_returnsTasksInDisplayOrder() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 3, 3);
+        TaskFolder folder = controller.createFolder(new TaskFolder("Ordered"));
+        Task first = controller.createTask(new Task("First", folder.getId(), Priority.LOW));
+        Task second = controller.createTask(new Task("Second", folder.getId(), Priority.HIGH));
+        controller.addTaskToToday(first.getId(), date);
+        controller.addTaskToToday(second.getId(), date);
+
+        controller.updateTodayOrder(date, List.of(second.getId(), first.getId()));
+
+        List<Task> todayTasks = controller.getTodayTasks(date);
+        assertEquals(2, todayTasks.size());
+        assertEquals("Second", todayTasks.get(0).getTitle());
+        assertEquals(Priority.HIGH, todayTasks.get(0).getPriority());
+        assertEquals("First", todayTasks.get(1).getTitle());
+    }
+
     @Test
     @DisplayName("Today list gol pentru dată fără taskuri")
     void getTodayTasks_emptyDate_returnsEmptyList() throws SQLException {
         List<Task> todayTasks = controller.getTodayTasks(LocalDate.of(2020, 1, 1));
         assertTrue(todayTasks.isEmpty());
     }
+
+    @Test
+    @DisplayName("Sumarele Today păstrează ordinea de afișare")
+    void getTodayTaskSummaries_returnsSummariesInDisplayOrder() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 3, 4);
+        TaskFolder folder = controller.createFolder(new TaskFolder("Summaries"));
+        Task first = controller.createTask(new Task("First", folder.getId(), Priority.LOW));
+        Task second = controller.createTask(new Task("Second", folder.getId(), Priority.URGENT));
+        controller.addTaskToToday(first.getId(), date);
+        controller.addTaskToToday(second.getId(), date);
+        controller.updateTodayOrder(date, List.of(second.getId(), first.getId()));
+
+        List<TaskSummary> summaries = controller.getTodayTaskSummaries(date);
+
+        assertEquals(2, summaries.size());
+        assertEquals(second.getId(), summaries.get(0).getId());
+        assertEquals(Priority.URGENT, summaries.get(0).getPriority());
+        assertEquals(first.getId(), summaries.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("Adăugarea și eliminarea din Today publică evenimente")
+    void addAndRemove_publishTodayEvents() throws SQLException {
+        List<DomainEvent<TodayTask>> events = new ArrayList<>();
+        controller.getEvents().subscribe(TodayTask.class, events::add);
+        TaskFolder folder = controller.createFolder(new TaskFolder("Events"));
+        Task task = controller.createTask(new Task("Watched", folder.getId(), Priority.LOW));
+
+        controller.addTaskToToday(task.getId(), TODAY);
+        controller.removeTaskFromToday(task.getId(), TODAY);
+
+        assertEquals(2, events.size());
+        assertEquals(DomainEvent.Kind.CREATED, events.get(0).getKind());
+        assertEquals(DomainEvent.Kind.DELETED, events.get(1).getKind());
+        assertEquals(task.getId(), events.get(1).getEntity().getTaskId());
+        assertEquals(TODAY, events.get(1).getEntity().getDate());
+    }
+
+    @Test
+    @DisplayName("Planificarea automată pune taskurile din Today în orele libere")
+    void proposeAndApplySchedule_plansTodayTasksAroundExistingBlocks() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 3, 5);
+        TaskFolder folder = controller.createFolder(new TaskFolder("Auto"));
+        Task report = new Task("Report", folder.getId(), Priority.HIGH);
+        report.setEstimateMinutes(60);
+        report = controller.createTask(report);
+        Task email = new Task("Email", folder.getId(), Priority.LOW);
+        email.setEstimateMinutes(30);
+        email = controller.createTask(email);
+        controller.addTaskToToday(email.getId(), date);
+        controller.addTaskToToday(report.getId(), date);
+        controller.createPlanBlock(new PlanBlock(date, LocalTime.of(9, 0), LocalTime.of(9, 30), "Standup"));
+
+        AutoScheduler.Proposal proposal = controller.proposeSchedule(date, LocalTime.of(9, 0), LocalTime.of(17, 0));
+        controller.applySchedule(proposal);
+
+        List<PlanBlock> blocks = controller.getPlanBlocks(date);
+        assertEquals(3, blocks.size());
+        assertEquals(report.getId(), blocks.get(1).getLinkedTaskId());
+        assertEquals(LocalTime.of(9, 30), blocks.get(1).getStartTime());
+        assertEquals(email.getId(), blocks.get(2).getLinkedTaskId());
+        assertEquals(LocalTime.of(10, 30), blocks.get(2).getStartTime());
+        assertTrue(controller.proposeSchedule(date, LocalTime.of(9, 0), LocalTime.of(17, 0)).getBlocks().isEmpty());
+    }
 }
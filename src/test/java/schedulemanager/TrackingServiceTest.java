@@ -68,4 +68,20 @@ class TrackingServiceTest extends BaseIntegrationTest {
         assertEquals("Today", todaySessions.get(0).getTitle());
         assertEquals("Tomorrow", tomorrowSessions.get(0).getTitle());
     }
+
+    @Test
+    @DisplayName("Import în lot - sesiuni suprapuse în același lot sunt respinse")
+    void createSessions_overlapInsideBatch_throwsException() throws SQLException {
+        LocalDate date = LocalDate.of(2025, 3, 4);
+        assertThrows(IllegalArgumentException.class, () -> controller.createSessions(List.of(
+                new ActualSession(date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Emails"),
+                new ActualSession(date, LocalTime.of(9, 45), LocalTime.of(11, 0), "Coding"))));
+        assertTrue(controller.getSessions(date).isEmpty());
+
+        List<ActualSession> imported = controller.createSessions(List.of(
+                new ActualSession(date, LocalTime.of(9, 0), LocalTime.of(10, 0), "Emails"),
+                new ActualSession(date, LocalTime.of(10, 0), LocalTime.of(11, 0), "Coding")));
+        assertNotNull(imported.get(1).getId());
+        assertEquals(2, controller.getSessions(date).size());
+    }
 }
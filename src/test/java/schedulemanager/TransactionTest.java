@@ -0,0 +1,63 @@
+package schedulemanager;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.controller.ScheduleController;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.repository.DatabaseManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Transactions")
+class TransactionTest extends BaseIntegrationTest {
+
+    private static final LocalDate TEST_DATE = LocalDate.of(2025, 3, 3);
+
+    private DatabaseManager dbManager;
+    private ScheduleController controller;
+
+    @BeforeEach
+    void setUp() {
+        assumeJdbcBackend();
+        dbManager = DatabaseManager.getInstance();
+        controller = new ScheduleController();
+    }
+
+    @Test
+    @DisplayName("În tranzacție toate apelurile folosesc aceeași conexiune")
+    void inTransaction_sharesOneConnection() throws SQLException {
+        long activeBefore = dbManager.getPoolMetrics().getActiveConnections();
+
+        dbManager.inTransaction(() -> {
+            assertTrue(dbManager.isInTransaction());
+            try (Connection first = dbManager.getConnection();
+                 Connection second = dbManager.getConnection()) {
+                assertFalse(first.getAutoCommit());
+                assertEquals(activeBefore + 1, dbManager.getPoolMetrics().getActiveConnections());
+            }
+        });
+
+        assertFalse(dbManager.isInTransaction());
+        assertEquals(activeBefore, dbManager.getPoolMetrics().getActiveConnections());
+    }
+
+    @Test
+    @DisplayName("Excepția anulează toate modificările din tranzacție")
+    void inTransaction_exception_rollsBackEverything() {
+        assertThrows(IllegalStateException.class, () -> dbManager.inTransaction(() -> {
+            controller.createPlanBlock(new PlanBlock(TEST_DATE,
+                    LocalTime.of(9, 0), LocalTime.of(10, 0), "First"));
+            controller.createPlanBlock(new PlanBlock(TEST_DATE,
+                    LocalTime.of(10, 0), LocalTime.of(11, 0), "Second"));
+            throw new IllegalStateException("abort");
+        }));
+
+        assertDoesNotThrow(() -> assertTrue(controller.getPlanBlocks(TEST_DATE).isEmpty()));
+    }
+}
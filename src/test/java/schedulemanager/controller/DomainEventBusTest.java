@@ -0,0 +1,61 @@
+package schedulemanager.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Domain Event Bus")
+class DomainEventBusTest {
+
+    @Test
+    @DisplayName("Livrează doar evenimentele tipului abonat")
+    void publish_deliversOnlyToSubscribersOfType() {
+        DomainEventBus bus = new DomainEventBus();
+        List<DomainEvent<Task>> taskEvents = new ArrayList<>();
+        List<DomainEvent<TaskFolder>> folderEvents = new ArrayList<>();
+        bus.subscribe(Task.class, taskEvents::add);
+        bus.subscribe(TaskFolder.class, folderEvents::add);
+
+        bus.publish(DomainEvent.deleted(Task.class, 7L, null));
+
+        assertEquals(1, taskEvents.size());
+        assertEquals(DomainEvent.Kind.DELETED, taskEvents.get(0).getKind());
+        assertEquals(7L, taskEvents.get(0).getId());
+        assertTrue(folderEvents.isEmpty());
+    }
+
+    @Test
+    @DisplayName("După dezabonare nu mai primește evenimente")
+    void unsubscribe_stopsDelivery() {
+        DomainEventBus bus = new DomainEventBus();
+        List<DomainEvent<Task>> received = new ArrayList<>();
+        Runnable unsubscribe = bus.subscribe(Task.class, received::add);
+        assertTrue(bus.hasSubscribers(Task.class));
+
+        unsubscribe.run();
+        bus.publish(DomainEvent.deleted(Task.class, 1L, null));
+
+        assertTrue(received.isEmpty());
+        assertFalse(bus.hasSubscribers(Task.class));
+    }
+
+    @Test
+    @DisplayName("Un listener care aruncă excepție nu îi oprește pe ceilalți")
+    void publish_whenListenerThrows_deliversToOthers() {
+        DomainEventBus bus = new DomainEventBus();
+        List<DomainEvent<Task>> received = new ArrayList<>();
+        bus.subscribe(Task.class, event -> {
+            throw new IllegalStateException("listener failure");
+        });
+        bus.subscribe(Task.class, received::add);
+
+        assertDoesNotThrow(() -> bus.publish(DomainEvent.deleted(Task.class, 1L, null)));
+        assertEquals(1, received.size());
+    }
+}
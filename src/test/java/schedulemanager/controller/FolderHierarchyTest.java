@@ -0,0 +1,87 @@
+package schedulemanager.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.domain.TaskFolder;
+import schedulemanager.domain.TaskFolderNode;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Folder Hierarchy")
+class FolderHierarchyTest {
+
+    @Test
+    @DisplayName("Construiește arborele cu frații ordonați după nume")
+    void toTree_ordersSiblingsByName() {
+        FolderHierarchy hierarchy = new FolderHierarchy(List.of(
+                new TaskFolder(1L, "work", null),
+                new TaskFolder(2L, "Home", null),
+                new TaskFolder(3L, "Reports", 1L),
+                new TaskFolder(4L, "meetings", 1L)));
+
+        List<TaskFolderNode> roots = hierarchy.toTree();
+
+        assertEquals(List.of("Home", "work"), names(roots));
+        assertEquals(List.of("meetings", "Reports"), names(roots.get(1).getChildren()));
+    }
+
+    @Test
+    @DisplayName("Adăugarea și ștergerea actualizează indexul incremental")
+    void putAndRemove_updateChildren() {
+        FolderHierarchy hierarchy = new FolderHierarchy(List.of(new TaskFolder(1L, "Root", null)));
+
+        hierarchy.put(new TaskFolder(2L, "B", 1L));
+        hierarchy.put(new TaskFolder(3L, "A", 1L));
+        assertEquals(2, hierarchy.countChildren(1L));
+        assertEquals(List.of(3L, 2L), hierarchy.getChildren(1L).stream()
+                .map(TaskFolder::getId)
+                .collect(Collectors.toList()));
+
+        hierarchy.remove(2L);
+        assertEquals(1, hierarchy.countChildren(1L));
+        assertNull(hierarchy.get(2L));
+    }
+
+    @Test
+    @DisplayName("Mutarea unui folder îl scoate de sub vechiul părinte")
+    void put_changedParent_movesFolder() {
+        FolderHierarchy hierarchy = new FolderHierarchy(List.of(
+                new TaskFolder(1L, "First", null),
+                new TaskFolder(2L, "Second", null),
+                new TaskFolder(3L, "Child", 1L)));
+
+        hierarchy.put(new TaskFolder(3L, "Child", 2L));
+
+        assertEquals(0, hierarchy.countChildren(1L));
+        assertEquals(List.of(2L, 3L), hierarchy.getSubtreeIds(2L));
+    }
+
+    @Test
+    @DisplayName("Folderul fără părinte existent apare ca rădăcină")
+    void orphan_isListedAsRoot() {
+        FolderHierarchy hierarchy = new FolderHierarchy(List.of(new TaskFolder(5L, "Orphan", 99L)));
+
+        assertEquals(List.of("Orphan"), names(hierarchy.toTree()));
+
+        hierarchy.remove(5L);
+        assertTrue(hierarchy.toTree().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Folderele returnate sunt copii")
+    void get_returnsCopies() {
+        FolderHierarchy hierarchy = new FolderHierarchy(List.of(new TaskFolder(1L, "Original", null)));
+
+        hierarchy.get(1L).setName("Changed");
+        hierarchy.getChildren(null).get(0).setName("Changed");
+
+        assertEquals("Original", hierarchy.get(1L).getName());
+    }
+
+    private static List<String> names(List<TaskFolderNode> nodes) {
+        return nodes.stream().map(node -> node.getFolder().getName()).collect(Collectors.toList());
+    }
+}
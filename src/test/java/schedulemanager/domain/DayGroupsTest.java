@@ -0,0 +1,44 @@
+package schedulemanager.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DayGroups Domain")
+class DayGroupsTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("Grupează rândurile pe zile, zilele goale au listă vidă")
+    void of_groupsConsecutiveDays() {
+        List<PlanBlock> blocks = List.of(
+                block(MONDAY, 9), block(MONDAY, 11), block(MONDAY.plusDays(3), 8));
+
+        DayGroups<PlanBlock> groups = DayGroups.of(MONDAY, MONDAY.plusDays(6), blocks, PlanBlock::getDate);
+
+        assertEquals(3, groups.size());
+        assertEquals(List.of(MONDAY, MONDAY.plusDays(3)), groups.getDates());
+        assertEquals(2, groups.get(MONDAY).size());
+        assertEquals(LocalTime.of(11, 0), groups.get(MONDAY).get(1).getStartTime());
+        assertTrue(groups.get(MONDAY.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Respinge rânduri neordonate sau în afara intervalului")
+    void of_unorderedOrOutOfRange_throwsException() {
+        assertThrows(IllegalArgumentException.class, () -> DayGroups.of(MONDAY, MONDAY.plusDays(6),
+                List.of(block(MONDAY.plusDays(1), 9), block(MONDAY, 9)), PlanBlock::getDate));
+        assertThrows(IllegalArgumentException.class, () -> DayGroups.of(MONDAY, MONDAY.plusDays(6),
+                List.of(block(MONDAY.plusDays(7), 9)), PlanBlock::getDate));
+    }
+
+    private static PlanBlock block(LocalDate date, int hour) {
+        return new PlanBlock(date, LocalTime.of(hour, 0), LocalTime.of(hour + 1, 0), "Block " + hour);
+    }
+}
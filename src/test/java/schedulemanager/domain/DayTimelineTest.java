@@ -0,0 +1,98 @@
+package schedulemanager.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DayTimeline Domain")
+class DayTimelineTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("Intervalul include începutul și exclude sfârșitul, inclusiv peste granița de cuvânt")
+    void ofMinutes_coversHalfOpenRange() {
+        DayTimeline timeline = DayTimeline.ofMinutes(60, 130);
+
+        assertEquals(70, timeline.minutes());
+        assertTrue(timeline.contains(60));
+        assertTrue(timeline.contains(127));
+        assertTrue(timeline.contains(129));
+        assertFalse(timeline.contains(59));
+        assertFalse(timeline.contains(130));
+        assertEquals(DayTimeline.MINUTES_PER_DAY, DayTimeline.ofMinutes(0, DayTimeline.MINUTES_PER_DAY).minutes());
+        assertThrows(IllegalArgumentException.class, () -> DayTimeline.ofMinutes(10, 5));
+    }
+
+    @Test
+    @DisplayName("Minutele comune ale planului și realității se numără o singură dată")
+    void intersection_countsSharedMinutes() {
+        DayTimeline planned = DayTimeline.ofPlanBlocks(List.of(
+                block(LocalTime.of(9, 0), LocalTime.of(10, 0)),
+                block(LocalTime.of(11, 0), LocalTime.of(12, 0))));
+        DayTimeline actual = DayTimeline.ofSessions(List.of(
+                session(LocalTime.of(9, 30), LocalTime.of(11, 15))));
+
+        assertEquals(45, planned.intersection(actual).minutes());
+        assertEquals(45, planned.overlapMinutes(actual));
+        assertEquals(120 + 105 - 45, planned.union(actual).minutes());
+        assertEquals(75, planned.difference(actual).minutes());
+        assertTrue(planned.intersects(actual));
+    }
+
+    @Test
+    @DisplayName("Complementul acoperă exact minutele libere ale zilei")
+    void complement_coversFreeMinutesOnly() {
+        DayTimeline busy = DayTimeline.ofMinutes(0, 90);
+
+        DayTimeline free = busy.complement();
+
+        assertEquals(DayTimeline.MINUTES_PER_DAY - 90, free.minutes());
+        assertFalse(free.intersects(busy));
+        assertTrue(DayTimeline.empty().complement().complement().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Găsește următorul minut ocupat și următorul minut liber")
+    void nextMinutes_scanAcrossWords() {
+        DayTimeline timeline = DayTimeline.ofMinutes(100, 200);
+
+        assertEquals(100, timeline.nextCoveredMinute(0));
+        assertEquals(150, timeline.nextCoveredMinute(150));
+        assertEquals(DayTimeline.MINUTES_PER_DAY, timeline.nextCoveredMinute(200));
+        assertEquals(200, timeline.nextFreeMinute(100));
+        assertEquals(DayTimeline.MINUTES_PER_DAY,
+                DayTimeline.ofMinutes(0, DayTimeline.MINUTES_PER_DAY).nextFreeMinute(0));
+    }
+
+    @Test
+    @DisplayName("Construiește câte un strat pentru fiecare task legat")
+    void layers_buildOneTimelinePerKey() {
+        PlanBlock first = block(LocalTime.of(8, 0), LocalTime.of(9, 0));
+        first.setLinkedTaskId(1L);
+        PlanBlock second = block(LocalTime.of(10, 0), LocalTime.of(10, 30));
+        second.setLinkedTaskId(2L);
+        PlanBlock unlinked = block(LocalTime.of(12, 0), LocalTime.of(13, 0));
+
+        Map<Long, DayTimeline> layers = DayTimeline.layers(List.of(first, second, unlinked),
+                PlanBlock::getLinkedTaskId, PlanBlock::getStartTime, PlanBlock::getEndTime);
+
+        assertEquals(List.of(1L, 2L), List.copyOf(layers.keySet()));
+        assertEquals(60, layers.get(1L).minutes());
+        assertEquals(30, layers.get(2L).minutes());
+    }
+
+    private static PlanBlock block(LocalTime start, LocalTime end) {
+        return new PlanBlock(DAY, start, end, "Block");
+    }
+
+    private static ActualSession session(LocalTime start, LocalTime end) {
+        return new ActualSession(DAY, start, end, "Session");
+    }
+}
@@ -0,0 +1,87 @@
+package schedulemanager.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecurrenceRule Domain")
+class RecurrenceRuleTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @DisplayName("Modelele zilnic, zile lucrătoare și săptămânal aleg zilele corecte")
+    void occursOn_followsPattern() {
+        RecurrenceRule daily = rule(RecurrencePattern.DAILY);
+        RecurrenceRule weekdays = rule(RecurrencePattern.WEEKDAYS);
+        RecurrenceRule weekly = rule(RecurrencePattern.WEEKLY);
+        weekly.setDaysOfWeek(Set.of(DayOfWeek.TUESDAY, DayOfWeek.THURSDAY));
+
+        assertTrue(daily.occursOn(MONDAY.plusDays(6)));
+        assertTrue(weekdays.occursOn(MONDAY.plusDays(4)));
+        assertFalse(weekdays.occursOn(MONDAY.plusDays(5)));
+        assertFalse(weekly.occursOn(MONDAY));
+        assertTrue(weekly.occursOn(MONDAY.plusDays(1)));
+        assertTrue(weekly.occursOn(MONDAY.plusDays(10)));
+    }
+
+    @Test
+    @DisplayName("Nu apare înainte de început, după sfârșit sau în zilele excluse")
+    void occursOn_respectsDatesAndExceptions() {
+        RecurrenceRule daily = rule(RecurrencePattern.DAILY);
+        daily.setEndDate(MONDAY.plusDays(13));
+        daily.addException(MONDAY.plusDays(2));
+
+        assertFalse(daily.occursOn(MONDAY.minusDays(1)));
+        assertTrue(daily.occursOn(MONDAY));
+        assertFalse(daily.occursOn(MONDAY.plusDays(2)));
+        assertTrue(daily.occursOn(MONDAY.plusDays(13)));
+        assertFalse(daily.occursOn(MONDAY.plusDays(14)));
+    }
+
+    @Test
+    @DisplayName("Apariția unei zile e un plan block fără ID, legat de regulă")
+    void occurrenceOn_buildsLinkedPlanBlock() {
+        RecurrenceRule daily = rule(RecurrencePattern.DAILY);
+        daily.setId(7L);
+        daily.setCategory("Routine");
+        daily.setLinkedTaskId(3L);
+
+        PlanBlock occurrence = daily.occurrenceOn(MONDAY.plusDays(1));
+
+        assertNull(occurrence.getId());
+        assertTrue(occurrence.isOccurrence());
+        assertEquals(Long.valueOf(7L), occurrence.getRecurrenceId());
+        assertEquals(MONDAY.plusDays(1), occurrence.getDate());
+        assertEquals(LocalTime.of(9, 0), occurrence.getStartTime());
+        assertEquals("Routine", occurrence.getCategory());
+        assertEquals(Long.valueOf(3L), occurrence.getLinkedTaskId());
+    }
+
+    @Test
+    @DisplayName("Găsește prima zi comună a două reguli, ținând cont de excepții")
+    void firstSharedDate_findsCommonDay() {
+        RecurrenceRule weekdays = rule(RecurrencePattern.WEEKDAYS);
+        RecurrenceRule fridays = rule(RecurrencePattern.WEEKLY);
+        fridays.setDaysOfWeek(Set.of(DayOfWeek.FRIDAY));
+        RecurrenceRule weekends = rule(RecurrencePattern.WEEKLY);
+        weekends.setDaysOfWeek(Set.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+
+        assertEquals(MONDAY.plusDays(4), weekdays.firstSharedDate(fridays));
+        assertNull(weekdays.firstSharedDate(weekends));
+
+        fridays.setEndDate(MONDAY.plusDays(4));
+        fridays.addException(MONDAY.plusDays(4));
+        assertNull(weekdays.firstSharedDate(fridays));
+    }
+
+    private static RecurrenceRule rule(RecurrencePattern pattern) {
+        return new RecurrenceRule(pattern, MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30), "Standup");
+    }
+}
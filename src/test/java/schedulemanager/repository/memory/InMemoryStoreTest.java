@@ -0,0 +1,308 @@
+package schedulemanager.repository.memory;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.Priority;
+import schedulemanager.domain.RecurrencePattern;
+import schedulemanager.domain.RecurrenceRule;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("In-Memory Store")
+class InMemoryStoreTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 4, 7);
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty("db.dir", directory.toString());
+        System.setProperty("db.journal.compactThreshold", "10000");
+        InMemoryStore.resetInstanceForTesting();
+    }
+
+    @AfterEach
+    void tearDown() {
+        InMemoryStore.resetInstanceForTesting();
+        System.clearProperty("db.dir");
+        System.clearProperty("db.journal.compactThreshold");
+    }
+
+    @Test
+    @DisplayName("Datele sunt refăcute din jurnal după repornire")
+    void restart_replaysJournal() throws SQLException {
+        InMemoryStore store = InMemoryStore.getInstance();
+        TaskFolder folder = store.getFolderRepository().save(new TaskFolder("Work"));
+        Task task = store.getTaskRepository().save(new Task("Report", folder.getId(), Priority.HIGH));
+        store.getTaskRepository().delete(task.getId());
+        Task kept = store.getTaskRepository().save(new Task("Review", folder.getId(), Priority.LOW));
+
+        InMemoryStore.resetInstanceForTesting();
+        InMemoryStore reopened = InMemoryStore.getInstance();
+
+        assertEquals("Work", reopened.getFolderRepository().findById(folder.getId()).getName());
+        assertNull(reopened.getTaskRepository().findById(task.getId()));
+        Task loaded = reopened.getTaskRepository().findById(kept.getId());
+        assertEquals("Review", loaded.getTitle());
+        assertEquals(kept.getCreatedAt(), loaded.getCreatedAt());
+        // IDs keep increasing after a restart
+        Task next = reopened.getTaskRepository().save(new Task("Next", folder.getId(), Priority.LOW));
+        assertTrue(next.getId() > kept.getId());
+    }
+
+    @Test
+    @DisplayName("Regulile recurente și excepțiile lor sunt refăcute din jurnal")
+    void restart_replaysRecurrenceRules() throws SQLException {
+        InMemoryStore store = InMemoryStore.getInstance();
+        RecurrenceRule weekly = new RecurrenceRule(RecurrencePattern.WEEKLY, DATE,
+                LocalTime.of(18, 0), LocalTime.of(19, 0), "Gym");
+        weekly.setDaysOfWeek(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY));
+        weekly.setEndDate(DATE.plusWeeks(4));
+        store.getRecurrenceRepository().save(weekly);
+        weekly.addException(DATE.plusDays(2));
+        store.getRecurrenceRepository().update(weekly);
+
+        InMemoryStore.resetInstanceForTesting();
+        InMemoryStore reopened = InMemoryStore.getInstance();
+
+        RecurrenceRule loaded = reopened.getRecurrenceRepository().findById(weekly.getId());
+        assertEquals(Set.of(DayOfWeek.MONDAY, DayOfWeek.WEDNESDAY), loaded.getDaysOfWeek());
+        assertEquals(Set.of(DATE.plusDays(2)), loaded.getExceptions());
+        assertFalse(loaded.occursOn(DATE.plusDays(2)));
+        assertTrue(loaded.occursOn(DATE.plusDays(9)));
+        assertEquals(List.of(weekly.getId()), reopened.getRecurrenceRepository()
+                .findActive(DATE.plusWeeks(4), DATE.plusWeeks(5)).stream().map(RecurrenceRule::getId).toList());
+        assertTrue(reopened.getRecurrenceRepository().findActive(DATE.plusWeeks(5), DATE.plusWeeks(6)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("O tranzacție eșuată nu lasă urme în memorie sau în jurnal")
+    void failedTransaction_isUndone() throws SQLException {
+        InMemoryStore store = InMemoryStore.getInstance();
+        TaskFolder folder = store.getFolderRepository().save(new TaskFolder("Work"));
+
+        assertThrows(IllegalStateException.class, () -> store.inTransaction(() -> {
+            store.getTaskRepository().save(new Task("Lost", folder.getId(), Priority.LOW));
+            store.getFolderRepository().update(new TaskFolder(folder.getId(), "Renamed", null));
+            throw new IllegalStateException("abort");
+        }));
+
+        assertTrue(store.getTaskRepository().findByFolderId(folder.getId()).isEmpty());
+        assertEquals("Work", store.getFolderRepository().findById(folder.getId()).getName());
+
+        InMemoryStore.resetInstanceForTesting();
+        InMemoryStore reopened = InMemoryStore.getInstance();
+        assertTrue(reopened.getTaskRepository().findByFolderId(folder.getId()).isEmpty());
+        assertEquals("Work", reopened.getFolderRepository().findById(folder.getId()).getName());
+    }
+
+    @Test
+    @DisplayName("Constrângerile de cheie străină sunt respectate")
+    void delete_referencedFolder_fails() throws SQLException {
+        InMemoryStore store = InMemoryStore.getInstance();
+        TaskFolder folder = store.getFolderRepository().save(new TaskFolder("Work"));
+        store.getTaskRepository().save(new Task("Report", folder.getId(), Priority.HIGH));
+
+        SQLException e = assertThrows(SQLException.class,
+                () -> store.getFolderRepository().delete(folder.getId()));
+        assertEquals("23000", e.getSQLState());
+        assertThrows(SQLException.class,
+                () -> store.getTaskRepository().save(new Task("Orphan", 999L, Priority.LOW)));
+    }
+
+    @Test
+    @DisplayName("Jurnalul compactat într-un snapshot păstrează toate datele")
+    void compaction_keepsAllRows() throws Exception {
+        System.setProperty("db.journal.compactThreshold", "3");
+        InMemoryStore store = InMemoryStore.getInstance();
+        for (int hour = 8; hour < 16; hour++) {
+            store.getPlanRepository().save(new PlanBlock(DATE, LocalTime.of(hour, 0),
+                    LocalTime.of(hour, 30), "Block " + hour));
+        }
+
+        InMemoryStore.resetInstanceForTesting();
+        InMemoryStore reopened = InMemoryStore.getInstance();
+
+        assertTrue(Files.exists(directory.resolve("snapshot.jsonl")));
+        assertEquals(8, reopened.getPlanRepository().findByDate(DATE).size());
+        assertEquals(LocalTime.of(8, 0), reopened.getPlanRepository().findByDate(DATE).get(0).getStartTime());
+    }
+
+    @Test
+    @DisplayName("O înregistrare scrisă pe jumătate la final este ignorată")
+    void tornTail_isDiscarded() throws SQLException, IOException {
+        InMemoryStore store = InMemoryStore.getInstance();
+        TaskFolder folder = store.getFolderRepository().save(new TaskFolder("Work"));
+        InMemoryStore.resetInstanceForTesting();
+
+        Files.write(directory.resolve("journal.log"), "{\"op\":\"put\",\"kind\":\"FOL".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+        InMemoryStore reopened = InMemoryStore.getInstance();
+
+        assertEquals(1, reopened.getFolderRepository().findAll().size());
+        TaskFolder second = reopened.getFolderRepository().save(new TaskFolder("Home"));
+        InMemoryStore.resetInstanceForTesting();
+        assertEquals(2, InMemoryStore.getInstance().getFolderRepository().findAll().size());
+        assertTrue(second.getId() > folder.getId());
+    }
+
+    @Test
+    @DisplayName("O scriere eșuată în jurnal oprește depozitul și nu lasă urme după repornire")
+    void journalWriteFailure_stopsStoreAndIsCutOff() throws SQLException, IOException {
+        AtomicReference<FailingChannel> channel = new AtomicReference<>();
+        InMemoryStore store = new InMemoryStore(directory, 10000,
+                path -> {
+                    channel.set(new FailingChannel(Journal.ChannelOpener.DEFAULT.open(path)));
+                    return channel.get();
+                });
+        TaskFolder kept = store.getFolderRepository().save(new TaskFolder("Work"));
+        long journalSize = Files.size(directory.resolve("journal.log"));
+
+        channel.get().failNextWrite = true;
+        assertThrows(SQLException.class, () -> store.getFolderRepository().save(new TaskFolder("Lost")));
+
+        assertEquals(journalSize, Files.size(directory.resolve("journal.log")));
+        assertThrows(SQLException.class, () -> store.getFolderRepository().findAll());
+        assertThrows(SQLException.class, () -> store.getFolderRepository().save(new TaskFolder("After")));
+        store.close();
+
+        InMemoryStore reopened = InMemoryStore.getInstance();
+        List<TaskFolder> folders = reopened.getFolderRepository().findAll();
+        assertEquals(List.of("Work"), folders.stream().map(TaskFolder::getName).toList());
+        TaskFolder next = reopened.getFolderRepository().save(new TaskFolder("Home"));
+        assertTrue(next.getId() > kept.getId());
+    }
+
+    /**
+     * A journal file that, when armed, writes half of the next buffer and then fails.
+     */
+    private static final class FailingChannel extends FileChannel {
+        private final FileChannel delegate;
+        volatile boolean failNextWrite;
+
+        FailingChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            if (!failNextWrite) {
+                return delegate.write(src);
+            }
+            failNextWrite = false;
+            ByteBuffer half = src.duplicate();
+            half.limit(src.position() + src.remaining() / 2);
+            src.position(src.position() + delegate.write(half));
+            throw new IOException("No space left on device");
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
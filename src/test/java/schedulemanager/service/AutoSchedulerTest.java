@@ -0,0 +1,194 @@
+package schedulemanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import schedulemanager.domain.PlanBlock;
+import schedulemanager.domain.Priority;
+import schedulemanager.domain.Task;
+import schedulemanager.domain.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Auto Scheduler")
+class AutoSchedulerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+    private static final AutoScheduler SCHEDULER = new AutoScheduler(LocalTime.of(9, 0), LocalTime.of(17, 0));
+    private static final AutoScheduler WHOLE_DAY = new AutoScheduler(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT);
+
+    @Test
+    @DisplayName("Taskurile urgente și cele cu termen azi sunt planificate primele")
+    void propose_placesMostPressingFirst() {
+        Task low = task(1L, "Low", Priority.LOW, 60, null);
+        Task urgent = task(2L, "Urgent", Priority.URGENT, 60, null);
+        Task dueToday = task(3L, "Due today", Priority.LOW, 30, DAY);
+
+        AutoScheduler.Proposal proposal = SCHEDULER.propose(DAY, List.of(low, urgent, dueToday), List.of());
+
+        List<PlanBlock> blocks = proposal.getBlocks();
+        assertEquals(3, blocks.size());
+        assertEquals("Due today", blocks.get(0).getTitle());
+        assertEquals(LocalTime.of(9, 0), blocks.get(0).getStartTime());
+        assertEquals("Urgent", blocks.get(1).getTitle());
+        assertEquals(LocalTime.of(9, 30), blocks.get(1).getStartTime());
+        assertEquals("Low", blocks.get(2).getTitle());
+        assertEquals(Long.valueOf(1L), blocks.get(2).getLinkedTaskId());
+    }
+
+    @Test
+    @DisplayName("Ocolește blocurile existente și pune taskul în prima fereastră suficientă")
+    void propose_fitsAroundExistingBlocks() {
+        List<PlanBlock> existing = List.of(
+                new PlanBlock(DAY, LocalTime.of(9, 30), LocalTime.of(12, 0), "Meeting"));
+        Task longTask = task(1L, "Long", Priority.HIGH, 90, null);
+        Task shortTask = task(2L, "Short", Priority.LOW, 20, null);
+
+        AutoScheduler.Proposal proposal = SCHEDULER.propose(DAY, List.of(longTask, shortTask), existing);
+
+        assertEquals(LocalTime.of(9, 0), proposal.getBlocks().get(0).getStartTime());
+        assertEquals("Short", proposal.getBlocks().get(0).getTitle());
+        assertEquals(LocalTime.of(12, 0), proposal.getBlocks().get(1).getStartTime());
+        assertEquals(LocalTime.of(13, 30), proposal.getBlocks().get(1).getEndTime());
+    }
+
+    @Test
+    @DisplayName("Omite taskurile terminate sau deja planificate, raportează ce nu încape")
+    void propose_skipsDoneAndPlanned_reportsUnscheduled() {
+        Task done = task(1L, "Done", Priority.URGENT, 30, null);
+        done.setStatus(TaskStatus.DONE);
+        Task planned = task(2L, "Planned", Priority.URGENT, 30, null);
+        PlanBlock plannedBlock = new PlanBlock(DAY, LocalTime.of(9, 0), LocalTime.of(9, 30), "Planned");
+        plannedBlock.setLinkedTaskId(2L);
+        Task tooLong = task(3L, "Too long", Priority.HIGH, 600, null);
+        Task noEstimate = task(4L, "No estimate", Priority.MEDIUM, null, null);
+
+        AutoScheduler.Proposal proposal = SCHEDULER.propose(DAY,
+                List.of(done, planned, tooLong, noEstimate), List.of(plannedBlock));
+
+        assertEquals(1, proposal.getBlocks().size());
+        assertEquals("No estimate", proposal.getBlocks().get(0).getTitle());
+        assertEquals(AutoScheduler.DEFAULT_ESTIMATE_MINUTES, proposal.getBlocks().get(0).getDurationMinutes());
+        assertEquals(List.of(tooLong), proposal.getUnscheduled());
+    }
+
+    @Test
+    @DisplayName("Programul care se termină la miezul nopții umple seara până la 23:59")
+    void propose_workdayEndingAtMidnight_fillsLateEvening() {
+        AutoScheduler evening = new AutoScheduler(LocalTime.of(23, 0), LocalTime.MIDNIGHT);
+        Task first = task(1L, "First", Priority.HIGH, 30, null);
+        Task last = task(2L, "Last", Priority.LOW, 29, null);
+
+        AutoScheduler.Proposal proposal = evening.propose(DAY, List.of(first, last), List.of());
+
+        assertEquals(2, proposal.getBlocks().size());
+        assertEquals(LocalTime.of(23, 30), proposal.getBlocks().get(1).getStartTime());
+        assertEquals(LocalTime.of(23, 59), proposal.getBlocks().get(1).getEndTime());
+        assertTrue(proposal.getUnscheduled().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Sute de taskuri: blocurile stau în ferestrele libere, în ordinea urgenței")
+    void propose_hundredsOfTasks_fillGapsInPressingOrder() {
+        List<Task> tasks = manyTasks(500);
+
+        AutoScheduler.Proposal proposal = WHOLE_DAY.propose(DAY, tasks, hourlyBusyBlocks());
+
+        List<PlanBlock> blocks = proposal.getBlocks();
+        assertEquals(500, blocks.size() + proposal.getUnscheduled().size());
+        PlanBlock previous = null;
+        for (PlanBlock block : blocks) {
+            assertTrue(block.getStartTime().getMinute() >= 10, block.getTitle() + " overlaps a busy block");
+            assertEquals(block.getStartTime().getHour(), block.getEndTime().minusMinutes(1).getHour(),
+                    block.getTitle() + " crosses into the next busy block");
+            if (previous != null) {
+                assertFalse(block.getStartTime().isBefore(previous.getEndTime()), block.getTitle() + " overlaps");
+            }
+            previous = block;
+        }
+
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : tasks) {
+            byId.put(task.getId(), task);
+        }
+        Comparator<Task> pressing = Comparator.comparing((Task task) -> !dueBy(task))
+                .thenComparing(Task::getPriority, Comparator.reverseOrder())
+                .thenComparing(Task::getDeadline, Comparator.nullsLast(Comparator.naturalOrder()));
+        for (Task skipped : proposal.getUnscheduled()) {
+            for (PlanBlock block : blocks) {
+                Task placed = byId.get(block.getLinkedTaskId());
+                if (placed.getEstimateMinutes() >= skipped.getEstimateMinutes()) {
+                    assertTrue(pressing.compare(placed, skipped) <= 0,
+                            placed.getTitle() + " took the place of the more pressing " + skipped.getTitle());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reports the median time to plan 500 tasks around 24 busy blocks. Excluded
+     * from the default build; see TESTE.md for how to run it.
+     */
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Benchmark: mediana planificării a 500 de taskuri")
+    void benchmark_propose500Tasks() {
+        List<Task> tasks = manyTasks(500);
+        List<PlanBlock> existing = hourlyBusyBlocks();
+        for (int i = 0; i < 50; i++) {
+            WHOLE_DAY.propose(DAY, tasks, existing);
+        }
+
+        long[] nanos = new long[101];
+        for (int i = 0; i < nanos.length; i++) {
+            long start = System.nanoTime();
+            WHOLE_DAY.propose(DAY, tasks, existing);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        double medianMillis = nanos[nanos.length / 2] / 1_000_000.0;
+
+        System.out.printf("AutoScheduler.propose, 500 tasks: median %.3f ms over %d runs%n",
+                medianMillis, nanos.length);
+        assertTrue(medianMillis < 50, "Planning 500 tasks took " + medianMillis + " ms");
+    }
+
+    private static List<PlanBlock> hourlyBusyBlocks() {
+        List<PlanBlock> existing = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            existing.add(new PlanBlock(DAY, LocalTime.of(hour, 0), LocalTime.of(hour, 10), "Busy " + hour));
+        }
+        return existing;
+    }
+
+    private static List<Task> manyTasks(int count) {
+        Priority[] priorities = Priority.values();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(task((long) i, "Task " + i, priorities[i % priorities.length], 1 + i % 7,
+                    i % 5 == 0 ? DAY.plusDays(i % 3) : null));
+        }
+        return tasks;
+    }
+
+    private static boolean dueBy(Task task) {
+        return task.getDeadline() != null && !task.getDeadline().isAfter(DAY);
+    }
+
+    private static Task task(Long id, String title, Priority priority, Integer estimateMinutes, LocalDate deadline) {
+        Task task = new Task(title, 1L, priority);
+        task.setId(id);
+        task.setEstimateMinutes(estimateMinutes);
+        task.setDeadline(deadline);
+        return task;
+    }
+}
@@ -0,0 +1,88 @@
+package schedulemanager.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import schedulemanager.domain.Priority;
+import schedulemanager.domain.Task;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Task Cache")
+class TaskCacheTest {
+
+    @Test
+    @DisplayName("Numără hit-uri și miss-uri")
+    void get_countsHitsAndMisses() {
+        TaskCache cache = new TaskCache(10);
+
+        assertNull(cache.get(1L));
+        cache.put(1L, task(1L, "First"), cache.loadToken());
+        assertEquals("First", cache.get(1L).getTitle());
+
+        TaskCache.CacheMetrics metrics = cache.getMetrics();
+        assertEquals(1, metrics.getHitCount());
+        assertEquals(1, metrics.getMissCount());
+        assertEquals(1, metrics.getSize());
+        assertEquals(0.5, metrics.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Elimină intrarea folosită cel mai demult când e plin")
+    void put_whenFull_evictsLeastRecentlyUsed() {
+        TaskCache cache = new TaskCache(2);
+        cache.put(1L, task(1L, "One"), cache.loadToken());
+        cache.put(2L, task(2L, "Two"), cache.loadToken());
+        cache.get(1L);
+
+        cache.put(3L, task(3L, "Three"), cache.loadToken());
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(3L));
+        assertEquals(1, cache.getMetrics().getEvictionCount());
+        assertEquals(2, cache.getMetrics().getSize());
+    }
+
+    @Test
+    @DisplayName("Modificarea taskului returnat nu schimbă cache-ul")
+    void get_returnsCopies() {
+        TaskCache cache = new TaskCache(10);
+        Task loaded = task(1L, "Original");
+        cache.put(1L, loaded, cache.loadToken());
+
+        loaded.setTitle("Changed after load");
+        cache.get(1L).setTitle("Changed by caller");
+
+        assertEquals("Original", cache.get(1L).getTitle());
+    }
+
+    @Test
+    @DisplayName("O citire începută înainte de invalidare nu e pusă în cache")
+    void put_afterInvalidation_isIgnored() {
+        TaskCache cache = new TaskCache(10);
+        long token = cache.loadToken();
+
+        cache.invalidate(1L);
+        cache.put(1L, task(1L, "Stale"), token);
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.getMetrics().getSize());
+    }
+
+    @Test
+    @DisplayName("Dimensiune zero dezactivează cache-ul")
+    void zeroSize_cachesNothing() {
+        TaskCache cache = new TaskCache(0);
+
+        cache.put(1L, task(1L, "Task"), cache.loadToken());
+
+        assertNull(cache.get(1L));
+        assertEquals(0, cache.getMetrics().getEvictionCount());
+    }
+
+    private static Task task(Long id, String title) {
+        Task task = new Task(title, 1L, Priority.MEDIUM);
+        task.setId(id);
+        return task;
+    }
+}
@@ -0,0 +1,104 @@
+package schedulemanager.ui;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Refresh Scheduler")
+class RefreshSchedulerTest {
+
+    private final RefreshScheduler scheduler = new RefreshScheduler(2, 50);
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("O rafală de cereri pentru același panou produce o singură reîncărcare")
+    void request_burst_loadsOnce() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        List<Integer> applied = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Object panel = new Object();
+
+        for (int i = 0; i < 5; i++) {
+            int request = i;
+            scheduler.request(panel, () -> {
+                loads.incrementAndGet();
+                return request;
+            }, result -> {
+                applied.add(result);
+                done.countDown();
+            }, e -> fail(e.getMessage()));
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        Thread.sleep(200);
+        assertEquals(1, loads.get());
+        assertEquals(List.of(4), applied);
+    }
+
+    @Test
+    @DisplayName("Rezultatul unei încărcări depășite nu mai este aplicat")
+    void request_whileLoading_dropsSupersededResult() throws InterruptedException {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        List<String> applied = new CopyOnWriteArrayList<>();
+        Object panel = new Object();
+
+        scheduler.request(panel, () -> {
+            firstStarted.countDown();
+            releaseFirst.await();
+            return "old";
+        }, applied::add, e -> fail(e.getMessage()));
+        assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+        scheduler.request(panel, () -> "new", result -> {
+            applied.add(result);
+            done.countDown();
+        }, e -> fail(e.getMessage()));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        releaseFirst.countDown();
+        Thread.sleep(200);
+        assertEquals(List.of("new"), applied);
+    }
+
+    @Test
+    @DisplayName("Panouri diferite sunt reîncărcate independent")
+    void request_differentKeys_loadsEach() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(2);
+
+        scheduler.request("folders", () -> 1, result -> done.countDown(), e -> fail(e.getMessage()));
+        scheduler.request("today", () -> 2, result -> done.countDown(), e -> fail(e.getMessage()));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Eroarea de încărcare ajunge la handler pe EDT")
+    void request_whenLoadFails_reportsErrorOnEdt() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        List<Boolean> onEdt = new CopyOnWriteArrayList<>();
+
+        scheduler.request("stats", () -> {
+            throw new IllegalStateException("load failed");
+        }, result -> fail("Result must not be applied"), e -> {
+            onEdt.add(SwingUtilities.isEventDispatchThread());
+            done.countDown();
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(true), onEdt);
+    }
+}